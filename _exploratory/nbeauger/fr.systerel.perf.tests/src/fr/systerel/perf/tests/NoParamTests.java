@@ -14,13 +14,17 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import fr.systerel.perf.tests.ast.FormulaPerfTests;
 import fr.systerel.perf.tests.parser.LexerPerfTests;
 import fr.systerel.perf.tests.parser.ParserPerfTests;
+import fr.systerel.perf.tests.rodinDB.BinaryFormatPerfTests;
 import fr.systerel.perf.tests.rodinDB.RodinDBPerfTests;
+import fr.systerel.perf.tests.seqprover.ProofTreePerfTests;
 
 @RunWith(Suite.class)
 @SuiteClasses({ LexerPerfTests.class, ParserPerfTests.class,
-		RodinDBPerfTests.class })
+		RodinDBPerfTests.class, BinaryFormatPerfTests.class,
+		ProofTreePerfTests.class, FormulaPerfTests.class })
 public class NoParamTests {
 
 }
@@ -0,0 +1,307 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package fr.systerel.perf.tests.ast;
+
+import static fr.systerel.perf.tests.PerfUtils.logger;
+import static org.eventb.core.ast.Formula.EQUAL;
+import static org.eventb.core.ast.Formula.LAND;
+import static org.eventb.core.ast.Formula.NATURAL;
+import static org.eventb.core.ast.Formula.SUBSETEQ;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eventb.core.ast.DefaultRewriter;
+import org.eventb.core.ast.Expression;
+import org.eventb.core.ast.FormulaFactory;
+import org.eventb.core.ast.FreeIdentifier;
+import org.eventb.core.ast.IParseResult;
+import org.eventb.core.ast.ITypeEnvironmentBuilder;
+import org.eventb.core.ast.Predicate;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+
+import fr.systerel.perf.tests.Chrono;
+
+/**
+ * Measures the hot paths of the formula AST: parsing, type-checking,
+ * unparsing, rewriting, well-definedness and substitution, equality and
+ * hashing.
+ * <p>
+ * The corpus is made of conjunctions of predicates typical of Event-B models
+ * (typing invariants, partial functions, cardinalities, quantified
+ * properties). Its formulas range from about 15 to about 10,000 nodes. Each
+ * operation is repeated so that every size class processes about the same
+ * number of nodes, and measures are logged per size class.
+ * </p>
+ * <p>
+ * The scaling of type-checking is also measured on generated formulas with up
+ * to 100,000 type equations.
+ * </p>
+ */
+public class FormulaPerfTests {
+
+	private static final FormulaFactory ff = FormulaFactory.getDefault();
+
+	private static final String[] TEMPLATES = {
+			"x$ ∈ ℕ",
+			"f$ ∈ S ⇸ T",
+			"dom(f$) ⊆ s$",
+			"s$ ⊆ S ∧ card(s$) ≤ n$",
+			"∀y·y ∈ dom(f$) ⇒ f$(y) ∈ t$",
+			"r$ ∈ S ↔ T ∧ r$∼[t$] ⊆ s$",
+			"n$ + 1 ≤ x$ ∗ 2 − x$ ÷ (n$ + 1)",
+			"(∃z·z ∈ s$ ∧ f$(z) = c$) ⇒ c$ ∈ ran(f$)",
+			"g$ = f$ \ue103 {a$ ↦ c$} ∧ a$ ∈ S",
+			"ran(r$ ▷ t$) ∩ t$ = ∅ ∨ x$ ∈ 0‥n$",
+	};
+
+	// Number of identifier families shared between conjuncts
+	private static final int NB_IDENT_FAMILIES = 50;
+
+	// Number of conjuncts of each size class, about 15 nodes each
+	private static final int[] SIZES = { 1, 10, 100, 700 };
+
+	// Number of conjuncts processed per measure, for each size class
+	private static final int NB_CONJUNCTS = 70000;
+
+	private static final String[] images = new String[SIZES.length];
+	private static final ITypeEnvironmentBuilder typenv = ff
+			.makeTypeEnvironment();
+
+	@Rule
+	public final TestName testName = new TestName();
+
+	@BeforeClass
+	public static void makeCorpus() {
+		typenv.addGivenSet("S");
+		typenv.addGivenSet("T");
+		for (int i = 0; i < SIZES.length; i++) {
+			images[i] = makeImage(SIZES[i]);
+			final Predicate pred = parse(images[i]);
+			assertTrue(pred.typeCheck(typenv).isSuccess());
+			typenv.addAll(pred.getFreeIdentifiers());
+			logger.info("Size class " + i + " : " + SIZES[i]
+					+ " conjuncts, " + images[i].length() + " characters");
+		}
+	}
+
+	private static String makeImage(int nbConjuncts) {
+		final StringBuilder sb = new StringBuilder();
+		String sep = "";
+		for (int i = 0; i < nbConjuncts; i++) {
+			final String template = TEMPLATES[i % TEMPLATES.length];
+			final String suffix = "" + (i % NB_IDENT_FAMILIES);
+			sb.append(sep);
+			sep = " ∧ ";
+			sb.append("(");
+			sb.append(template.replace("$", suffix));
+			sb.append(")");
+		}
+		return sb.toString();
+	}
+
+	private static Predicate parse(String image) {
+		final IParseResult result = ff.parsePredicate(image, null);
+		assertFalse(result.toString(), result.hasProblem());
+		return result.getParsedPredicate();
+	}
+
+	private static Predicate parseAndType(String image) {
+		final Predicate pred = parse(image);
+		assertTrue(pred.typeCheck(typenv).isSuccess());
+		return pred;
+	}
+
+	private static int repeat(int sizeClass) {
+		return NB_CONJUNCTS / SIZES[sizeClass];
+	}
+
+	private Chrono chrono(int sizeClass) {
+		return new Chrono(testName.getMethodName() + " " + SIZES[sizeClass]);
+	}
+
+	@Test
+	public void parsePredicate() {
+		for (int i = 0; i < SIZES.length; i++) {
+			final Chrono chrono = chrono(i);
+			chrono.startMeasure();
+			for (int j = repeat(i); j > 0; j--) {
+				parse(images[i]);
+			}
+			chrono.endMeasure();
+		}
+	}
+
+	@Test
+	public void typeCheck() {
+		for (int i = 0; i < SIZES.length; i++) {
+			final int repeat = repeat(i);
+			final Predicate[] preds = new Predicate[repeat];
+			for (int j = 0; j < repeat; j++) {
+				preds[j] = parse(images[i]);
+			}
+			final Chrono chrono = chrono(i);
+			chrono.startMeasure();
+			for (Predicate pred : preds) {
+				pred.typeCheck(typenv);
+			}
+			chrono.endMeasure();
+		}
+	}
+
+	@Test
+	public void typeCheckLargeFormulas() {
+		for (int size = 10; size <= 100000; size *= 10) {
+			final Predicate chain = makeEqualityChain(size);
+			final Predicate setExtn = makeLargeSetExtension(size);
+			final Chrono chrono = new Chrono(testName.getMethodName() + " "
+					+ size);
+			chrono.startMeasure();
+			assertTrue(chain.typeCheck(ff.makeTypeEnvironment()).isSuccess());
+			assertTrue(setExtn.typeCheck(ff.makeTypeEnvironment()).isSuccess());
+			chrono.endMeasure();
+		}
+	}
+
+	// x0 = x1 ∧ x1 = x2 ∧ ... ∧ x(n-1) = xn ∧ xn = 0
+	private static Predicate makeEqualityChain(int size) {
+		final Predicate[] children = new Predicate[size + 1];
+		for (int i = 0; i < size; i++) {
+			children[i] = ff.makeRelationalPredicate(EQUAL,
+					ff.makeFreeIdentifier("x" + i, null),
+					ff.makeFreeIdentifier("x" + (i + 1), null), null);
+		}
+		children[size] = ff.makeRelationalPredicate(EQUAL,
+				ff.makeFreeIdentifier("x" + size, null),
+				ff.makeIntegerLiteral(BigInteger.ZERO, null), null);
+		return ff.makeAssociativePredicate(LAND, children, null);
+	}
+
+	// {x0, x1, ..., x(n-1)} ⊆ ℕ
+	private static Predicate makeLargeSetExtension(int size) {
+		final Expression[] members = new Expression[size];
+		for (int i = 0; i < size; i++) {
+			members[i] = ff.makeFreeIdentifier("x" + i, null);
+		}
+		return ff.makeRelationalPredicate(SUBSETEQ,
+				ff.makeSetExtension(members, null),
+				ff.makeAtomicExpression(NATURAL, null), null);
+	}
+
+	@Test
+	public void unparse() {
+		for (int i = 0; i < SIZES.length; i++) {
+			final Predicate pred = parseAndType(images[i]);
+			final Chrono chrono = chrono(i);
+			chrono.startMeasure();
+			for (int j = repeat(i); j > 0; j--) {
+				pred.toString();
+			}
+			chrono.endMeasure();
+		}
+	}
+
+	@Test
+	public void unparseWithTypes() {
+		for (int i = 0; i < SIZES.length; i++) {
+			final Predicate pred = parseAndType(images[i]);
+			final Chrono chrono = chrono(i);
+			chrono.startMeasure();
+			for (int j = repeat(i); j > 0; j--) {
+				pred.toStringWithTypes();
+			}
+			chrono.endMeasure();
+		}
+	}
+
+	@Test
+	public void rewrite() {
+		final DefaultRewriter rewriter = new DefaultRewriter(true);
+		for (int i = 0; i < SIZES.length; i++) {
+			final Predicate pred = parseAndType(images[i]);
+			final Chrono chrono = chrono(i);
+			chrono.startMeasure();
+			for (int j = repeat(i); j > 0; j--) {
+				pred.rewrite(rewriter);
+			}
+			chrono.endMeasure();
+		}
+	}
+
+	@Test
+	public void wdPredicate() {
+		for (int i = 0; i < SIZES.length; i++) {
+			final int repeat = repeat(i);
+			final Predicate[] preds = new Predicate[repeat];
+			for (int j = 0; j < repeat; j++) {
+				// WD predicates are cached, measure them on fresh formulas
+				preds[j] = parseAndType(images[i]);
+			}
+			final Chrono chrono = chrono(i);
+			chrono.startMeasure();
+			for (Predicate pred : preds) {
+				pred.getWDPredicate();
+			}
+			chrono.endMeasure();
+		}
+	}
+
+	@Test
+	public void substituteFreeIdents() {
+		final Map<FreeIdentifier, Expression> map = new HashMap<FreeIdentifier, Expression>();
+		for (int k = 0; k < NB_IDENT_FAMILIES; k += 2) {
+			final FreeIdentifier x = ff.makeFreeIdentifier("x" + k, null,
+					ff.makeIntegerType());
+			final Expression replacement = parseExpression("x" + (k + 1)
+					+ " + 1");
+			map.put(x, replacement);
+		}
+		for (int i = 0; i < SIZES.length; i++) {
+			final Predicate pred = parseAndType(images[i]);
+			final Chrono chrono = chrono(i);
+			chrono.startMeasure();
+			for (int j = repeat(i); j > 0; j--) {
+				pred.substituteFreeIdents(map);
+			}
+			chrono.endMeasure();
+		}
+	}
+
+	private static Expression parseExpression(String image) {
+		final Expression expr = ff.parseExpression(image, null)
+				.getParsedExpression();
+		assertTrue(expr.typeCheck(typenv).isSuccess());
+		return expr;
+	}
+
+	@Test
+	public void equalsAndHashCode() {
+		for (int i = 0; i < SIZES.length; i++) {
+			final Predicate pred1 = parseAndType(images[i]);
+			final Predicate pred2 = parseAndType(images[i]);
+			final Chrono chrono = chrono(i);
+			chrono.startMeasure();
+			for (int j = repeat(i); j > 0; j--) {
+				assertEquals(pred1, pred2);
+				assertEquals(pred1.hashCode(), pred2.hashCode());
+			}
+			chrono.endMeasure();
+		}
+	}
+
+}
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package fr.systerel.perf.tests.rodinDB;
+
+import static fr.systerel.perf.tests.PerfUtils.logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.junit.Test;
+import org.rodinp.internal.core.BinaryFormat;
+import org.rodinp.internal.core.DOMProvider;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import fr.systerel.perf.tests.Chrono;
+
+/**
+ * Compares load and save times, file size and heap usage of Rodin files in
+ * XML and binary formats. The document is shaped like a proof obligation
+ * file: many sequents with many predicates carrying formula strings.
+ */
+public class BinaryFormatPerfTests {
+
+	private static final int NB_SEQUENTS = 2000;
+	private static final int NB_PREDICATES = 20;
+	private static final int TIMES_REPEAT = 10;
+
+	private static Document makeDocument(DocumentBuilder builder) {
+		final Document doc = builder.newDocument();
+		final Element root = doc.createElementNS(null,
+				"org.eventb.core.poFile");
+		root.setAttributeNS(null, "version", "2");
+		doc.appendChild(root);
+		for (int i = 0; i < NB_SEQUENTS; i++) {
+			final Element seq = doc.createElementNS(null,
+					"org.eventb.core.poSequent");
+			seq.setAttributeNS(null, "name", "evt" + i + "/inv" + i + "/INV");
+			seq.setAttributeNS(null, "org.eventb.core.poStamp", "" + i);
+			root.appendChild(seq);
+			for (int j = 0; j < NB_PREDICATES; j++) {
+				final Element pred = doc.createElementNS(null,
+						"org.eventb.core.poPredicate");
+				pred.setAttributeNS(null, "name", "PRD" + j);
+				pred.setAttributeNS(null, "org.eventb.core.predicate",
+						"x" + j + "∈ℙ(S)∧f∈S ⇸ ℤ∧x" + j + "⊆dom(f)");
+				pred.setAttributeNS(null, "org.eventb.core.source",
+						"/P/M.bum|org.eventb.core.machineFile#M|"
+								+ "org.eventb.core.invariant#" + j);
+				seq.appendChild(pred);
+			}
+		}
+		return doc;
+	}
+
+	private static long usedHeap() {
+		final Runtime rt = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			rt.gc();
+		}
+		return rt.totalMemory() - rt.freeMemory();
+	}
+
+	@Test
+	public void xmlVersusBinary() throws Exception {
+		final DocumentBuilder builder = DOMProvider.getInstance()
+				.getDocumentBuilder();
+		final Transformer transformer = DOMProvider.getInstance()
+				.getDOMTransformer();
+		final Document doc = makeDocument(builder);
+
+		byte[] xml = null;
+		final Chrono xmlSave = new Chrono("XML save");
+		xmlSave.startMeasure();
+		for (int i = 0; i < TIMES_REPEAT; i++) {
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			transformer.transform(new DOMSource(doc), new StreamResult(out));
+			xml = out.toByteArray();
+		}
+		xmlSave.endMeasure();
+
+		byte[] bin = null;
+		final Chrono binSave = new Chrono("Binary save");
+		binSave.startMeasure();
+		for (int i = 0; i < TIMES_REPEAT; i++) {
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			BinaryFormat.write(doc, out);
+			bin = out.toByteArray();
+		}
+		binSave.endMeasure();
+
+		final Chrono xmlLoad = new Chrono("XML load");
+		xmlLoad.startMeasure();
+		for (int i = 0; i < TIMES_REPEAT; i++) {
+			builder.parse(new ByteArrayInputStream(xml));
+		}
+		xmlLoad.endMeasure();
+
+		final Chrono binLoad = new Chrono("Binary load");
+		binLoad.startMeasure();
+		for (int i = 0; i < TIMES_REPEAT; i++) {
+			BinaryFormat.read(builder, new ByteArrayInputStream(bin));
+		}
+		binLoad.endMeasure();
+
+		logger.info("XML size : " + xml.length);
+		logger.info("Binary size : " + bin.length);
+
+		final long base = usedHeap();
+		Document loaded = builder.parse(new ByteArrayInputStream(xml));
+		logger.info("XML loaded heap : " + (usedHeap() - base));
+		loaded = null;
+		final long base2 = usedHeap();
+		loaded = BinaryFormat.read(builder, new ByteArrayInputStream(bin));
+		logger.info("Binary loaded heap : " + (usedHeap() - base2));
+		loaded.getDocumentElement();
+	}
+
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package fr.systerel.perf.tests.rodinDB;
+
+import static fr.systerel.perf.tests.PerfUtils.createRodinProject;
+import static fr.systerel.perf.tests.PerfUtils.deleteAllProjects;
+import static fr.systerel.perf.tests.PerfUtils.logger;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eventb.core.EventBAttributes;
+import org.eventb.core.EventBPlugin;
+import org.eventb.core.IAxiom;
+import org.junit.After;
+import org.junit.Test;
+import org.rodinp.core.IInternalElement;
+import org.rodinp.core.IRodinFile;
+import org.rodinp.core.IRodinProject;
+import org.rodinp.core.RodinCore;
+import org.rodinp.core.indexer.IDeclaration;
+import org.rodinp.internal.core.indexer.Declaration;
+import org.rodinp.internal.core.indexer.Descriptor;
+import org.rodinp.internal.core.indexer.IIndexDelta;
+import org.rodinp.internal.core.indexer.Occurrence;
+import org.rodinp.internal.core.indexer.PerProjectPIM;
+import org.rodinp.internal.core.indexer.ProjectIndexManager;
+import org.rodinp.internal.core.indexer.Registry;
+import org.rodinp.internal.core.indexer.persistence.IPersistor;
+import org.rodinp.internal.core.indexer.persistence.PersistentIndexManager;
+import org.rodinp.internal.core.indexer.persistence.binary.BinaryPersistor;
+import org.rodinp.internal.core.indexer.persistence.xml.XMLPersistor;
+import org.rodinp.internal.core.indexer.sort.TotalOrder;
+import org.rodinp.internal.core.indexer.tables.ExportTable;
+import org.rodinp.internal.core.indexer.tables.FileTable;
+import org.rodinp.internal.core.indexer.tables.NameTable;
+import org.rodinp.internal.core.indexer.tables.RodinIndex;
+
+import fr.systerel.perf.tests.Chrono;
+
+/**
+ * Compares save and restore times and file sizes of the XML and binary
+ * persistence of the Rodin index, on an index of 100,000 occurrences.
+ */
+public class IndexPersistencePerfTests {
+
+	private static final int NB_FILES = 20;
+	private static final int NB_ELEMENTS = 500;
+	private static final int NB_OCCURRENCES = 10;
+
+	private final List<File> files = new ArrayList<File>();
+
+	@After
+	public void clean() throws Exception {
+		for (File file : files) {
+			file.delete();
+		}
+		deleteAllProjects();
+	}
+
+	private static PersistentIndexManager newIMData() {
+		return new PersistentIndexManager(new PerProjectPIM(),
+				new ArrayList<IIndexDelta>(), new Registry<String, String>());
+	}
+
+	private static PersistentIndexManager makeLargeIndex(IRodinProject project) {
+		final RodinIndex index = new RodinIndex();
+		final TotalOrder<IRodinFile> order = new TotalOrder<IRodinFile>();
+		for (int f = 0; f < NB_FILES; f++) {
+			final IRodinFile file = project.getRodinFile("F" + f + ".buc");
+			final IInternalElement root = file.getRoot();
+			for (int e = 0; e < NB_ELEMENTS; e++) {
+				final IAxiom element = root.getInternalElement(
+						IAxiom.ELEMENT_TYPE, "axm" + e);
+				final IDeclaration declaration = new Declaration(element,
+						"name" + e);
+				final Descriptor descriptor = index.makeDescriptor(declaration);
+				for (int o = 0; o < NB_OCCURRENCES; o++) {
+					descriptor.addOccurrence(new Occurrence(
+							EventBPlugin.REFERENCE, RodinCore
+									.getInternalLocation(element,
+											EventBAttributes.LABEL_ATTRIBUTE,
+											o, o + 3), declaration));
+				}
+			}
+			order.setToIter(file);
+		}
+		final PersistentIndexManager data = newIMData();
+		data.getPPPIM().put(
+				new ProjectIndexManager(project, index, new FileTable(),
+						new NameTable(), new ExportTable(), order));
+		return data;
+	}
+
+	private File newFile(String name) throws Exception {
+		final File file = File.createTempFile(name, null);
+		files.add(file);
+		return file;
+	}
+
+	private static void save(String name, IPersistor ps,
+			PersistentIndexManager data, File file) {
+		final Chrono chrono = new Chrono(name + " save");
+		chrono.startMeasure();
+		assertTrue(ps.save(data, file));
+		chrono.endMeasure();
+		logger.info(name + " size : " + file.length());
+	}
+
+	private static void restore(String name, IPersistor ps, File file) {
+		final Chrono chrono = new Chrono(name + " restore");
+		chrono.startMeasure();
+		assertTrue(ps.restore(file, newIMData()));
+		chrono.endMeasure();
+	}
+
+	@Test
+	public void xmlVersusBinary() throws Exception {
+		final IRodinProject project = createRodinProject("P");
+		final PersistentIndexManager data = makeLargeIndex(project);
+		final File xmlFile = newFile("index-xml");
+		final File binFile = newFile("index-bin");
+
+		save("XML index", new XMLPersistor(), data, xmlFile);
+		save("Binary index", new BinaryPersistor(), data, binFile);
+		restore("XML index", new XMLPersistor(), xmlFile);
+		restore("Binary index", new BinaryPersistor(), binFile);
+	}
+
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package fr.systerel.perf.tests.seqprover;
+
+import static fr.systerel.perf.tests.PerfUtils.logger;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.eventb.core.seqprover.ProverFactory.makeAntecedent;
+import static org.eventb.core.seqprover.ProverFactory.makeForwardInfHypAction;
+import static org.eventb.core.seqprover.ProverFactory.makeHideHypAction;
+import static org.eventb.core.seqprover.ProverFactory.makeProofRule;
+import static org.eventb.core.seqprover.ProverFactory.makeProofTree;
+import static org.eventb.core.seqprover.ProverFactory.makeSequent;
+import static org.eventb.core.seqprover.ProverFactory.makeSelectHypAction;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eventb.core.ast.FormulaFactory;
+import org.eventb.core.ast.ITypeEnvironmentBuilder;
+import org.eventb.core.ast.Predicate;
+import org.eventb.core.seqprover.IHypAction;
+import org.eventb.core.seqprover.IProofMonitor;
+import org.eventb.core.seqprover.IProofRule;
+import org.eventb.core.seqprover.IProofTree;
+import org.eventb.core.seqprover.IProofTreeNode;
+import org.eventb.core.seqprover.IProverSequent;
+import org.eventb.core.seqprover.IReasonerInput;
+import org.eventb.core.seqprover.IReasonerOutput;
+import org.eventb.core.seqprover.reasonerInputs.EmptyInput;
+import org.eventb.core.seqprover.reasonerInputs.EmptyInputReasoner;
+import org.junit.Test;
+
+import fr.systerel.perf.tests.Chrono;
+
+/**
+ * Measures the time and memory taken by deep proof trees on sequents with
+ * many global hypotheses. Each proof step infers a new hypothesis, hides one
+ * and selects another, so that each derived sequent modifies its hypothesis
+ * sets.
+ */
+public class ProofTreePerfTests {
+
+	private static final FormulaFactory ff = FormulaFactory.getDefault();
+
+	private static final int NB_HYPS = 500;
+	private static final int DEPTH = 2000;
+	private static final int TIMES_REPEAT = 5;
+
+	private static final EmptyInputReasoner STEP = new EmptyInputReasoner() {
+
+		@Override
+		public String getReasonerID() {
+			return "fr.systerel.perf.tests.step";
+		}
+
+		@Override
+		public IReasonerOutput apply(IProverSequent seq,
+				IReasonerInput input, IProofMonitor pm) {
+			throw new UnsupportedOperationException();
+		}
+
+	};
+
+	private final ITypeEnvironmentBuilder typenv = ff.makeTypeEnvironment();
+
+	private Predicate pred(String image) {
+		final Predicate pred = ff.parsePredicate(image, null)
+				.getParsedPredicate();
+		pred.typeCheck(typenv);
+		return pred;
+	}
+
+	private IProofTreeNode buildDeepTree(List<Predicate> hyps,
+			List<IProofRule> rules) {
+		final IProofTree tree = makeProofTree(
+				makeSequent(typenv, hyps, hyps, pred("⊥")), null);
+		IProofTreeNode node = tree.getRoot();
+		for (IProofRule rule : rules) {
+			assertTrue(node.applyRule(rule));
+			node = node.getChildNodes()[0];
+		}
+		return tree.getRoot();
+	}
+
+	private static long usedHeap() {
+		final Runtime rt = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			rt.gc();
+		}
+		return rt.totalMemory() - rt.freeMemory();
+	}
+
+	@Test
+	public void deepProofTree() throws Exception {
+		for (int i = 0; i < NB_HYPS; i++) {
+			typenv.addName("x" + i, ff.makeIntegerType());
+		}
+		final List<Predicate> hyps = new ArrayList<Predicate>();
+		for (int i = 0; i < NB_HYPS; i++) {
+			hyps.add(pred("x" + i + " ≥ 0"));
+		}
+		final List<IProofRule> rules = new ArrayList<IProofRule>();
+		for (int k = 0; k < DEPTH; k++) {
+			final Predicate hyp = hyps.get(k % NB_HYPS);
+			final Predicate inferred = pred("x" + (k % NB_HYPS) + " ≥ " + -k);
+			final List<IHypAction> actions = asList(
+					makeForwardInfHypAction(singleton(hyp),
+							singleton(inferred)),
+					makeHideHypAction(singleton(hyps.get((k + 1) % NB_HYPS))),
+					makeSelectHypAction(singleton(hyps.get(k % NB_HYPS))));
+			rules.add(makeProofRule(STEP, new EmptyInput(), null, null,
+					"step", makeAntecedent(null, null, null, actions)));
+		}
+
+		final Chrono chrono = new Chrono("Deep proof tree");
+		chrono.startMeasure();
+		for (int i = 0; i < TIMES_REPEAT; i++) {
+			buildDeepTree(hyps, rules);
+		}
+		chrono.endMeasure();
+
+		final long base = usedHeap();
+		IProofTreeNode root = buildDeepTree(hyps, rules);
+		logger.info("Deep proof tree heap : " + (usedHeap() - base));
+		root.getSequent();
+	}
+
+}
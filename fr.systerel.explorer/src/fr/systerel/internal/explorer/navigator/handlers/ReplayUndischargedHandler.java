@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2014 Systerel and others.
+ * Copyright (c) 2010, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,11 +7,12 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - rebuilt proofs as a batch
  *******************************************************************************/
 package fr.systerel.internal.explorer.navigator.handlers;
 
-import static org.eventb.core.EventBPlugin.rebuildProof;
-
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import org.eclipse.core.resources.WorkspaceJob;
@@ -19,6 +20,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eventb.core.EventBPlugin;
 import org.eventb.core.IPRProof;
 import org.eventb.core.IPSStatus;
 
@@ -44,13 +46,12 @@ public class ReplayUndischargedHandler extends AbstractJobHandler {
 
 	static void rebuildProofs(Set<IPSStatus> statuses, IProgressMonitor monitor)
 			throws InterruptedException, CoreException {
-		final SubMonitor subMonitor = SubMonitor.convert(monitor,
-				statuses.size());
+		final List<IPRProof> proofs = new ArrayList<IPRProof>(statuses.size());
 		for (IPSStatus status : statuses) {
-			ExplorerUtils.checkCancel(subMonitor);
-			final IPRProof proof = status.getProof();
-			rebuildProof(proof, true, subMonitor.newChild(1));
+			proofs.add(status.getProof());
 		}
+		EventBPlugin.rebuildProofs(proofs, true, monitor);
+		ExplorerUtils.checkCancel(monitor);
 	}
 
 }
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.core.ast.tests;
+
+import static org.eventb.core.ast.tests.ExtensionHelper.getAlphaExtension;
+import static org.eventb.core.ast.tests.FastFactory.mTypeEnvironment;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eventb.core.ast.Formula;
+import org.eventb.core.ast.FormulaFactory;
+import org.eventb.core.ast.ITypeEnvironment;
+import org.eventb.core.ast.Predicate;
+import org.eventb.internal.core.ast.HashConsingTable;
+import org.junit.Test;
+
+/**
+ * Unit tests for hash-consing of formulas.
+ */
+public class TestHashConsing extends AbstractTests {
+
+	private static final ITypeEnvironment TYPENV = mTypeEnvironment(
+			"S=ℙ(S); x=S; f=S↔ℤ", ff);
+
+	private static Predicate typedPredicate(String image) {
+		return parsePredicate(image, TYPENV);
+	}
+
+	/**
+	 * Ensures that equal formulas get the same canonical instance.
+	 */
+	@Test
+	public void equalFormulas() {
+		final HashConsingTable table = new HashConsingTable();
+		final Predicate p1 = typedPredicate("x ∈ dom(f)");
+		final Predicate p2 = typedPredicate("x ∈ dom(f)");
+		assertNotSame(p1, p2);
+		assertSame(p1, table.intern(p1));
+		assertSame(p1, table.intern(p2));
+		assertSame(p1, table.intern(p1));
+	}
+
+	/**
+	 * Ensures that formulas which are equal modulo alpha-conversion only do not
+	 * share their canonical instance, as they are printed differently.
+	 */
+	@Test
+	public void alphaConvertedFormulas() {
+		final HashConsingTable table = new HashConsingTable();
+		final Predicate p1 = typedPredicate("∀y·y ∈ S ⇒ y ∈ dom(f)");
+		final Predicate p2 = typedPredicate("∀z·z ∈ S ⇒ z ∈ dom(f)");
+		assertEquals(p1, p2);
+		assertSame(p1, table.intern(p1));
+		assertSame(p2, table.intern(p2));
+	}
+
+	/**
+	 * Ensures that formulas with different types do not share their canonical
+	 * instance.
+	 */
+	@Test
+	public void differentTypes() {
+		final HashConsingTable table = new HashConsingTable();
+		final Predicate p1 = parsePredicate("∅ = a", mTypeEnvironment("a=ℙ(ℤ)", ff));
+		final Predicate p2 = parsePredicate("∅ = a", mTypeEnvironment("a=ℙ(BOOL)", ff));
+		assertSame(p1, table.intern(p1));
+		assertSame(p2, table.intern(p2));
+	}
+
+	/**
+	 * Ensures that canonical formulas which are not used anymore are removed
+	 * from the table.
+	 */
+	@Test
+	public void garbageCollection() throws Exception {
+		final HashConsingTable table = new HashConsingTable();
+		final List<Predicate> preds = new ArrayList<Predicate>();
+		for (int i = 0; i < 1000; i++) {
+			preds.add(table.intern(typedPredicate("x ∈ f∼[{" + i + "}]")));
+		}
+		assertEquals(1000, table.size());
+		preds.clear();
+		for (int i = 0; i < 100 && table.size() != 0; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertEquals(0, table.size());
+	}
+
+	/**
+	 * Ensures that interning a parsed formula through a factory which does not
+	 * hash-cons formulas returns the formula unchanged.
+	 */
+	@Test
+	public void factoryInternDisabled() {
+		assertFalse(ff.isHashConsing());
+		final Predicate pred = typedPredicate("x ∈ S ∧ x ∈ dom(f)");
+		assertSame(pred, ff.intern(pred));
+	}
+
+	/**
+	 * Ensures that interning parsed formulas through a factory which hash-conses
+	 * formulas gives equal formulas without source location, that share all
+	 * their sub-formulas.
+	 */
+	@Test
+	public void factoryIntern() {
+		final FormulaFactory fac = makeHashConsingFactory();
+		assertTrue(fac.isHashConsing());
+		final ITypeEnvironment typenv = mTypeEnvironment(
+				"S=ℙ(S); x=S; f=S↔ℤ", fac);
+		final Predicate p1 = parsePredicate("x ∈ S ∧ x ∈ dom(f)", typenv);
+		final Predicate p2 = parsePredicate("x ∈ dom(f) ∧ x ∈ S", typenv);
+		assertNotNull(p1.getSourceLocation());
+		final Predicate i1 = fac.intern(p1);
+		final Predicate i2 = fac.intern(p2);
+		assertEquals(p1, i1);
+		assertEquals(p2, i2);
+		assertNoSourceLocation(i1);
+		assertNoSourceLocation(i2);
+		assertSame(i1.getChild(0), i2.getChild(1));
+		assertSame(i1.getChild(1), i2.getChild(0));
+		assertSame(i1, fac.intern(i1));
+		assertSame(i1, fac.intern(parsePredicate("x ∈ S ∧ x ∈ dom(f)", typenv)));
+	}
+
+	/*
+	 * Returns a new factory which hash-conses formulas. The system property is
+	 * only read when a factory is created, hence a new extension is used.
+	 */
+	private static FormulaFactory makeHashConsingFactory() {
+		final String old = System.setProperty(
+				FormulaFactory.HASH_CONSING_PROPERTY, "true");
+		try {
+			return FormulaFactory.getInstance(getAlphaExtension());
+		} finally {
+			if (old == null) {
+				System.clearProperty(FormulaFactory.HASH_CONSING_PROPERTY);
+			} else {
+				System.setProperty(FormulaFactory.HASH_CONSING_PROPERTY, old);
+			}
+		}
+	}
+
+	private static void assertNoSourceLocation(Formula<?> formula) {
+		assertNull(formula.getSourceLocation());
+		for (int i = 0; i < formula.getChildCount(); i++) {
+			assertNoSourceLocation(formula.getChild(i));
+		}
+	}
+
+	/**
+	 * Ensures that formulas which are not type-checked are not interned.
+	 */
+	@Test
+	public void untypedFormula() {
+		final Predicate pred = parsePredicate("x ∈ S");
+		assertFalse(pred.isTypeChecked());
+		assertSame(pred, ff.intern(pred));
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2024 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,16 +10,19 @@
  *     Systerel - added abstract test class
  *     Systerel - mathematical language v2
  *     Systerel - added support for predicate variables
+ *     Systerel - added tests of the scanner token buffer
  *******************************************************************************/
 package org.eventb.core.ast.tests;
 
 import static org.eventb.internal.core.parser.AbstractGrammar.DefaultToken.EOF;
 import static org.eventb.internal.core.parser.AbstractGrammar.DefaultToken.IDENT;
 import static org.eventb.internal.core.parser.AbstractGrammar.DefaultToken.INT_LIT;
+import static org.eventb.internal.core.parser.AbstractGrammar.DefaultToken.LPAR;
 import static org.eventb.internal.core.parser.AbstractGrammar.DefaultToken.PRED_VAR;
 import static org.eventb.internal.core.parser.BMathV2.B_MATH_V2;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -37,6 +40,7 @@ import org.eventb.core.ast.datatype.IDatatype;
 import org.eventb.core.ast.datatype.IDatatypeBuilder;
 import org.eventb.core.ast.extension.IFormulaExtension;
 import org.eventb.internal.core.lexer.Scanner;
+import org.eventb.internal.core.lexer.Scanner.ScannerState;
 import org.eventb.internal.core.lexer.Token;
 import org.eventb.internal.core.parser.AbstractGrammar;
 import org.eventb.internal.core.parser.ParseResult;
@@ -161,6 +165,68 @@ public class TestLexer extends AbstractTests {
 		assertEquals(ident, t.val);
 	}
 
+	/**
+	 * Ensures that symbols and keywords share the image of their token kind,
+	 * while other tokens bear their lexem.
+	 */
+	@Test
+	public void testTokenValues() throws Exception {
+		final AbstractGrammar grammar = ff.getGrammar();
+		final ParseResult result = new ParseResult(ff, null);
+		final Scanner scanner = new Scanner("x'\u222a (12 \u2229 $P)", result,
+				grammar);
+		assertToken(scanner.Scan(), grammar.getKind(IDENT), "x'", 0);
+		final Token union = scanner.Scan();
+		assertSame(grammar.getImage(union.kind), union.val);
+		assertEquals(2, union.pos);
+		assertToken(scanner.Scan(), grammar.getKind(LPAR), "(", 4);
+		assertToken(scanner.Scan(), grammar.getKind(INT_LIT), "12", 5);
+		scanner.Scan();
+		assertToken(scanner.Scan(), grammar.getKind(PRED_VAR), "$P", 10);
+		scanner.Scan();
+		assertToken(scanner.Scan(), grammar.getKind(EOF), "", 13);
+		assertFalse(result.hasProblem());
+	}
+
+	private static void assertToken(Token token, int kind, String val, int pos) {
+		assertEquals(kind, token.kind);
+		assertEquals(val, token.val);
+		assertEquals(pos, token.pos);
+	}
+
+	/**
+	 * Ensures that peeked tokens are scanned afterwards, and that the scanner
+	 * comes back to a saved state, whatever the tokens peeked and scanned in
+	 * between.
+	 */
+	@Test
+	public void testLookAhead() throws Exception {
+		final AbstractGrammar grammar = ff.getGrammar();
+		final ParseResult result = new ParseResult(ff, null);
+		final Scanner scanner = new Scanner("a b c d", result, grammar);
+		assertEquals("a", scanner.Scan().val);
+		final ScannerState state = scanner.save();
+		assertEquals("b", scanner.Peek().val);
+		assertEquals("c", scanner.Peek().val);
+		scanner.ResetPeek();
+		assertEquals("b", scanner.Peek().val);
+		assertEquals("b", scanner.Scan().val);
+		assertEquals("c", scanner.Peek().val);
+		assertTrue(scanner.lookAheadFor(grammar.getKind(IDENT)));
+		assertFalse(scanner.lookAheadFor(grammar.getKind(LPAR)));
+		assertEquals("c", scanner.Scan().val);
+		assertEquals("d", scanner.Scan().val);
+		assertEquals(grammar.getKind(EOF), scanner.Scan().kind);
+
+		scanner.restore(state);
+		assertEquals("b", scanner.Peek().val);
+		assertEquals("b", scanner.Scan().val);
+		assertEquals("c", scanner.Scan().val);
+		assertEquals("d", scanner.Peek().val);
+		assertEquals(grammar.getKind(EOF), scanner.Peek().kind);
+		assertFalse(result.hasProblem());
+	}
+
 	@Test 
 	public void testIsValidIdentifierName() throws Exception {
 		assertTrue(ff.isValidIdentifierName("foo"));
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2013 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,15 +12,22 @@
  *     Systerel - test for bug #3574565
  *     Systerel - new implementation of inferred environment
  *     Systerel - add given sets to free identifier cache
+ *     Systerel - scaling of type-check on large formulas
  *******************************************************************************/
 package org.eventb.core.ast.tests;
 
+import static org.eventb.core.ast.Formula.NATURAL;
+import static org.eventb.core.ast.Formula.SUBSETEQ;
 import static org.eventb.core.ast.tests.FastFactory.ff_extns;
+import static org.eventb.core.ast.tests.FastFactory.mAssociativePredicate;
+import static org.eventb.core.ast.tests.FastFactory.mAtomicExpression;
 import static org.eventb.core.ast.tests.FastFactory.mBoundIdentifier;
 import static org.eventb.core.ast.tests.FastFactory.mDatatypeFactory;
 import static org.eventb.core.ast.tests.FastFactory.mFreeIdentifier;
 import static org.eventb.core.ast.tests.FastFactory.mInferredTypeEnvironment;
+import static org.eventb.core.ast.tests.FastFactory.mIntegerLiteral;
 import static org.eventb.core.ast.tests.FastFactory.mRelationalPredicate;
+import static org.eventb.core.ast.tests.FastFactory.mSetExtension;
 import static org.eventb.core.ast.tests.FastFactory.mTypeEnvironment;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -1072,6 +1079,44 @@ public class TestTypeChecker extends AbstractTests {
 		assertTrue(pred.isTypeChecked());
 	}
 
+	/**
+	 * Ensures that type-checking succeeds on formulas with a thousand type
+	 * equations, whatever the order in which they are unified.
+	 */
+	@Test
+	public void largeFormulas() {
+		assertLargeTypeCheck(makeEqualityChain(1000));
+		assertLargeTypeCheck(makeLargeSetExtension(1000));
+	}
+
+	private static void assertLargeTypeCheck(Predicate pred) {
+		final ITypeCheckResult result = pred.typeCheck(mTypeEnvironment());
+		assertTrue(result.toString(), result.isSuccess());
+		assertTrue(pred.isTypeChecked());
+	}
+
+	// x0 = x1 ∧ x1 = x2 ∧ ... ∧ x(n-1) = xn ∧ xn = 0
+	private static Predicate makeEqualityChain(int size) {
+		final Predicate[] children = new Predicate[size + 1];
+		for (int i = 0; i < size; i++) {
+			children[i] = mRelationalPredicate(mFreeIdentifier("x" + i),
+					mFreeIdentifier("x" + (i + 1)));
+		}
+		children[size] = mRelationalPredicate(mFreeIdentifier("x" + size),
+				mIntegerLiteral());
+		return mAssociativePredicate(children);
+	}
+
+	// {x0, x1, ..., x(n-1)} ⊆ ℕ
+	private static Predicate makeLargeSetExtension(int size) {
+		final Expression[] members = new Expression[size];
+		for (int i = 0; i < size; i++) {
+			members[i] = mFreeIdentifier("x" + i);
+		}
+		return mRelationalPredicate(SUBSETEQ, mSetExtension(members),
+				mAtomicExpression(NATURAL));
+	}
+
 	private Predicate testPredicate(String image, ITypeEnvironment initialEnv,
 			ITypeEnvironment finalEnv) {
 		final FormulaFactory factory = initialEnv.getFormulaFactory();
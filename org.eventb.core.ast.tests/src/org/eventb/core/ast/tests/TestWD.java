@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2024 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  *     Systerel - added abstract test class
  *     Systerel - mathematical language v2
  *     Systerel - added additional acceptance tests + improved result
+ *     Systerel - added test of the WD cache
  *******************************************************************************/
 package org.eventb.core.ast.tests;
 
@@ -17,6 +18,7 @@ import static org.eventb.core.ast.tests.ExtendedFormulas.EFF;
 import static org.eventb.core.ast.tests.FastFactory.mDatatypeFactory;
 import static org.eventb.core.ast.tests.FastFactory.mTypeEnvironment;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.eventb.core.ast.Assignment;
@@ -852,4 +854,27 @@ public class TestWD extends AbstractTests {
 		assertWDLemma(env, "l = bar(foo(1÷x))", "x≠0");
 	}
 
+	/**
+	 * Ensures that the WD predicate of a formula is computed only once.
+	 */
+	@Test
+	public void testCachedWD() {
+		final StringBuilder image = new StringBuilder("x");
+		for (int i = 0; i < 100; i++) {
+			image.insert(0, "f(").append(")");
+		}
+		image.append(" = y");
+		final Predicate pred = parsePredicate(image.toString(), defaultTEnv);
+		final Formula<?> child = pred.getChild(0);
+
+		final Predicate wd = pred.getWDPredicate();
+		final Predicate childWD = child.getWDPredicate();
+		assertSame(wd, pred.getWDPredicate());
+		assertSame(childWD, child.getWDPredicate());
+
+		// Same formula, but another node
+		final Predicate other = parsePredicate(image.toString(), defaultTEnv);
+		assertEquals(wd, other.getWDPredicate());
+	}
+
 }
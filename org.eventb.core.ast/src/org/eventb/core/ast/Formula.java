@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2018 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -18,6 +18,7 @@
  *     Systerel - add given sets to free identifier cache
  *     Systerel - store factory used to build a formula
  *     Systerel - added support for factory translation
+ *     Systerel - cache of the well-definedness predicate
  *******************************************************************************/
 package org.eventb.core.ast;
 
@@ -106,6 +107,11 @@ public abstract class Formula<T extends Formula<T>> {
 	// (during type-check).
 	protected boolean typeChecked;
 
+	// Well-definedness predicate of this formula, computed on demand once this
+	// formula is type-checked. As the computation is deterministic, it does
+	// not matter if several threads compute it concurrently.
+	private volatile Predicate wdPredicate;
+
 	/**
 	 * <code>NO_TAG</code> is used as a placeholder when one needs to indicate
 	 * that a tag value is invalid or absent. It is different from all valid
@@ -1999,16 +2005,25 @@ public abstract class Formula<T extends Formula<T>> {
 	 * This formula must be type-checked before <code>getWDPredicate()</code>
 	 * can be invoked.
 	 * </p>
+	 * <p>
+	 * The well-definedness predicate is computed only once, then it is cached
+	 * in this formula node.
+	 * </p>
 	 * 
 	 * @return the well-definedness predicate for this formula.
 	 * @since 3.0
 	 */
 	public final Predicate getWDPredicate() {
 		ensureTypeChecked();
-		final WDComputer wdComputer = new WDComputer(fac);
-		final Predicate wdLemma = wdComputer.getWDLemma(this);
-		final WDImprover wdImprover = new WDImprover(fac);
-		return wdImprover.improve(wdLemma);
+		Predicate result = wdPredicate;
+		if (result == null) {
+			final WDComputer wdComputer = new WDComputer(fac);
+			final Predicate wdLemma = wdComputer.getWDLemma(this);
+			final WDImprover wdImprover = new WDImprover(fac);
+			result = wdImprover.improve(wdLemma);
+			wdPredicate = result;
+		}
+		return result;
 	}
 
 	/**
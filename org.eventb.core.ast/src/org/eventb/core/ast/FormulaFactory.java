@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2024 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,6 +13,7 @@
  *     Systerel - added support for mathematical extensions
  *     Systerel - added support for specialization
  *     Systerel - store factory used to build a formula or type
+ *     Systerel - added hash-consing of formulas
  *******************************************************************************/
 package org.eventb.core.ast;
 
@@ -51,6 +52,8 @@ import org.eventb.core.ast.extension.IOperatorGroup;
 import org.eventb.core.ast.extension.IOperatorProperties;
 import org.eventb.core.ast.extension.IPredicateExtension;
 import org.eventb.core.ast.extension.IPredicateExtension2;
+import org.eventb.internal.core.ast.HashConsingTable;
+import org.eventb.internal.core.ast.InterningRewriter;
 import org.eventb.internal.core.ast.Position;
 import org.eventb.internal.core.ast.Specialization;
 import org.eventb.internal.core.ast.datatype.DatatypeBuilder;
@@ -87,7 +90,20 @@ public class FormulaFactory {
 	 * set of extensions. Therefore, equality of factories is reduced to
 	 * identity of references and we do not override the equals() and hashcode()
 	 * methods inherited from Object.
+	 *
+	 * When hash-consing is enabled, each instance also maintains a table of
+	 * canonical formulas. Type-checked formulas built without a source
+	 * location are replaced by their canonical instance as soon as they are
+	 * built, so that equal sub-formulas get shared.
+	 */
+
+	/**
+	 * Name of the system property which enables hash-consing of formulas.
+	 *
+	 * @see #isHashConsing()
+	 * @since 3.8
 	 */
+	public static final String HASH_CONSING_PROPERTY = "org.eventb.core.ast.hashConsing";
 
 	private static final Expression[] NO_EXPRESSIONS = new Expression[0];
 
@@ -110,6 +126,9 @@ public class FormulaFactory {
 	private final Map<Integer, IFormulaExtension> extensions;
 	
 	private final BMath grammar;
+
+	// canonical formulas, null if hash-consing is disabled
+	private final HashConsingTable hashConsingTable;
 	
 	/**
 	 * Returns the default instance of the formula factory which corresponds to
@@ -402,10 +421,19 @@ public class FormulaFactory {
 				|| tag == Formula.KID_GEN;
 	}
 
+	// The property is read when each factory is created
+	private static HashConsingTable makeHashConsingTable() {
+		if (!Boolean.getBoolean(HASH_CONSING_PROPERTY)) {
+			return null;
+		}
+		return new HashConsingTable();
+	}
+
 	// for V1_INSTANCE only
 	private FormulaFactory(BMath grammar) {
 		this.extensions = emptyMap();
 		this.grammar = grammar;
+		this.hashConsingTable = makeHashConsingTable();
 	}
 	
 	// for all V2 instances
@@ -414,6 +442,7 @@ public class FormulaFactory {
 		this.grammar = new ExtendedGrammar(
 				new LinkedHashSet<IFormulaExtension>(extMap.values()));
 		this.grammar.init();
+		this.hashConsingTable = makeHashConsingTable();
 	}
 
 	/**
@@ -485,8 +514,8 @@ public class FormulaFactory {
 			IExpressionExtension extension, Expression[] expressions,
 			Predicate[] predicates, SourceLocation location, Type type) {
 		final int tag = getCheckedExtensionTag(extension);
-		return new ExtendedExpression(tag, expressions.clone(),
-				predicates.clone(), location, this, extension, type);
+		return canonical(new ExtendedExpression(tag, expressions.clone(),
+				predicates.clone(), location, this, extension, type));
 	}
 
 	/**
@@ -549,8 +578,8 @@ public class FormulaFactory {
 			IExpressionExtension extension, Collection<Expression> expressions,
 			Collection<Predicate> predicates, SourceLocation location, Type type) {
 		final int tag = getCheckedExtensionTag(extension);
-		return new ExtendedExpression(tag, toExprArray(expressions),
-				toPredArray(predicates), location, this, extension, type);
+		return canonical(new ExtendedExpression(tag, toExprArray(expressions),
+				toPredArray(predicates), location, this, extension, type));
 	}
 
 	/**
@@ -608,8 +637,8 @@ public class FormulaFactory {
 			IPredicateExtension extension, Expression[] expressions,
 			Predicate[] predicates, SourceLocation location) {
 		final int tag = getCheckedExtensionTag(extension);
-		return new ExtendedPredicate(tag, expressions.clone(),
-				predicates.clone(), location, this, extension);
+		return canonical(new ExtendedPredicate(tag, expressions.clone(),
+				predicates.clone(), location, this, extension));
 	}
 
 	/**
@@ -638,8 +667,8 @@ public class FormulaFactory {
 			IPredicateExtension2 extension, Expression[] expressions,
 			Predicate[] predicates, SourceLocation location) {
 		final int tag = getCheckedExtensionTag(extension);
-		return new ExtendedPredicate(tag, expressions.clone(),
-				predicates.clone(), location, this, extension);
+		return canonical(new ExtendedPredicate(tag, expressions.clone(),
+				predicates.clone(), location, this, extension));
 	}
 
 	/**
@@ -668,8 +697,8 @@ public class FormulaFactory {
 			IPredicateExtension extension, Collection<Expression> expressions,
 			Collection<Predicate> predicates, SourceLocation location) {
 		final int tag = getCheckedExtensionTag(extension);
-		return new ExtendedPredicate(tag, toExprArray(expressions),
-				toPredArray(predicates), location, this, extension);
+		return canonical(new ExtendedPredicate(tag, toExprArray(expressions),
+				toPredArray(predicates), location, this, extension));
 	}
 
 	/**
@@ -698,8 +727,8 @@ public class FormulaFactory {
 			IPredicateExtension2 extension, Collection<Expression> expressions,
 			Collection<Predicate> predicates, SourceLocation location) {
 		final int tag = getCheckedExtensionTag(extension);
-		return new ExtendedPredicate(tag, toExprArray(expressions),
-				toPredArray(predicates), location, this, extension);
+		return canonical(new ExtendedPredicate(tag, toExprArray(expressions),
+				toPredArray(predicates), location, this, extension));
 	}
 
 	/**
@@ -812,7 +841,7 @@ public class FormulaFactory {
 	 */
 	public AssociativeExpression makeAssociativeExpression(
 			int tag, Expression[] children, SourceLocation location) {
-		return new AssociativeExpression(children.clone(), tag, location, this);
+		return canonical(new AssociativeExpression(children.clone(), tag, location, this));
 	}
 
 	/**
@@ -843,7 +872,7 @@ public class FormulaFactory {
 	 */
 	public AssociativeExpression makeAssociativeExpression(
 			int tag, Collection<Expression> children, SourceLocation location) {
-		return new AssociativeExpression(toExprArray(children), tag, location, this);
+		return canonical(new AssociativeExpression(toExprArray(children), tag, location, this));
 	}
 	
 	/**
@@ -869,8 +898,8 @@ public class FormulaFactory {
 	 */
 	public AssociativePredicate makeAssociativePredicate(
 			int tag, Collection<Predicate> predicates, SourceLocation location) {
-		return new AssociativePredicate(toPredArray(predicates), tag, location,
-				this);
+		return canonical(new AssociativePredicate(toPredArray(predicates), tag, location,
+				this));
 	}
 
 	/**
@@ -896,7 +925,7 @@ public class FormulaFactory {
 	 */
 	public AssociativePredicate makeAssociativePredicate(
 			int tag, Predicate[] predicates, SourceLocation location) {
-		return new AssociativePredicate(predicates.clone(), tag, location, this);
+		return canonical(new AssociativePredicate(predicates.clone(), tag, location, this));
 	}
 
 	/**
@@ -932,7 +961,7 @@ public class FormulaFactory {
 		if (this == V1_INSTANCE && isV2Specific(tag)) {
 			throw new IllegalArgumentException("Unsupported tag in V1: " + tag);
 		}
-		return new AtomicExpression(tag, location, null, this);
+		return canonical(new AtomicExpression(tag, location, null, this));
 	}
 
 	/**
@@ -987,7 +1016,7 @@ public class FormulaFactory {
 		if (this == V1_INSTANCE && isV2Specific(tag)) {
 			throw new IllegalArgumentException("Unsupported tag in V1: " + tag);
 		}
-		return new AtomicExpression(tag, location, type, this);
+		return canonical(new AtomicExpression(tag, location, type, this));
 	}
 
 	/**
@@ -1006,7 +1035,7 @@ public class FormulaFactory {
 	 *             if the given type has been built with a different factory
 	 */
 	public AtomicExpression makeEmptySet(Type type, SourceLocation location) {
-		return new AtomicExpression(Formula.EMPTYSET, location, type, this);
+		return canonical(new AtomicExpression(Formula.EMPTYSET, location, type, this));
 	}
 
 	/**
@@ -1223,7 +1252,7 @@ public class FormulaFactory {
 	 */
 	public BinaryExpression makeBinaryExpression(int tag,
 			Expression left, Expression right, SourceLocation location) {
-		return new BinaryExpression(left, right, tag, location, this);
+		return canonical(new BinaryExpression(left, right, tag, location, this));
 	}
 
 	/**
@@ -1249,7 +1278,7 @@ public class FormulaFactory {
 	 */
 	public BinaryPredicate makeBinaryPredicate(int tag,
 			Predicate left, Predicate right, SourceLocation location) {
-		return new BinaryPredicate(left, right, tag, location, this);
+		return canonical(new BinaryPredicate(left, right, tag, location, this));
 	}
 
 	/**
@@ -1264,7 +1293,7 @@ public class FormulaFactory {
 	 *             if the given child has been built with a different factory
 	 */
 	public BoolExpression makeBoolExpression(Predicate child, SourceLocation location) {
-		return new BoolExpression(child, location, this);
+		return canonical(new BoolExpression(child, location, this));
 	}
 
 	/**
@@ -1292,7 +1321,7 @@ public class FormulaFactory {
 	 */
 	public BoundIdentDecl makeBoundIdentDecl(String name,
 			SourceLocation location) {
-		return new BoundIdentDecl(name, location, null, this);
+		return canonical(new BoundIdentDecl(name, location, null, this));
 	}
 
 	/**
@@ -1324,7 +1353,7 @@ public class FormulaFactory {
 	 */
 	public BoundIdentDecl makeBoundIdentDecl(String name,
 			SourceLocation location, Type type) {
-		return new BoundIdentDecl(name, location, type, this);
+		return canonical(new BoundIdentDecl(name, location, type, this));
 	}
 
 	/**
@@ -1343,7 +1372,7 @@ public class FormulaFactory {
 	 */
 	public BoundIdentifier makeBoundIdentifier(int index,
 			SourceLocation location) {
-		return new BoundIdentifier(index, location, null, this);
+		return canonical(new BoundIdentifier(index, location, null, this));
 	}
 
 	/**
@@ -1366,7 +1395,7 @@ public class FormulaFactory {
 	 */
 	public BoundIdentifier makeBoundIdentifier(int index,
 			SourceLocation location, Type type) {
-		return new BoundIdentifier(index, location, type, this);
+		return canonical(new BoundIdentifier(index, location, type, this));
 	}
 
 	/**
@@ -1386,7 +1415,7 @@ public class FormulaFactory {
 	 */
 	public FreeIdentifier makeFreeIdentifier(String name,
 			SourceLocation location) {
-		return new FreeIdentifier(name, location, null, this);
+		return canonical(new FreeIdentifier(name, location, null, this));
 	}
 	
 	/**
@@ -1418,7 +1447,7 @@ public class FormulaFactory {
 	 */
 	public FreeIdentifier makeFreeIdentifier(String name,
 			SourceLocation location, Type type) {
-		return new FreeIdentifier(name, location, type, this);
+		return canonical(new FreeIdentifier(name, location, type, this));
 	}
 
 	/**
@@ -1432,7 +1461,7 @@ public class FormulaFactory {
 	 */
 	public IntegerLiteral makeIntegerLiteral(BigInteger literal,
 			SourceLocation location) {
-		return new IntegerLiteral(literal, location, this);
+		return canonical(new IntegerLiteral(literal, location, this));
 	}
 
 	/**
@@ -1452,7 +1481,7 @@ public class FormulaFactory {
 	 */
 	public LiteralPredicate makeLiteralPredicate(int tag,
 			SourceLocation location) {
-		return new LiteralPredicate(tag, location, this);
+		return canonical(new LiteralPredicate(tag, location, this));
 	}
 
 	/**
@@ -1483,7 +1512,7 @@ public class FormulaFactory {
 	 */
 	public PredicateVariable makePredicateVariable(String name,
 			SourceLocation location) {
-		return new PredicateVariable(name, location, this);
+		return canonical(new PredicateVariable(name, location, this));
 	}
 	
 	/**
@@ -1530,8 +1559,8 @@ public class FormulaFactory {
 	public QuantifiedExpression makeQuantifiedExpression(int tag,
 			BoundIdentDecl[] boundIdentifiers, Predicate pred, Expression expr,
 			SourceLocation location, Form form) {
-		return new QuantifiedExpression(expr, pred, boundIdentifiers.clone(),
-				tag, location, form, this);
+		return canonical(new QuantifiedExpression(expr, pred, boundIdentifiers.clone(),
+				tag, location, form, this));
 	}
 
 	/**
@@ -1577,8 +1606,8 @@ public class FormulaFactory {
 	public QuantifiedExpression makeQuantifiedExpression(int tag,
 			Collection<BoundIdentDecl> boundIdentifiers, Predicate pred, Expression expr,
 			SourceLocation location, Form form) {
-		return new QuantifiedExpression(expr, pred,
-				toBIDArray(boundIdentifiers), tag, location, form, this);
+		return canonical(new QuantifiedExpression(expr, pred,
+				toBIDArray(boundIdentifiers), tag, location, form, this));
 	}
 
 	/**
@@ -1607,8 +1636,8 @@ public class FormulaFactory {
 	public QuantifiedPredicate makeQuantifiedPredicate(int tag,
 			BoundIdentDecl[] boundIdentifiers, Predicate pred,
 			SourceLocation location) {
-		return new QuantifiedPredicate(pred, boundIdentifiers.clone(), tag,
-				location, this);
+		return canonical(new QuantifiedPredicate(pred, boundIdentifiers.clone(), tag,
+				location, this));
 	}
 
 	/**
@@ -1637,8 +1666,8 @@ public class FormulaFactory {
 	public QuantifiedPredicate makeQuantifiedPredicate(int tag,
 			Collection<BoundIdentDecl> boundIdentifiers, Predicate pred,
 			SourceLocation location) {
-		return new QuantifiedPredicate(pred, toBIDArray(boundIdentifiers), tag,
-				location, this);
+		return canonical(new QuantifiedPredicate(pred, toBIDArray(boundIdentifiers), tag,
+				location, this));
 	}
 	
 	/**
@@ -1674,7 +1703,7 @@ public class FormulaFactory {
 	 */
 	public RelationalPredicate makeRelationalPredicate(int tag,
 			Expression left, Expression right, SourceLocation location) {
-		return new RelationalPredicate(left, right, tag, location, this);
+		return canonical(new RelationalPredicate(left, right, tag, location, this));
 	}
 
 	/**
@@ -1690,8 +1719,8 @@ public class FormulaFactory {
 	 */
 	public SetExtension makeSetExtension(Expression expression,
 			SourceLocation location) {
-		return new SetExtension(new Expression[] { expression }, location,
-				this, null);
+		return canonical(new SetExtension(new Expression[] { expression }, location,
+				this, null));
 	}
 
 	/**
@@ -1707,7 +1736,7 @@ public class FormulaFactory {
 	 */
 	public SetExtension makeSetExtension(Expression[] members,
 			SourceLocation location) {
-		return new SetExtension(members.clone(), location, this, null);
+		return canonical(new SetExtension(members.clone(), location, this, null));
 	}
 
 	/**
@@ -1730,7 +1759,7 @@ public class FormulaFactory {
 	 * @since 2.6
 	 */
 	public SetExtension makeEmptySetExtension(Type type, SourceLocation location) {
-		return new SetExtension(NO_EXPRESSIONS, location, this, type);
+		return canonical(new SetExtension(NO_EXPRESSIONS, location, this, type));
 	}
 
 	/**
@@ -1746,7 +1775,7 @@ public class FormulaFactory {
 	 */
 	public SetExtension makeSetExtension(Collection<Expression> members,
 			SourceLocation location) {
-		return new SetExtension(toExprArray(members), location, this, null);
+		return canonical(new SetExtension(toExprArray(members), location, this, null));
 	}
 
 	/**
@@ -1769,7 +1798,7 @@ public class FormulaFactory {
 	 */
 	public SimplePredicate makeSimplePredicate(int tag, Expression child,
 			SourceLocation location) {
-		return new SimplePredicate(child, tag, location, this);
+		return canonical(new SimplePredicate(child, tag, location, this));
 	}
 
 	/**
@@ -1824,7 +1853,7 @@ public class FormulaFactory {
 		if (this != V1_INSTANCE && isV1Specific(tag)) {
 			throw new IllegalArgumentException("Unsupported V1 tag: " + tag);
 		}
-		return new UnaryExpression(child, tag, location, this);
+		return canonical(new UnaryExpression(child, tag, location, this));
 	}
 
 	/**
@@ -1847,7 +1876,7 @@ public class FormulaFactory {
 	 */
 	public UnaryPredicate makeUnaryPredicate(int tag, Predicate child,
 			SourceLocation location) {
-		return new UnaryPredicate(child, tag, location, this);
+		return canonical(new UnaryPredicate(child, tag, location, this));
 	}
 	
 	/**
@@ -1879,7 +1908,7 @@ public class FormulaFactory {
 		if (this == V1_INSTANCE) {
 			throw new IllegalArgumentException("Unsupported in V1");
 		}
-		return new MultiplePredicate(children.clone(), tag, location, this);
+		return canonical(new MultiplePredicate(children.clone(), tag, location, this));
 	}
 
 	/**
@@ -1911,7 +1940,7 @@ public class FormulaFactory {
 		if (this == V1_INSTANCE) {
 			throw new IllegalArgumentException("Unsupported in V1");
 		}
-		return new MultiplePredicate(toExprArray(children), tag, location, this);
+		return canonical(new MultiplePredicate(toExprArray(children), tag, location, this));
 	}
 
 	/**
@@ -2237,6 +2266,75 @@ public class FormulaFactory {
 		return !EXTN_UNICITY_CHECKER.isUsedId(id, getExtensions());
 	}
 
+	/**
+	 * Returns whether this factory hash-conses the formulas it builds.
+	 * Hash-consing is enabled by setting the system property
+	 * {@value #HASH_CONSING_PROPERTY} to <code>true</code>, before this factory
+	 * is created.
+	 * <p>
+	 * When enabled, all <code>makeXxx()</code> methods that build a formula
+	 * return a canonical instance if the resulting formula is type-checked and
+	 * has no source location. Two such formulas that are equal and use the
+	 * same names for bound identifier declarations are then the same object.
+	 * Canonical formulas are weakly referenced by the factory, so that they
+	 * are garbage collected as soon as they are not used anymore.
+	 * </p>
+	 * 
+	 * @return <code>true</code> iff hash-consing is enabled
+	 * @see #intern(Formula)
+	 * @since 3.8
+	 */
+	public boolean isHashConsing() {
+		return hashConsingTable != null;
+	}
+
+	/**
+	 * Returns the canonical instance of the given formula, where all
+	 * sub-formulas are also canonical. This is intended for formulas that have
+	 * been parsed then type-checked, as they carry source locations and thus
+	 * are not hash-consed when built.
+	 * <p>
+	 * The returned formula is equal to the given one and uses the same names
+	 * for bound identifier declarations, but carries no source location. If
+	 * hash-consing is disabled or the given formula is not
+	 * type-checked, the given formula is returned unchanged.
+	 * </p>
+	 * <p>
+	 * This operation is not supported by assignments.
+	 * </p>
+	 * 
+	 * @param formula
+	 *            a formula built with this factory
+	 * @return the canonical instance of the given formula
+	 * @throws IllegalArgumentException
+	 *             if the given formula has been built with a different factory
+	 * @see #isHashConsing()
+	 * @since 3.8
+	 */
+	public <T extends Formula<T>> T intern(T formula) {
+		if (formula.getFactory() != this) {
+			throw new IllegalArgumentException("The formula " + formula
+					+ " has an incompatible factory: " + formula.getFactory()
+					+ " instead of: " + this);
+		}
+		if (hashConsingTable == null || !formula.isTypeChecked()) {
+			return formula;
+		}
+		return formula.rewrite(new InterningRewriter(this, hashConsingTable));
+	}
+
+	/*
+	 * Returns the canonical instance of a newly built formula, if hash-consing
+	 * applies to it.
+	 */
+	private <T extends Formula<?>> T canonical(T formula) {
+		if (hashConsingTable == null || formula.getSourceLocation() != null
+				|| !formula.isTypeChecked()) {
+			return formula;
+		}
+		return hashConsingTable.intern(formula);
+	}
+
 	/**
 	 * Returns whether the given name is a valid identifier name (that is an
 	 * identifier name which is not used as a keyword in event-B concrete
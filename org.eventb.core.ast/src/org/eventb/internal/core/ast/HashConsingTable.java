@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.ast;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+import org.eventb.core.ast.BoundIdentDecl;
+import org.eventb.core.ast.Formula;
+
+/**
+ * Table of canonical formulas, used for hash-consing formulas built by a
+ * formula factory.
+ * <p>
+ * Formulas are only weakly referenced by this table, so that a canonical
+ * formula which is not used anymore can still be garbage collected. Two
+ * formulas share the same canonical instance when they are equal and their
+ * bound identifier declarations bear the same names. Indeed, formula equality
+ * is modulo alpha-conversion, but declaration names show when printing a
+ * formula.
+ * </p>
+ * <p>
+ * Only type-checked formulas shall be put in this table, as type-checking
+ * modifies a formula in place. This class is thread-safe: the table is split
+ * into segments which are locked independently.
+ * </p>
+ */
+public class HashConsingTable {
+
+	private static final int NB_SEGMENTS = 16;
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private static class Entry extends WeakReference<Formula<?>> {
+
+		final int hash;
+		Entry next;
+
+		Entry(Formula<?> formula, int hash, ReferenceQueue<Formula<?>> queue,
+				Entry next) {
+			super(formula, queue);
+			this.hash = hash;
+			this.next = next;
+		}
+
+	}
+
+	private static class Segment {
+
+		private final ReferenceQueue<Formula<?>> queue = new ReferenceQueue<Formula<?>>();
+
+		private Entry[] table = new Entry[INITIAL_CAPACITY];
+
+		private int size;
+
+		synchronized Formula<?> intern(Formula<?> formula, int hash) {
+			expungeStaleEntries();
+			final int index = indexFor(hash, table.length);
+			for (Entry e = table[index]; e != null; e = e.next) {
+				if (e.hash != hash) {
+					continue;
+				}
+				final Formula<?> candidate = e.get();
+				if (candidate != null && candidate.equals(formula)
+						&& sameDeclarationNames(candidate, formula)) {
+					return candidate;
+				}
+			}
+			table[index] = new Entry(formula, hash, queue, table[index]);
+			if (++size > table.length * 3 / 4) {
+				resize();
+			}
+			return formula;
+		}
+
+		synchronized int size() {
+			expungeStaleEntries();
+			return size;
+		}
+
+		private void expungeStaleEntries() {
+			Object ref;
+			while ((ref = queue.poll()) != null) {
+				final Entry stale = (Entry) ref;
+				final int index = indexFor(stale.hash, table.length);
+				Entry prev = null;
+				for (Entry e = table[index]; e != null; prev = e, e = e.next) {
+					if (e == stale) {
+						if (prev == null) {
+							table[index] = e.next;
+						} else {
+							prev.next = e.next;
+						}
+						--size;
+						break;
+					}
+				}
+			}
+		}
+
+		private void resize() {
+			final Entry[] newTable = new Entry[table.length * 2];
+			for (Entry e : table) {
+				while (e != null) {
+					final Entry next = e.next;
+					final int index = indexFor(e.hash, newTable.length);
+					e.next = newTable[index];
+					newTable[index] = e;
+					e = next;
+				}
+			}
+			table = newTable;
+		}
+
+	}
+
+	private final Segment[] segments = new Segment[NB_SEGMENTS];
+
+	public HashConsingTable() {
+		for (int i = 0; i < NB_SEGMENTS; i++) {
+			segments[i] = new Segment();
+		}
+	}
+
+	/**
+	 * Returns the canonical instance of the given formula. If the table does
+	 * not contain yet a formula equal to the given one, the given formula
+	 * becomes the canonical instance.
+	 *
+	 * @param formula
+	 *            a type-checked formula
+	 * @return the canonical instance of the given formula
+	 */
+	public <T extends Formula<?>> T intern(T formula) {
+		final int hash = spread(formula.hashCode());
+		final Segment segment = segments[hash >>> 28 & (NB_SEGMENTS - 1)];
+		@SuppressWarnings("unchecked")
+		final T result = (T) segment.intern(formula, hash);
+		return result;
+	}
+
+	/**
+	 * Returns the number of canonical formulas that are still alive.
+	 *
+	 * @return the number of formulas in this table
+	 */
+	public int size() {
+		int result = 0;
+		for (Segment segment : segments) {
+			result += segment.size();
+		}
+		return result;
+	}
+
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16) ^ (hash << 7);
+	}
+
+	private static int indexFor(int hash, int length) {
+		return hash & (length - 1);
+	}
+
+	/*
+	 * Tells whether two equal formulas declare bound identifiers with the same
+	 * names. Sub-formulas which are shared are not traversed, so that this
+	 * check is cheap when children are already canonical.
+	 */
+	static boolean sameDeclarationNames(Formula<?> left, Formula<?> right) {
+		if (left == right) {
+			return true;
+		}
+		if (left instanceof BoundIdentDecl) {
+			return ((BoundIdentDecl) left).getName().equals(
+					((BoundIdentDecl) right).getName());
+		}
+		final int count = left.getChildCount();
+		for (int i = 0; i < count; i++) {
+			if (!sameDeclarationNames(left.getChild(i), right.getChild(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
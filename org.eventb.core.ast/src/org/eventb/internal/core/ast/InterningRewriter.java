@@ -0,0 +1,313 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.ast;
+
+import org.eventb.core.ast.AssociativeExpression;
+import org.eventb.core.ast.AssociativePredicate;
+import org.eventb.core.ast.AtomicExpression;
+import org.eventb.core.ast.BinaryExpression;
+import org.eventb.core.ast.BinaryPredicate;
+import org.eventb.core.ast.BoolExpression;
+import org.eventb.core.ast.BoundIdentDecl;
+import org.eventb.core.ast.BoundIdentifier;
+import org.eventb.core.ast.Expression;
+import org.eventb.core.ast.ExtendedExpression;
+import org.eventb.core.ast.ExtendedPredicate;
+import org.eventb.core.ast.FormulaFactory;
+import org.eventb.core.ast.FreeIdentifier;
+import org.eventb.core.ast.IntegerLiteral;
+import org.eventb.core.ast.LiteralPredicate;
+import org.eventb.core.ast.MultiplePredicate;
+import org.eventb.core.ast.Predicate;
+import org.eventb.core.ast.PredicateVariable;
+import org.eventb.core.ast.QuantifiedExpression;
+import org.eventb.core.ast.QuantifiedPredicate;
+import org.eventb.core.ast.RelationalPredicate;
+import org.eventb.core.ast.SetExtension;
+import org.eventb.core.ast.SimplePredicate;
+import org.eventb.core.ast.UnaryExpression;
+import org.eventb.core.ast.UnaryPredicate;
+
+/**
+ * Rewriter that replaces every node of a type-checked formula by its canonical
+ * instance. As nodes are rewritten bottom-up, each node is rebuilt with
+ * canonical children before being itself interned.
+ * <p>
+ * Canonical formulas never carry a source location. Hence, a node that has a
+ * location, such as a node coming from the parser, is rebuilt without location
+ * before being interned.
+ * </p>
+ */
+public class InterningRewriter extends DefaultTypeCheckingRewriter {
+
+	private final HashConsingTable table;
+
+	public InterningRewriter(FormulaFactory ff, HashConsingTable table) {
+		super(ff);
+		this.table = table;
+	}
+
+	@Override
+	public BoundIdentDecl rewrite(BoundIdentDecl src) {
+		return intern(super.rewrite(src));
+	}
+
+	@Override
+	public Expression rewrite(AssociativeExpression src,
+			AssociativeExpression expr) {
+		return intern(super.rewrite(src, expr));
+	}
+
+	@Override
+	public Predicate rewrite(AssociativePredicate src, AssociativePredicate pred) {
+		return intern(super.rewrite(src, pred));
+	}
+
+	@Override
+	public Expression rewrite(AtomicExpression src) {
+		return intern(super.rewrite(src));
+	}
+
+	@Override
+	public Expression rewrite(BinaryExpression src, BinaryExpression expr) {
+		return intern(super.rewrite(src, expr));
+	}
+
+	@Override
+	public Predicate rewrite(BinaryPredicate src, BinaryPredicate pred) {
+		return intern(super.rewrite(src, pred));
+	}
+
+	@Override
+	public Expression rewrite(BoolExpression src, BoolExpression expr) {
+		return intern(super.rewrite(src, expr));
+	}
+
+	@Override
+	public Expression rewrite(BoundIdentifier src) {
+		return intern(super.rewrite(src));
+	}
+
+	@Override
+	public Expression rewrite(ExtendedExpression src, boolean changed,
+			Expression[] newChildExprs, Predicate[] newChildPreds) {
+		return intern(super.rewrite(src, changed, newChildExprs,
+				newChildPreds));
+	}
+
+	@Override
+	public Predicate rewrite(ExtendedPredicate src, boolean changed,
+			Expression[] newChildExprs, Predicate[] newChildPreds) {
+		return intern(super.rewrite(src, changed, newChildExprs,
+				newChildPreds));
+	}
+
+	@Override
+	public Expression rewrite(FreeIdentifier src) {
+		return intern(super.rewrite(src));
+	}
+
+	@Override
+	public Expression rewrite(IntegerLiteral src) {
+		return intern(super.rewrite(src));
+	}
+
+	@Override
+	public Predicate rewrite(LiteralPredicate src) {
+		return intern(super.rewrite(src));
+	}
+
+	@Override
+	public Predicate rewrite(MultiplePredicate src, MultiplePredicate pred) {
+		return intern(super.rewrite(src, pred));
+	}
+
+	@Override
+	public Predicate rewrite(PredicateVariable src) {
+		return intern(super.rewrite(src));
+	}
+
+	@Override
+	public Expression rewrite(QuantifiedExpression src,
+			QuantifiedExpression expr) {
+		return intern(super.rewrite(src, expr));
+	}
+
+	@Override
+	public Predicate rewrite(QuantifiedPredicate src, QuantifiedPredicate pred) {
+		return intern(super.rewrite(src, pred));
+	}
+
+	@Override
+	public Predicate rewrite(RelationalPredicate src, RelationalPredicate pred) {
+		return intern(super.rewrite(src, pred));
+	}
+
+	@Override
+	public Expression rewrite(SetExtension src, SetExtension expr) {
+		return intern(super.rewrite(src, expr));
+	}
+
+	@Override
+	public Expression rewriteToEmptySet(SetExtension src) {
+		return intern(super.rewriteToEmptySet(src));
+	}
+
+	@Override
+	public Predicate rewrite(SimplePredicate src, SimplePredicate pred) {
+		return intern(super.rewrite(src, pred));
+	}
+
+	@Override
+	public Expression rewrite(UnaryExpression src, boolean changed,
+			Expression newChild) {
+		return intern(super.rewrite(src, changed, newChild));
+	}
+
+	@Override
+	public Expression rewrite(UnaryExpression src, IntegerLiteral expr) {
+		return intern(super.rewrite(src, expr));
+	}
+
+	@Override
+	public Predicate rewrite(UnaryPredicate src, UnaryPredicate pred) {
+		return intern(super.rewrite(src, pred));
+	}
+
+	private BoundIdentDecl intern(BoundIdentDecl decl) {
+		if (decl.getSourceLocation() != null) {
+			decl = ff.makeBoundIdentDecl(decl.getName(), null, decl.getType());
+		}
+		return table.intern(decl);
+	}
+
+	private Expression intern(Expression expr) {
+		if (expr.getSourceLocation() != null) {
+			expr = unlocated(expr);
+		}
+		return table.intern(expr);
+	}
+
+	private Predicate intern(Predicate pred) {
+		if (pred.getSourceLocation() != null) {
+			pred = unlocated(pred);
+		}
+		return table.intern(pred);
+	}
+
+	// Returns a copy of the given expression without source location
+	private Expression unlocated(Expression expr) {
+		final int tag = expr.getTag();
+		if (expr instanceof AssociativeExpression) {
+			return ff.makeAssociativeExpression(tag,
+					((AssociativeExpression) expr).getChildren(), null);
+		}
+		if (expr instanceof AtomicExpression) {
+			return ff.makeAtomicExpression(tag, null, expr.getType());
+		}
+		if (expr instanceof BinaryExpression) {
+			final BinaryExpression bin = (BinaryExpression) expr;
+			return ff.makeBinaryExpression(tag, bin.getLeft(), bin.getRight(),
+					null);
+		}
+		if (expr instanceof BoolExpression) {
+			return ff.makeBoolExpression(
+					((BoolExpression) expr).getPredicate(), null);
+		}
+		if (expr instanceof BoundIdentifier) {
+			return ff.makeBoundIdentifier(
+					((BoundIdentifier) expr).getBoundIndex(), null,
+					expr.getType());
+		}
+		if (expr instanceof ExtendedExpression) {
+			final ExtendedExpression ext = (ExtendedExpression) expr;
+			return ff.makeExtendedExpression(ext.getExtension(),
+					ext.getChildExpressions(), ext.getChildPredicates(), null,
+					expr.getType());
+		}
+		if (expr instanceof FreeIdentifier) {
+			return ff.makeFreeIdentifier(((FreeIdentifier) expr).getName(),
+					null, expr.getType());
+		}
+		if (expr instanceof IntegerLiteral) {
+			return ff.makeIntegerLiteral(((IntegerLiteral) expr).getValue(),
+					null);
+		}
+		if (expr instanceof QuantifiedExpression) {
+			final QuantifiedExpression qexpr = (QuantifiedExpression) expr;
+			return ff.makeQuantifiedExpression(tag,
+					qexpr.getBoundIdentDecls(), qexpr.getPredicate(),
+					qexpr.getExpression(), null, qexpr.getForm());
+		}
+		if (expr instanceof SetExtension) {
+			final Expression[] members = ((SetExtension) expr).getMembers();
+			if (members.length == 0) {
+				return ff.makeEmptySetExtension(expr.getType(), null);
+			}
+			return ff.makeSetExtension(members, null);
+		}
+		if (expr instanceof UnaryExpression) {
+			return ff.makeUnaryExpression(tag,
+					((UnaryExpression) expr).getChild(), null);
+		}
+		throw new IllegalArgumentException("Unexpected expression: " + expr);
+	}
+
+	// Returns a copy of the given predicate without source location
+	private Predicate unlocated(Predicate pred) {
+		final int tag = pred.getTag();
+		if (pred instanceof AssociativePredicate) {
+			return ff.makeAssociativePredicate(tag,
+					((AssociativePredicate) pred).getChildren(), null);
+		}
+		if (pred instanceof BinaryPredicate) {
+			final BinaryPredicate bin = (BinaryPredicate) pred;
+			return ff.makeBinaryPredicate(tag, bin.getLeft(), bin.getRight(),
+					null);
+		}
+		if (pred instanceof ExtendedPredicate) {
+			final ExtendedPredicate ext = (ExtendedPredicate) pred;
+			return ff.makeExtendedPredicate(ext.getExtension(),
+					ext.getChildExpressions(), ext.getChildPredicates(), null);
+		}
+		if (pred instanceof LiteralPredicate) {
+			return ff.makeLiteralPredicate(tag, null);
+		}
+		if (pred instanceof MultiplePredicate) {
+			return ff.makeMultiplePredicate(tag,
+					((MultiplePredicate) pred).getChildren(), null);
+		}
+		if (pred instanceof PredicateVariable) {
+			return ff.makePredicateVariable(
+					((PredicateVariable) pred).getName(), null);
+		}
+		if (pred instanceof QuantifiedPredicate) {
+			final QuantifiedPredicate qpred = (QuantifiedPredicate) pred;
+			return ff.makeQuantifiedPredicate(tag, qpred.getBoundIdentDecls(),
+					qpred.getPredicate(), null);
+		}
+		if (pred instanceof RelationalPredicate) {
+			final RelationalPredicate rel = (RelationalPredicate) pred;
+			return ff.makeRelationalPredicate(tag, rel.getLeft(),
+					rel.getRight(), null);
+		}
+		if (pred instanceof SimplePredicate) {
+			return ff.makeSimplePredicate(tag,
+					((SimplePredicate) pred).getExpression(), null);
+		}
+		if (pred instanceof UnaryPredicate) {
+			return ff.makeUnaryPredicate(tag,
+					((UnaryPredicate) pred).getChild(), null);
+		}
+		throw new IllegalArgumentException("Unexpected predicate: " + pred);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2014 Systerel and others.
+ * Copyright (c) 2013, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -21,7 +21,6 @@ import org.eventb.core.ast.ASTProblem;
 import org.eventb.core.ast.GivenType;
 import org.eventb.core.ast.SourceLocation;
 import org.eventb.internal.core.lexer.GenLexer;
-import org.eventb.internal.core.lexer.GenLexer.LexState;
 import org.eventb.internal.core.lexer.ILexer;
 import org.eventb.internal.core.lexer.Scanner;
 import org.eventb.internal.core.lexer.Token;
@@ -62,8 +61,8 @@ public class DatatypeLexer implements ILexer {
 	// The grammar (needed to produce tokens)
 	private final AbstractGrammar grammar;
 
-	// The token for the datatype identifier
-	private final Token datatypeToken;
+	// The name of the datatype identifier
+	private final String datatypeName;
 
 	// The stream of tokens to recognize
 	private final List<Token> expectedTokens = new ArrayList<Token>();
@@ -71,12 +70,16 @@ public class DatatypeLexer implements ILexer {
 	// The kind of identifiers (local cache)
 	private final int identKind;
 
+	// The bounds of the last token read
+	private int tokenStart;
+	private int tokenEnd;
+
 	private DatatypeLexer(DatatypeBuilder dtBuilder, String toLex,
 			ParseResult result, AbstractGrammar grammar) {
 		this.lexer = new GenLexer(toLex, result, grammar);
 		this.grammar = grammar;
 		this.identKind = grammar.getKind(IDENT);
-		this.datatypeToken = mIdentToken(dtBuilder.getName());
+		this.datatypeName = dtBuilder.getName();
 		makeExpectedTokens(dtBuilder);
 	}
 
@@ -103,14 +106,46 @@ public class DatatypeLexer implements ILexer {
 
 	@Override
 	public Token nextToken() {
-		final Token tk = lexer.nextToken();
-		if (tk.equals(datatypeToken)) {
+		final int kind = nextKind();
+		return makeToken(kind, tokenStart, tokenEnd);
+	}
+
+	@Override
+	public int nextKind() {
+		final int kind = lexer.nextKind();
+		tokenStart = lexer.getTokenStart();
+		tokenEnd = lexer.getTokenEnd();
+		if (isDatatypeToken(kind)) {
 			if (!skipExpectedTokens()) {
 				// Give up on error
-				return lexer.makeEOF();
+				tokenStart = lexer.getTokenEnd();
+				tokenEnd = tokenStart;
+				return lexer.eofKind();
 			}
 		}
-		return tk;
+		return kind;
+	}
+
+	private boolean isDatatypeToken(int kind) {
+		if (kind != identKind) {
+			return false;
+		}
+		return lexer.lexemEquals(tokenStart, tokenEnd, datatypeName);
+	}
+
+	@Override
+	public int getTokenStart() {
+		return tokenStart;
+	}
+
+	@Override
+	public int getTokenEnd() {
+		return tokenEnd;
+	}
+
+	@Override
+	public Token makeToken(int kind, int start, int end) {
+		return lexer.makeToken(kind, start, end);
 	}
 
 	/**
@@ -137,16 +172,6 @@ public class DatatypeLexer implements ILexer {
 		getResult().addProblem(problem);
 	}
 
-	@Override
-	public LexState save() {
-		return lexer.save();
-	}
-
-	@Override
-	public void restore(LexState lexState) {
-		lexer.restore(lexState);
-	}
-
 	@Override
 	public int eofKind() {
 		return lexer.eofKind();
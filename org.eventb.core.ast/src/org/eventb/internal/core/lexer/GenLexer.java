@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2013 Systerel and others.
+ * Copyright (c) 2010, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,8 @@ import static org.eventb.internal.core.lexer.LexicalClass.SYMBOL;
 import static org.eventb.internal.core.lexer.LexicalClass.WHITESPACE;
 import static org.eventb.internal.core.parser.AbstractGrammar.DefaultToken.EOF;
 import static org.eventb.internal.core.parser.AbstractGrammar.DefaultToken.IDENT;
+import static org.eventb.internal.core.parser.AbstractGrammar.DefaultToken.INT_LIT;
+import static org.eventb.internal.core.parser.AbstractGrammar.DefaultToken.PRED_VAR;
 
 import org.eventb.core.ast.ASTProblem;
 import org.eventb.core.ast.ProblemKind;
@@ -47,20 +49,6 @@ public class GenLexer implements ILexer {
 	 */
 	public static final int PRIME = '\'';
 
-	/**
-	 * A restorable snapshot of a lexer state.
-	 */
-	public static class LexState {
-		public final int tokenStart;
-		public final int curPos;
-
-		public LexState(int tokenStart, int curPos) {
-			this.curPos = curPos;
-			this.tokenStart = tokenStart;
-		}
-
-	}
-
 	/**
 	 * Reads a single lexem.
 	 */
@@ -144,22 +132,25 @@ public class GenLexer implements ILexer {
 	private final AbstractGrammar grammar;
 	private final LexemReader reader;
 
+	// kinds of the tokens which are not identified by their image
+	private final int eofKind;
+	private final int identKind;
+	private final int intLitKind;
+	private final int predVarKind;
+
+	// bounds of the last token read
+	private int tokenStart;
+	private int tokenEnd;
+
 	public GenLexer(String toLex, ParseResult result, AbstractGrammar grammar) {
 		this.result = result;
 		this.stream = new LexStream(toLex);
 		this.grammar = grammar;
 		this.reader = new LexemReader(grammar);
-	}
-
-	@Override
-	public LexState save() {
-		return new LexState(stream.getTokenStart(), stream.getCurPos());
-	}
-
-	@Override
-	public void restore(LexState lexState) {
-		stream.setTokenStart(lexState.tokenStart);
-		stream.setCurPos(lexState.curPos);
+		this.eofKind = grammar.getKind(EOF);
+		this.identKind = grammar.getKind(IDENT);
+		this.intLitKind = grammar.getKind(INT_LIT);
+		this.predVarKind = grammar.getKind(PRED_VAR);
 	}
 
 	/**
@@ -169,34 +160,85 @@ public class GenLexer implements ILexer {
 	 */
 	@Override
 	public Token nextToken() {
-		if (stream.isEOF()) {
-			return makeEOF();
-		}
-		final LexicalClass lexClass = reader.read(stream);
-		if (lexClass == null) {
-			addProblem(stream.getLexem());
-			return nextToken();
-		}
-		if (lexClass == WHITESPACE) {
-			return nextToken();
+		final int kind = nextKind();
+		return makeToken(kind, tokenStart, tokenEnd);
+	}
+
+	/**
+	 * Reads the next token from the stream. Only the kind and the bounds of
+	 * the token are computed, the lexem is not extracted.
+	 * 
+	 * @return the kind of the token read
+	 */
+	@Override
+	public int nextKind() {
+		while (!stream.isEOF()) {
+			final LexicalClass lexClass = reader.read(stream);
+			if (lexClass == null) {
+				addProblem(stream.getLexem());
+				continue;
+			}
+			if (lexClass == WHITESPACE) {
+				continue;
+			}
+			final int kind = lexClass.getKind(stream, grammar);
+			if (kind == TokenSet.UNKNOWN_KIND) {
+				addProblem(stream.getLexem());
+				break;
+			}
+			if (kind == identKind && isPrime(stream)) {
+				stream.goForward();
+			}
+			tokenStart = stream.getTokenStart();
+			tokenEnd = stream.getCurPos();
+			return kind;
 		}
+		tokenStart = stream.getCurPos();
+		tokenEnd = tokenStart;
+		return eofKind;
+	}
+
+	@Override
+	public int getTokenStart() {
+		return tokenStart;
+	}
 
-		String lexem = stream.getLexem();
-		final int kind = lexClass.getKind(lexem, grammar);
-		if (kind == TokenSet.UNKNOWN_KIND) {
-			addProblem(lexem);
-			return makeEOF();
+	@Override
+	public int getTokenEnd() {
+		return tokenEnd;
+	}
+
+	@Override
+	public Token makeToken(int kind, int start, int end) {
+		if (kind == eofKind) {
+			return new Token(kind, "", start);
 		}
-		if (kind == grammar.getKind(IDENT) && isPrime(stream)) {
-			stream.goForward();
-			lexem = stream.getLexem();
+		if (kind == identKind || kind == intLitKind || kind == predVarKind) {
+			return new Token(kind, stream.getLexem(start, end), start);
 		}
-		return new Token(kind, lexem, stream.getTokenStart());
+		// Other tokens are identified by their image, which is shared
+		return new Token(kind, grammar.getImage(kind), start);
+	}
+
+	/**
+	 * Tells whether the token between the given positions has the given
+	 * image, without extracting its lexem.
+	 * 
+	 * @param start
+	 *            the start position of the token
+	 * @param end
+	 *            the end position of the token
+	 * @param image
+	 *            the image to compare with
+	 * @return <code>true</code> iff the token lexem is the given image
+	 */
+	public boolean lexemEquals(int start, int end, String image) {
+		return stream.lexemEquals(start, end, image);
 	}
 
 	@Override
 	public Token makeEOF() {
-		return new Token(grammar.getKind(EOF), "", stream.getCurPos());
+		return new Token(eofKind, "", stream.getCurPos());
 	}
 
 	private void addProblem(String tokenImage) {
@@ -211,7 +253,7 @@ public class GenLexer implements ILexer {
 
 	@Override
 	public int eofKind() {
-		return grammar.getKind(EOF);
+		return eofKind;
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013 Systerel and others.
+ * Copyright (c) 2013, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,7 +10,6 @@
  *******************************************************************************/
 package org.eventb.internal.core.lexer;
 
-import org.eventb.internal.core.lexer.GenLexer.LexState;
 import org.eventb.internal.core.parser.ParseResult;
 
 public interface ILexer {
@@ -23,19 +22,42 @@ public interface ILexer {
 	Token nextToken();
 
 	/**
-	 * Save the state of this lexer.
+	 * Reads the next token from the stream, without building it. The bounds of
+	 * the token read are then given by {@link #getTokenStart()} and
+	 * {@link #getTokenEnd()}.
 	 * 
-	 * @return the saved state of this lexer
+	 * @return the kind of the token read
 	 */
-	LexState save();
+	int nextKind();
 
 	/**
-	 * Restore from a previously saved state
+	 * Returns the position of the first character of the last token read by
+	 * {@link #nextKind()}.
 	 * 
-	 * @param lexState
-	 *            state to restore from
+	 * @return the start position of the last token read
 	 */
-	void restore(LexState lexState);
+	int getTokenStart();
+
+	/**
+	 * Returns the position following the last character of the last token
+	 * read by {@link #nextKind()}.
+	 * 
+	 * @return the end position of the last token read
+	 */
+	int getTokenEnd();
+
+	/**
+	 * Builds a token previously read by {@link #nextKind()}.
+	 * 
+	 * @param kind
+	 *            the kind of the token
+	 * @param start
+	 *            the start position of the token
+	 * @param end
+	 *            the end position of the token
+	 * @return the token
+	 */
+	Token makeToken(int kind, int start, int end);
 
 	/**
 	 * Returns the kind of end-of-file tokens.
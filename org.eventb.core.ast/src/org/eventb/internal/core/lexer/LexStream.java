@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2011 Systerel and others.
+ * Copyright (c) 2010, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eventb.internal.core.lexer;
 
+import org.eventb.internal.core.parser.TokenSet;
+
 /**
  * Stream used by the lexer to read its input.
  * 
@@ -82,6 +84,48 @@ public class LexStream {
 		return toLex.substring(tokenStart, curPos);
 	}
 
+	/**
+	 * Returns the part of the lexed string between the given positions.
+	 * 
+	 * @param start
+	 *            the position of the first character
+	 * @param end
+	 *            the position following the last character
+	 * @return a string
+	 */
+	public String getLexem(int start, int end) {
+		return toLex.substring(start, end);
+	}
+
+	/**
+	 * Tells whether the part of the lexed string between the given positions
+	 * is the given image, without extracting it.
+	 * 
+	 * @param start
+	 *            the position of the first character
+	 * @param end
+	 *            the position following the last character
+	 * @param image
+	 *            the image to compare with
+	 * @return <code>true</code> iff the lexem is equal to the given image
+	 */
+	public boolean lexemEquals(int start, int end, String image) {
+		return end - start == image.length()
+				&& toLex.regionMatches(start, image, 0, end - start);
+	}
+
+	/**
+	 * Returns the kind of the current lexem in the given token set, without
+	 * extracting the lexem.
+	 * 
+	 * @param tokens
+	 *            a token set
+	 * @return the kind of the current lexem, or {@link TokenSet#UNKNOWN_KIND}
+	 */
+	public int getLexemKind(TokenSet tokens) {
+		return tokens.getKind(toLex, tokenStart, curPos);
+	}
+
 	public void startNext() {
 		tokenStart = curPos;
 		goForward();
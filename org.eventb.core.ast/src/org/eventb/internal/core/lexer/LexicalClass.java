@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2011 Systerel and others.
+ * Copyright (c) 2010, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -54,8 +54,8 @@ public enum LexicalClass {
 		}
 
 		@Override
-		public int getKind(String image, AbstractGrammar grammar) {
-			final int kind = grammar.getTokens().getKind(image);
+		public int getKind(LexStream stream, AbstractGrammar grammar) {
+			final int kind = stream.getLexemKind(grammar.getTokens());
 			if (kind == TokenSet.UNKNOWN_KIND) {
 				return grammar.getKind(IDENT);
 			} else {
@@ -80,8 +80,8 @@ public enum LexicalClass {
 		}
 
 		@Override
-		public int getKind(String image, AbstractGrammar grammar) {
-			return grammar.getTokens().getKind(image);
+		public int getKind(LexStream stream, AbstractGrammar grammar) {
+			return stream.getLexemKind(grammar.getTokens());
 		}
 
 		@Override
@@ -106,7 +106,8 @@ public enum LexicalClass {
 		}
 
 		private boolean isKnownSymbol(LexStream stream, AbstractGrammar grammar) {
-			return grammar.getTokens().contains(stream.getLexem());
+			final int kind = stream.getLexemKind(grammar.getTokens());
+			return kind != TokenSet.UNKNOWN_KIND;
 		}
 
 	},
@@ -123,7 +124,7 @@ public enum LexicalClass {
 		}
 
 		@Override
-		public int getKind(String image, AbstractGrammar grammar) {
+		public int getKind(LexStream stream, AbstractGrammar grammar) {
 			assert false;
 			return grammar.getKind(EOF);
 		}
@@ -141,7 +142,7 @@ public enum LexicalClass {
 		}
 
 		@Override
-		public int getKind(String image, AbstractGrammar grammar) {
+		public int getKind(LexStream stream, AbstractGrammar grammar) {
 			return grammar.getKind(INT_LIT);
 		}
 	},
@@ -160,7 +161,7 @@ public enum LexicalClass {
 		}
 
 		@Override
-		public int getKind(String image, AbstractGrammar grammar) {
+		public int getKind(LexStream stream, AbstractGrammar grammar) {
 			return grammar.getKind(PRED_VAR);
 		}
 
@@ -211,16 +212,16 @@ public enum LexicalClass {
 	public abstract boolean isPart(int codePoint);
 
 	/**
-	 * Returns the grammatical kind of the given image. The given image MUST be
-	 * a valid lexem of this lexical class.
+	 * Returns the grammatical kind of the current lexem of the given stream.
+	 * The lexem MUST be a valid lexem of this lexical class.
 	 * 
-	 * @param lexem
-	 *            a lexem of this class
+	 * @param stream
+	 *            a stream, the current lexem of which is of this class
 	 * @param grammar
 	 *            a grammar
 	 * @return a grammatical kind
 	 */
-	public abstract int getKind(String lexem, AbstractGrammar grammar);
+	public abstract int getKind(LexStream stream, AbstractGrammar grammar);
 
 	/**
 	 * Reads the stream so as to make the longest lexem of this class. The
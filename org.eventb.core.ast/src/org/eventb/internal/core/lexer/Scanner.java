@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2024 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,15 +7,13 @@
  *
  * Contributors:
  *     ETH Zurich - initial API and implementation
+ *     Systerel - token buffer encoding tokens in primitive arrays
  *******************************************************************************/
 package org.eventb.internal.core.lexer;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.ListIterator;
+import java.util.Arrays;
 
 import org.eventb.core.ast.FormulaFactory;
-import org.eventb.internal.core.lexer.GenLexer.LexState;
 import org.eventb.internal.core.parser.AbstractGrammar;
 import org.eventb.internal.core.parser.AbstractGrammar.DefaultToken;
 import org.eventb.internal.core.parser.BMath;
@@ -23,16 +21,36 @@ import org.eventb.internal.core.parser.ParseResult;
 
 /**
  * This class introduces a look-ahead mechanism on top of a regular lexer.
+ * <p>
+ * The tokens read from the lexer are kept in a buffer, where they are encoded
+ * by their kind and bounds in primitive arrays. Token objects are only built
+ * when returned by {@link #Scan()} or {@link #Peek()}. As the buffer is never
+ * emptied, saving and restoring the state of this scanner is just a matter of
+ * recording a position in the buffer.
+ * </p>
  * 
  * @author François Terrier
  */
 public class Scanner {
 	
-	// list of the tokens which were looked-ahead
-	private final List<Token> list = new ArrayList<Token>();
+	private static final int INITIAL_CAPACITY = 16;
 
-	// iterator on the look-ahead list
-	private ListIterator<Token> iterator = list.listIterator();
+	// kinds and bounds of the tokens read from the lexer, in order
+	private int[] kinds = new int[INITIAL_CAPACITY];
+	private int[] starts = new int[INITIAL_CAPACITY];
+	private int[] ends = new int[INITIAL_CAPACITY];
+
+	// tokens built from the above, on demand
+	private Token[] tokens = new Token[INITIAL_CAPACITY];
+
+	// number of tokens read from the lexer
+	private int size = 0;
+
+	// index of the next token to scan
+	private int scanIndex = 0;
+
+	// index of the next token to peek
+	private int peekIndex = 0;
 
 	private final int eofKind;
 
@@ -57,35 +75,51 @@ public class Scanner {
 		this.eofKind = lexer.eofKind();
 	}
 
-	private Token getNextToken() {
-		return lexer.nextToken();
+	// Ensures that the token at the given index has been read from the lexer.
+	private void fill(int index) {
+		while (size <= index) {
+			if (size == kinds.length) {
+				final int capacity = 2 * size;
+				kinds = Arrays.copyOf(kinds, capacity);
+				starts = Arrays.copyOf(starts, capacity);
+				ends = Arrays.copyOf(ends, capacity);
+				tokens = Arrays.copyOf(tokens, capacity);
+			}
+			kinds[size] = lexer.nextKind();
+			starts[size] = lexer.getTokenStart();
+			ends[size] = lexer.getTokenEnd();
+			size++;
+		}
+	}
+
+	private Token getToken(int index) {
+		Token token = tokens[index];
+		if (token == null) {
+			token = lexer.makeToken(kinds[index], starts[index], ends[index]);
+			tokens[index] = token;
+		}
+		return token;
 	}
 
 	// Returns the next token.
 	public Token Scan() {
-		ResetPeek();
-		if (iterator.hasNext()) {
-			Token temp = iterator.next();
-			iterator.remove();
-			return temp;
-		} else {
-			return getNextToken();
-		}
+		fill(scanIndex);
+		final Token result = getToken(scanIndex);
+		// scanned tokens are rebuilt if ever needed again
+		tokens[scanIndex] = null;
+		scanIndex++;
+		peekIndex = scanIndex;
+		return result;
 	}
 
 	// Looks ahead the next token.
 	public Token Peek() {
-		if (iterator.hasNext()) {
-			return iterator.next();
-		} else {
-			Token result = getNextToken();
-			iterator.add(result);
-			return result;
-		}
+		fill(peekIndex);
+		return getToken(peekIndex++);
 	}
 
 	public void ResetPeek() {
-		iterator = list.listIterator(0);
+		peekIndex = scanIndex;
 	}
 
 	// Returns the lexer result.
@@ -109,42 +143,36 @@ public class Scanner {
 
 	public static class ScannerState {
 
-		final LexState lexState;
-		final List<Token> lookedAhead;
+		final int scanIndex;
 
-		public ScannerState(LexState lexState, List<Token> lookedAhead) {
-			this.lexState = lexState;
-			this.lookedAhead = new ArrayList<Token>(lookedAhead);
+		public ScannerState(int scanIndex) {
+			this.scanIndex = scanIndex;
 		}
 		
 	}
 	
 	public ScannerState save() {
-		return new ScannerState(lexer.save(), list);
+		return new ScannerState(scanIndex);
 	}
 	
 	public void restore(ScannerState state) {
-		lexer.restore(state.lexState);
-		list.clear();
-		// FIXME if Peek() has been called after the call to save() that
-		// produced the given ScannerSate.lookedAhead, then peeked tokens will
-		// be forgotten ! Moreover, if they have been peeked and consumed, they
-		// are completely lost, because they are no more in the current list !
-		// => either memorize all peeked tokens without ever erasing them (not
-		// part of the saved/restored data), then save the current index
-		// => or enforce a constraint not to call lookAheadFor more than once
-		list.addAll(new ArrayList<Token>(state.lookedAhead));
+		// tokens read after the call to save() are still in the buffer
+		scanIndex = state.scanIndex;
+		peekIndex = scanIndex;
 	}
 
+	// Does not build the tokens looked-ahead
 	public boolean lookAheadFor(int searchedKind) {
 		ResetPeek();
-		Token peek = Peek();
-		while (peek.kind != eofKind) {
-			if (peek.kind == searchedKind) {
+		while (true) {
+			fill(peekIndex);
+			final int kind = kinds[peekIndex++];
+			if (kind == eofKind) {
+				return false;
+			}
+			if (kind == searchedKind) {
 				return true;
 			}
-			peek = Peek();
 		}
-		return false;
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2011 Systerel and others.
+ * Copyright (c) 2010, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eventb.internal.core.parser;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -33,6 +34,10 @@ public class TokenSet {
 	
 	// reversed access to both maps, indexed on kinds
 	private final String[] images;
+
+	// open addressing table of lexical token kinds, indexed on the hash code of
+	// their image; allows to look up a lexem without extracting it
+	private final int[] lexTable;
 	
 	private int nextKind = FIRST_KIND;
 
@@ -40,6 +45,7 @@ public class TokenSet {
 		this.lexTokens = new HashMap<String, Integer>();
 		this.reserved = new HashMap<String, Integer>();
 		this.images = null;
+		this.lexTable = null;
 	}
 	
 	// given kind maps start from FIRST_KIND
@@ -51,6 +57,7 @@ public class TokenSet {
 		this.images = new String[lexTokens.size() + reserved.size()];
 		initImages(lexTokens);
 		initImages(reserved);
+		this.lexTable = makeLexTable(lexTokens);
 	}
 	
 	// called when kinds are stable and contiguous;
@@ -68,6 +75,25 @@ public class TokenSet {
 		}
 	}
 
+	private static int[] makeLexTable(Map<String, Integer> map) {
+		// power of two, at most half full
+		int size = 16;
+		while (size < 2 * map.size()) {
+			size <<= 1;
+		}
+		final int[] table = new int[size];
+		Arrays.fill(table, UNKNOWN_KIND);
+		final int mask = size - 1;
+		for (Entry<String, Integer> entry : map.entrySet()) {
+			int index = entry.getKey().hashCode() & mask;
+			while (table[index] != UNKNOWN_KIND) {
+				index = (index + 1) & mask;
+			}
+			table[index] = entry.getValue();
+		}
+		return table;
+	}
+
 	public int size() {
 		return nextKind;
 	}
@@ -95,6 +121,42 @@ public class TokenSet {
 		return getKind(lexImage, lexTokens);
 	}
 
+	/**
+	 * Returns the kind of the lexical token the image of which is the given
+	 * region of the given string, without extracting it when the kinds of
+	 * this set are stable.
+	 * 
+	 * @param source
+	 *            a string
+	 * @param start
+	 *            the index of the first character of the region
+	 * @param end
+	 *            the index following the last character of the region
+	 * @return the kind of the token, or {@link #UNKNOWN_KIND}
+	 */
+	public int getKind(String source, int start, int end) {
+		if (lexTable == null) {
+			return getKind(source.substring(start, end));
+		}
+		final int length = end - start;
+		int hash = 0;
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + source.charAt(i);
+		}
+		final int mask = lexTable.length - 1;
+		int index = hash & mask;
+		int kind;
+		while ((kind = lexTable[index]) != UNKNOWN_KIND) {
+			final String image = images[kind];
+			if (image.length() == length
+					&& source.regionMatches(start, image, 0, length)) {
+				return kind;
+			}
+			index = (index + 1) & mask;
+		}
+		return UNKNOWN_KIND;
+	}
+
 	public int getReserved(String reservedId) {
 		return getKind(reservedId, reserved);
 	}
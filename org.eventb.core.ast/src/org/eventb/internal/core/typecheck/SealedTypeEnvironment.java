@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2013 Systerel and others.
+ * Copyright (c) 2012, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -22,10 +22,36 @@ import org.eventb.core.ast.ISealedTypeEnvironment;
 public final class SealedTypeEnvironment extends TypeEnvironment implements
 		ISealedTypeEnvironment {
 
+	// Cached hash code, zero when not yet computed
+	private int hashCode;
+
 	protected SealedTypeEnvironment(TypeEnvironment typenv) {
 		super(typenv);
 	}
 
+	@Override
+	public int hashCode() {
+		// Racy single-check idiom: the contents never change
+		int result = hashCode;
+		if (result == 0) {
+			result = super.hashCode();
+			hashCode = result;
+		}
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj instanceof SealedTypeEnvironment
+				&& hashCode() != obj.hashCode()) {
+			return false;
+		}
+		return super.equals(obj);
+	}
+
 	@Override
 	public ISealedTypeEnvironment makeSnapshot() {
 		// No need to make a copy, as we already are immutable.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2013 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,13 +8,13 @@
  * Contributors:
  *     ETH Zurich - initial API and implementation
  *     Systerel - add given sets to free identifier cache
+ *     Systerel - report unknown types in a single pass
  *******************************************************************************/
 package org.eventb.internal.core.typecheck;
 
 import static org.eventb.internal.core.ast.GivenTypeHelper.isGivenSet;
 
 import java.util.ArrayList;
-import java.util.BitSet;
 import java.util.List;
 
 import org.eventb.core.ast.ASTProblem;
@@ -185,32 +185,18 @@ public class TypeCheckResult extends AbstractResult implements ITypeCheckResult
 		if (! isSuccess()) {
 			return;
 		}
-		BitSet errorReported = new BitSet(typeVariables.size());
 		boolean failed = false;
-		for (int i = 0; i < typeVariables.size(); i++) {
-			final TypeVariable tvi = typeVariables.get(i);
-			if (tvi.getValue() == null) {
-				failed = true;
-				if (!errorReported.get(i) && tvi.hasSourceLocation()) {
-					errorReported.set(i);
-					addProblem(new ASTProblem(
-							tvi.getSourceLocation(), 
-							ProblemKind.TypeUnknown, ProblemSeverities.Error));
-				}
-				// Lookup for places where this type variable is referenced and
-				// add corresponding errors.
-				for (int j = 0; j < typeVariables.size(); j++) {
-					final TypeVariable tvj = typeVariables.get(j);
-					if (!errorReported.get(j) && 
-							tvj.hasSourceLocation() &&
-							unifier.occurs(tvi, tvj.getValue())) {
-						// set true, to remaind us that we have already recorded an error message for this variable
-						errorReported.set(j);
-						addProblem(new ASTProblem(
-								tvj.getSourceLocation(),
-								ProblemKind.TypeUnknown, ProblemSeverities.Error));
-					}
-				}
+		for (final TypeVariable tv : typeVariables) {
+			if (unifier.solve(tv).isSolved()) {
+				continue;
+			}
+			failed = true;
+			// The type of the place where this type variable was created is
+			// not fully known
+			if (tv.hasSourceLocation()) {
+				addProblem(new ASTProblem(
+						tv.getSourceLocation(), 
+						ProblemKind.TypeUnknown, ProblemSeverities.Error));
 			}
 		}
 		if (failed && isSuccess()) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2012 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     ETH Zurich - initial API and implementation
  *     Systerel - migration to tom-2.8
+ *     Systerel - union-find of type variables
  *******************************************************************************/
 package org.eventb.internal.core.typecheck;
 
@@ -27,6 +28,14 @@ import org.eventb.core.ast.extension.IExpressionExtension;
 
 /**
  * This class is used to solve unknown variables in formula's type. 
+ * <p>
+ * Type variables are organized as a union-find structure. The value of a type
+ * variable is either another variable of its equivalence class or, for the
+ * root of the class, the type of the class or <code>null</code> if it is not
+ * known yet. Classes are linked by rank and paths are compressed, so that
+ * unifying type variables is done in almost constant time, whatever the length
+ * of the chains of equalities in the formula.
+ * </p>
  *
  * @author François Terrier
  *
@@ -140,29 +149,76 @@ public class TypeUnifier {
 	}
 
 	private <T extends Formula<?>> Type unifyVariable(TypeVariable variable, Type otherType, T origin) {
-			
-		Type type = variable.getValue();
-		if (type != null) {
-			type = unify(type, otherType, origin);
-			if (type != null) {
-				variable.setValue(type);
-			}
-			return type;
-		} else {
-			type = solve(otherType);
-			if (type == variable) {
-				return variable;
-			}
-			else if (occurs(variable, type)) {
-				result.addProblem(new ASTProblem(
-						origin.getSourceLocation(),
-						ProblemKind.Circularity,
-						ProblemSeverities.Error));
-				return null;		
-			}
-			variable.setValue(type);
+		final TypeVariable root = find(variable);
+		final Type value = root.getValue();
+		if (value != null) {
+			return unify(value, otherType, origin);
+		}
+		final Type other = representative(otherType);
+		if (other == root) {
+			return root;
+		}
+		if (other instanceof TypeVariable) {
+			return union(root, (TypeVariable) other);
+		}
+		if (occurs(root, other)) {
+			result.addProblem(new ASTProblem(
+					origin.getSourceLocation(),
+					ProblemKind.Circularity,
+					ProblemSeverities.Error));
+			return null;
+		}
+		root.setValue(other);
+		return other;
+	}
+
+	/**
+	 * Returns the root of the class of the given type variable, compressing the
+	 * path from the variable to its root.
+	 *
+	 * @param variable a type variable
+	 * @return the root of the class of the given variable
+	 */
+	private static TypeVariable find(TypeVariable variable) {
+		TypeVariable root = variable;
+		Type value;
+		while ((value = root.getValue()) instanceof TypeVariable) {
+			root = (TypeVariable) value;
+		}
+		TypeVariable current = variable;
+		while (current != root) {
+			final TypeVariable next = (TypeVariable) current.getValue();
+			current.setValue(root);
+			current = next;
+		}
+		return root;
+	}
+
+	// Returns the value of the class of the given type if it is a solved
+	// type variable, the root of its class if it is an unsolved one, the given
+	// type otherwise
+	private static Type representative(Type type) {
+		if (!(type instanceof TypeVariable)) {
 			return type;
 		}
+		final TypeVariable root = find((TypeVariable) type);
+		final Type value = root.getValue();
+		return value == null ? root : value;
+	}
+
+	// Merges the classes of the given unsolved roots and returns the new root
+	private static TypeVariable union(TypeVariable left, TypeVariable right) {
+		final int leftRank = left.getRank();
+		final int rightRank = right.getRank();
+		if (leftRank > rightRank) {
+			right.setValue(left);
+			return left;
+		}
+		left.setValue(right);
+		if (leftRank == rightRank) {
+			right.incrementRank();
+		}
+		return right;
 	}
 
 	/**
@@ -175,16 +231,17 @@ public class TypeUnifier {
 		assert intype != null;
 		%match (Type intype) {
 			TypeVar() -> {
-				TypeVariable typeVar = (TypeVariable) intype;
-				Type type = typeVar.getValue();		
-				if (type != null) {
-					type = solve(type);
-					typeVar.setValue(type);
-					return type;
+				final TypeVariable root = find((TypeVariable) intype);
+				final Type value = root.getValue();
+				if (value == null) {
+					return root;
 				}
-				else {
-					return intype;
+				// the solved value is cached for the whole class
+				final Type type = solve(value);
+				if (type != value) {
+					root.setValue(type);
 				}
+				return type;
 			}
 			PowSet(child) -> {
 				Type newChild = solve(`child);
@@ -221,10 +278,26 @@ public class TypeUnifier {
 		return intype;
 	}
 
+	/**
+	 * Tells whether the given type variable occurs in the given type, once
+	 * solved.
+	 *
+	 * @param typeVar the root of an unsolved class of type variables
+	 * @param expr a type, or <code>null</code>
+	 * @return <code>true</code> iff the given variable occurs in the given type
+	 */
 	protected final boolean occurs(TypeVariable typeVar, Type expr) {
+		if (expr == null) {
+			return false;
+		}
 		%match (Type expr) {
 			tv@TypeVar() -> {
-				return typeVar == `tv;
+				final TypeVariable root = find((TypeVariable) `tv);
+				if (root == typeVar) {
+					return true;
+				}
+				final Type value = root.getValue();
+				return value != null && occurs(typeVar, value);
 			}
 			PowSet(child) -> {
 				return occurs(typeVar, `child);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2013 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,6 +9,7 @@
  *     ETH Zurich - initial API and implementation
  *     Systerel - add type visitor
  *     Systerel - store factory used to build a type
+ *     Systerel - rank for the union-find of the type unifier
  *******************************************************************************/
 package org.eventb.internal.core.typecheck;
 
@@ -36,6 +37,10 @@ public class TypeVariable extends Type {
 
 	// Value associated to this type variable
 	private Type value;
+
+	// Upper bound of the height of the class of this variable, when it is a
+	// root in the type unifier
+	private int rank;
 	
 	/**
 	 * Must never be called outside of the formula type-checker.
@@ -84,6 +89,22 @@ public class TypeVariable extends Type {
 		return value;
 	}
 
+	/**
+	 * Returns the rank of this type variable in the type unifier.
+	 * 
+	 * @return the rank of this variable
+	 */
+	public int getRank() {
+		return rank;
+	}
+
+	/**
+	 * Increments the rank of this type variable in the type unifier.
+	 */
+	public void incrementRank() {
+		rank++;
+	}
+
 	@Override
 	public int hashCode() {
 		return index;
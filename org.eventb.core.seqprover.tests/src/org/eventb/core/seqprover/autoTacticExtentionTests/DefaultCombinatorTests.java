@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2012 Systerel and others.
+ * Copyright (c) 2011, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,11 +7,13 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - added tests for portfolio combinator
  *******************************************************************************/
 package org.eventb.core.seqprover.autoTacticExtentionTests;
 
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eventb.core.seqprover.ProverFactory.makeProofRule;
 import static org.eventb.core.seqprover.ProverFactory.makeProofTree;
 import static org.eventb.core.seqprover.autoTacticExtentionTests.DefaultCombinatorTests.TracingDischarge.DISCHARGE;
@@ -22,10 +24,12 @@ import static org.eventb.core.seqprover.tests.TestLib.genSeq;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import org.eventb.core.ast.Predicate;
 import org.eventb.core.seqprover.IAutoTacticRegistry;
@@ -46,6 +50,7 @@ import org.eventb.core.seqprover.eventbExtensions.TacticCombinators.ComposeUntil
 import org.eventb.core.seqprover.eventbExtensions.TacticCombinators.ComposeUntilSuccess;
 import org.eventb.core.seqprover.eventbExtensions.TacticCombinators.Loop;
 import org.eventb.core.seqprover.eventbExtensions.TacticCombinators.OnAllPending;
+import org.eventb.core.seqprover.eventbExtensions.TacticCombinators.Portfolio;
 import org.eventb.core.seqprover.eventbExtensions.TacticCombinators.Sequence;
 import org.eventb.core.seqprover.eventbExtensions.Tactics;
 import org.eventb.core.seqprover.reasonerInputs.EmptyInput;
@@ -73,8 +78,11 @@ public class DefaultCombinatorTests {
 
 		@Override
 		public Object apply(IProofTreeNode ptNode, IProofMonitor pm) {
-			trace.append(id);
-			trace.append(';');
+			// Tactics may be applied concurrently
+			synchronized (trace) {
+				trace.append(id);
+				trace.append(';');
+			}
 			return result;
 		}
 
@@ -401,4 +409,99 @@ public class DefaultCombinatorTests {
 		assertApply(attemptOnAllPendingSuccess.getTacticInstance(), node,
 				false, SUCCESS, SUCCESS, SUCCESS, SUCCESS);
 	}
+
+	@Test
+	public void testPortfolio_Discharge() throws Exception {
+		final ITactic portfolio = combine(Portfolio.COMBINATOR_ID, DISCHARGE);
+		final IProofTreeNode node = makeSimpleNode();
+		assertApply(portfolio, node, true, DISCHARGE);
+		assertTrue(node.isClosed());
+	}
+
+	@Test
+	public void testPortfolio_Success() throws Exception {
+		final ITactic portfolio = combine(Portfolio.COMBINATOR_ID, SUCCESS);
+		final IProofTreeNode node = makeSimpleNode();
+		// SUCCESS does not discharge the node, which is left unchanged
+		assertApply(portfolio, node, false, SUCCESS);
+		assertTrue(node.isOpen());
+	}
+
+	@Test
+	public void testPortfolio_FailDischarge() throws Exception {
+		final ITactic portfolio = combine(Portfolio.COMBINATOR_ID, FAILURE,
+				DISCHARGE);
+		final IProofTreeNode node = makeSimpleNode();
+		assertNull(portfolio.apply(node, null));
+		assertTrue(node.isClosed());
+	}
+
+	@Test
+	public void testPortfolio_Fail() throws Exception {
+		final ITactic portfolio = combine(Portfolio.COMBINATOR_ID, FAILURE,
+				FAILURE);
+		final IProofTreeNode node = makeSimpleNode();
+		assertApply(portfolio, node, false, FAILURE, FAILURE);
+		assertTrue(node.isOpen());
+	}
+
+	/**
+	 * Ensures that tactics still running are cancelled as soon as another
+	 * tactic has discharged the node.
+	 */
+	@Test
+	public void testPortfolio_CancelLosers() throws Exception {
+		final CountDownLatch cancelled = new CountDownLatch(1);
+		final ITactic waitForCancel = new ITactic() {
+			@Override
+			public Object apply(IProofTreeNode ptNode, IProofMonitor pm) {
+				while (!pm.isCanceled()) {
+					Thread.yield();
+				}
+				cancelled.countDown();
+				return "cancelled";
+			}
+		};
+		final ITactic portfolio = BasicTactics.portfolio(waitForCancel,
+				new TracingDischarge());
+		final IProofTreeNode node = makeSimpleNode();
+		assertNull(portfolio.apply(node, null));
+		assertTrue(node.isClosed());
+		assertTrue(cancelled.await(10, SECONDS));
+	}
+
+	/**
+	 * Ensures that a tactic cancelling its own proof monitor does not cancel
+	 * the other tactics of the race.
+	 */
+	@Test
+	public void testPortfolio_CancelOneRacer() throws Exception {
+		final CountDownLatch selfCancelled = new CountDownLatch(1);
+		final ITactic cancelSelf = new ITactic() {
+			@Override
+			public Object apply(IProofTreeNode ptNode, IProofMonitor pm) {
+				pm.setCanceled(true);
+				selfCancelled.countDown();
+				return "cancelled";
+			}
+		};
+		final ITactic dischargeLater = new ITactic() {
+			@Override
+			public Object apply(IProofTreeNode ptNode, IProofMonitor pm) {
+				try {
+					if (!selfCancelled.await(10, SECONDS)) {
+						return "timeout";
+					}
+				} catch (InterruptedException e) {
+					return "interrupted";
+				}
+				return new TracingDischarge().apply(ptNode, pm);
+			}
+		};
+		final ITactic portfolio = BasicTactics.portfolio(cancelSelf,
+				dischargeLater);
+		final IProofTreeNode node = makeSimpleNode();
+		assertNull(portfolio.apply(node, null));
+		assertTrue(node.isClosed());
+	}
 }
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.core.seqprover.tests;
+
+import static org.eventb.core.seqprover.tests.TestLib.genPred;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.eventb.core.ast.Predicate;
+import org.eventb.internal.core.seqprover.HypothesisSet;
+import org.junit.Test;
+
+/**
+ * Unit tests for the persistent hypothesis sets used by prover sequents.
+ */
+public class HypothesisSetTests {
+
+	private static final int NB_PREDS = 300;
+
+	private static final Predicate[] PREDS = new Predicate[NB_PREDS];
+	static {
+		for (int i = 0; i < NB_PREDS; i++) {
+			PREDS[i] = genPred("x = " + i);
+		}
+	}
+
+	private static List<Predicate> toList(Iterable<Predicate> preds) {
+		final List<Predicate> result = new ArrayList<Predicate>();
+		for (Predicate pred : preds) {
+			result.add(pred);
+		}
+		return result;
+	}
+
+	private static void assertSameSet(LinkedHashSet<Predicate> expected,
+			HypothesisSet actual) {
+		assertEquals(expected.size(), actual.size());
+		assertEquals(new ArrayList<Predicate>(expected), toList(actual));
+		for (Predicate pred : PREDS) {
+			assertEquals(expected.contains(pred), actual.contains(pred));
+		}
+	}
+
+	/**
+	 * Ensures that unchanged sets are returned as is.
+	 */
+	@Test
+	public void unchanged() {
+		final HypothesisSet set = HypothesisSet.of(Arrays.asList(PREDS[0],
+				PREDS[1]));
+		assertSame(set, set.add(PREDS[1]));
+		assertSame(set, set.remove(PREDS[2]));
+		assertSame(set, set.removeAll(Arrays.asList(PREDS[2], PREDS[3])));
+		assertSame(HypothesisSet.EMPTY, HypothesisSet.EMPTY.remove(PREDS[0]));
+	}
+
+	/**
+	 * Ensures that a removed hypothesis which is added again is placed last,
+	 * as in a linked hash set.
+	 */
+	@Test
+	public void insertionOrder() {
+		HypothesisSet set = HypothesisSet.of(Arrays.asList(PREDS[0],
+				PREDS[1], PREDS[2]));
+		set = set.remove(PREDS[0]).add(PREDS[0]).add(PREDS[1]);
+		assertEquals(Arrays.asList(PREDS[1], PREDS[2], PREDS[0]),
+				toList(set));
+	}
+
+	/**
+	 * Ensures that random updates give the same result as with a linked hash
+	 * set, and that former versions of a set are not modified.
+	 */
+	@Test
+	public void randomUpdates() {
+		final Random random = new Random(42);
+		final LinkedHashSet<Predicate> expected = new LinkedHashSet<Predicate>();
+		HypothesisSet actual = HypothesisSet.EMPTY;
+		final List<LinkedHashSet<Predicate>> expectedVersions = new ArrayList<LinkedHashSet<Predicate>>();
+		final List<HypothesisSet> actualVersions = new ArrayList<HypothesisSet>();
+		for (int i = 0; i < 5000; i++) {
+			final Predicate pred = PREDS[random.nextInt(NB_PREDS)];
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.remove(pred),
+						actual != (actual = actual.remove(pred)));
+			} else {
+				assertEquals(expected.add(pred),
+						actual != (actual = actual.add(pred)));
+			}
+			if (i % 500 == 0) {
+				expectedVersions.add(new LinkedHashSet<Predicate>(expected));
+				actualVersions.add(actual);
+			}
+		}
+		assertSameSet(expected, actual);
+		for (int i = 0; i < actualVersions.size(); i++) {
+			assertSameSet(expectedVersions.get(i), actualVersions.get(i));
+		}
+	}
+
+	/**
+	 * Ensures that emptying a set gives an empty set.
+	 */
+	@Test
+	public void removeAll() {
+		final List<Predicate> preds = Arrays.asList(PREDS);
+		final HypothesisSet set = HypothesisSet.of(preds).removeAll(preds);
+		assertTrue(set.isEmpty());
+		assertFalse(set.iterator().hasNext());
+		assertFalse(set.contains(PREDS[0]));
+	}
+
+}
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.core.seqprover.tests;
+
+import static org.eventb.core.seqprover.tactics.BasicTactics.reasonerTac;
+import static org.eventb.core.seqprover.tests.TestLib.genFullSeq;
+import static org.eventb.core.seqprover.tests.TestLib.genProofTreeNode;
+import static org.eventb.core.seqprover.tests.TestLib.genSeq;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eventb.core.seqprover.IProofMonitor;
+import org.eventb.core.seqprover.IProofTreeNode;
+import org.eventb.core.seqprover.IProverSequent;
+import org.eventb.core.seqprover.IReasoner;
+import org.eventb.core.seqprover.IReasonerOutput;
+import org.eventb.core.seqprover.ITactic;
+import org.eventb.core.seqprover.ProverFactory;
+import org.eventb.core.seqprover.reasonerExtensionTests.TrueGoal;
+import org.eventb.core.seqprover.reasonerInputs.EmptyInput;
+import org.eventb.internal.core.seqprover.IMemoizableReasoner;
+import org.eventb.internal.core.seqprover.ReasonerMemo;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the memo table of reasoner outputs.
+ */
+public class ReasonerMemoTests {
+
+	private static final ReasonerMemo memo = ReasonerMemo.getDefault();
+
+	// Same behavior as TrueGoal, but memoized
+	private static class MemoizableTrueGoal extends TrueGoal implements
+			IMemoizableReasoner {
+		// no additional behavior
+	}
+
+	private static final IReasoner trueGoal = new MemoizableTrueGoal();
+
+	// Same behavior as trueGoal, but not registered
+	private static final IReasoner unregistered = new MemoizableTrueGoal() {
+		@Override
+		public String getReasonerID() {
+			return "org.eventb.core.seqprover.tests.unregistered";
+		}
+	};
+
+	@Before
+	public void clearMemo() {
+		memo.clear();
+	}
+
+	private static IReasonerOutput apply(IReasoner reasoner, String sequent) {
+		return memo.apply(reasoner, genFullSeq(sequent), new EmptyInput(),
+				null);
+	}
+
+	private static void assertCounters(long hits, long misses) {
+		assertEquals(hits, memo.getHits());
+		assertEquals(misses, memo.getMisses());
+	}
+
+	/**
+	 * Ensures that the output of a reasoner is reused for an identical
+	 * sequent.
+	 */
+	@Test
+	public void identicalSequent() {
+		final IReasonerOutput first = apply(trueGoal, "x=1 ;H; ;S; y=2 |- ⊤");
+		final IReasonerOutput second = apply(trueGoal, "x=1 ;H; ;S; y=2 |- ⊤");
+		assertSame(first, second);
+		assertCounters(1, 1);
+	}
+
+	/**
+	 * Ensures that failures are reused too.
+	 */
+	@Test
+	public void failure() {
+		final IReasonerOutput first = apply(trueGoal, ";H; ;S; |- ⊥");
+		final IReasonerOutput second = apply(trueGoal, ";H; ;S; |- ⊥");
+		assertSame(first, second);
+		assertCounters(1, 1);
+	}
+
+	/**
+	 * Ensures that sequents that differ by their goal, their hypotheses or the
+	 * status of their hypotheses are distinguished.
+	 */
+	@Test
+	public void differentSequents() {
+		apply(trueGoal, "x=1 ;H; ;S; |- ⊤");
+		apply(trueGoal, "x=1 ;H; ;S; |- ⊥");
+		apply(trueGoal, "x=2 ;H; ;S; |- ⊤");
+		apply(trueGoal, ";H; x=1 ;S; |- ⊤");
+		apply(trueGoal, ";H; ;S; x=1 |- ⊤");
+		assertCounters(0, 5);
+	}
+
+	/**
+	 * Ensures that unregistered reasoners are not memoized.
+	 */
+	@Test
+	public void unregisteredReasoner() {
+		final IReasonerOutput first = apply(unregistered, ";H; ;S; |- ⊤");
+		final IReasonerOutput second = apply(unregistered, ";H; ;S; |- ⊤");
+		assertNotSame(first, second);
+		assertCounters(0, 0);
+	}
+
+	/**
+	 * Ensures that reasoners which do not opt in are not memoized.
+	 */
+	@Test
+	public void notMemoizableReasoner() {
+		final IReasoner reasoner = new TrueGoal();
+		final IReasonerOutput first = apply(reasoner, ";H; ;S; |- ⊤");
+		final IReasonerOutput second = apply(reasoner, ";H; ;S; |- ⊤");
+		assertNotSame(first, second);
+		assertCounters(0, 0);
+	}
+
+	/**
+	 * Ensures that outputs are not recorded when the proof monitor is
+	 * canceled.
+	 */
+	@Test
+	public void canceled() {
+		final IProverSequent sequent = genSeq(" |- ⊤");
+		memo.apply(trueGoal, sequent, new EmptyInput(),
+				new ProofMonitor(true));
+		assertCounters(0, 0);
+	}
+
+	/**
+	 * Ensures that reused rules can be applied to several proof trees.
+	 */
+	@Test
+	public void reasonerTactic() {
+		final ITactic tactic = reasonerTac(trueGoal, new EmptyInput());
+		final IProofTreeNode node1 = genProofTreeNode("x=1 |- ⊤");
+		final IProofTreeNode node2 = ProverFactory.makeProofTree(
+				genSeq("x=1 |- ⊤"), null).getRoot();
+		assertNull(tactic.apply(node1, null));
+		assertNull(tactic.apply(node2, null));
+		assertSame(node1.getRule(), node2.getRule());
+		assertTrue(node2.isClosed());
+		assertCounters(1, 1);
+	}
+
+	private static class ProofMonitor implements IProofMonitor {
+
+		private final boolean canceled;
+
+		public ProofMonitor(boolean canceled) {
+			this.canceled = canceled;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return canceled;
+		}
+
+		@Override
+		public void setCanceled(boolean value) {
+			// ignore
+		}
+
+		@Override
+		public void setTask(String name) {
+			// ignore
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011,2013 Systerel and others.
+ * Copyright (c) 2011, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - added portfolio combinator
  *******************************************************************************/
 package org.eventb.core.seqprover.eventbExtensions;
 
@@ -270,4 +271,23 @@ public class TacticCombinators {
 		
 	}
 
+	/**
+	 * The 'portfolio' tactic combinator.
+	 * 
+	 * @since 3.7
+	 */
+	public static class Portfolio implements ITacticCombinator {
+
+		public static final String COMBINATOR_ID = SequentProver.PLUGIN_ID
+				+ ".portfolio"; //$NON-NLS-1$
+
+		@Override
+		public ITactic getTactic(List<ITactic> tactics) {
+			assertOneOrMore(tactics);
+			final ITactic[] tacs = tactics.toArray(new ITactic[tactics.size()]);
+			return BasicTactics.portfolio(tacs);
+		}
+
+	}
+
 }
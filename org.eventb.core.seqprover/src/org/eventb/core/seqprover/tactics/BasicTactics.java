@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2022 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,8 @@
  * Contributors:
  *     ETH Zurich - initial API and implementation
  *     Systerel - added support for cancellation in several tacticals
+ *     Systerel - added portfolio tactical
+ *     Systerel - memoized reasoner outputs
  *******************************************************************************/
 package org.eventb.core.seqprover.tactics;
 
@@ -26,6 +28,8 @@ import org.eventb.core.seqprover.IReasonerOutput;
 import org.eventb.core.seqprover.ITactic;
 import org.eventb.core.seqprover.proofBuilder.ProofBuilder;
 import org.eventb.internal.core.seqprover.Messages;
+import org.eventb.internal.core.seqprover.PortfolioTactic;
+import org.eventb.internal.core.seqprover.ReasonerMemo;
 import org.eventb.internal.core.seqprover.Util;
 
 /**
@@ -76,7 +80,12 @@ public class BasicTactics {
 	
 	/**
 	 * Encapsulates a reasoner call into a tactic.
-	 * 
+	 * <p>
+	 * The output of costly reasoners, such as automatic rewriters, may be
+	 * reused from a former application of the same reasoner to an identical
+	 * sequent.
+	 * </p>
+	 *
 	 * @param reasoner
 	 * 			The reasoner to call
 	 * @param reasonerInput
@@ -93,8 +102,8 @@ public class BasicTactics {
 				if (!pt.isOpen()) return "Root already has children";
 				final IReasonerOutput reasonerOutput;
 				try {
-					reasonerOutput = reasoner.apply(pt.getSequent(),
-							reasonerInput, pm);
+					reasonerOutput = ReasonerMemo.getDefault().apply(reasoner,
+							pt.getSequent(), reasonerInput, pm);
 				} catch (Exception e) {
 					final String msg = "while applying the reasoner: "
 							+ reasoner.getReasonerID();
@@ -457,6 +466,27 @@ public class BasicTactics {
 	}
 
 
+	/**
+	 * Returns a tactic that applies the given tactics in parallel, each on a
+	 * copy of the proof tree node, and keeps the proof found by the first one
+	 * that discharges the node.
+	 * <p>
+	 * As soon as one tactic discharges its copy of the node, the other tactics
+	 * are cancelled through their proof monitor. The resulting tactic fails and
+	 * leaves the node unchanged iff no tactic discharged the node. Tactics that
+	 * only partially prove the node are thus not taken into account. The given
+	 * tactics must support being applied concurrently.
+	 * </p>
+	 * 
+	 * @param tactics
+	 *            tactics to race
+	 * @return the resulting tactic
+	 * @since 3.7
+	 */
+	public static ITactic portfolio(final ITactic... tactics) {
+		return new PortfolioTactic(tactics);
+	}
+
 	/**
 	 * Proof Reconstruction Tactics
 	 * 
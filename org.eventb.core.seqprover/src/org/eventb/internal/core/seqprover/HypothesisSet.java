@@ -0,0 +1,475 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.seqprover;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.eventb.core.ast.Predicate;
+
+/**
+ * Immutable set of hypotheses which preserves insertion order, like a
+ * <code>LinkedHashSet</code>.
+ * <p>
+ * Adding or removing a hypothesis returns a new set which shares most of its
+ * structure with the original set, in time and space logarithmic in the size
+ * of the set. This allows the sequents of a proof tree to share their
+ * hypotheses, rather than copying them at each proof step.
+ * </p>
+ * <p>
+ * A set is made of two persistent tries: a hash trie mapping each hypothesis
+ * to its insertion rank, and an array trie mapping ranks back to hypotheses.
+ * Removed hypotheses leave an empty slot in the latter, which is compacted
+ * when empty slots outnumber hypotheses.
+ * </p>
+ */
+public final class HypothesisSet implements Iterable<Predicate> {
+
+	public static final HypothesisSet EMPTY = new HypothesisSet(null,
+			OrderTrie.EMPTY, 0);
+
+	private static final int BITS = 5;
+	private static final int WIDTH = 1 << BITS;
+	private static final int MASK = WIDTH - 1;
+
+	/**
+	 * Returns the set of the given hypotheses, in iteration order.
+	 *
+	 * @param hyps
+	 *            some hypotheses
+	 * @return the set of the given hypotheses
+	 */
+	public static HypothesisSet of(Iterable<Predicate> hyps) {
+		HypothesisSet result = EMPTY;
+		for (Predicate hyp : hyps) {
+			result = result.add(hyp);
+		}
+		return result;
+	}
+
+	// Maps hypotheses to their rank, null if this set is empty
+	private final IndexNode index;
+
+	// Maps ranks to hypotheses, removed hypotheses are null
+	private final OrderTrie order;
+
+	private final int size;
+
+	private HypothesisSet(IndexNode index, OrderTrie order, int size) {
+		this.index = index;
+		this.order = order;
+		this.size = size;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean contains(Object hyp) {
+		return index != null && index.find(0, hyp.hashCode(), hyp) >= 0;
+	}
+
+	/**
+	 * Returns a set containing the hypotheses of this set and the given
+	 * hypothesis, which is placed last if it was not already in this set.
+	 *
+	 * @param hyp
+	 *            the hypothesis to add
+	 * @return this set if it already contains the hypothesis, a new set
+	 *         otherwise
+	 */
+	public HypothesisSet add(Predicate hyp) {
+		if (contains(hyp)) {
+			return this;
+		}
+		final int rank = order.length;
+		final IndexNode root = index == null ? BitmapNode.EMPTY : index;
+		return new HypothesisSet(root.put(0, hyp.hashCode(), hyp, rank),
+				order.set(rank, hyp), size + 1);
+	}
+
+	/**
+	 * Returns a set containing the hypotheses of this set except the given
+	 * one.
+	 *
+	 * @param hyp
+	 *            the hypothesis to remove
+	 * @return this set if it does not contain the hypothesis, a new set
+	 *         otherwise
+	 */
+	public HypothesisSet remove(Object hyp) {
+		if (index == null) {
+			return this;
+		}
+		final int hash = hyp.hashCode();
+		final int rank = index.find(0, hash, hyp);
+		if (rank < 0) {
+			return this;
+		}
+		final HypothesisSet result = new HypothesisSet(index.remove(0, hash,
+				hyp), order.set(rank, null), size - 1);
+		if (result.order.length - result.size > Math.max(WIDTH, result.size)) {
+			return of(result);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a set containing the hypotheses of this set except the given
+	 * ones.
+	 *
+	 * @param hyps
+	 *            the hypotheses to remove
+	 * @return this set if it contains none of the given hypotheses, a new set
+	 *         otherwise
+	 */
+	public HypothesisSet removeAll(Iterable<?> hyps) {
+		HypothesisSet result = this;
+		for (Object hyp : hyps) {
+			result = result.remove(hyp);
+		}
+		return result;
+	}
+
+	@Override
+	public Iterator<Predicate> iterator() {
+		return new Iterator<Predicate>() {
+
+			private int rank = nextRank(0);
+
+			private int nextRank(int start) {
+				int i = start;
+				while (i < order.length && order.get(i) == null) {
+					++i;
+				}
+				return i;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return rank < order.length;
+			}
+
+			@Override
+			public Predicate next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				final Predicate result = order.get(rank);
+				rank = nextRank(rank + 1);
+				return result;
+			}
+
+		};
+	}
+
+	public Stream<Predicate> stream() {
+		return StreamSupport.stream(Spliterators.spliterator(iterator(), size,
+				Spliterator.DISTINCT | Spliterator.ORDERED
+						| Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder("[");
+		String sep = "";
+		for (Predicate hyp : this) {
+			sb.append(sep);
+			sep = ", ";
+			sb.append(hyp);
+		}
+		sb.append("]");
+		return sb.toString();
+	}
+
+	/**
+	 * Persistent array of hypotheses indexed by rank, stored as a trie of
+	 * arrays of width 32. Updates copy the path from the root to the updated
+	 * leaf only.
+	 */
+	private static final class OrderTrie {
+
+		static final OrderTrie EMPTY = new OrderTrie(new Object[WIDTH], 0, 0);
+
+		private final Object[] root;
+
+		// Number of bits of a rank consumed above the leaves
+		private final int shift;
+
+		// Number of ranks used so far
+		final int length;
+
+		private OrderTrie(Object[] root, int shift, int length) {
+			this.root = root;
+			this.shift = shift;
+			this.length = length;
+		}
+
+		Predicate get(int rank) {
+			Object[] node = root;
+			for (int level = shift; level > 0; level -= BITS) {
+				node = (Object[]) node[(rank >>> level) & MASK];
+			}
+			return (Predicate) node[rank & MASK];
+		}
+
+		/*
+		 * Rank must either be in use or be the first unused rank.
+		 */
+		OrderTrie set(int rank, Predicate hyp) {
+			Object[] newRoot = root;
+			int newShift = shift;
+			if (rank >>> BITS >>> newShift != 0) {
+				// Trie is full, add a level above the root
+				newRoot = new Object[WIDTH];
+				newRoot[0] = root;
+				newShift += BITS;
+			}
+			return new OrderTrie(set(newRoot, newShift, rank, hyp), newShift,
+					Math.max(length, rank + 1));
+		}
+
+		private static Object[] set(Object[] node, int level, int rank,
+				Predicate hyp) {
+			final Object[] result = node.clone();
+			if (level == 0) {
+				result[rank & MASK] = hyp;
+				return result;
+			}
+			final int i = (rank >>> level) & MASK;
+			Object[] child = (Object[]) node[i];
+			if (child == null) {
+				child = new Object[WIDTH];
+			}
+			result[i] = set(child, level - BITS, rank, hyp);
+			return result;
+		}
+
+	}
+
+	/**
+	 * Node of a persistent hash trie mapping hypotheses to their rank.
+	 */
+	private static abstract class IndexNode {
+
+		/**
+		 * Returns the rank of the given hypothesis, or <code>-1</code> if
+		 * absent.
+		 */
+		abstract int find(int shift, int hash, Object key);
+
+		abstract IndexNode put(int shift, int hash, Object key, int rank);
+
+		/**
+		 * Returns the node without the given hypothesis, <code>null</code> if
+		 * it becomes empty.
+		 */
+		abstract IndexNode remove(int shift, int hash, Object key);
+
+	}
+
+	/**
+	 * Hash trie node indexed by five bits of the hash code. Its array
+	 * contains a pair of slots for each bit set in the bitmap: either a key
+	 * and its rank, or <code>null</code> and a child node.
+	 */
+	private static final class BitmapNode extends IndexNode {
+
+		static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+		private final int bitmap;
+		private final Object[] array;
+
+		BitmapNode(int bitmap, Object[] array) {
+			this.bitmap = bitmap;
+			this.array = array;
+		}
+
+		private static int bit(int shift, int hash) {
+			return 1 << ((hash >>> shift) & MASK);
+		}
+
+		private int pos(int bit) {
+			return 2 * Integer.bitCount(bitmap & (bit - 1));
+		}
+
+		@Override
+		int find(int shift, int hash, Object key) {
+			final int bit = bit(shift, hash);
+			if ((bitmap & bit) == 0) {
+				return -1;
+			}
+			final int pos = pos(bit);
+			final Object k = array[pos];
+			final Object v = array[pos + 1];
+			if (k == null) {
+				return ((IndexNode) v).find(shift + BITS, hash, key);
+			}
+			return key.equals(k) ? (Integer) v : -1;
+		}
+
+		@Override
+		IndexNode put(int shift, int hash, Object key, int rank) {
+			final int bit = bit(shift, hash);
+			final int pos = pos(bit);
+			if ((bitmap & bit) == 0) {
+				final Object[] newArray = new Object[array.length + 2];
+				System.arraycopy(array, 0, newArray, 0, pos);
+				newArray[pos] = key;
+				newArray[pos + 1] = rank;
+				System.arraycopy(array, pos, newArray, pos + 2, array.length
+						- pos);
+				return new BitmapNode(bitmap | bit, newArray);
+			}
+			final Object k = array[pos];
+			final Object v = array[pos + 1];
+			final Object[] newArray = array.clone();
+			if (k == null) {
+				newArray[pos + 1] = ((IndexNode) v).put(shift + BITS, hash,
+						key, rank);
+			} else if (key.equals(k)) {
+				newArray[pos + 1] = rank;
+			} else {
+				newArray[pos] = null;
+				newArray[pos + 1] = pair(shift + BITS, k, (Integer) v, hash,
+						key, rank);
+			}
+			return new BitmapNode(bitmap, newArray);
+		}
+
+		private static IndexNode pair(int shift, Object k1, int r1, int h2,
+				Object k2, int r2) {
+			final int h1 = k1.hashCode();
+			if (h1 == h2) {
+				return new CollisionNode(h1, new Object[] { k1, r1, k2, r2 });
+			}
+			return EMPTY.put(shift, h1, k1, r1).put(shift, h2, k2, r2);
+		}
+
+		@Override
+		IndexNode remove(int shift, int hash, Object key) {
+			final int bit = bit(shift, hash);
+			if ((bitmap & bit) == 0) {
+				return this;
+			}
+			final int pos = pos(bit);
+			final Object k = array[pos];
+			final Object v = array[pos + 1];
+			if (k == null) {
+				final IndexNode child = (IndexNode) v;
+				final IndexNode newChild = child.remove(shift + BITS, hash,
+						key);
+				if (newChild == child) {
+					return this;
+				}
+				if (newChild != null) {
+					final Object[] newArray = array.clone();
+					newArray[pos + 1] = newChild;
+					return new BitmapNode(bitmap, newArray);
+				}
+			} else if (!key.equals(k)) {
+				return this;
+			}
+			if (bitmap == bit) {
+				return null;
+			}
+			final Object[] newArray = new Object[array.length - 2];
+			System.arraycopy(array, 0, newArray, 0, pos);
+			System.arraycopy(array, pos + 2, newArray, pos, array.length - pos
+					- 2);
+			return new BitmapNode(bitmap ^ bit, newArray);
+		}
+
+	}
+
+	/**
+	 * Hash trie leaf for keys which have the same hash code. Its array
+	 * contains keys and their rank in alternation.
+	 */
+	private static final class CollisionNode extends IndexNode {
+
+		private final int hash;
+		private final Object[] array;
+
+		CollisionNode(int hash, Object[] array) {
+			this.hash = hash;
+			this.array = array;
+		}
+
+		private int indexOf(Object key) {
+			for (int i = 0; i < array.length; i += 2) {
+				if (key.equals(array[i])) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		int find(int shift, int hash, Object key) {
+			if (hash != this.hash) {
+				return -1;
+			}
+			final int i = indexOf(key);
+			return i < 0 ? -1 : (Integer) array[i + 1];
+		}
+
+		@Override
+		IndexNode put(int shift, int hash, Object key, int rank) {
+			if (hash != this.hash) {
+				final IndexNode parent = new BitmapNode(
+						1 << ((this.hash >>> shift) & MASK), new Object[] {
+								null, this });
+				return parent.put(shift, hash, key, rank);
+			}
+			final int i = indexOf(key);
+			final Object[] newArray;
+			if (i < 0) {
+				newArray = new Object[array.length + 2];
+				System.arraycopy(array, 0, newArray, 0, array.length);
+				newArray[array.length] = key;
+				newArray[array.length + 1] = rank;
+			} else {
+				newArray = array.clone();
+				newArray[i + 1] = rank;
+			}
+			return new CollisionNode(hash, newArray);
+		}
+
+		@Override
+		IndexNode remove(int shift, int hash, Object key) {
+			if (hash != this.hash) {
+				return this;
+			}
+			final int i = indexOf(key);
+			if (i < 0) {
+				return this;
+			}
+			if (array.length == 2) {
+				return null;
+			}
+			final Object[] newArray = new Object[array.length - 2];
+			System.arraycopy(array, 0, newArray, 0, i);
+			System.arraycopy(array, i + 2, newArray, i, array.length - i - 2);
+			return new CollisionNode(hash, newArray);
+		}
+
+	}
+
+}
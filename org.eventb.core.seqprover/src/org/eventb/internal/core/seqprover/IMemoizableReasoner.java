@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.seqprover;
+
+import org.eventb.core.seqprover.IReasoner;
+
+/**
+ * Marker interface for reasoners whose outputs are worth keeping in the
+ * {@link ReasonerMemo}.
+ * <p>
+ * Building a memo key costs a traversal of all hypotheses of the sequent.
+ * Hence, only reasoners that do at least as much work, such as reasoners that
+ * rewrite or inspect every hypothesis, shall implement this interface. Their
+ * output must only depend on the sequent.
+ * </p>
+ */
+public interface IMemoizableReasoner extends IReasoner {
+
+	// marker interface
+
+}
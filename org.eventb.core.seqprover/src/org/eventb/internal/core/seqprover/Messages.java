@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -32,6 +32,7 @@ public final class Messages {
 	public static String tactic_attemptFailed;
 	public static String tactic_failed;
 	public static String tactic_cancelled;
+	public static String tactic_portfolioFailed;
 	public static String tactic_illegalOneOrMore;
 	
 	public static String autoTacticChecker_ok;
@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.seqprover;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eventb.core.seqprover.IProofMonitor;
+import org.eventb.core.seqprover.IProofSkeleton;
+import org.eventb.core.seqprover.IProofTree;
+import org.eventb.core.seqprover.IProofTreeNode;
+import org.eventb.core.seqprover.IProverSequent;
+import org.eventb.core.seqprover.ITactic;
+import org.eventb.core.seqprover.ProverFactory;
+import org.eventb.core.seqprover.proofBuilder.ProofBuilder;
+import org.eventb.core.seqprover.tactics.BasicTactics;
+
+/**
+ * Tactic that races several tactics on copies of a proof tree node, and keeps
+ * the proof found by the first one that discharges the node.
+ * <p>
+ * Each tactic is applied to the root of a fresh proof tree built on the
+ * sequent of the node, in a thread of its own. As soon as a tactic closes its
+ * proof tree, the other tactics are cancelled through their proof monitor and
+ * the winning proof is reused on the original node, without calling reasoners
+ * again. If no tactic discharges the node, the node is left unchanged.
+ * </p>
+ * <p>
+ * The original proof tree is only modified by the calling thread.
+ * </p>
+ */
+public class PortfolioTactic implements ITactic {
+
+	private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+	// Threads are created on demand and discarded when idle
+	private static final ExecutorService EXECUTOR = Executors
+			.newCachedThreadPool(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable r) {
+					final Thread thread = new Thread(r, "Portfolio tactic " //$NON-NLS-1$
+							+ THREAD_COUNT.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+
+	/**
+	 * Proof monitor given to a racing tactic. It reports the cancellation of
+	 * the caller's monitor, the end of the race, and also the cancellation
+	 * requested through this monitor. The latter only concerns the racing
+	 * tactic that owns this monitor, the other tactics keep on racing.
+	 */
+	private static class RaceMonitor implements IProofMonitor {
+
+		private final IProofMonitor pm;
+
+		private final AtomicBoolean over;
+
+		private volatile boolean canceled;
+
+		public RaceMonitor(IProofMonitor pm, AtomicBoolean over) {
+			this.pm = pm;
+			this.over = over;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return canceled || over.get() || pm != null && pm.isCanceled();
+		}
+
+		@Override
+		public void setCanceled(boolean value) {
+			canceled = value;
+		}
+
+		@Override
+		public void setTask(String name) {
+			// ignored, as the caller's monitor need not be thread-safe
+		}
+
+	}
+
+	/**
+	 * Applies a tactic to a copy of the node, and returns the proof found if
+	 * the tactic discharged it, or <code>null</code>.
+	 */
+	private static class Racer implements Callable<IProofSkeleton> {
+
+		private final ITactic tactic;
+		private final IProverSequent sequent;
+		private final RaceMonitor monitor;
+
+		public Racer(ITactic tactic, IProverSequent sequent,
+				RaceMonitor monitor) {
+			this.tactic = tactic;
+			this.sequent = sequent;
+			this.monitor = monitor;
+		}
+
+		@Override
+		public IProofSkeleton call() throws Exception {
+			final IProofTree tree = ProverFactory.makeProofTree(sequent, null);
+			final IProofTreeNode root = tree.getRoot();
+			tactic.apply(root, monitor);
+			if (monitor.isCanceled() || !root.isClosed()) {
+				return null;
+			}
+			return root.copyProofSkeleton();
+		}
+
+	}
+
+	private final ITactic[] tactics;
+
+	public PortfolioTactic(ITactic[] tactics) {
+		this.tactics = tactics.clone();
+	}
+
+	@Override
+	public Object apply(IProofTreeNode ptNode, IProofMonitor pm) {
+		if (!ptNode.isOpen()) {
+			return Messages.tactic_nodeClosed;
+		}
+		final IProofSkeleton proof = race(ptNode.getSequent(), pm);
+		if (pm != null && pm.isCanceled()) {
+			return Messages.tactic_cancelled;
+		}
+		if (proof == null) {
+			return Messages.tactic_portfolioFailed;
+		}
+		if (!ProofBuilder.reuse(ptNode, proof, pm)) {
+			BasicTactics.prune().apply(ptNode, pm);
+			return Messages.tactic_portfolioFailed;
+		}
+		return null;
+	}
+
+	private IProofSkeleton race(IProverSequent sequent, IProofMonitor pm) {
+		final AtomicBoolean over = new AtomicBoolean();
+		final CompletionService<IProofSkeleton> service = new ExecutorCompletionService<IProofSkeleton>(
+				EXECUTOR);
+		for (ITactic tactic : tactics) {
+			service.submit(new Racer(tactic, sequent,
+					new RaceMonitor(pm, over)));
+		}
+		try {
+			for (int i = 0; i < tactics.length; i++) {
+				final IProofSkeleton proof = getResult(service);
+				if (proof != null) {
+					return proof;
+				}
+			}
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} finally {
+			// Losers notice cancellation at their earliest convenience
+			over.set(true);
+		}
+	}
+
+	private static IProofSkeleton getResult(
+			CompletionService<IProofSkeleton> service)
+			throws InterruptedException {
+		try {
+			return service.take().get();
+		} catch (ExecutionException e) {
+			Util.log(e.getCause(), "while applying a portfolio tactic"); //$NON-NLS-1$
+			return null;
+		}
+	}
+
+}
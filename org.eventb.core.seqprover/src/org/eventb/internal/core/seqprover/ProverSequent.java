@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2024 ETH Zurich and others.
+ * Copyright (c) 2007, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,7 @@
  *     Systerel - added check about predicate variables
  *     Systerel - added unselected added hypotheses
  *     Systerel - added origin
+ *     Systerel - persistent hypothesis sets
  *******************************************************************************/
 package org.eventb.internal.core.seqprover;
 
@@ -22,9 +23,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Stream;
 
 import org.eventb.core.ast.FormulaFactory;
@@ -46,7 +45,8 @@ import org.eventb.core.seqprover.ProverRule;
  *  <p>
  *  In this implementation, the set of all hypotheses is the union of the global, and the local
  *  hypotheses. The global hypotheses are shared by all sequents constructed incrementally using this
- *  sequent.
+ *  sequent. Moreover, hypothesis sets are persistent, so that sequents constructed incrementally
+ *  share the structure of the sets that they modify.
  *  </p>
  * 
  * 
@@ -79,14 +79,14 @@ public final class ProverSequent implements IInternalProverSequent{
 	/**
 	 * Instance fields
 	 * 
-	 * Chosen to be LinkedHashSets to preserve their order.
+	 * Chosen to be HypothesisSets to preserve their order.
 	 */
 	@ProverRule("DBL_HYP")
-	private final LinkedHashSet<Predicate> globalHypotheses;
-	private final LinkedHashSet<Predicate> localHypotheses;
+	private final HypothesisSet globalHypotheses;
+	private final HypothesisSet localHypotheses;
 	
-	private final LinkedHashSet<Predicate> hiddenHypotheses;
-	private final LinkedHashSet<Predicate> selectedHypotheses;
+	private final HypothesisSet hiddenHypotheses;
+	private final HypothesisSet selectedHypotheses;
 	
 	private final Predicate goal;
 
@@ -95,8 +95,7 @@ public final class ProverSequent implements IInternalProverSequent{
 	/**
 	 * Static immutable variables.
 	 */
-	private static final LinkedHashSet<Predicate> NO_HYPS =
-		new LinkedHashSet<Predicate>();
+	private static final HypothesisSet NO_HYPS = HypothesisSet.EMPTY;
 	
 	@Override
 	public ISealedTypeEnvironment typeEnvironment() {
@@ -113,8 +112,8 @@ public final class ProverSequent implements IInternalProverSequent{
 	 * provided fields, or <code>null</code> in case this field should not be overridden.
 	 * 
 	 * <p>
-	 * This should always remain a private constructor. All methods using this constructor must ensure that
-	 * the parameters passed into it have been cloned prior to calling this constructor. 
+	 * This should always remain a private constructor. As hypothesis sets are immutable, they can
+	 * be passed to this constructor without being cloned.
 	 * </p>
 	 * 
 	 * @param seq
@@ -126,8 +125,8 @@ public final class ProverSequent implements IInternalProverSequent{
 	 * @param selectedHypotheses
 	 * @param goal
 	 */
-	private ProverSequent(ProverSequent seq, ITypeEnvironment typeEnvironment, LinkedHashSet<Predicate> globalHypotheses,
-			LinkedHashSet<Predicate> localHypotheses, LinkedHashSet<Predicate> hiddenHypotheses, LinkedHashSet<Predicate> selectedHypotheses,
+	private ProverSequent(ProverSequent seq, ITypeEnvironment typeEnvironment, HypothesisSet globalHypotheses,
+			HypothesisSet localHypotheses, HypothesisSet hiddenHypotheses, HypothesisSet selectedHypotheses,
 			Predicate goal){
 		
 		assert (seq != null) | (typeEnvironment != null & globalHypotheses != null & localHypotheses != null & 
@@ -195,10 +194,10 @@ public final class ProverSequent implements IInternalProverSequent{
 			Collection<Predicate> hiddenHypSet, Collection<Predicate> selectedHypSet,
 			Predicate goal, Object origin) {
 		this.typeEnvironment = typeEnv.makeSnapshot();
-		this.globalHypotheses = globalHypSet == null ? NO_HYPS : new LinkedHashSet<Predicate>(globalHypSet);
+		this.globalHypotheses = globalHypSet == null ? NO_HYPS : HypothesisSet.of(globalHypSet);
 		this.localHypotheses = NO_HYPS;
-		this.hiddenHypotheses = hiddenHypSet== null ? NO_HYPS : new LinkedHashSet<Predicate>(hiddenHypSet);
-		this.selectedHypotheses = selectedHypSet== null ? NO_HYPS : new LinkedHashSet<Predicate>(selectedHypSet);
+		this.hiddenHypotheses = hiddenHypSet== null ? NO_HYPS : HypothesisSet.of(hiddenHypSet);
+		this.selectedHypotheses = selectedHypSet== null ? NO_HYPS : HypothesisSet.of(selectedHypSet);
 		this.goal = goal;
 		this.origin = origin;
 		traceCreation();
@@ -210,9 +209,9 @@ public final class ProverSequent implements IInternalProverSequent{
 			Collection<Predicate> unselAddedHyps, Predicate newGoal) {
 		boolean modified = false;
 		final ITypeEnvironment newTypeEnv;
-		LinkedHashSet<Predicate> newLocalHypotheses = null;
-		LinkedHashSet<Predicate> newSelectedHypotheses = null;
-		LinkedHashSet<Predicate> newHiddenHypotheses = null;
+		HypothesisSet newLocalHypotheses = null;
+		HypothesisSet newSelectedHypotheses = null;
+		HypothesisSet newHiddenHypotheses = null;
 
 		final TypeChecker checker = new TypeChecker(
 				typeEnvironment);
@@ -237,20 +236,23 @@ public final class ProverSequent implements IInternalProverSequent{
 		if (addhyps != null && addhyps.size() != 0) {
 			if (unselAddedHyps == null)
 				unselAddedHyps = Collections.emptySet();
-			newLocalHypotheses = new LinkedHashSet<Predicate>(localHypotheses);
-			newSelectedHypotheses = new LinkedHashSet<Predicate>(selectedHypotheses);
-			newHiddenHypotheses = new LinkedHashSet<Predicate>(hiddenHypotheses);
+			newLocalHypotheses = localHypotheses;
+			newSelectedHypotheses = selectedHypotheses;
+			newHiddenHypotheses = hiddenHypotheses;
 			for (Predicate hyp : addhyps) {
 				// if (! typeCheckClosed(hyp,newTypeEnv)) return null;
 				if (! this.containsHypothesis(hyp)){
-					newLocalHypotheses.add(hyp);
-					modified = true;
+					newLocalHypotheses = newLocalHypotheses.add(hyp);
 				}
 				if (!unselAddedHyps.contains(hyp)) {
-					modified |= newSelectedHypotheses.add(hyp);
+					newSelectedHypotheses = newSelectedHypotheses.add(hyp);
 				}
-				modified |= newHiddenHypotheses.remove(hyp);
+				newHiddenHypotheses = newHiddenHypotheses.remove(hyp);
 			}
+			// Persistent sets are returned unchanged when not modified
+			modified |= newLocalHypotheses != localHypotheses
+					|| newSelectedHypotheses != selectedHypotheses
+					|| newHiddenHypotheses != hiddenHypotheses;
 		}
 		if (newGoal != null && ! newGoal.equals(goal)) {
 			modified = true;
@@ -268,17 +270,18 @@ public final class ProverSequent implements IInternalProverSequent{
 	@Override
 	public ProverSequent selectHypotheses(Collection<Predicate> toSelect){
 		if (toSelect == null) return this;
-		boolean modified = false;
 		
-		LinkedHashSet<Predicate> newSelectedHypotheses = new LinkedHashSet<Predicate>(this.selectedHypotheses);
-		LinkedHashSet<Predicate> newHiddenHypotheses = new LinkedHashSet<Predicate>(this.hiddenHypotheses);
+		HypothesisSet newSelectedHypotheses = this.selectedHypotheses;
+		HypothesisSet newHiddenHypotheses = this.hiddenHypotheses;
 		
 		for (Predicate hyp:toSelect){
 			if (containsHypothesis(hyp)){
-				modified |= newSelectedHypotheses.add(hyp);
-				modified |= newHiddenHypotheses.remove(hyp);
+				newSelectedHypotheses = newSelectedHypotheses.add(hyp);
+				newHiddenHypotheses = newHiddenHypotheses.remove(hyp);
 			}
 		}
+		final boolean modified = newSelectedHypotheses != selectedHypotheses
+				|| newHiddenHypotheses != hiddenHypotheses;
 		if (modified) return new ProverSequent(this,null,null,null,newHiddenHypotheses,newSelectedHypotheses,null);
 		return this;
 	}
@@ -286,8 +289,8 @@ public final class ProverSequent implements IInternalProverSequent{
 	@Override
 	public ProverSequent deselectHypotheses(Collection<Predicate> toDeselect){
 		if (toDeselect == null) return this;
-		LinkedHashSet<Predicate> newSelectedHypotheses = new LinkedHashSet<Predicate>(this.selectedHypotheses);
-		boolean modified = newSelectedHypotheses.removeAll(toDeselect);
+		HypothesisSet newSelectedHypotheses = this.selectedHypotheses.removeAll(toDeselect);
+		boolean modified = newSelectedHypotheses != selectedHypotheses;
 		if (modified) return new ProverSequent(this,null,null,null,null,newSelectedHypotheses,null);
 		return this;
 	}
@@ -295,17 +298,18 @@ public final class ProverSequent implements IInternalProverSequent{
 	@Override
 	public ProverSequent hideHypotheses(Collection<Predicate> toHide){
 		if (toHide == null) return this;
-		boolean modified = false;
 		
-		LinkedHashSet<Predicate> newSelectedHypotheses = new LinkedHashSet<Predicate>(this.selectedHypotheses);
-		LinkedHashSet<Predicate> newHiddenHypotheses = new LinkedHashSet<Predicate>(this.hiddenHypotheses);
+		HypothesisSet newSelectedHypotheses = this.selectedHypotheses;
+		HypothesisSet newHiddenHypotheses = this.hiddenHypotheses;
 		
 		for (Predicate hyp:toHide){
 			if (containsHypothesis(hyp)){
-				modified |= newHiddenHypotheses.add(hyp);
-				modified |= newSelectedHypotheses.remove(hyp);
+				newHiddenHypotheses = newHiddenHypotheses.add(hyp);
+				newSelectedHypotheses = newSelectedHypotheses.remove(hyp);
 			}
 		}
+		final boolean modified = newSelectedHypotheses != selectedHypotheses
+				|| newHiddenHypotheses != hiddenHypotheses;
 		if (modified) return new ProverSequent(this,null,null,null,newHiddenHypotheses,newSelectedHypotheses,null);
 		return this;
 	}
@@ -314,9 +318,9 @@ public final class ProverSequent implements IInternalProverSequent{
 	public ProverSequent showHypotheses(Collection<Predicate> toShow){
 		if (toShow == null)
 			return this;
-		LinkedHashSet<Predicate> newHiddenHypotheses = new LinkedHashSet<Predicate>(
-				this.hiddenHypotheses);
-		boolean modified = newHiddenHypotheses.removeAll(toShow);
+		HypothesisSet newHiddenHypotheses = this.hiddenHypotheses
+				.removeAll(toShow);
+		boolean modified = newHiddenHypotheses != hiddenHypotheses;
 		if (modified)
 			return new ProverSequent(this, null, null, null,
 					newHiddenHypotheses, null, null);
@@ -353,32 +357,31 @@ public final class ProverSequent implements IInternalProverSequent{
 		boolean hideInfHyps = false;
 
 		if (hyps != null) {
-			selectInfHyps = !Collections.disjoint(hyps, selectedHypotheses);
-			hideInfHyps = selectInfHyps ? false : hiddenHypotheses
-					.containsAll(hyps);
+			selectInfHyps = hyps.stream().anyMatch(selectedHypotheses::contains);
+			hideInfHyps = selectInfHyps ? false : hyps.stream().allMatch(
+					hiddenHypotheses::contains);
 		}
 
-		LinkedHashSet<Predicate> newLocalHypotheses = null;
-		LinkedHashSet<Predicate> newSelectedHypotheses = null;
-		LinkedHashSet<Predicate> newHiddenHypotheses = null;
+		HypothesisSet newLocalHypotheses = null;
+		HypothesisSet newSelectedHypotheses = null;
+		HypothesisSet newHiddenHypotheses = null;
 
 		if (infHyps != null) {
-			newLocalHypotheses = new LinkedHashSet<Predicate>(localHypotheses);
-			newSelectedHypotheses = new LinkedHashSet<Predicate>(
-					selectedHypotheses);
-			newHiddenHypotheses = new LinkedHashSet<Predicate>(hiddenHypotheses);
+			newLocalHypotheses = localHypotheses;
+			newSelectedHypotheses = selectedHypotheses;
+			newHiddenHypotheses = hiddenHypotheses;
 			for (Predicate infHyp : infHyps) {
 				// if (! typeCheckClosed(infHyp,newTypeEnv)) return this;
 				if (!this.containsHypothesis(infHyp)) {
-					newLocalHypotheses.add(infHyp);
+					newLocalHypotheses = newLocalHypotheses.add(infHyp);
 					if (selectInfHyps)
-						newSelectedHypotheses.add(infHyp);
+						newSelectedHypotheses = newSelectedHypotheses.add(infHyp);
 					if (hideInfHyps)
-						newHiddenHypotheses.add(infHyp);
+						newHiddenHypotheses = newHiddenHypotheses.add(infHyp);
 					modified = true;
 				} else if (selectInfHyps && !hiddenHypotheses.contains(infHyp)) {
 					// Select the hypothesis if not already hidden
-					newSelectedHypotheses.add(infHyp);
+					newSelectedHypotheses = newSelectedHypotheses.add(infHyp);
 					modified = true;
 				}
 			}
@@ -524,12 +527,11 @@ public final class ProverSequent implements IInternalProverSequent{
 		return origin;
 	}
 	
-	private static LinkedHashSet<Predicate> translatePreds(
-			Set<Predicate> preds, FormulaFactory factory) {
-		final LinkedHashSet<Predicate> trPreds = new LinkedHashSet<Predicate>(
-				preds.size());
+	private static HypothesisSet translatePreds(
+			HypothesisSet preds, FormulaFactory factory) {
+		HypothesisSet trPreds = HypothesisSet.EMPTY;
 		for (Predicate pred : preds) {
-			trPreds.add(pred.translate(factory));
+			trPreds = trPreds.add(pred.translate(factory));
 		}
 		return trPreds;
 	}
@@ -538,14 +540,14 @@ public final class ProverSequent implements IInternalProverSequent{
 	public IProverSequent translate(FormulaFactory factory) {
 		final ITypeEnvironment trTypeEnv = typeEnvironment.translate(factory);
 
-		final LinkedHashSet<Predicate> trGlobalHypotheses = translatePreds(
+		final HypothesisSet trGlobalHypotheses = translatePreds(
 				globalHypotheses, factory);
-		final LinkedHashSet<Predicate> trLocalHypotheses = translatePreds(
+		final HypothesisSet trLocalHypotheses = translatePreds(
 				localHypotheses, factory);
 
-		final LinkedHashSet<Predicate> trHiddenHypotheses = translatePreds(
+		final HypothesisSet trHiddenHypotheses = translatePreds(
 				hiddenHypotheses, factory);
-		final LinkedHashSet<Predicate> trSelectedHypotheses = translatePreds(
+		final HypothesisSet trSelectedHypotheses = translatePreds(
 				selectedHypotheses, factory);
 
 		final Predicate trGoal = goal.translate(factory);
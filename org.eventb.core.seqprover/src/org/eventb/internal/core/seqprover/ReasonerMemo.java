@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.seqprover;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eventb.core.ast.FormulaFactory;
+import org.eventb.core.ast.ISealedTypeEnvironment;
+import org.eventb.core.ast.Predicate;
+import org.eventb.core.seqprover.IProofMonitor;
+import org.eventb.core.seqprover.IProverSequent;
+import org.eventb.core.seqprover.IReasoner;
+import org.eventb.core.seqprover.IReasonerInput;
+import org.eventb.core.seqprover.IReasonerOutput;
+import org.eventb.core.seqprover.IReasonerRegistry;
+import org.eventb.core.seqprover.SequentProver;
+import org.eventb.core.seqprover.reasonerInputs.EmptyInput;
+
+/**
+ * Memo table of reasoner outputs. Auto tactics keep applying the same
+ * reasoners to identical sequents, for instance when the automatic status of
+ * proofs is recalculated, so that the output of a former application can be
+ * returned instead of running the reasoner again.
+ * <p>
+ * An output is keyed by the reasoner id and registered version, its input, and
+ * a fingerprint of the sequent made of its formula factory, type environment,
+ * goal, and hypotheses together with their selected and hidden status. As
+ * building this key traverses all hypotheses, only reasoners that opt in by
+ * implementing {@link IMemoizableReasoner} are memoized, so that cheap
+ * reasoners are applied directly. Memoized reasoners must moreover be
+ * registered and not context dependent, and their input must be an
+ * {@link EmptyInput}, as other reasoner inputs have no notion of equality.
+ * Outputs computed while the proof monitor was canceled are not recorded.
+ * </p>
+ * <p>
+ * This memo table can be disabled by setting the system property
+ * <code>org.eventb.core.seqprover.reasonerMemo</code> to <code>false</code>.
+ * This class is thread-safe.
+ * </p>
+ */
+public class ReasonerMemo {
+
+	public static final String MEMO_PROPERTY = "org.eventb.core.seqprover.reasonerMemo"; //$NON-NLS-1$
+
+	private static final boolean ENABLED = Boolean.parseBoolean(System
+			.getProperty(MEMO_PROPERTY, "true")); //$NON-NLS-1$
+
+	private static final int MAX_ENTRIES = 1000;
+
+	private static final ReasonerMemo INSTANCE = new ReasonerMemo();
+
+	private static final byte SELECTED = 1;
+	private static final byte HIDDEN = 2;
+
+	private static class Key {
+
+		final String reasonerId;
+		final int version;
+		final FormulaFactory factory;
+		final ISealedTypeEnvironment typenv;
+		final Predicate goal;
+		final Predicate[] hyps;
+		final byte[] hypStatus;
+		final int hashCode;
+
+		Key(String reasonerId, int version, IProverSequent sequent) {
+			this.reasonerId = reasonerId;
+			this.version = version;
+			this.factory = sequent.getFormulaFactory();
+			this.typenv = sequent.typeEnvironment();
+			this.goal = sequent.goal();
+			final List<Predicate> hypList = new ArrayList<Predicate>();
+			for (Predicate hyp : sequent.hypIterable()) {
+				hypList.add(hyp);
+			}
+			this.hyps = hypList.toArray(new Predicate[hypList.size()]);
+			this.hypStatus = new byte[hyps.length];
+			for (int i = 0; i < hyps.length; i++) {
+				if (sequent.isSelected(hyps[i])) {
+					hypStatus[i] |= SELECTED;
+				}
+				if (sequent.isHidden(hyps[i])) {
+					hypStatus[i] |= HIDDEN;
+				}
+			}
+			this.hashCode = computeHashCode();
+		}
+
+		private int computeHashCode() {
+			int result = reasonerId.hashCode();
+			result = 31 * result + version;
+			result = 31 * result + goal.hashCode();
+			result = 31 * result + Arrays.hashCode(hyps);
+			result = 31 * result + Arrays.hashCode(hypStatus);
+			return result;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			return hashCode == other.hashCode
+					&& version == other.version
+					&& factory == other.factory
+					&& reasonerId.equals(other.reasonerId)
+					&& goal.equals(other.goal)
+					&& Arrays.equals(hypStatus, other.hypStatus)
+					&& Arrays.equals(hyps, other.hyps)
+					&& typenv.equals(other.typenv);
+		}
+
+	}
+
+	// Least recently used entries come first. Accesses must be synchronized.
+	private final Map<Key, IReasonerOutput> outputs = new LinkedHashMap<Key, IReasonerOutput>(
+			16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(
+				Map.Entry<Key, IReasonerOutput> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+
+	};
+
+	private long hits;
+	private long misses;
+
+	/**
+	 * Returns the memo table shared by all reasoner tactics.
+	 *
+	 * @return the reasoner memo table
+	 */
+	public static ReasonerMemo getDefault() {
+		return INSTANCE;
+	}
+
+	private ReasonerMemo() {
+		// singleton
+	}
+
+	/**
+	 * Applies the given reasoner to the given sequent, or returns the output
+	 * of a former identical application.
+	 *
+	 * @param reasoner
+	 *            the reasoner to apply
+	 * @param sequent
+	 *            the sequent to apply the reasoner to
+	 * @param input
+	 *            the reasoner input
+	 * @param pm
+	 *            the proof monitor, or <code>null</code>
+	 * @return the output of the reasoner
+	 */
+	public IReasonerOutput apply(IReasoner reasoner, IProverSequent sequent,
+			IReasonerInput input, IProofMonitor pm) {
+		if (!ENABLED || !isMemoizable(reasoner, input)) {
+			return reasoner.apply(sequent, input, pm);
+		}
+		final Key key = new Key(reasoner.getReasonerID(),
+				getVersion(reasoner), sequent);
+		synchronized (outputs) {
+			final IReasonerOutput output = outputs.get(key);
+			if (output != null) {
+				++hits;
+				return output;
+			}
+		}
+		final IReasonerOutput output = reasoner.apply(sequent, input, pm);
+		if (output != null && (pm == null || !pm.isCanceled())) {
+			synchronized (outputs) {
+				++misses;
+				outputs.put(key, output);
+			}
+		}
+		return output;
+	}
+
+	private static boolean isMemoizable(IReasoner reasoner,
+			IReasonerInput input) {
+		if (input == null || input.getClass() != EmptyInput.class) {
+			return false;
+		}
+		if (!(reasoner instanceof IMemoizableReasoner)) {
+			return false;
+		}
+		final IReasonerRegistry registry = SequentProver
+				.getReasonerRegistry();
+		final String id = reasoner.getReasonerID();
+		if (!registry.isRegistered(id) || registry.isDummyReasoner(reasoner)) {
+			return false;
+		}
+		return !registry.getReasonerDesc(id).isContextDependent();
+	}
+
+	private static int getVersion(IReasoner reasoner) {
+		return SequentProver.getReasonerRegistry()
+				.getReasonerDesc(reasoner.getReasonerID())
+				.getRegisteredVersion();
+	}
+
+	/**
+	 * Returns the number of reasoner applications found in this memo table.
+	 *
+	 * @return the number of hits
+	 */
+	public long getHits() {
+		synchronized (outputs) {
+			return hits;
+		}
+	}
+
+	/**
+	 * Returns the number of reasoner applications recorded in this memo table.
+	 *
+	 * @return the number of misses
+	 */
+	public long getMisses() {
+		synchronized (outputs) {
+			return misses;
+		}
+	}
+
+	/**
+	 * Forgets all reasoner outputs and resets counters.
+	 */
+	public void clear() {
+		synchronized (outputs) {
+			outputs.clear();
+			hits = 0;
+			misses = 0;
+		}
+	}
+
+}
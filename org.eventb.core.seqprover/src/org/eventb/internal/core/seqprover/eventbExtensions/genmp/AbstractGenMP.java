@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2023 Systerel and others.
+ * Copyright (c) 2011, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - memoized outputs
  *******************************************************************************/
 package org.eventb.internal.core.seqprover.eventbExtensions.genmp;
 
@@ -26,6 +27,7 @@ import org.eventb.core.seqprover.IReasonerOutput;
 import org.eventb.core.seqprover.ProverRule;
 import org.eventb.core.seqprover.SequentProver;
 import org.eventb.core.seqprover.reasonerInputs.EmptyInputReasoner;
+import org.eventb.internal.core.seqprover.IMemoizableReasoner;
 import org.eventb.internal.core.seqprover.eventbExtensions.utils.Variations;
 
 /**
@@ -33,7 +35,8 @@ import org.eventb.internal.core.seqprover.eventbExtensions.utils.Variations;
  * 
  * @author Emmanuel Billaud
  */
-public abstract class AbstractGenMP extends EmptyInputReasoner {
+public abstract class AbstractGenMP extends EmptyInputReasoner implements
+		IMemoizableReasoner {
 
 	private static final String BASE_REASONER_ID = SequentProver.PLUGIN_ID
 			+ ".genMP";
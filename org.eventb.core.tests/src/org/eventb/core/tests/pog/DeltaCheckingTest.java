@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2012 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,9 +9,12 @@
  *     ETH Zurich - initial API and implementation
  *     Systerel - separation of file and root element
  *     Universitaet Duesseldorf - added theorem attribute
+ *     Systerel - added tests for incremental generation of events
  *******************************************************************************/
 package org.eventb.core.tests.pog;
 
+import static org.junit.Assert.assertTrue;
+
 import org.eventb.core.IContextRoot;
 import org.eventb.core.IEvent;
 import org.eventb.core.IGuard;
@@ -478,4 +481,74 @@ public class DeltaCheckingTest extends EventBPOTest {
 	}
 
 
+	private IMachineRoot createTwoEventMachine() throws Exception {
+		final IMachineRoot mac = createMachine("mac");
+		addVariables(mac, "x");
+		addInvariants(mac, makeSList("I1"), makeSList("x∈0‥4"), false);
+		addEvent(mac, "evt1", 
+				makeSList(), 
+				makeSList("G1"), makeSList("1 < x"), 
+				makeSList("A1"), makeSList("x≔x+1"));
+		addEvent(mac, "evt2", 
+				makeSList(), 
+				makeSList("G2"), makeSList("x < 3"), 
+				makeSList("A2"), makeSList("x≔x÷2"));
+		saveRodinFileOf(mac);
+		return mac;
+	}
+
+	/**
+	 * Ensures that modifying the guard of an event does not change the stamps
+	 * of the POs of another event, and that these POs are still well-formed.
+	 */
+	@Test
+	public void testDelta_18_chgOtherEvent() throws Exception {
+		final IMachineRoot mac = createTwoEventMachine();
+		
+		runBuilder();
+		final IPORoot po = mac.getPORoot();
+		final IPOSequent seq1 = getSequent(po, "evt1/I1/INV");
+		final IPOSequent seq2 = getSequent(po, "evt2/I1/INV");
+		final IPOSequent wd2 = getSequent(po, "evt2/A2/WD");
+		hasStamp(seq1, IPOStampedElement.INIT_STAMP);
+		hasStamp(seq2, IPOStampedElement.INIT_STAMP);
+		hasStamp(wd2, IPOStampedElement.INIT_STAMP);
+
+		final IGuard g1 = mac.getEvents()[0].getGuards()[0];
+		g1.setPredicateString("x < 4", null);
+		saveRodinFileOf(mac);
+		
+		runBuilder();
+		hasStamp(po, IPOStampedElement.INIT_STAMP+1);
+		hasStamp(seq1, IPOStampedElement.INIT_STAMP+1);
+		hasStamp(seq2, IPOStampedElement.INIT_STAMP);
+		hasStamp(wd2, IPOStampedElement.INIT_STAMP);
+		final IPOPredicateSet parent = seq2.getHypotheses()[0]
+				.getParentPredicateSet();
+		assertTrue(parent.exists());
+		assertTrue(parent.getParentPredicateSet().exists());
+	}
+
+	/**
+	 * Ensures that modifying an invariant changes the stamps of the invariant
+	 * preservation POs of all events, even if events are unchanged.
+	 */
+	@Test
+	public void testDelta_19_chgInvariantAllEvents() throws Exception {
+		final IMachineRoot mac = createTwoEventMachine();
+		
+		runBuilder();
+		final IPORoot po = mac.getPORoot();
+		final IPOSequent seq1 = getSequent(po, "evt1/I1/INV");
+		final IPOSequent seq2 = getSequent(po, "evt2/I1/INV");
+
+		final IInvariant inv = mac.getInvariants()[0];
+		inv.setPredicateString("x∈0‥5", null);
+		saveRodinFileOf(mac);
+		
+		runBuilder();
+		hasStamp(seq1, IPOStampedElement.INIT_STAMP+1);
+		hasStamp(seq2, IPOStampedElement.INIT_STAMP+1);
+	}
+
 }
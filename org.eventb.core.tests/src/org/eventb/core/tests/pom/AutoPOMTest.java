@@ -9,15 +9,19 @@
  *     ETH Zurich - initial API and implementation
  *     Systerel - separation of file and root element
  *     Systerel - mathematical language V2
+ *     Systerel - added parallel auto-prover test
  *******************************************************************************/
 package org.eventb.core.tests.pom;
 
+import static org.eventb.core.preferences.autotactics.TacticPreferenceConstants.P_AUTOPROVER_THREADS;
 import static org.eventb.core.tests.pom.POUtil.mTypeEnvironment;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eventb.core.EventBPlugin;
 import org.eventb.core.IPOPredicateSet;
 import org.eventb.core.IPORoot;
@@ -137,6 +141,36 @@ public class AutoPOMTest extends BuilderTest {
 	}
 	
 
+	/*
+	 * Ensures that running the auto-prover with several threads gives the same
+	 * result as a sequential run.
+	 */
+	@Test
+	public final void testParallelAutoPOM() throws CoreException {
+		final IEclipsePreferences node = InstanceScope.INSTANCE
+				.getNode(EventBPlugin.PLUGIN_ID);
+		node.putInt(P_AUTOPROVER_THREADS, 4);
+		try {
+			createPOFile();
+			final IPSRoot psRoot = poRoot.getPSRoot();
+			final IPRRoot prRoot = poRoot.getPRRoot();
+
+			enableAutoProver();
+			runBuilder();
+
+			checkPOsConsistent(poRoot, psRoot);
+			checkProofsConsistent(prRoot, psRoot);
+
+			final IPSStatus[] prs = psRoot.getStatuses();
+			for (int i = 0; i < prs.length - 1; i++) {
+				assertDischarged(prs[i]);
+			}
+			assertNotDischarged(prs[prs.length - 1]);
+		} finally {
+			node.remove(P_AUTOPROVER_THREADS);
+		}
+	}
+
 	protected void checkProofsConsistent(IPRRoot prRoot, IPSRoot psRoot) throws RodinDBException {
 		IPSStatus[] statuses = psRoot.getStatuses();
 		for (IPSStatus status : statuses) {
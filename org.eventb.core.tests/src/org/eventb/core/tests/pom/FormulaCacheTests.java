@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.core.tests.pom;
+
+import static org.eventb.core.ast.FormulaFactory.getDefault;
+import static org.eventb.core.tests.pom.POUtil.mTypeEnvironment;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.eventb.core.ast.Expression;
+import org.eventb.core.ast.ISealedTypeEnvironment;
+import org.eventb.core.ast.ITypeEnvironment;
+import org.eventb.core.ast.Predicate;
+import org.eventb.internal.core.FormulaCache;
+import org.junit.Test;
+
+/**
+ * Ensures that the {@link FormulaCache} class works properly.
+ */
+public class FormulaCacheTests {
+
+	private static Predicate parse(String image, ITypeEnvironment typenv) {
+		final Predicate pred = getDefault().parsePredicate(image, null)
+				.getParsedPredicate();
+		pred.typeCheck(typenv);
+		return pred;
+	}
+
+	/**
+	 * Ensures that a cached formula is retrieved with an equal type
+	 * environment, but not with a different one nor as another kind.
+	 */
+	@Test
+	public void hitAndMiss() {
+		final FormulaCache cache = new FormulaCache(10);
+		final String image = "x∈ℕ";
+		final ISealedTypeEnvironment typenv = mTypeEnvironment("x=ℤ")
+				.makeSnapshot();
+		final Predicate pred = parse(image, typenv);
+		cache.put(Predicate.class, image, typenv, null, pred);
+
+		assertSame(pred, cache.get(Predicate.class, image,
+				mTypeEnvironment("x=ℤ").makeSnapshot(), null));
+		assertNull(cache.get(Predicate.class, image,
+				mTypeEnvironment("x=ℤ; y=ℤ").makeSnapshot(), null));
+		assertNull(cache.get(Expression.class, image, typenv, null));
+		assertEquals(1, cache.getHits());
+		assertEquals(2, cache.getMisses());
+	}
+
+	/**
+	 * Ensures that the least recently used formula is evicted first.
+	 */
+	@Test
+	public void eviction() {
+		final FormulaCache cache = new FormulaCache(2);
+		final ISealedTypeEnvironment typenv = mTypeEnvironment("x=ℤ")
+				.makeSnapshot();
+		final String[] images = { "x=1", "x=2", "x=3" };
+		cache.put(Predicate.class, images[0], typenv, null,
+				parse(images[0], typenv));
+		cache.put(Predicate.class, images[1], typenv, null,
+				parse(images[1], typenv));
+		// Touch first formula
+		cache.get(Predicate.class, images[0], typenv, null);
+		cache.put(Predicate.class, images[2], typenv, null,
+				parse(images[2], typenv));
+
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictions());
+		assertNull(cache.get(Predicate.class, images[1], typenv, null));
+	}
+
+}
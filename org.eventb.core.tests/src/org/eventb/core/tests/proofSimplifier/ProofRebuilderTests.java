@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2016 Systerel and others.
+ * Copyright (c) 2010, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,15 +7,22 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - added batch rebuild tests
  *******************************************************************************/
 package org.eventb.core.tests.proofSimplifier;
 
+import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eventb.core.EventBPlugin;
 import org.eventb.core.IAxiom;
 import org.eventb.core.IContextRoot;
@@ -23,6 +30,7 @@ import org.eventb.core.IEventBRoot;
 import org.eventb.core.IPRProof;
 import org.eventb.core.IPSRoot;
 import org.eventb.core.IPSStatus;
+import org.eventb.core.pm.IProofRebuildReport;
 import org.eventb.core.pm.IProofState;
 import org.eventb.core.pm.IUserSupport;
 import org.eventb.core.pm.IUserSupportManager;
@@ -207,4 +215,39 @@ public class ProofRebuilderTests extends EventBPOTest {
 		assertFalse(status.isBroken());
 	}
 
+	/**
+	 * Verify that a batch of proofs is rebuilt, and that a canceled batch can
+	 * be resumed from its skipped proofs.
+	 */
+	@Test
+	public void testBatchRebuild() throws Exception {
+		final IAxiom thm = createTheorem("axm", GOAL);
+		runBuilder();
+		prove(true, Tactics.allI(), Tactics.exI("x"), new AutoTactics.TrueGoalTac(),
+				new AutoTactics.AutoRewriteTac(), new AutoTactics.TrueGoalTac());
+		thm.setPredicateString("∀x⦂ℤ·∃y·y=x", null);
+		saveRodinFileOf(thm);
+		runBuilder();
+		final IPSStatus status = getOnlyStatus();
+		assertTrue(status.isBroken());
+		final List<IPRProof> proofs = singletonList(status.getProof());
+
+		// canceled batch: the proof is skipped and left broken
+		final IProgressMonitor canceled = new NullProgressMonitor();
+		canceled.setCanceled(true);
+		IProofRebuildReport report = EventBPlugin.rebuildProofs(proofs, false, canceled);
+		assertFalse(report.isComplete());
+		assertEquals(proofs, new ArrayList<IPRProof>(report.getSkippedProofs()));
+		assertTrue(report.getRebuiltProofs().isEmpty());
+		assertTrue(report.getFailedProofs().isEmpty());
+		assertTrue(status.isBroken());
+
+		// resumed batch
+		report = EventBPlugin.rebuildProofs(report.getSkippedProofs(), false, null);
+		assertTrue(report.isComplete());
+		assertEquals(proofs, new ArrayList<IPRProof>(report.getRebuiltProofs()));
+		assertTrue(report.getFailedProofs().isEmpty());
+		assertDischargedClosed(status, IConfidence.DISCHARGED_MAX);
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2012 ETH Zurich and others.
+ * Copyright (c) 2007, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,9 +9,15 @@
  *     ETH Zurich - initial API and implementation
  *     Systerel - separation of file and root element
  *     Universitaet Duesseldorf - added theorem attribute
+ *     Systerel - added tests for reuse of parsed formulas
  *******************************************************************************/
 package org.eventb.core.tests.sc;
 
+import static org.eventb.core.EventBAttributes.PREDICATE_ATTRIBUTE;
+import static org.eventb.core.sc.ParseProblem.FreeIdentifierHasBoundOccurencesWarning;
+import static org.eventb.core.sc.ParseProblem.TypesDoNotMatchError;
+import static org.eventb.core.tests.pom.POUtil.mTypeEnvironment;
+
 import org.eventb.core.IContextRoot;
 import org.eventb.core.IMachineRoot;
 import org.eventb.core.IPORoot;
@@ -125,4 +131,58 @@ public class DeltaCheckingTests extends BasicSCTestWithFwdConfig {
 		runBuilderNotChanged(scAbs, poAbs, scCon, poCon);
 	}
 
+	/**
+	 * Ensures that an unchanged formula is checked again when the type of one
+	 * of its identifiers has changed.
+	 */
+	@Test
+	public void testDeltaRetypedIdentifier() throws Exception {
+		final IMachineRoot mac = createMachine("cnc");
+		addVariables(mac, makeSList("V1"));
+		addInvariants(mac, makeSList("I1", "I2"),
+				makeSList("V1∈BOOL", "V1=TRUE"), false, false);
+		saveRodinFileOf(mac);
+
+		runBuilder();
+		containsInvariants(mac.getSCMachineRoot(),
+				mTypeEnvironment("V1=BOOL", factory),
+				makeSList("I1", "I2"), makeSList("V1∈BOOL", "V1=TRUE"),
+				false, false);
+
+		mac.getInvariants()[0].setPredicateString("V1∈ℤ", null);
+		saveRodinFileOf(mac);
+
+		runBuilderIssuesSomeMarkers();
+		hasMarker(mac.getInvariants()[1], PREDICATE_ATTRIBUTE,
+				TypesDoNotMatchError);
+		containsInvariants(mac.getSCMachineRoot(),
+				mTypeEnvironment("V1=ℤ", factory), makeSList("I1"),
+				makeSList("V1∈ℤ"), false);
+	}
+
+	/**
+	 * Ensures that legibility problems are reported for an unchanged formula
+	 * when a new identifier clashes with one of its bound identifiers.
+	 */
+	@Test
+	public void testDeltaNewIdentifierClash() throws Exception {
+		final IMachineRoot mac = createMachine("cnc");
+		addVariables(mac, makeSList("V1"));
+		addInvariants(mac, makeSList("I1", "I2"),
+				makeSList("V1∈BOOL", "∀V2·V2∈ℕ ⇒ V2≥0"), false, false);
+		saveRodinFileOf(mac);
+
+		runBuilder();
+		hasNotMarker(mac.getInvariants()[1],
+				FreeIdentifierHasBoundOccurencesWarning);
+
+		addVariables(mac, makeSList("V2"));
+		addInvariants(mac, makeSList("I3"), makeSList("V2∈ℤ"), false);
+		saveRodinFileOf(mac);
+
+		runBuilderIssuesSomeMarkers();
+		hasMarker(mac.getInvariants()[1], PREDICATE_ATTRIBUTE,
+				FreeIdentifierHasBoundOccurencesWarning, "V2");
+	}
+
 }
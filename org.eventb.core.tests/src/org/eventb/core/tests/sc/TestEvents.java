@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2014 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,9 +13,12 @@
  *     Systerel - added a test for extended initialization repairing
  *     Systerel - use marker matcher
  *     Systerel - added test for bug #720
+ *     Systerel - added test for formulas parsed beforehand
+ *     Systerel - compared sequential and concurrent parsing
  *******************************************************************************/
 package org.eventb.core.tests.sc;
 
+import static org.eclipse.core.resources.IncrementalProjectBuilder.CLEAN_BUILD;
 import static org.eventb.core.EventBAttributes.ASSIGNMENT_ATTRIBUTE;
 import static org.eventb.core.EventBAttributes.IDENTIFIER_ATTRIBUTE;
 import static org.eventb.core.EventBAttributes.LABEL_ATTRIBUTE;
@@ -46,13 +49,20 @@ import static org.eventb.core.sc.ParseProblem.LexerError;
 import static org.eventb.core.sc.ParseProblem.TypesDoNotMatchError;
 import static org.eventb.core.tests.MarkerMatcher.marker;
 import static org.eventb.core.tests.pom.POUtil.mTypeEnvironment;
+import static org.eventb.internal.core.sc.EventFormulaParser.THREADS_PROPERTY;
+import static org.junit.Assert.assertEquals;
 
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+
+import org.eclipse.core.resources.IFile;
 import org.eventb.core.IEvent;
 import org.eventb.core.IMachineRoot;
 import org.eventb.core.ISCEvent;
 import org.eventb.core.ISCMachineRoot;
 import org.eventb.core.IWitness;
 import org.eventb.core.ast.ITypeEnvironmentBuilder;
+import org.eventb.internal.core.sc.ParsedFormulaCache;
 import org.junit.Test;
 
 /**
@@ -1008,4 +1018,87 @@ public class TestEvents extends BasicSCTestWithFwdConfig {
 				FreeIdentifierHasBoundOccurencesWarning, "p"));
 	}
 
+	/**
+	 * Ensures that the events of a machine with many formulas, which are
+	 * parsed beforehand, are checked as usual, with problems reported on the
+	 * right elements. The machine is checked with formulas parsed by a single
+	 * thread, then by several threads, which must give the same statically
+	 * checked file.
+	 */
+	@Test
+	public void testEvents_34_manyEvents() throws Exception {
+		final int nbEvents = 50;
+		final IMachineRoot mac = createMachine("mac");
+		addVariables(mac, "x");
+		addInvariants(mac, makeSList("I1"), makeSList("x∈ℕ"), true);
+		addInitialisation(mac, "x");
+		final IEvent[] events = new IEvent[nbEvents];
+		for (int i = 0; i < nbEvents; i++) {
+			final String action = i == 7 ? "x :∣ 0 /= " + i : "x ≔ x + " + i;
+			events[i] = addEvent(mac, "evt" + i, makeSList("p"),
+					makeSList("G1", "G2"), makeSList("p∈ℕ", "x < p + " + i),
+					makeBList(false, false), makeSList("A1"), makeSList(action));
+		}
+		saveRodinFileOf(mac);
+
+		final String sequential = checkManyEvents(mac, events, 1);
+		final String concurrent = checkManyEvents(mac, events, 4);
+		assertEquals(sequential, concurrent);
+	}
+
+	// Checks the machine of testEvents_34 from scratch, with formulas parsed
+	// by the given number of threads, and returns the statically checked file
+	private String checkManyEvents(IMachineRoot mac, IEvent[] events,
+			int nbThreads) throws Exception {
+		final String oldThreads = System.getProperty(THREADS_PROPERTY);
+		System.setProperty(THREADS_PROPERTY, Integer.toString(nbThreads));
+		try {
+			// ensures that formulas are parsed again
+			ParsedFormulaCache.getDefault().clear();
+			rodinProject.getProject().build(CLEAN_BUILD, null);
+			runBuilderCheck(marker(events[7].getActions()[0],
+					ASSIGNMENT_ATTRIBUTE, 7, 8, LexerError, "/"));
+		} finally {
+			if (oldThreads == null) {
+				System.clearProperty(THREADS_PROPERTY);
+			} else {
+				System.setProperty(THREADS_PROPERTY, oldThreads);
+			}
+		}
+		final int nbEvents = events.length;
+		final ITypeEnvironmentBuilder typeEnvironment = mTypeEnvironment(
+				"x=ℤ; p=ℤ", factory);
+		final ISCEvent[] scEvents = mac.getSCMachineRoot().getSCEvents();
+		assertEquals(nbEvents + 1, scEvents.length);
+		for (int i = 0; i < nbEvents; i++) {
+			final ISCEvent scEvent = scEvents[i + 1];
+			assertEquals("evt" + i, scEvent.getLabel());
+			containsGuards(scEvent, typeEnvironment, makeSList("G1", "G2"),
+					makeSList("p∈ℕ", "x < p + " + i));
+			if (i == 7) {
+				containsActions(scEvent, typeEnvironment, makeSList(),
+						makeSList());
+			} else {
+				containsActions(scEvent, typeEnvironment, makeSList("A1"),
+						makeSList("x ≔ x + " + i));
+			}
+		}
+		return getContents(mac.getSCMachineRoot().getResource());
+	}
+
+	private static String getContents(IFile file) throws Exception {
+		final InputStream in = file.getContents();
+		try {
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[4096];
+			int length;
+			while ((length = in.read(buffer)) != -1) {
+				out.write(buffer, 0, length);
+			}
+			return out.toString("UTF-8");
+		} finally {
+			in.close();
+		}
+	}
+
 }
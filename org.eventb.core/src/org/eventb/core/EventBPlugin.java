@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2023 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,11 +11,14 @@
  *     Systerel - separation of file and root element
  *     Systerel - added simplifyProof()
  *     Systerel - added rebuildProof()
+ *     Systerel - added incremental POG trace
+ *     Systerel - added rebuildProofs()
  *******************************************************************************/
 package org.eventb.core;
 
 import static org.rodinp.core.RodinCore.getOccurrenceKind;
 
+import java.util.Collection;
 import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
@@ -23,6 +26,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Plugin;
 import org.eventb.core.pm.IProofManager;
+import org.eventb.core.pm.IProofRebuildReport;
 import org.eventb.core.pm.IUserSupportManager;
 import org.eventb.core.pog.POGModule;
 import org.eventb.core.preferences.autotactics.IAutoPostTacticManager;
@@ -31,6 +35,7 @@ import org.eventb.internal.core.FormulaExtensionProviderRegistry;
 import org.eventb.internal.core.autocompletion.AutoCompletion;
 import org.eventb.internal.core.indexers.EventPropagator;
 import org.eventb.internal.core.indexers.IdentifierPropagator;
+import org.eventb.internal.core.pm.ProofBatchRebuilder;
 import org.eventb.internal.core.pm.ProofManager;
 import org.eventb.internal.core.pm.ProofRebuilder;
 import org.eventb.internal.core.pm.ProofSimplifier;
@@ -92,6 +97,8 @@ public class EventBPlugin extends Plugin {
 			+ "/debug/pog/modules"; //$NON-NLS-1$
 	private static final String POG_TRACE_TRIVIAL = PLUGIN_ID
 			+ "/debug/pog/trivial"; //$NON-NLS-1$
+	private static final String POG_TRACE_INCREMENTAL = PLUGIN_ID
+			+ "/debug/pog/incremental"; //$NON-NLS-1$
 	private static final String POM_TRACE = PLUGIN_ID + "/debug/pom"; //$NON-NLS-1$
 	private static final String POM_TRACE_RECALCULATE = PLUGIN_ID
 			+ "/debug/pom/recalculate"; //$NON-NLS-1$
@@ -99,6 +106,8 @@ public class EventBPlugin extends Plugin {
 	private static final String PM_TRACE = PLUGIN_ID + "/debug/pm"; //$NON-NLS-1$
 	private static final String PERF_POM_PROOFREUSE_TRACE = PLUGIN_ID
 			+ "/perf/pom/proofReuse"; //$NON-NLS-1$
+	private static final String PERF_POM_AUTOPROVER_TRACE = PLUGIN_ID
+			+ "/perf/pom/autoProver"; //$NON-NLS-1$
 	private static final String EXTENSIONPROVIDER_REGISTRY_TRACE = PLUGIN_ID
 			+ "/debug/formulaExtensionProvider";//$NON-NLS-1$
 	private static final String PREFERENCES_TRACE = PLUGIN_ID
@@ -263,12 +272,15 @@ public class EventBPlugin extends Plugin {
 				&& parseOption(POG_TRACE_MODULES);
 		UtilityModule.DEBUG_TRIVIAL = POGUtil.DEBUG
 				&& parseOption(POG_TRACE_TRIVIAL);
+		POGUtil.DEBUG_INCREMENTAL = POGUtil.DEBUG
+				&& parseOption(POG_TRACE_INCREMENTAL);
 
 		AutoPOM.DEBUG = parseOption(POM_TRACE);
 		RecalculateAutoStatus.DEBUG = parseOption(POM_TRACE_RECALCULATE);
 		POLoader.DEBUG = parseOption(PO_LOADER_TRACE);
 		UserSupportUtils.DEBUG = parseOption(PM_TRACE);
 		AutoPOM.PERF_PROOFREUSE = parseOption(PERF_POM_PROOFREUSE_TRACE);
+		AutoProver.PERF = parseOption(PERF_POM_AUTOPROVER_TRACE);
 		FormulaExtensionProviderRegistry.DEBUG = parseOption(EXTENSIONPROVIDER_REGISTRY_TRACE);
 		PreferenceUtils.DEBUG = parseOption(PREFERENCES_TRACE);
 	}
@@ -583,6 +595,40 @@ public class EventBPlugin extends Plugin {
 			throws CoreException {
 		return new ProofRebuilder(proof, applyPostTactics).perform(monitor);
 	}
+
+	/**
+	 * Attempts to rebuild all the given proofs, e.g., after reasoners have been
+	 * upgraded.
+	 * <p>
+	 * Proofs are rebuilt concurrently when the auto-prover threads preference
+	 * is greater than one, and each proof file is saved only once. If the
+	 * operation is canceled, the proofs already rebuilt are saved and the
+	 * remaining ones are reported as skipped, so that the operation can be
+	 * resumed by rebuilding the skipped proofs.
+	 * </p>
+	 * 
+	 * @param proofs
+	 *            the proofs to rebuild
+	 * @param applyPostTactics
+	 *            <code>true</code> if post tactics shall be applied in case
+	 *            rebuild does not close a proof tree and post tactics
+	 *            preference is enabled
+	 * @param monitor
+	 *            the progress monitor to use for reporting progress to the
+	 *            user. It is the caller's responsibility to call done() on the
+	 *            given monitor. Accepts <code>null</code>, indicating that no
+	 *            progress should be reported and that the operation cannot be
+	 *            cancelled.
+	 * @return a report telling which proofs have been rebuilt
+	 * @throws CoreException
+	 *             if there was a problem accessing the proofs
+	 * @since 3.7
+	 */
+	public static IProofRebuildReport rebuildProofs(
+			Collection<IPRProof> proofs, boolean applyPostTactics,
+			IProgressMonitor monitor) throws CoreException {
+		return new ProofBatchRebuilder(applyPostTactics).run(proofs, monitor);
+	}
 	
 	/**
 	 * Updates all given IPSStatus elements by re-running the current auto
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2013 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     ETH Zurich - initial API and implementation
+ *     Systerel - added formula cache
  *******************************************************************************/
 package org.eventb.core.basis;
 
@@ -18,8 +19,10 @@ import org.eventb.core.ISCExpressionElement;
 import org.eventb.core.ast.Expression;
 import org.eventb.core.ast.FormulaFactory;
 import org.eventb.core.ast.IParseResult;
+import org.eventb.core.ast.ISealedTypeEnvironment;
 import org.eventb.core.ast.ITypeCheckResult;
 import org.eventb.core.ast.ITypeEnvironment;
+import org.eventb.internal.core.FormulaCache;
 import org.eventb.internal.core.Messages;
 import org.rodinp.core.IRodinElement;
 import org.rodinp.core.RodinDBException;
@@ -59,6 +62,21 @@ public abstract class SCExpressionElement extends EventBElement
 		final String contents = getExpressionString();
 		final FormulaFactory factory = typenv.getFormulaFactory();
 		final IRodinElement source = getSourceIfExists();
+		// Only sealed environments can be used as cache keys without a copy
+		final ISealedTypeEnvironment sealed;
+		if (typenv instanceof ISealedTypeEnvironment) {
+			sealed = (ISealedTypeEnvironment) typenv;
+		} else {
+			sealed = null;
+		}
+		final FormulaCache cache = FormulaCache.getDefault();
+		if (sealed != null) {
+			final Expression cached = cache.get(Expression.class, contents, sealed,
+					source);
+			if (cached != null) {
+				return cached;
+			}
+		}
 		final IParseResult pResult = factory.parseExpression(contents, source);
 		if (pResult.hasProblem()) {
 			throw newCoreException(Messages.database_SCExpressionParseFailure,
@@ -71,6 +89,9 @@ public abstract class SCExpressionElement extends EventBElement
 					this);
 		}
 		assert result.isTypeChecked();
+		if (sealed != null) {
+			cache.put(Expression.class, contents, sealed, source, result);
+		}
 		return result;
 	}
 
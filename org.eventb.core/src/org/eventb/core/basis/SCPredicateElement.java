@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2013 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,6 +9,7 @@
  *     ETH Zurich - initial API and implementation
  *     Systerel - Mathematical Language V2
  *     Systerel - added origin of predicates in proof
+ *     Systerel - added formula cache
  *******************************************************************************/
 package org.eventb.core.basis;
 
@@ -19,9 +20,11 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eventb.core.ISCPredicateElement;
 import org.eventb.core.ast.FormulaFactory;
 import org.eventb.core.ast.IParseResult;
+import org.eventb.core.ast.ISealedTypeEnvironment;
 import org.eventb.core.ast.ITypeCheckResult;
 import org.eventb.core.ast.ITypeEnvironment;
 import org.eventb.core.ast.Predicate;
+import org.eventb.internal.core.FormulaCache;
 import org.eventb.internal.core.Messages;
 import org.rodinp.core.IRodinElement;
 import org.rodinp.core.RodinDBException;
@@ -60,6 +63,21 @@ implements ISCPredicateElement {
 		final String contents = getPredicateString();
 		final FormulaFactory factory = typenv.getFormulaFactory();
 		final IRodinElement source = getSourceIfExists();
+		// Only sealed environments can be used as cache keys without a copy
+		final ISealedTypeEnvironment sealed;
+		if (typenv instanceof ISealedTypeEnvironment) {
+			sealed = (ISealedTypeEnvironment) typenv;
+		} else {
+			sealed = null;
+		}
+		final FormulaCache cache = FormulaCache.getDefault();
+		if (sealed != null) {
+			final Predicate cached = cache.get(Predicate.class, contents, sealed,
+					source);
+			if (cached != null) {
+				return cached;
+			}
+		}
 		final IParseResult pResult = factory.parsePredicate(contents, source);
 		if (pResult.hasProblem()) {
 			throw newCoreException(Messages.database_SCPredicateParseFailure,
@@ -71,6 +89,9 @@ implements ISCPredicateElement {
 			throw newCoreException(Messages.database_SCPredicateTCFailure, this);
 		}
 		assert result.isTypeChecked();
+		if (sealed != null) {
+			cache.put(Predicate.class, contents, sealed, source, result);
+		}
 		return result;
 	}
 	
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.core.pm;
+
+import java.util.Collection;
+
+import org.eventb.core.IPRProof;
+
+/**
+ * Summary of the rebuilding of a batch of proofs.
+ * <p>
+ * Every proof given to the batch falls in exactly one of the three categories
+ * of this report. When the batch has been canceled, the proofs that were not
+ * rebuilt yet are reported as skipped, while the proofs already rebuilt have
+ * been saved. The batch can thus be resumed by rebuilding the skipped proofs.
+ * </p>
+ *
+ * @see org.eventb.core.EventBPlugin#rebuildProofs(Collection, boolean,
+ *      org.eclipse.core.runtime.IProgressMonitor)
+ * @noimplement This interface is not intended to be implemented by clients.
+ * @noextend This interface is not intended to be extended by clients.
+ * @since 3.7
+ */
+public interface IProofRebuildReport {
+
+	/**
+	 * Returns the proofs that have been successfully rebuilt and saved.
+	 *
+	 * @return the rebuilt proofs
+	 */
+	Collection<IPRProof> getRebuiltProofs();
+
+	/**
+	 * Returns the proofs that could not be rebuilt, and have been left
+	 * unchanged. This includes proofs which do not exist anymore or whose
+	 * proof obligation does not exist anymore.
+	 *
+	 * @return the proofs that failed to rebuild
+	 */
+	Collection<IPRProof> getFailedProofs();
+
+	/**
+	 * Returns the proofs that have not been processed, because the batch has
+	 * been canceled.
+	 *
+	 * @return the proofs to rebuild for resuming the batch
+	 */
+	Collection<IPRProof> getSkippedProofs();
+
+	/**
+	 * Tells whether all proofs of the batch have been processed, that is,
+	 * whether no proof has been skipped.
+	 *
+	 * @return <code>true</code> iff no proof has been skipped
+	 */
+	boolean isComplete();
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2017 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,7 @@
  *     Systerel - create a marker when no configuration for file (no exception)
  *     Systerel - added config in message for problem LoadingRootModuleError
  *     Systerel - added removal of temporary file
+ *     Systerel - added incremental generation of events
  *******************************************************************************/
 package org.eventb.core.pog;
 
@@ -34,6 +35,7 @@ import org.eventb.core.IPOStampedElement;
 import org.eventb.core.pog.state.IPOGStateRepository;
 import org.eventb.core.sc.GraphProblem;
 import org.eventb.internal.core.Util;
+import org.eventb.internal.core.pog.EventPOCache;
 import org.eventb.internal.core.pog.Messages;
 import org.eventb.internal.core.pog.POGStateRepository;
 import org.eventb.internal.core.pog.POGUtil;
@@ -61,9 +63,11 @@ public abstract class ProofObligationGenerator implements IAutomaticTool, IExtra
 	private IPOGStateRepository createRepository(
 			IEventBRoot source,
 			IPORoot target,
+			EventPOCache eventPOCache,
 			IProgressMonitor monitor) throws CoreException {
 		
-		final POGStateRepository repository = new POGStateRepository(source, target);
+		final POGStateRepository repository = new POGStateRepository(source,
+				target, eventPOCache);
 		
 		if (POGUtil.DEBUG_STATE)
 			repository.debug();
@@ -252,6 +256,8 @@ public abstract class ProofObligationGenerator implements IAutomaticTool, IExtra
 		
 			monitor.beginTask(Messages.bind(Messages.build_cleaning, file.getName()), 1);
 			
+			EventPOCache.forget(RodinCore.valueOf(file).getMutableCopy());
+			
 			if (file.exists())
 				file.delete(true, monitor);
 			
@@ -345,9 +351,12 @@ public abstract class ProofObligationGenerator implements IAutomaticTool, IExtra
 					
 					poTmpFile.create(true, monitor);
 
+					final IPORoot poTmpRoot = (IPORoot) poTmpFile.getRoot();
+					final EventPOCache eventPOCache = EventPOCache.newCache(
+							poFile, poTmpRoot);
 					final IPOGStateRepository repository = createRepository(
 					(IEventBRoot) srcRodinFile.getRoot(),
-					(IPORoot) poTmpFile.getRoot(), monitor);
+					poTmpRoot, eventPOCache, monitor);
 
 					IPOGProcessorModule rootModule = getRootModule(srcRodinFile);
 				
@@ -359,7 +368,12 @@ public abstract class ProofObligationGenerator implements IAutomaticTool, IExtra
 							monitor);
 					}
 					
-					return compareAndSave(poFile, poTmpFile, monitor);
+					final boolean changed = compareAndSave(poFile, poTmpFile,
+							monitor);
+					if (eventPOCache != null) {
+						eventPOCache.commit();
+					}
+					return changed;
 				} finally {
 					// Ensure that the temporary file gets deleted
 					if (poTmpFile.exists()) {
@@ -56,6 +56,14 @@ public class TacticPreferenceConstants {
 	 */
 	public static final String P_CONSIDER_HIDDEN_HYPOTHESES = "Consider hidden hypotheses in search";
 
+	/**
+	 * Preference key for the number of threads used by the auto-prover. A
+	 * value of one (the default) runs the auto-prover sequentially.
+	 * 
+	 * @since 3.7
+	 */
+	public static final String P_AUTOPROVER_THREADS = "Auto-Prover threads";
+
 	/**
 	 * Profile name for default auto tactic.
 	 *
@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eventb.core.ast.Formula;
+import org.eventb.core.ast.FormulaFactory;
+import org.eventb.core.ast.ISealedTypeEnvironment;
+import org.rodinp.core.IRodinElement;
+
+/**
+ * Process-wide cache of type-checked formulas read from the Rodin database.
+ * <p>
+ * Formulas are stored in the database as strings with types. Reading them
+ * back means parsing and type-checking them again, which is done over and
+ * over on the same strings when PO, SC and proof files are loaded. This cache
+ * maps a formula string, together with the formula factory, the type
+ * environment and the origin used for the parse, to the resulting
+ * type-checked formula. As formulas are immutable, they can be shared freely
+ * between clients.
+ * </p>
+ * <p>
+ * Type environments are part of the keys, hence they must be sealed, so that
+ * a key does not change while it is in the cache. Clients that read several
+ * formulas in the same type environment shall take a snapshot once and pass
+ * it to all lookups, rather than letting each lookup copy the environment.
+ * </p>
+ * <p>
+ * The cache is bounded and evicts least recently used entries first. This
+ * class is thread-safe.
+ * </p>
+ */
+public final class FormulaCache {
+
+	/**
+	 * Default maximal number of formulas kept in the cache.
+	 */
+	public static final int DEFAULT_CAPACITY = 20000;
+
+	private static final FormulaCache DEFAULT = new FormulaCache(
+			DEFAULT_CAPACITY);
+
+	/**
+	 * Returns the process-wide formula cache.
+	 *
+	 * @return the default formula cache
+	 */
+	public static FormulaCache getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Key of a cached formula. The type environment is always sealed so that
+	 * the key does not change while it is in the cache.
+	 */
+	private static final class Key {
+
+		private final Class<?> kind;
+		private final String contents;
+		private final FormulaFactory factory;
+		private final ISealedTypeEnvironment typenv;
+		private final IRodinElement origin;
+		private final int hash;
+
+		Key(Class<?> kind, String contents, ISealedTypeEnvironment typenv,
+				IRodinElement origin) {
+			this.kind = kind;
+			this.contents = contents;
+			this.factory = typenv.getFormulaFactory();
+			this.typenv = typenv;
+			this.origin = origin;
+			this.hash = computeHash();
+		}
+
+		private int computeHash() {
+			int result = kind.hashCode();
+			result = 31 * result + contents.hashCode();
+			result = 31 * result + factory.hashCode();
+			result = 31 * result + typenv.hashCode();
+			result = 31 * result + (origin == null ? 0 : origin.hashCode());
+			return result;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			return hash == other.hash && kind == other.kind
+					&& contents.equals(other.contents)
+					&& factory == other.factory
+					&& typenv.equals(other.typenv)
+					&& (origin == null ? other.origin == null : origin
+							.equals(other.origin));
+		}
+
+	}
+
+	private final int capacity;
+
+	// Accesses must be synchronized on this cache
+	private final Map<Key, Formula<?>> map;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	public FormulaCache(int capacity) {
+		this.capacity = capacity;
+		this.map = new LinkedHashMap<Key, Formula<?>>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Formula<?>> eldest) {
+				if (size() > FormulaCache.this.capacity) {
+					++evictions;
+					return true;
+				}
+				return false;
+			}
+
+		};
+	}
+
+	/**
+	 * Returns the cached formula of the given kind that was obtained by
+	 * parsing and type-checking the given string in the given type
+	 * environment, with the given origin.
+	 *
+	 * @param kind
+	 *            the class of the formula (predicate, expression, ...)
+	 * @param contents
+	 *            the string that was parsed
+	 * @param typenv
+	 *            the sealed type environment used for type-checking
+	 * @param origin
+	 *            the origin given to the parser, or <code>null</code>
+	 * @return the cached formula or <code>null</code> if none
+	 */
+	public <T extends Formula<T>> T get(Class<T> kind, String contents,
+			ISealedTypeEnvironment typenv, IRodinElement origin) {
+		final Key key = new Key(kind, contents, typenv, origin);
+		final Formula<?> result;
+		synchronized (this) {
+			result = map.get(key);
+			if (result == null) {
+				++misses;
+			} else {
+				++hits;
+			}
+		}
+		return kind.cast(result);
+	}
+
+	/**
+	 * Records in this cache the formula obtained by parsing and type-checking
+	 * the given string in the given type environment, with the given origin.
+	 *
+	 * @param kind
+	 *            the class of the formula (predicate, expression, ...)
+	 * @param contents
+	 *            the string that was parsed
+	 * @param typenv
+	 *            the sealed type environment used for type-checking
+	 * @param origin
+	 *            the origin given to the parser, or <code>null</code>
+	 * @param formula
+	 *            the type-checked formula to cache
+	 */
+	public <T extends Formula<T>> void put(Class<T> kind, String contents,
+			ISealedTypeEnvironment typenv, IRodinElement origin, T formula) {
+		assert formula.isTypeChecked();
+		final Key key = new Key(kind, contents, typenv, origin);
+		synchronized (this) {
+			map.put(key, formula);
+		}
+	}
+
+	/**
+	 * Removes all formulas from this cache and resets its statistics.
+	 */
+	public synchronized void clear() {
+		map.clear();
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+	public synchronized int size() {
+		return map.size();
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "FormulaCache: " + map.size() + "/" + capacity + " formulas, "
+				+ hits + " hits, " + misses + " misses, " + evictions
+				+ " evictions";
+	}
+
+}
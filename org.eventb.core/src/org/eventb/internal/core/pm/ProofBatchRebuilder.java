@@ -0,0 +1,408 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.pm;
+
+import static java.util.Collections.unmodifiableList;
+import static org.eventb.internal.core.pm.ProofModifier.isValidProof;
+import static org.eventb.internal.core.preferences.PreferenceUtils.getAutoProverThreadsPref;
+import static org.eventb.internal.core.preferences.PreferenceUtils.getSimplifyProofPref;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eventb.core.EventBPlugin;
+import org.eventb.core.IPRProof;
+import org.eventb.core.IPRRoot;
+import org.eventb.core.ast.FormulaFactory;
+import org.eventb.core.pm.IProofAttempt;
+import org.eventb.core.pm.IProofComponent;
+import org.eventb.core.pm.IProofRebuildReport;
+import org.eventb.core.preferences.autotactics.IAutoPostTacticManager;
+import org.eventb.core.seqprover.IProofMonitor;
+import org.eventb.core.seqprover.IProofSkeleton;
+import org.eventb.core.seqprover.IProofTree;
+import org.eventb.core.seqprover.ITactic;
+import org.eventb.core.seqprover.tactics.BasicTactics;
+import org.eventb.internal.core.Util;
+import org.rodinp.core.RodinDBException;
+
+/**
+ * Rebuilds a batch of proofs, typically after reasoners have been upgraded.
+ * <p>
+ * Proofs are processed one proof file after the other. Within a proof file,
+ * proof skeletons are replayed concurrently by a pool of worker threads, whose
+ * size is given by the auto-prover threads preference. Loading and committing
+ * proof attempts always take place in the calling thread, and proofs are
+ * committed in the given order. Each proof file is saved once, after all its
+ * proofs have been rebuilt.
+ * </p>
+ * <p>
+ * When canceled, the proofs already rebuilt are saved, and the other ones are
+ * reported as skipped, so that the batch can be resumed later.
+ * </p>
+ */
+public class ProofBatchRebuilder {
+
+	private static final String REBUILDER = "Batch rebuilder"; //$NON-NLS-1$
+
+	private static final ThreadFactory WORKER_FACTORY = new ThreadFactory() {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable r) {
+			final Thread thread = new Thread(r, "Proof rebuilder worker " //$NON-NLS-1$
+					+ count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	};
+
+	private final boolean applyPostTactics;
+	private final boolean simplify;
+	private final int nbThreads;
+
+	public ProofBatchRebuilder(boolean applyPostTactics) {
+		this.applyPostTactics = applyPostTactics;
+		this.simplify = getSimplifyProofPref();
+		this.nbThreads = getAutoProverThreadsPref();
+	}
+
+	/**
+	 * Rebuilds the given proofs.
+	 *
+	 * @param proofs
+	 *            the proofs to rebuild
+	 * @param monitor
+	 *            the progress monitor to use for reporting progress to the
+	 *            user. It is the caller's responsibility to call done() on the
+	 *            given monitor. Accepts <code>null</code>, indicating that no
+	 *            progress should be reported and that the operation cannot be
+	 *            cancelled.
+	 * @return a report of the proofs rebuilt
+	 * @throws CoreException
+	 *             if there was a problem accessing the proofs
+	 */
+	public IProofRebuildReport run(Collection<IPRProof> proofs,
+			IProgressMonitor monitor) throws CoreException {
+		final Report report = new Report();
+		final Map<IPRRoot, List<IPRProof>> files = groupByFile(proofs);
+		final SubMonitor sMonitor = SubMonitor.convert(monitor,
+				"rebuilding proofs", proofs.size() + files.size()); //$NON-NLS-1$
+		final RebuildMonitor rebuildMonitor = new RebuildMonitor(monitor);
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				nbThreads, WORKER_FACTORY);
+		try {
+			for (Map.Entry<IPRRoot, List<IPRProof>> entry : files.entrySet()) {
+				final List<IPRProof> fileProofs = entry.getValue();
+				final SubMonitor fileMonitor = sMonitor
+						.newChild(fileProofs.size() + 1);
+				if (sMonitor.isCanceled()) {
+					report.skipped.addAll(fileProofs);
+					continue;
+				}
+				rebuildFile(entry.getKey(), fileProofs, executor,
+						rebuildMonitor, report, fileMonitor);
+			}
+		} finally {
+			rebuildMonitor.abort();
+			executor.shutdownNow();
+		}
+		return report;
+	}
+
+	private static Map<IPRRoot, List<IPRProof>> groupByFile(
+			Collection<IPRProof> proofs) {
+		final Map<IPRRoot, List<IPRProof>> result = new LinkedHashMap<IPRRoot, List<IPRProof>>();
+		for (IPRProof proof : proofs) {
+			final IPRRoot prRoot = (IPRRoot) proof.getRoot();
+			List<IPRProof> fileProofs = result.get(prRoot);
+			if (fileProofs == null) {
+				fileProofs = new ArrayList<IPRProof>();
+				result.put(prRoot, fileProofs);
+			}
+			fileProofs.add(proof);
+		}
+		return result;
+	}
+
+	/*
+	 * Rebuilds the given proofs of a proof file. At most twice as many proof
+	 * attempts as there are workers are kept alive at any time.
+	 */
+	private void rebuildFile(IPRRoot prRoot, List<IPRProof> proofs,
+			ExecutorService executor, RebuildMonitor rebuildMonitor,
+			Report report, SubMonitor monitor) throws CoreException {
+		monitor.setWorkRemaining(2 * proofs.size() + 1);
+		final IProofComponent pc = EventBPlugin.getProofManager()
+				.getProofComponent(prRoot);
+		final Deque<Rebuild> pending = new ArrayDeque<Rebuild>();
+		final int window = 2 * nbThreads;
+		boolean dirty = false;
+		try {
+			final Iterator<IPRProof> iter = proofs.iterator();
+			while (iter.hasNext() && !monitor.isCanceled()) {
+				if (pending.size() >= window) {
+					dirty |= complete(pending.removeFirst(), report,
+							monitor.newChild(1));
+				}
+				final IPRProof proof = iter.next();
+				final Rebuild rebuild;
+				try {
+					rebuild = load(pc, proof, rebuildMonitor,
+							monitor.newChild(1));
+				} catch (OperationCanceledException e) {
+					report.skipped.add(proof);
+					break;
+				}
+				if (rebuild == null) {
+					report.failed.add(proof);
+					continue;
+				}
+				pending.addLast(rebuild);
+				rebuild.submit(executor);
+			}
+			while (iter.hasNext()) {
+				report.skipped.add(iter.next());
+			}
+			while (!pending.isEmpty()) {
+				dirty |= complete(pending.removeFirst(), report,
+						monitor.newChild(1));
+			}
+			if (dirty) {
+				// Saved even when canceled, so that the batch can be resumed
+				pc.save(null, false);
+			}
+			monitor.worked(1);
+		} finally {
+			for (Rebuild rebuild : pending) {
+				report.skipped.add(rebuild.proof);
+				rebuild.dispose();
+			}
+		}
+	}
+
+	private Rebuild load(IProofComponent pc, IPRProof proof,
+			IProofMonitor proofMonitor, IProgressMonitor monitor)
+			throws CoreException {
+		if (!isValidProof(proof)) {
+			return null;
+		}
+		final SubMonitor sMonitor = SubMonitor.convert(monitor, 3);
+		final String name = proof.getElementName();
+		sMonitor.subTask(proof.getRoot().getElementName() + ": " + name); //$NON-NLS-1$
+		final FormulaFactory factory = proof.getFormulaFactory(sMonitor
+				.newChild(1));
+		final IProofSkeleton skeleton = pc.getProofSkeleton(name, factory,
+				sMonitor.newChild(1));
+		final boolean hasManualProof = proof.getHasManualProof();
+		final IProofAttempt pa = pc.createProofAttempt(name, REBUILDER,
+				sMonitor.newChild(1));
+		return new Rebuild(proof, hasManualProof, pa, skeleton,
+				getPostTactic(pa), proofMonitor);
+	}
+
+	// Post tactics are retrieved in the calling thread
+	private ITactic getPostTactic(IProofAttempt pa) {
+		if (!applyPostTactics) {
+			return null;
+		}
+		final IAutoPostTacticManager manager = EventBPlugin
+				.getAutoPostTacticManager();
+		if (!manager.getPostTacticPreference().isEnabled()) {
+			return null;
+		}
+		return manager.getSelectedPostTactics(pa.getComponent().getPORoot());
+	}
+
+	// Waits for the given rebuild to be done, then commits it in this thread
+	private boolean complete(Rebuild rebuild, Report report,
+			IProgressMonitor monitor) throws RodinDBException {
+		try {
+			rebuild.waitForResult();
+			if (rebuild.canceled) {
+				report.skipped.add(rebuild.proof);
+				return false;
+			}
+			if (!rebuild.success) {
+				report.failed.add(rebuild.proof);
+				return false;
+			}
+			rebuild.pa.commit(rebuild.hasManualProof, simplify, monitor);
+			report.rebuilt.add(rebuild.proof);
+			return true;
+		} finally {
+			rebuild.dispose();
+		}
+	}
+
+	/**
+	 * Proof monitor shared by all workers. It reports cancellation of the
+	 * caller's progress monitor, and also cancels pending rebuilds when the
+	 * batch is aborted. Sub-task names are ignored, as progress monitors need
+	 * not be thread-safe.
+	 */
+	private static class RebuildMonitor implements IProofMonitor {
+
+		private final IProgressMonitor pm;
+
+		private volatile boolean aborted;
+
+		public RebuildMonitor(IProgressMonitor pm) {
+			this.pm = pm;
+		}
+
+		public void abort() {
+			aborted = true;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return aborted || pm != null && pm.isCanceled();
+		}
+
+		@Override
+		public void setCanceled(boolean value) {
+			assert false : "Should never be called"; //$NON-NLS-1$
+		}
+
+		@Override
+		public void setTask(String name) {
+			// ignored
+		}
+
+	}
+
+	/**
+	 * A proof attempt whose proof skeleton is replayed by a worker thread.
+	 */
+	private static class Rebuild implements Callable<Void> {
+
+		final IPRProof proof;
+		final boolean hasManualProof;
+		final IProofAttempt pa;
+		private final IProofSkeleton skeleton;
+		private final ITactic postTactic;
+		private final IProofMonitor proofMonitor;
+
+		private Future<Void> future;
+
+		// Written by the worker, read after waiting for it
+		boolean success;
+		boolean canceled;
+
+		public Rebuild(IPRProof proof, boolean hasManualProof,
+				IProofAttempt pa, IProofSkeleton skeleton, ITactic postTactic,
+				IProofMonitor proofMonitor) {
+			this.proof = proof;
+			this.hasManualProof = hasManualProof;
+			this.pa = pa;
+			this.skeleton = skeleton;
+			this.postTactic = postTactic;
+			this.proofMonitor = proofMonitor;
+		}
+
+		public void submit(ExecutorService executor) {
+			future = executor.submit(this);
+		}
+
+		@Override
+		public Void call() {
+			final IProofTree pt = pa.getProofTree();
+			final Object result = BasicTactics.rebuildTac(skeleton).apply(
+					pt.getRoot(), proofMonitor);
+			if (postTactic != null && !pt.isClosed()) {
+				postTactic.apply(pt.getRoot(), proofMonitor);
+			}
+			success = result == null || pt.isClosed();
+			canceled = !pt.isClosed() && proofMonitor.isCanceled();
+			return null;
+		}
+
+		public void waitForResult() {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				canceled = true;
+			} catch (ExecutionException e) {
+				Util.log(e.getCause(), "while rebuilding proof " //$NON-NLS-1$
+						+ proof.getElementName());
+				success = false;
+			}
+		}
+
+		public void dispose() {
+			if (future != null) {
+				future.cancel(true);
+			}
+			pa.dispose();
+		}
+
+	}
+
+	private static class Report implements IProofRebuildReport {
+
+		final List<IPRProof> rebuilt = new ArrayList<IPRProof>();
+		final List<IPRProof> failed = new ArrayList<IPRProof>();
+		final List<IPRProof> skipped = new ArrayList<IPRProof>();
+
+		public Report() {
+			// nothing to do
+		}
+
+		@Override
+		public Collection<IPRProof> getRebuiltProofs() {
+			return unmodifiableList(rebuilt);
+		}
+
+		@Override
+		public Collection<IPRProof> getFailedProofs() {
+			return unmodifiableList(failed);
+		}
+
+		@Override
+		public Collection<IPRProof> getSkippedProofs() {
+			return unmodifiableList(skipped);
+		}
+
+		@Override
+		public boolean isComplete() {
+			return skipped.isEmpty();
+		}
+
+		@Override
+		public String toString() {
+			return rebuilt.size() + " rebuilt, " + failed.size() //$NON-NLS-1$
+					+ " failed, " + skipped.size() + " skipped"; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2014 Systerel and others.
+ * Copyright (c) 2010, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - shared proof validity check
  *******************************************************************************/
 package org.eventb.internal.core.pm;
 
@@ -60,7 +61,7 @@ import org.rodinp.core.RodinDBException;
 	 * @throws CoreException 
 	 */
 	public boolean perform(IProgressMonitor monitor) throws CoreException {
-		if (!isValidProof()) {
+		if (!isValidProof(proof)) {
 			return false;
 		}
 		final SubMonitor subMonitor = SubMonitor.convert(monitor, 10);
@@ -104,7 +105,15 @@ import org.rodinp.core.RodinDBException;
 	protected abstract boolean makeNewProof(IProofAttempt pa,
 			IProofSkeleton originalSkeleton, IProgressMonitor monitor);
 
-	private boolean isValidProof() {
+	/**
+	 * Tells whether the given proof exists and still has a corresponding
+	 * proof obligation.
+	 * 
+	 * @param proof
+	 *            a proof
+	 * @return <code>true</code> iff the proof can be modified
+	 */
+	static boolean isValidProof(IPRProof proof) {
 		if (!proof.exists()) {
 			return false;
 		}
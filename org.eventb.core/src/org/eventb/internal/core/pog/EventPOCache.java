@@ -0,0 +1,326 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.pog;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eventb.core.IPORoot;
+import org.eventb.core.ISCEvent;
+import org.eventb.core.ISCMachineRoot;
+import org.eventb.core.ISCRefinesMachine;
+import org.eventb.core.ast.FormulaFactory;
+import org.eventb.internal.core.Util;
+import org.rodinp.core.IAttributeValue;
+import org.rodinp.core.IInternalElement;
+import org.rodinp.core.IRodinElement;
+import org.rodinp.core.IRodinFile;
+import org.rodinp.core.RodinCore;
+
+/**
+ * Keeps track of the proof obligations generated for each event of a machine,
+ * so that the proof obligations of an event which has not changed are copied
+ * from the former proof obligation file, rather than generated again.
+ * <p>
+ * The proof obligations of an event only depend on the statically checked
+ * event, on the rest of the statically checked machine (variables, invariants,
+ * seen contexts, variant...), on the abstract machine and on the formula
+ * factory. A digest of the event and a digest of everything else are recorded
+ * with the names of the predicate sets and sequents generated for the event.
+ * When both digests are unchanged, these elements are copied verbatim from the
+ * former proof obligation file, provided this file has not been modified since.
+ * </p>
+ * <p>
+ * Records are only kept in memory, so that the first generation after a
+ * restart is always a full generation. Incremental generation can be disabled
+ * by setting the system property <code>org.eventb.core.pog.incremental</code>
+ * to <code>false</code>.
+ * </p>
+ */
+public class EventPOCache {
+
+	public static final String INCREMENTAL_PROPERTY = "org.eventb.core.pog.incremental"; //$NON-NLS-1$
+
+	private static final boolean ENABLED = Boolean.parseBoolean(System
+			.getProperty(INCREMENTAL_PROPERTY, "true")); //$NON-NLS-1$
+
+	private static final String DIGEST_ALGORITHM = "SHA-256"; //$NON-NLS-1$
+
+	// Generations that produced the current contents of PO files.
+	// Accesses must be synchronized on the map.
+	private static final Map<IRodinFile, Generation> GENERATIONS = new HashMap<IRodinFile, Generation>();
+
+	// Children of a PO root generated for an event
+	private static class EventPOs {
+
+		final byte[] digest;
+		final IInternalElement[] children;
+
+		EventPOs(byte[] digest, IInternalElement[] children) {
+			this.digest = digest;
+			this.children = children;
+		}
+
+	}
+
+	private static class Generation {
+
+		final byte[] machineDigest;
+		final FormulaFactory factory;
+		final Map<String, EventPOs> events;
+		final long modificationStamp;
+
+		Generation(byte[] machineDigest, FormulaFactory factory,
+				Map<String, EventPOs> events, long modificationStamp) {
+			this.machineDigest = machineDigest;
+			this.factory = factory;
+			this.events = events;
+			this.modificationStamp = modificationStamp;
+		}
+
+	}
+
+	/**
+	 * Returns a new cache for generating the given PO file.
+	 *
+	 * @param poFile
+	 *            the PO file to generate
+	 * @param target
+	 *            the root of the temporary file where POs are generated
+	 * @return a cache for this generation, or <code>null</code> if incremental
+	 *         generation is disabled
+	 */
+	public static EventPOCache newCache(IRodinFile poFile, IPORoot target) {
+		if (!ENABLED) {
+			return null;
+		}
+		return new EventPOCache(poFile, target);
+	}
+
+	/**
+	 * Forgets the contents of the given PO file, for instance because it is
+	 * deleted.
+	 *
+	 * @param poFile
+	 *            a PO file
+	 */
+	public static void forget(IRodinFile poFile) {
+		synchronized (GENERATIONS) {
+			GENERATIONS.remove(poFile);
+		}
+	}
+
+	private final IRodinFile poFile;
+
+	private final IPORoot target;
+
+	// Events of the ongoing generation
+	private final Map<String, EventPOs> events = new HashMap<String, EventPOs>();
+
+	// Former generation, if it can be reused
+	private Generation previous;
+
+	private byte[] machineDigest;
+
+	private FormulaFactory factory;
+
+	// Digest of the event being generated
+	private byte[] eventDigest;
+
+	// Number of children of the target before generating the current event
+	private int firstChild;
+
+	private EventPOCache(IRodinFile poFile, IPORoot target) {
+		this.poFile = poFile;
+		this.target = target;
+	}
+
+	/**
+	 * Starts the generation of the proof obligations of the events of the
+	 * given machine.
+	 *
+	 * @param scRoot
+	 *            the statically checked machine
+	 * @throws CoreException
+	 *             if some element cannot be read
+	 */
+	public void startMachine(ISCMachineRoot scRoot) throws CoreException {
+		final MessageDigest md = newDigest();
+		digestAttributes(md, scRoot);
+		for (IRodinElement child : scRoot.getChildren()) {
+			if (child.getElementType() != ISCEvent.ELEMENT_TYPE) {
+				digest(md, (IInternalElement) child);
+			}
+		}
+		final ISCRefinesMachine[] refines = scRoot.getSCRefinesClauses();
+		if (refines.length != 0) {
+			final IRodinFile abstractFile = refines[0].getAbstractSCMachine();
+			if (abstractFile.exists()) {
+				digest(md, abstractFile.getRoot());
+			}
+		}
+		machineDigest = md.digest();
+		factory = scRoot.getFormulaFactory();
+		previous = getReusableGeneration();
+	}
+
+	private Generation getReusableGeneration() {
+		final Generation generation;
+		synchronized (GENERATIONS) {
+			generation = GENERATIONS.get(poFile);
+		}
+		if (generation == null
+				|| generation.factory != factory
+				|| !Arrays.equals(generation.machineDigest, machineDigest)
+				|| !poFile.exists()
+				|| poFile.getResource().getModificationStamp() != generation.modificationStamp) {
+			return null;
+		}
+		return generation;
+	}
+
+	/**
+	 * Starts the generation of the proof obligations of the given event. If the
+	 * event has not changed since the former generation, its proof obligations
+	 * are copied from the former PO file.
+	 *
+	 * @param event
+	 *            a statically checked event
+	 * @param monitor
+	 *            a progress monitor
+	 * @return <code>true</code> iff the proof obligations of the event have been
+	 *         copied, <code>false</code> if they must be generated
+	 * @throws CoreException
+	 *             if some element cannot be read or copied
+	 */
+	public boolean startEvent(ISCEvent event, IProgressMonitor monitor)
+			throws CoreException {
+		final MessageDigest md = newDigest();
+		digest(md, event);
+		eventDigest = md.digest();
+		final String name = event.getElementName();
+		final EventPOs former = previous == null ? null : previous.events
+				.get(name);
+		if (former != null && Arrays.equals(former.digest, eventDigest)) {
+			copy(former.children, monitor);
+			events.put(name, former);
+			if (POGUtil.DEBUG_INCREMENTAL) {
+				System.out.println("POG: Reused POs of event " + event.getLabel()); //$NON-NLS-1$
+			}
+			return true;
+		}
+		firstChild = target.getChildren().length;
+		return false;
+	}
+
+	private void copy(IInternalElement[] children, IProgressMonitor monitor)
+			throws CoreException {
+		if (children.length == 0) {
+			return;
+		}
+		final IPORoot oldRoot = (IPORoot) poFile.getRoot();
+		final IRodinElement[] elements = new IRodinElement[children.length];
+		for (int i = 0; i < children.length; i++) {
+			elements[i] = oldRoot.getInternalElement(
+					children[i].getElementType(),
+					children[i].getElementName());
+		}
+		RodinCore.getRodinDB().copy(elements, new IRodinElement[] { target },
+				null, null, false, monitor);
+	}
+
+	/**
+	 * Records the proof obligations generated for the given event since the
+	 * last call to {@link #startEvent(ISCEvent, IProgressMonitor)}.
+	 *
+	 * @param event
+	 *            the event which has been generated
+	 * @throws CoreException
+	 *             if the generated elements cannot be read
+	 */
+	public void endEvent(ISCEvent event) throws CoreException {
+		final IRodinElement[] children = target.getChildren();
+		final IInternalElement[] generated = new IInternalElement[children.length
+				- firstChild];
+		System.arraycopy(children, firstChild, generated, 0, generated.length);
+		events.put(event.getElementName(), new EventPOs(eventDigest,
+				generated));
+	}
+
+	/**
+	 * Records that the PO file now contains the proof obligations generated.
+	 * This must be called once the PO file has been saved.
+	 */
+	public void commit() {
+		if (machineDigest == null) {
+			// Not a machine
+			return;
+		}
+		final Generation generation = new Generation(machineDigest, factory,
+				events, poFile.getResource().getModificationStamp());
+		synchronized (GENERATIONS) {
+			GENERATIONS.put(poFile, generation);
+		}
+	}
+
+	private static MessageDigest newDigest() throws CoreException {
+		try {
+			return MessageDigest.getInstance(DIGEST_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw Util.newCoreException("Digest algorithm not available: " //$NON-NLS-1$
+					+ DIGEST_ALGORITHM, e);
+		}
+	}
+
+	private static void digest(MessageDigest md, IInternalElement element)
+			throws CoreException {
+		update(md, element.getElementType().getId());
+		update(md, element.getElementName());
+		digestAttributes(md, element);
+		final IRodinElement[] children = element.getChildren();
+		update(md, Integer.toString(children.length));
+		for (IRodinElement child : children) {
+			digest(md, (IInternalElement) child);
+		}
+	}
+
+	private static void digestAttributes(MessageDigest md,
+			IInternalElement element) throws CoreException {
+		final IAttributeValue[] values = element.getAttributeValues();
+		update(md, Integer.toString(values.length));
+		for (IAttributeValue value : values) {
+			update(md, value.getType().getId());
+			final Object object = value.getValue();
+			if (object instanceof IRodinElement) {
+				update(md, ((IRodinElement) object).getHandleIdentifier());
+			} else {
+				update(md, object.toString());
+			}
+		}
+	}
+
+	// Length-prefixed, so that distinct sequences of strings never collide
+	private static void update(MessageDigest md, String string) {
+		final byte[] bytes = string.getBytes(UTF_8);
+		final int length = bytes.length;
+		md.update(new byte[] { (byte) (length >>> 24), (byte) (length >>> 16),
+				(byte) (length >>> 8), (byte) length });
+		md.update(bytes);
+	}
+
+}
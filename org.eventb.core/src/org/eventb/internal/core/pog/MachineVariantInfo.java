@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2020 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     ETH Zurich - initial API and implementation
  *     Systerel - lexicographic variants
+ *     Systerel - read formulas with sealed type environments
  *******************************************************************************/
 package org.eventb.internal.core.pog;
 
@@ -18,6 +19,7 @@ import java.util.StringJoiner;
 import org.eclipse.core.runtime.CoreException;
 import org.eventb.core.ISCVariant;
 import org.eventb.core.ast.Expression;
+import org.eventb.core.ast.ISealedTypeEnvironment;
 import org.eventb.core.ast.ITypeEnvironment;
 import org.eventb.core.pog.state.IMachineVariantInfo;
 import org.eventb.core.tool.IStateType;
@@ -107,9 +109,10 @@ public class MachineVariantInfo extends State implements IMachineVariantInfo {
 		this.variants = variants;
 		varLabels = new String[variants.length];
 		varExpressions = new Expression[variants.length];
+		final ISealedTypeEnvironment sealedEnv = typeEnvironment.makeSnapshot();
 		for (int i = 0; i < variants.length; ++i) {
 			varLabels[i] = variants[i].getLabel();
-			varExpressions[i] = variants[i].getExpression(typeEnvironment);
+			varExpressions[i] = variants[i].getExpression(sealedEnv);
 		}
 	}
 
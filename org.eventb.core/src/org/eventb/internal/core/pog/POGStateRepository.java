@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2023 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     ETH Zurich - initial API and implementation
  *     Systerel - separation of file and root element
+ *     Systerel - added incremental generation of events
  *******************************************************************************/
 package org.eventb.internal.core.pog;
 
@@ -26,12 +27,16 @@ public class POGStateRepository extends StateRepository<IPOGState> implements IP
 
 	private final IPORoot target;
 	
-	public POGStateRepository(IEventBRoot source, IPORoot target) throws CoreException {
+	private final EventPOCache eventPOCache;
+	
+	public POGStateRepository(IEventBRoot source, IPORoot target,
+			EventPOCache eventPOCache) throws CoreException {
 		super(source);
 		
 		assert target.exists();
 		
 		this.target = target;
+		this.eventPOCache = eventPOCache;
 	}
 
 	@Override
@@ -39,4 +44,14 @@ public class POGStateRepository extends StateRepository<IPOGState> implements IP
 		return target;
 	}
 
+	/**
+	 * Returns the cache of the proof obligations generated for events.
+	 * 
+	 * @return the cache of event proof obligations, or <code>null</code> if
+	 *         proof obligations are not generated incrementally
+	 */
+	public EventPOCache getEventPOCache() {
+		return eventPOCache;
+	}
+
 }
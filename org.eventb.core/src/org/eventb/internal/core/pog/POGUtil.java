@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2012 University of Southampton and others.
+ * Copyright (c) 2008, 2026 University of Southampton and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     University of Southampton - initial API and implementation
+ *     Systerel - added incremental generation trace
  *******************************************************************************/
 package org.eventb.internal.core.pog;
 
@@ -19,5 +20,6 @@ public class POGUtil {
 	public static boolean DEBUG = false;
 	public static boolean DEBUG_STATE = false;
 	public static boolean DEBUG_MODULECONF = false;
+	public static boolean DEBUG_INCREMENTAL = false;
 	
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2013 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     ETH Zurich - initial API and implementation
+ *     Systerel - read formulas with sealed type environments
  *******************************************************************************/
 package org.eventb.internal.core.pog;
 
@@ -17,6 +18,7 @@ import java.util.List;
 import org.eclipse.core.runtime.CoreException;
 import org.eventb.core.ISCPredicateElement;
 import org.eventb.core.ast.FormulaFactory;
+import org.eventb.core.ast.ISealedTypeEnvironment;
 import org.eventb.core.ast.ITypeEnvironment;
 import org.eventb.core.ast.Predicate;
 import org.eventb.core.pog.state.IPredicateTable;
@@ -44,8 +46,9 @@ extends State implements IPredicateTable<PE> {
 		predicateElements = Arrays.asList(elements);
 		predicates = new ArrayList<Predicate>(elements.length);
 		
+		final ISealedTypeEnvironment sealedEnv = typeEnvironment.makeSnapshot();
 		for (PE element : elements) {
-			predicates.add(element.getPredicate(typeEnvironment));
+			predicates.add(element.getPredicate(sealedEnv));
 		}
 	}
 
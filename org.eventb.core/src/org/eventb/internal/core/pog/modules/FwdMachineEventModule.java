@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     ETH Zurich - initial API and implementation
  *     Systerel - separation of file and root element
+ *     Systerel - added incremental generation of events
  *******************************************************************************/
 package org.eventb.internal.core.pog.modules;
 
@@ -21,6 +22,8 @@ import org.eventb.core.pog.POGCore;
 import org.eventb.core.pog.state.IMachineHypothesisManager;
 import org.eventb.core.pog.state.IPOGStateRepository;
 import org.eventb.core.tool.IModuleType;
+import org.eventb.internal.core.pog.EventPOCache;
+import org.eventb.internal.core.pog.POGStateRepository;
 import org.rodinp.core.IRodinElement;
 import org.rodinp.core.IRodinFile;
 
@@ -56,8 +59,19 @@ public class FwdMachineEventModule extends UtilityModule {
 		if (events.length == 0)
 			return;
 		
+		final EventPOCache eventPOCache = getEventPOCache(repository);
+		if (eventPOCache != null) {
+			eventPOCache.startMachine(scMachineRoot);
+		}
+		
 		for (ISCEvent event : events) {
 			
+			if (eventPOCache != null
+					&& eventPOCache.startEvent(event, monitor)) {
+				// POs copied from the former PO file
+				continue;
+			}
+			
 			ITypeEnvironmentBuilder typeEnvironment = machineTypeEnvironment
 					.makeBuilder();
 			
@@ -68,10 +82,21 @@ public class FwdMachineEventModule extends UtilityModule {
 			processModules(event, repository, monitor);
 			
 			endProcessorModules(event, repository, monitor);
+			
+			if (eventPOCache != null) {
+				eventPOCache.endEvent(event);
+			}
 		}
 
 	}
 	
+	private static EventPOCache getEventPOCache(IPOGStateRepository repository) {
+		if (repository instanceof POGStateRepository) {
+			return ((POGStateRepository) repository).getEventPOCache();
+		}
+		return null;
+	}
+	
 	ITypeEnvironmentBuilder machineTypeEnvironment;
 	IMachineHypothesisManager machineHypothesisManager;
 	/* (non-Javadoc)
@@ -12,13 +12,25 @@
  *     Systerel - added proof simplification on commit
  *     Systerel - fixed bar progression
  *     Systerel - added simplify proof preference
+ *     Systerel - added parallel auto-proving
  *******************************************************************************/
 package org.eventb.internal.core.pom;
 
 import static org.eventb.core.seqprover.IConfidence.PENDING;
 import static org.eventb.internal.core.pom.AutoPOM.tryMakeConsistent;
+import static org.eventb.internal.core.preferences.PreferenceUtils.getAutoProverThreadsPref;
 import static org.eventb.internal.core.preferences.PreferenceUtils.getSimplifyProofPref;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
@@ -30,12 +42,22 @@ import org.eventb.core.pm.IProofAttempt;
 import org.eventb.core.pm.IProofComponent;
 import org.eventb.core.pm.IProofManager;
 import org.eventb.core.preferences.autotactics.IAutoPostTacticManager;
+import org.eventb.core.seqprover.IProofMonitor;
 import org.eventb.core.seqprover.IProofTree;
 import org.eventb.core.seqprover.ITactic;
 import org.eventb.internal.core.ProofMonitor;
 import org.rodinp.core.RodinDBException;
 
 /**
+ * Runs the auto-tactic on a set of proof obligations of a proof component.
+ * <p>
+ * When the auto-prover thread preference is greater than one, proof attempts
+ * are proved concurrently by a pool of worker threads. Loading and committing
+ * proof attempts always take place in the calling thread, which owns the
+ * scheduling rule of the proof component, so that only the application of the
+ * auto-tactic runs in parallel.
+ * </p>
+ * 
  * @author Laurent Voisin
  *
  */
@@ -43,6 +65,26 @@ public final class AutoProver {
 	
 	public static final String AUTO_PROVER = "auto-prover";
 
+	/**
+	 * Flag for the auto-prover performance trace (wall time of the auto-tactic
+	 * per PO, in both sequential and parallel runs)
+	 */
+	public static boolean PERF = false;
+
+	private static final ThreadFactory WORKER_FACTORY = new ThreadFactory() {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable r) {
+			final Thread thread = new Thread(r, "Auto-prover worker "
+					+ count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	};
+
 	private static final IAutoPostTacticManager AUTOTACTIC_MANAGER = EventBPlugin
 			.getAutoPostTacticManager();
 
@@ -56,6 +98,11 @@ public final class AutoProver {
 	
 	public static void run(IProofComponent pc, IPSStatus[] pos,
 			IProgressMonitor monitor) throws RodinDBException {
+		final int nbThreads = getAutoProverThreadsPref();
+		if (nbThreads > 1 && pos.length > 1) {
+			runParallel(pc, pos, nbThreads, monitor);
+			return;
+		}
 		final SubMonitor sMonitor = SubMonitor.convert(monitor, "auto-proving", pos.length + 1);
 		boolean dirty = false;
 		try {
@@ -93,6 +140,68 @@ public final class AutoProver {
 		}
 	}
 	
+	/*
+	 * Proves the given POs with a pool of worker threads. At most twice as many
+	 * proof attempts as there are workers are kept alive at any time. They are
+	 * committed in the order of the given POs, so that the resulting proof
+	 * files do not depend on thread scheduling.
+	 */
+	private static void runParallel(IProofComponent pc, IPSStatus[] pos,
+			int nbThreads, IProgressMonitor monitor) throws RodinDBException {
+		final SubMonitor sMonitor = SubMonitor.convert(monitor,
+				"auto-proving", 2 * pos.length + 1);
+		final WorkerMonitor workerMonitor = new WorkerMonitor(monitor);
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				nbThreads, WORKER_FACTORY);
+		final Deque<ParallelProof> pending = new ArrayDeque<ParallelProof>();
+		final int window = 2 * nbThreads;
+		boolean dirty = false;
+		try {
+			for (IPSStatus status : pos) {
+				if (pending.size() >= window) {
+					dirty |= complete(pending.removeFirst(), sMonitor.split(1));
+				}
+				final String poName = status.getElementName();
+				sMonitor.subTask(poName + ": loading");
+				final IProofAttempt pa = pc.createProofAttempt(poName,
+						AUTO_PROVER, sMonitor.split(1));
+				final ParallelProof proof = new ParallelProof(pa,
+						workerMonitor);
+				pending.addLast(proof);
+				proof.submit(executor);
+			}
+			while (!pending.isEmpty()) {
+				dirty |= complete(pending.removeFirst(), sMonitor.split(1));
+			}
+			if (dirty) {
+				pc.save(sMonitor.split(1), false);
+			} else {
+				sMonitor.worked(1);
+			}
+		} catch(OperationCanceledException e) {
+			tryMakeConsistent(pc);
+			throw e;
+		} finally {
+			workerMonitor.abort();
+			executor.shutdownNow();
+			for (ParallelProof proof : pending) {
+				proof.dispose();
+			}
+			monitor.done();
+		}
+	}
+
+	// Waits for the given proof to be done, then commits it in this thread
+	private static boolean complete(ParallelProof proof, IProgressMonitor pm)
+			throws RodinDBException {
+		try {
+			proof.waitForResult();
+			return commit(proof.pa, pm);
+		} finally {
+			proof.dispose();
+		}
+	}
+
 	private static boolean processPo(IProofComponent pc, IPSStatus status,
 			IProgressMonitor pm) throws RodinDBException {
 		
@@ -111,6 +220,18 @@ public final class AutoProver {
 		}
 	}
 
+	// Applies the given tactic to the proof attempt, timing it for tracing
+	private static void apply(ITactic tactic, IProofAttempt pa,
+			IProofMonitor proofMonitor) {
+		final long start = System.currentTimeMillis();
+		tactic.apply(pa.getProofTree().getRoot(), proofMonitor);
+		if (PERF) {
+			System.out.println("AutoProver: " + pa.getName() + " proved in "
+					+ (System.currentTimeMillis() - start) + " ms by "
+					+ Thread.currentThread().getName());
+		}
+	}
+
 	// Consumes one tick of the given progress monitor
 	private static IProofAttempt load(IProofComponent pc, String poName,
 			IProgressMonitor pm) throws RodinDBException {
@@ -123,9 +244,8 @@ public final class AutoProver {
 	private static void prove(IProofAttempt pa, IProgressMonitor pm) {
 		final SubMonitor sMonitor = SubMonitor.convert(pm, 1);
 		sMonitor.subTask("proving");
-		final IEventBRoot poRoot = pa.getComponent().getPORoot();
-		final ITactic tactic = AUTOTACTIC_MANAGER.getSelectedAutoTactics(poRoot);
-		tactic.apply(pa.getProofTree().getRoot(), new ProofMonitor(sMonitor.split(1)));
+		final ITactic tactic = getAutoTactic(pa);
+		apply(tactic, pa, new ProofMonitor(sMonitor.split(1)));
 	}
 
 	// Consumes one tick of the given progress monitor
@@ -141,6 +261,11 @@ public final class AutoProver {
 		return false;
 	}
 
+	private static ITactic getAutoTactic(IProofAttempt pa) {
+		final IEventBRoot poRoot = pa.getComponent().getPORoot();
+		return AUTOTACTIC_MANAGER.getSelectedAutoTactics(poRoot);
+	}
+
 	private static boolean shouldCommit(IProofAttempt pa)
 			throws RodinDBException {
 		final IProofTree pt = pa.getProofTree();
@@ -159,4 +284,99 @@ public final class AutoProver {
 		}
 		return false;
 	}
+
+	/**
+	 * Proof monitor shared by all workers of a parallel run. It reports
+	 * cancellation of the caller's progress monitor, and also cancels pending
+	 * tactics when the run is aborted. Sub-task names are ignored, as progress
+	 * monitors need not be thread-safe.
+	 */
+	private static class WorkerMonitor implements IProofMonitor {
+
+		private final IProgressMonitor pm;
+
+		private volatile boolean aborted;
+
+		public WorkerMonitor(IProgressMonitor pm) {
+			this.pm = pm;
+		}
+
+		public void abort() {
+			aborted = true;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return aborted || pm != null && pm.isCanceled();
+		}
+
+		@Override
+		public void setCanceled(boolean value) {
+			assert false : "Should never be called";
+		}
+
+		@Override
+		public void setTask(String name) {
+			// ignored
+		}
+
+	}
+
+	/**
+	 * A proof attempt whose auto-tactic is applied by a worker thread.
+	 */
+	private static class ParallelProof implements Callable<Void> {
+
+		final IProofAttempt pa;
+
+		// Tactic is retrieved in the calling thread
+		private final ITactic tactic;
+
+		private final IProofMonitor proofMonitor;
+
+		private Future<Void> future;
+
+		public ParallelProof(IProofAttempt pa, IProofMonitor proofMonitor) {
+			this.pa = pa;
+			this.tactic = getAutoTactic(pa);
+			this.proofMonitor = proofMonitor;
+		}
+
+		public void submit(ExecutorService executor) {
+			future = executor.submit(this);
+		}
+
+		@Override
+		public Void call() {
+			apply(tactic, pa, proofMonitor);
+			return null;
+		}
+
+		public void waitForResult() {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				final Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new IllegalStateException(cause);
+			}
+		}
+
+		public void dispose() {
+			if (future != null) {
+				future.cancel(true);
+			}
+			pa.dispose();
+		}
+
+	}
+
 }
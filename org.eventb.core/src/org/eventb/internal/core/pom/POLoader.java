@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2013 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  *     Systerel - added formula factory parameter
  *     Systerel - changed condition for including WD predicates
  *     Systerel - set the origin of the resulting prover sequent
+ *     Systerel - read formulas with sealed type environments
  *******************************************************************************/
 package org.eventb.internal.core.pom;
 
@@ -42,6 +43,7 @@ import org.eventb.core.ast.FormulaFactory;
 import org.eventb.core.ast.FreeIdentifier;
 import org.eventb.core.ast.IAccumulator;
 import org.eventb.core.ast.IFormulaInspector;
+import org.eventb.core.ast.ISealedTypeEnvironment;
 import org.eventb.core.ast.ITypeEnvironment;
 import org.eventb.core.ast.ITypeEnvironmentBuilder;
 import org.eventb.core.ast.IntegerLiteral;
@@ -182,8 +184,9 @@ public final class POLoader {
 		}
 		
 		boolean selected = selHints.contains(poPredSet);
+		final ISealedTypeEnvironment sealedEnv = typeEnv.makeSnapshot();
 		for (final IPOPredicate poPred : poPredSet.getPredicates()) {
-			final Predicate predicate = poPred.getPredicate(typeEnv);
+			final Predicate predicate = poPred.getPredicate(sealedEnv);
 			final Predicate hypothesis = predicate;
 			if ( selected || selHints.contains(poPred)) selHyps.add(hypothesis);
 			hypotheses.add(hypothesis);
@@ -215,7 +218,7 @@ public final class POLoader {
 		if (dbGoals.length != 1) {
 			Util.log(null, "More than one goal for PO " + poSeq);
 		}
-		return dbGoals[0].getPredicate(typeEnv);
+		return dbGoals[0].getPredicate(typeEnv.makeSnapshot());
 	}
 	
 
@@ -13,6 +13,7 @@ package org.eventb.internal.core.preferences;
 import static org.eventb.core.EventBPlugin.PLUGIN_ID;
 import static org.eventb.core.preferences.autotactics.TacticPreferenceConstants.DEFAULT_AUTO_TACTIC;
 import static org.eventb.core.preferences.autotactics.TacticPreferenceConstants.DEFAULT_POST_TACTIC;
+import static org.eventb.core.preferences.autotactics.TacticPreferenceConstants.P_AUTOPROVER_THREADS;
 import static org.eventb.core.preferences.autotactics.TacticPreferenceConstants.P_AUTOTACTIC_CHOICE;
 import static org.eventb.core.preferences.autotactics.TacticPreferenceConstants.P_AUTOTACTIC_ENABLE;
 import static org.eventb.core.preferences.autotactics.TacticPreferenceConstants.P_CONSIDER_HIDDEN_HYPOTHESES;
@@ -35,6 +36,7 @@ public class PreferenceInitializer extends AbstractPreferenceInitializer {
 
 	public static final boolean DEFAULT_POST_ENABLE = true;
 	public static final boolean DEFAULT_AUTO_ENABLE = true;
+	public static final int DEFAULT_AUTOPROVER_THREADS = 1;
 
 	@Override
 	public void initializeDefaultPreferences() {
@@ -48,6 +50,7 @@ public class PreferenceInitializer extends AbstractPreferenceInitializer {
 		// Default value for auto-tactic registry
 		defaultNode.putBoolean(P_AUTOTACTIC_ENABLE, DEFAULT_AUTO_ENABLE);
 		defaultNode.put(P_AUTOTACTIC_CHOICE, DEFAULT_AUTO_TACTIC);
+		defaultNode.putInt(P_AUTOPROVER_THREADS, DEFAULT_AUTOPROVER_THREADS);
 
 		// Default value consider hidden hypotheses
 		defaultNode.putBoolean(P_CONSIDER_HIDDEN_HYPOTHESES, false);
@@ -12,6 +12,7 @@ package org.eventb.internal.core.preferences;
 
 import static java.util.Arrays.asList;
 import static org.eventb.core.EventBPlugin.PLUGIN_ID;
+import static org.eventb.core.preferences.autotactics.TacticPreferenceConstants.P_AUTOPROVER_THREADS;
 import static org.eventb.core.preferences.autotactics.TacticPreferenceConstants.P_AUTOTACTIC_CHOICE;
 import static org.eventb.core.preferences.autotactics.TacticPreferenceConstants.P_AUTOTACTIC_ENABLE;
 import static org.eventb.core.preferences.autotactics.TacticPreferenceConstants.P_CONSIDER_HIDDEN_HYPOTHESES;
@@ -440,6 +441,18 @@ public class PreferenceUtils {
 				P_SIMPLIFY_PROOFS, false, null);
 	}
 
+	/**
+	 * Returns the number of threads to use for auto-proving, which is always
+	 * at least one.
+	 * 
+	 * @return the number of auto-prover threads
+	 */
+	public static int getAutoProverThreadsPref() {
+		final int threads = Platform.getPreferencesService().getInt(PLUGIN_ID,
+				P_AUTOPROVER_THREADS, 1, null);
+		return Math.max(1, threads);
+	}
+
 	private static void initTacticPreferenceUpdater() {
 		final IEclipsePreferences prefNode = InstanceScope.INSTANCE
 				.getNode(PLUGIN_ID);
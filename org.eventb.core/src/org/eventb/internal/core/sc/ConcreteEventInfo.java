@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2012 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     ETH Zurich - initial API and implementation
+ *     Systerel - reuse of formulas parsed beforehand
  *******************************************************************************/
 package org.eventb.internal.core.sc;
 
@@ -17,10 +18,12 @@ import java.util.List;
 import org.eclipse.core.runtime.CoreException;
 import org.eventb.core.IEvent;
 import org.eventb.core.IRefinesEvent;
+import org.eventb.core.ast.IParseResult;
 import org.eventb.core.sc.state.IAbstractEventInfo;
 import org.eventb.core.sc.state.IConcreteEventInfo;
 import org.eventb.core.sc.state.ILabelSymbolInfo;
 import org.eventb.core.tool.IStateType;
+import org.rodinp.core.IInternalElement;
 
 /**
  * @author Stefan Hallerstede
@@ -46,6 +49,7 @@ public class ConcreteEventInfo extends AccuracyInfo implements IConcreteEventInf
 	private final IEvent event;
 	private final String eventLabel;
 	private final boolean isInit;
+	private EventFormulaParser formulaParser;
 
 	/*
 	 * (non-Javadoc)
@@ -102,4 +106,29 @@ public class ConcreteEventInfo extends AccuracyInfo implements IConcreteEventInf
 		return isInit;
 	}
 
+	public void setFormulaParser(EventFormulaParser formulaParser)
+			throws CoreException {
+		assertMutable();
+		this.formulaParser = formulaParser;
+	}
+
+	/**
+	 * Returns the result of parsing the given formula string of an element of
+	 * this event, if it has been parsed beforehand.
+	 * 
+	 * @param element
+	 *            a guard, witness or action of this event
+	 * @param contents
+	 *            the formula string carried by the element
+	 * @return the parse result, or <code>null</code> if the formula has not
+	 *         been parsed beforehand
+	 */
+	public IParseResult getParseResult(IInternalElement element,
+			String contents) {
+		if (formulaParser == null) {
+			return null;
+		}
+		return formulaParser.getParseResult(element, contents);
+	}
+
 }
@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.sc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eventb.core.IAction;
+import org.eventb.core.IEvent;
+import org.eventb.core.IGuard;
+import org.eventb.core.IWitness;
+import org.eventb.core.ast.FormulaFactory;
+import org.eventb.core.ast.IParseResult;
+import org.eventb.internal.core.Util;
+import org.rodinp.core.IInternalElement;
+import org.rodinp.core.RodinDBException;
+
+/**
+ * Parses the guards, witnesses and actions of the events of a machine
+ * concurrently, before the events are statically checked.
+ * <p>
+ * Events are checked one after the other by the static checker, as the
+ * checking modules share the state repository and write to the same statically
+ * checked file. Parsing is the part of the work that does not depend on the
+ * state repository, hence it is done beforehand by a pool of worker threads.
+ * The formula strings are read in the calling thread, then the checking
+ * modules pick up the parse result of each element, provided the element
+ * still carries the string that was parsed. Type-checking, problem markers and
+ * the statically checked elements are thus produced in the same order as
+ * without this class.
+ * </p>
+ * <p>
+ * The number of worker threads is given by the system property
+ * <code>org.eventb.core.sc.threads</code>, read each time formulas are parsed,
+ * and defaults to the number of available processors. Setting it to
+ * <code>1</code> disables concurrent parsing. Formulas already recorded in the {@link ParsedFormulaCache} are not
+ * parsed again.
+ * </p>
+ */
+public class EventFormulaParser {
+
+	public static final String THREADS_PROPERTY = "org.eventb.core.sc.threads"; //$NON-NLS-1$
+
+	// Below this number of formulas, parsing in the modules is cheaper
+	private static final int MIN_FORMULAS = 64;
+
+	private static final ThreadFactory WORKER_FACTORY = new ThreadFactory() {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable r) {
+			final Thread thread = new Thread(r, "Static checker worker " //$NON-NLS-1$
+					+ count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	};
+
+	// A formula string to parse, together with its parse result
+	private static class Job {
+
+		final IInternalElement element;
+		final String contents;
+		final boolean isPredicate;
+		IParseResult result;
+
+		Job(IInternalElement element, String contents, boolean isPredicate) {
+			this.element = element;
+			this.contents = contents;
+			this.isPredicate = isPredicate;
+		}
+
+		void run(FormulaFactory factory) {
+			if (isPredicate) {
+				result = factory.parsePredicate(contents, element);
+			} else {
+				result = factory.parseAssignment(contents, element);
+			}
+		}
+
+	}
+
+	// Parses a slice of the jobs in a worker thread
+	private static class Worker implements Runnable {
+
+		private final List<Job> jobs;
+		private final FormulaFactory factory;
+
+		Worker(List<Job> jobs, FormulaFactory factory) {
+			this.jobs = jobs;
+			this.factory = factory;
+		}
+
+		@Override
+		public void run() {
+			for (Job job : jobs) {
+				if (Thread.currentThread().isInterrupted()) {
+					return;
+				}
+				job.run(factory);
+			}
+		}
+
+	}
+
+	private final FormulaFactory factory;
+
+	// Only accessed by the calling thread, workers only see the jobs
+	private final Map<IInternalElement, Job> jobs = new HashMap<IInternalElement, Job>();
+
+	public EventFormulaParser(FormulaFactory factory) {
+		this.factory = factory;
+	}
+
+	/**
+	 * Records the formulas of the given event for parsing. Formulas that are
+	 * already known to the formula cache are ignored.
+	 *
+	 * @param event
+	 *            an event of the machine being checked
+	 * @throws RodinDBException
+	 *             if there was a problem reading the event
+	 */
+	public void addEvent(IEvent event) throws RodinDBException {
+		final ParsedFormulaCache cache = ParsedFormulaCache.getDefault();
+		for (IGuard guard : event.getGuards()) {
+			if (guard.hasPredicateString()) {
+				addJob(cache, guard, guard.getPredicateString(), true);
+			}
+		}
+		for (IWitness witness : event.getWitnesses()) {
+			if (witness.hasPredicateString()) {
+				addJob(cache, witness, witness.getPredicateString(), true);
+			}
+		}
+		for (IAction action : event.getActions()) {
+			if (action.hasAssignmentString()) {
+				addJob(cache, action, action.getAssignmentString(), false);
+			}
+		}
+	}
+
+	private void addJob(ParsedFormulaCache cache, IInternalElement element,
+			String contents, boolean isPredicate) {
+		if (!cache.isRecorded(element, contents, factory)) {
+			jobs.put(element, new Job(element, contents, isPredicate));
+		}
+	}
+
+	/**
+	 * Parses all formulas recorded so far, concurrently. If there are too few
+	 * formulas or a single worker thread, nothing is done and the formulas are
+	 * parsed later by the checking modules.
+	 */
+	public void parse() {
+		final int nbThreads = getThreads();
+		if (nbThreads <= 1 || jobs.size() < MIN_FORMULAS) {
+			jobs.clear();
+			return;
+		}
+		final List<Job> all = new ArrayList<Job>(jobs.values());
+		final int sliceSize = (all.size() + nbThreads - 1) / nbThreads;
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				nbThreads, WORKER_FACTORY);
+		boolean parsed = false;
+		try {
+			final List<Future<?>> futures = new ArrayList<Future<?>>();
+			for (int start = 0; start < all.size(); start += sliceSize) {
+				final int end = Math.min(start + sliceSize, all.size());
+				futures.add(executor.submit(new Worker(all.subList(start, end),
+						factory)));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			parsed = true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			Util.log(e.getCause(), "while parsing event formulas"); //$NON-NLS-1$
+		} finally {
+			executor.shutdownNow();
+		}
+		if (!parsed) {
+			// the modules will parse the formulas themselves
+			jobs.clear();
+		}
+	}
+
+	private static int getThreads() {
+		return Math.max(1, Integer.getInteger(THREADS_PROPERTY, Runtime
+				.getRuntime().availableProcessors()));
+	}
+
+	/**
+	 * Returns the result of parsing the given string for the given element, if
+	 * it has already been parsed.
+	 *
+	 * @param element
+	 *            the element carrying the formula
+	 * @param contents
+	 *            the formula string currently carried by the element
+	 * @return the parse result or <code>null</code> if the given string has not
+	 *         been parsed for the given element
+	 */
+	public IParseResult getParseResult(IInternalElement element,
+			String contents) {
+		final Job job = jobs.get(element);
+		if (job == null || !job.contents.equals(contents)) {
+			return null;
+		}
+		return job.result;
+	}
+
+}
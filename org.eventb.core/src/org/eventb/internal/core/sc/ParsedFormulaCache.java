@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.sc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eventb.core.ast.Formula;
+import org.eventb.core.ast.FormulaFactory;
+import org.eventb.core.ast.FreeIdentifier;
+import org.eventb.core.ast.ITypeEnvironment;
+import org.rodinp.core.IAttributeType;
+import org.rodinp.core.IInternalElement;
+import org.rodinp.core.RodinDBException;
+
+/**
+ * Remembers the formulas which have been successfully parsed and type-checked
+ * by the static checker, so that unchanged formulas are neither parsed nor
+ * type-checked again by the next run of the static checker.
+ * <p>
+ * A formula is recorded for the element that carries it, together with the
+ * string it was parsed from, the formula factory and the environment inferred
+ * by type-checking. A recorded formula is reused only if the element still
+ * carries the same string and if type-checking it in the current type
+ * environment would give the same result. This is the case when the free
+ * identifiers of the formula which were not inferred have the same type in the
+ * current environment, and the identifiers which were inferred are still
+ * absent from it. Only formulas for which no problem at all was reported are
+ * recorded, so that reusing them never hides a problem marker.
+ * </p>
+ * <p>
+ * Records are only kept in memory, for a bounded number of elements. This
+ * cache can be disabled by setting the system property
+ * <code>org.eventb.core.sc.incremental</code> to <code>false</code>. This
+ * class is thread-safe.
+ * </p>
+ */
+public class ParsedFormulaCache {
+
+	public static final String INCREMENTAL_PROPERTY = "org.eventb.core.sc.incremental"; //$NON-NLS-1$
+
+	private static final boolean ENABLED = Boolean.parseBoolean(System
+			.getProperty(INCREMENTAL_PROPERTY, "true")); //$NON-NLS-1$
+
+	private static final int MAX_ENTRIES = 20000;
+
+	/**
+	 * A formula recorded for an element, with the environment inferred when
+	 * type-checking it.
+	 */
+	public static class Entry {
+
+		final FormulaFactory factory;
+		final String contents;
+		final Formula<?> formula;
+		final ITypeEnvironment inferredEnvironment;
+
+		Entry(FormulaFactory factory, String contents, Formula<?> formula,
+				ITypeEnvironment inferredEnvironment) {
+			this.factory = factory;
+			this.contents = contents;
+			this.formula = formula;
+			this.inferredEnvironment = inferredEnvironment;
+		}
+
+		public Formula<?> getFormula() {
+			return formula;
+		}
+
+		public ITypeEnvironment getInferredEnvironment() {
+			return inferredEnvironment;
+		}
+
+	}
+
+	private static final ParsedFormulaCache INSTANCE = new ParsedFormulaCache();
+
+	/**
+	 * Returns the cache used by the static checker.
+	 *
+	 * @return the static checker cache of formulas
+	 */
+	public static ParsedFormulaCache getDefault() {
+		return INSTANCE;
+	}
+
+	// Least recently used entries come first. Accesses must be synchronized.
+	private final Map<IInternalElement, Entry> entries = new LinkedHashMap<IInternalElement, Entry>(
+			16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(
+				Map.Entry<IInternalElement, Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+
+	};
+
+	private ParsedFormulaCache() {
+		// singleton
+	}
+
+	/**
+	 * Returns the formula recorded for the given element, provided it can be
+	 * used in place of parsing and type-checking the formula carried by the
+	 * element in the given type environment.
+	 *
+	 * @param element
+	 *            an element carrying a formula
+	 * @param attrType
+	 *            the attribute that contains the formula
+	 * @param factory
+	 *            the formula factory to use
+	 * @param environment
+	 *            the current type environment
+	 * @return the recorded formula, or <code>null</code> if the formula must
+	 *         be parsed and type-checked
+	 * @throws RodinDBException
+	 *             if the element cannot be read
+	 */
+	public Entry get(IInternalElement element,
+			IAttributeType.String attrType, FormulaFactory factory,
+			ITypeEnvironment environment) throws RodinDBException {
+		if (!ENABLED) {
+			return null;
+		}
+		final Entry entry;
+		synchronized (entries) {
+			entry = entries.get(element);
+		}
+		if (entry == null || entry.factory != factory
+				|| !element.hasAttribute(attrType)
+				|| !entry.contents.equals(element.getAttributeValue(attrType))
+				|| !isSameTyping(entry, environment)) {
+			return null;
+		}
+		return entry;
+	}
+
+	/**
+	 * Tells whether a formula has been recorded for the given element and
+	 * string. The recorded formula may still be unusable in the current type
+	 * environment.
+	 *
+	 * @param element
+	 *            an element carrying a formula
+	 * @param contents
+	 *            the formula string carried by the element
+	 * @param factory
+	 *            the formula factory to use
+	 * @return <code>true</code> iff a formula has been recorded for the given
+	 *         element and string
+	 */
+	public boolean isRecorded(IInternalElement element, String contents,
+			FormulaFactory factory) {
+		if (!ENABLED) {
+			return false;
+		}
+		final Entry entry;
+		synchronized (entries) {
+			entry = entries.get(element);
+		}
+		return entry != null && entry.factory == factory
+				&& entry.contents.equals(contents);
+	}
+
+	private static boolean isSameTyping(Entry entry,
+			ITypeEnvironment environment) {
+		final ITypeEnvironment inferred = entry.inferredEnvironment;
+		final ITypeEnvironment.IIterator iter = inferred.getIterator();
+		while (iter.hasNext()) {
+			iter.advance();
+			if (environment.contains(iter.getName())) {
+				return false;
+			}
+		}
+		for (FreeIdentifier ident : entry.formula.getFreeIdentifiers()) {
+			if (!inferred.contains(ident.getName())
+					&& !environment.contains(ident)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Records a formula that has been parsed and type-checked without any
+	 * problem.
+	 *
+	 * @param element
+	 *            the element carrying the formula
+	 * @param attrType
+	 *            the attribute that contains the formula
+	 * @param formula
+	 *            the type-checked formula
+	 * @param inferredEnvironment
+	 *            the environment inferred by type-checking the formula
+	 * @throws RodinDBException
+	 *             if the element cannot be read
+	 */
+	public void put(IInternalElement element, IAttributeType.String attrType,
+			Formula<?> formula, ITypeEnvironment inferredEnvironment)
+			throws RodinDBException {
+		if (!ENABLED) {
+			return;
+		}
+		final Entry entry = new Entry(formula.getFactory(),
+				element.getAttributeValue(attrType), formula,
+				inferredEnvironment.makeSnapshot());
+		synchronized (entries) {
+			entries.put(element, entry);
+		}
+	}
+
+	/**
+	 * Forgets all recorded formulas.
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2013 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  *     Systerel - separation of file and root element
  *     Systerel - ensure that all AST problems are reported
  *     Systerel - mathematical language V2
+ *     Systerel - reuse of formulas parsed beforehand
  *******************************************************************************/
 package org.eventb.internal.core.sc.modules;
 
@@ -67,7 +68,12 @@ public abstract class AssignmentModule<I extends IInternalElement> extends
 
 		// parse the assignment
 
-		IParseResult parseResult = factory.parseAssignment(assignmentString, assignmentElement);
+		IParseResult parseResult = getParseResult(formulaElement,
+				assignmentString);
+		if (parseResult == null) {
+			parseResult = factory.parseAssignment(assignmentString,
+					assignmentElement);
+		}
 
 		if (issueASTProblemMarkers(assignmentElement, attributeType,
 				parseResult)) {
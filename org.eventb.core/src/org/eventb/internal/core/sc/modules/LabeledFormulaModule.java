@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2024 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,8 @@
  *     Systerel - ensure that all AST problems are reported
  *     Systerel - got factory from repository
  *     Systerel - adapted to parser 2.0 problem kinds
+ *     Systerel - reuse of formulas parsed by a former run
+ *     Systerel - reuse of formulas parsed beforehand
  *******************************************************************************/
 package org.eventb.internal.core.sc.modules;
 
@@ -23,6 +25,7 @@ import org.eventb.core.ast.ASTProblem;
 import org.eventb.core.ast.Formula;
 import org.eventb.core.ast.FormulaFactory;
 import org.eventb.core.ast.FreeIdentifier;
+import org.eventb.core.ast.IParseResult;
 import org.eventb.core.ast.IResult;
 import org.eventb.core.ast.ITypeCheckResult;
 import org.eventb.core.ast.ITypeEnvironment;
@@ -37,6 +40,7 @@ import org.eventb.core.sc.state.ILabelSymbolInfo;
 import org.eventb.core.sc.state.IParsedFormula;
 import org.eventb.core.sc.state.ISCStateRepository;
 import org.eventb.internal.core.sc.ParsedFormula;
+import org.eventb.internal.core.sc.ParsedFormulaCache;
 import org.rodinp.core.IAttributeType;
 import org.rodinp.core.IInternalElement;
 import org.rodinp.core.IRodinElement;
@@ -60,6 +64,12 @@ public abstract class LabeledFormulaModule<F extends Formula<F>, I extends IInte
 
 	private IAccuracyInfo accuracyInfo;
 
+	// Formula reused from a former run, if any, for the current element
+	private ParsedFormulaCache.Entry cachedEntry;
+
+	// Whether some AST problem has been reported for the current element
+	private boolean astProblemIssued;
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -115,6 +125,7 @@ public abstract class LabeledFormulaModule<F extends Formula<F>, I extends IInte
 			throws RodinDBException {
 
 		boolean errorIssued = false;
+		astProblemIssued |= result.hasProblem();
 		for (ASTProblem parserProblem : result.getProblems()) {
 			final SourceLocation location = parserProblem.getSourceLocation();
 			final ProblemKind problemKind = parserProblem.getMessage();
@@ -247,6 +258,22 @@ public abstract class LabeledFormulaModule<F extends Formula<F>, I extends IInte
 			Collection<FreeIdentifier> freeIdentifierContext,
 			FormulaFactory factory) throws CoreException;
 
+	/**
+	 * Returns the result of parsing the given formula string of the given
+	 * element, when it has been parsed beforehand. By default, formulas are
+	 * never parsed beforehand.
+	 * 
+	 * @param formulaElement
+	 *            the formula element
+	 * @param contents
+	 *            the formula string carried by the element
+	 * @return the parse result, or <code>null</code> if the formula must be
+	 *         parsed
+	 */
+	protected IParseResult getParseResult(I formulaElement, String contents) {
+		return null;
+	}
+
 	/**
 	 * @param formulaElement
 	 *            the formula element
@@ -260,6 +287,10 @@ public abstract class LabeledFormulaModule<F extends Formula<F>, I extends IInte
 	protected ITypeEnvironment typeCheckFormula(I formulaElement, F formula,
 			ITypeEnvironment environment) throws CoreException {
 
+		if (cachedEntry != null && cachedEntry.getFormula() == formula) {
+			return cachedEntry.getInferredEnvironment();
+		}
+
 		ITypeCheckResult typeCheckResult = formula.typeCheck(environment);
 
 		if (issueASTProblemMarkers(formulaElement, getFormulaAttributeType(),
@@ -311,6 +342,10 @@ public abstract class LabeledFormulaModule<F extends Formula<F>, I extends IInte
 		final Collection<FreeIdentifier> freeIdentifiers = identifierSymbolTable
 				.getFreeIdentifiers();
 
+		final ParsedFormulaCache cache = ParsedFormulaCache.getDefault();
+
+		final IAttributeType.String attrType = getFormulaAttributeType();
+
 		createParsedState(repository);
 
 		initFilterModules(repository, null);
@@ -322,7 +357,17 @@ public abstract class LabeledFormulaModule<F extends Formula<F>, I extends IInte
 			ILabelSymbolInfo symbolInfo = fetchLabel(formulaElement, component,
 					null);
 
-			F formula = parseFormula(formulaElement, freeIdentifiers, factory);
+			astProblemIssued = false;
+
+			cachedEntry = cache.get(formulaElement, attrType, factory,
+					typeEnvironment);
+
+			F formula;
+			if (cachedEntry != null) {
+				formula = getCachedFormula(formulaElement, freeIdentifiers);
+			} else {
+				formula = parseFormula(formulaElement, freeIdentifiers, factory);
+			}
 
 			formulas[i] = formula;
 
@@ -350,6 +395,11 @@ public abstract class LabeledFormulaModule<F extends Formula<F>, I extends IInte
 						ok = updateIdentifierSymbolTable(formulaElement,
 								inferredEnvironment, typeEnvironment);
 					}
+
+					if (ok && cachedEntry == null && !astProblemIssued) {
+						cache.put(formulaElement, attrType, formula,
+								inferredEnvironment);
+					}
 				}
 			}
 
@@ -369,11 +419,33 @@ public abstract class LabeledFormulaModule<F extends Formula<F>, I extends IInte
 
 		}
 
+		cachedEntry = null;
+
 		endFilterModules(repository, null);
 
 		removeParsedState(repository);
 	}
 
+	/*
+	 * Returns the formula recorded for the given element by a former run, after
+	 * checking its legibility in the current context, or null if it is not
+	 * legible. The recorded formula has the same type as the one that would be
+	 * parsed, as the element still carries the same string.
+	 */
+	private F getCachedFormula(I formulaElement,
+			Collection<FreeIdentifier> freeIdentifierContext)
+			throws RodinDBException {
+		@SuppressWarnings("unchecked")
+		final F formula = (F) cachedEntry.getFormula();
+		final IResult legibilityResult = formula
+				.isLegible(freeIdentifierContext);
+		if (issueASTProblemMarkers(formulaElement, getFormulaAttributeType(),
+				legibilityResult)) {
+			return null;
+		}
+		return formula;
+	}
+
 	protected void setImmutable(ILabelSymbolInfo symbolInfo) {
 		if (symbolInfo != null)
 			symbolInfo.makeImmutable();
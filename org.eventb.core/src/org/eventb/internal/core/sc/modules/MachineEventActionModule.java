@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  *     Systerel - separation of file and root element
  *     Systerel - fixed bug #2997671 using labels instead of fixed prefix
  *     Systerel - got factory from repository
+ *     Systerel - reuse of formulas parsed beforehand
  *******************************************************************************/
 package org.eventb.internal.core.sc.modules;
 
@@ -33,6 +34,7 @@ import org.eventb.core.ast.BoundIdentDecl;
 import org.eventb.core.ast.Formula;
 import org.eventb.core.ast.FormulaFactory;
 import org.eventb.core.ast.FreeIdentifier;
+import org.eventb.core.ast.IParseResult;
 import org.eventb.core.ast.Predicate;
 import org.eventb.core.sc.GraphProblem;
 import org.eventb.core.sc.SCCore;
@@ -46,6 +48,7 @@ import org.eventb.core.sc.state.ILabelSymbolTable;
 import org.eventb.core.sc.state.ISCStateRepository;
 import org.eventb.core.sc.state.SymbolFactory;
 import org.eventb.core.tool.IModuleType;
+import org.eventb.internal.core.sc.ConcreteEventInfo;
 import org.rodinp.core.IAttributeType;
 import org.rodinp.core.IInternalElement;
 import org.rodinp.core.IRodinElement;
@@ -253,6 +256,16 @@ public class MachineEventActionModule extends AssignmentModule<IAction> {
 		// do nothing
 	}
 
+	@Override
+	protected IParseResult getParseResult(IAction formulaElement,
+			String contents) {
+		if (concreteEventInfo instanceof ConcreteEventInfo) {
+			return ((ConcreteEventInfo) concreteEventInfo).getParseResult(
+					formulaElement, contents);
+		}
+		return null;
+	}
+
 	@Override
 	public void initModule(IRodinElement element,
 			ISCStateRepository repository, IProgressMonitor monitor)
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,6 +9,7 @@
  *     ETH Zurich - initial API and implementation
  *     Systerel - separation of file and root element
  *     Systerel - added theorem attribute
+ *     Systerel - reuse of formulas parsed beforehand
  *******************************************************************************/
 package org.eventb.internal.core.sc.modules;
 
@@ -24,6 +25,7 @@ import org.eventb.core.ILabeledElement;
 import org.eventb.core.ISCEvent;
 import org.eventb.core.ISCParameter;
 import org.eventb.core.ast.FreeIdentifier;
+import org.eventb.core.ast.IParseResult;
 import org.eventb.core.ast.ITypeEnvironment;
 import org.eventb.core.ast.ITypeEnvironmentBuilder;
 import org.eventb.core.ast.Predicate;
@@ -40,6 +42,7 @@ import org.eventb.core.sc.state.ILabelSymbolTable;
 import org.eventb.core.sc.state.ISCStateRepository;
 import org.eventb.core.sc.state.SymbolFactory;
 import org.eventb.core.tool.IModuleType;
+import org.eventb.internal.core.sc.ConcreteEventInfo;
 import org.rodinp.core.IInternalElement;
 import org.rodinp.core.IRodinElement;
 import org.rodinp.core.RodinDBException;
@@ -148,6 +151,16 @@ public class MachineEventGuardModule extends PredicateWithTypingModule<IGuard> {
 
 	}
 
+	@Override
+	protected IParseResult getParseResult(IGuard formulaElement,
+			String contents) {
+		if (refinedEventTable instanceof ConcreteEventInfo) {
+			return ((ConcreteEventInfo) refinedEventTable).getParseResult(
+					formulaElement, contents);
+		}
+		return null;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  *     Systerel - added deleteAll() method
  *     Systerel - separation of file and root element
  *     Systerel - got factory from repository
+ *     Systerel - concurrent parsing of event formulas
  *******************************************************************************/
 package org.eventb.internal.core.sc.modules;
 
@@ -40,6 +41,7 @@ import org.eventb.core.sc.state.SymbolFactory;
 import org.eventb.core.tool.IModuleType;
 import org.eventb.internal.core.sc.ConcreteEventInfo;
 import org.eventb.internal.core.sc.ConcreteEventTable;
+import org.eventb.internal.core.sc.EventFormulaParser;
 import org.eventb.internal.core.sc.Messages;
 import org.eventb.internal.core.sc.symbolTable.EventLabelSymbolTable;
 import org.eventb.internal.core.sc.symbolTable.StackedIdentifierSymbolTable;
@@ -166,6 +168,8 @@ public class MachineEventModule extends LabeledElementModule {
 
 		ILabelSymbolInfo init = null;
 
+		final EventFormulaParser formulaParser = new EventFormulaParser(factory);
+
 		for (int i = 0; i < events.length; i++) {
 
 			IEvent event = events[i];
@@ -175,8 +179,10 @@ public class MachineEventModule extends LabeledElementModule {
 			if (symbolInfos[i] == null)
 				continue;
 
-			IConcreteEventInfo concreteEventInfo = new ConcreteEventInfo(event,
+			ConcreteEventInfo concreteEventInfo = new ConcreteEventInfo(event,
 					symbolInfos[i]);
+			concreteEventInfo.setFormulaParser(formulaParser);
+			formulaParser.addEvent(event);
 
 			concreteEventTable.addConcreteEventInfo(concreteEventInfo);
 
@@ -207,6 +213,9 @@ public class MachineEventModule extends LabeledElementModule {
 
 		endFilterModules(repository, null);
 
+		// parse the formulas of all events at once, before checking them
+		formulaParser.parse();
+
 		return symbolInfos;
 	}
 
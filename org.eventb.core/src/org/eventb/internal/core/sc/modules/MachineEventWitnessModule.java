@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  *     Systerel - separation of file and root element
  *     Systerel - added check on primed identifiers
  *     Systerel - got factory from repository
+ *     Systerel - reuse of formulas parsed beforehand
  *******************************************************************************/
 package org.eventb.internal.core.sc.modules;
 
@@ -32,6 +33,7 @@ import org.eventb.core.ast.BecomesEqualTo;
 import org.eventb.core.ast.Formula;
 import org.eventb.core.ast.FormulaFactory;
 import org.eventb.core.ast.FreeIdentifier;
+import org.eventb.core.ast.IParseResult;
 import org.eventb.core.ast.Predicate;
 import org.eventb.core.sc.GraphProblem;
 import org.eventb.core.sc.SCCore;
@@ -45,6 +47,7 @@ import org.eventb.core.sc.state.ILabelSymbolTable;
 import org.eventb.core.sc.state.ISCStateRepository;
 import org.eventb.core.sc.state.SymbolFactory;
 import org.eventb.core.tool.IModuleType;
+import org.eventb.internal.core.sc.ConcreteEventInfo;
 import org.eventb.internal.core.sc.symbolTable.EventLabelSymbolTable;
 import org.rodinp.core.IInternalElement;
 import org.rodinp.core.IRodinElement;
@@ -228,6 +231,16 @@ public class MachineEventWitnessModule extends PredicateModule<IWitness> {
 		}
 	}
 
+	@Override
+	protected IParseResult getParseResult(IWitness formulaElement,
+			String contents) {
+		if (concreteEventInfo instanceof ConcreteEventInfo) {
+			return ((ConcreteEventInfo) concreteEventInfo).getParseResult(
+					formulaElement, contents);
+		}
+		return null;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
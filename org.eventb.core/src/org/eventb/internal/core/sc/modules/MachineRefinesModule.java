@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  *     Systerel - separation of file and root element
  *     Systerel - got factory from repository
  *     Systerel - add reserved name table
+ *     Systerel - read formulas with sealed type environments
  *******************************************************************************/
 package org.eventb.internal.core.sc.modules;
 
@@ -37,6 +38,7 @@ import org.eventb.core.IVariable;
 import org.eventb.core.ast.Assignment;
 import org.eventb.core.ast.FormulaFactory;
 import org.eventb.core.ast.FreeIdentifier;
+import org.eventb.core.ast.ISealedTypeEnvironment;
 import org.eventb.core.ast.ITypeEnvironment;
 import org.eventb.core.ast.ITypeEnvironmentBuilder;
 import org.eventb.core.ast.Predicate;
@@ -326,9 +328,10 @@ public class MachineRefinesModule extends IdentifierCreatorModule {
 			throws CoreException {
 		ISCGuard[] guards = event.getSCGuards();
 		Predicate[] predicates = new Predicate[guards.length];
+		ISealedTypeEnvironment sealedEnv = eventTypeEnvironment.makeSnapshot();
 
 		for (int i = 0; i < guards.length; i++) {
-			predicates[i] = guards[i].getPredicate(eventTypeEnvironment);
+			predicates[i] = guards[i].getPredicate(sealedEnv);
 		}
 		return predicates;
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2013 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  *     Systerel - separation of file and root element
  *     Systerel - ensure that all AST problems are reported
  *     Systerel - mathematical language V2
+ *     Systerel - reuse of formulas parsed beforehand
  *******************************************************************************/
 package org.eventb.internal.core.sc.modules;
 
@@ -63,7 +64,12 @@ public abstract class PredicateModule<I extends IPredicateElement> extends
 
 		// parse the predicate
 
-		IParseResult parseResult = factory.parsePredicate(predicateString, formulaElement);
+		IParseResult parseResult = getParseResult(formulaElement,
+				predicateString);
+		if (parseResult == null) {
+			parseResult = factory.parsePredicate(predicateString,
+					formulaElement);
+		}
 
 		if (issueASTProblemMarkers(formulaElement, attributeType,
 				parseResult)) {
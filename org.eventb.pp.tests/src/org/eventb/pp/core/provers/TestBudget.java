@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.pp.core.provers;
+
+import static org.eventb.internal.pp.core.elements.terms.Util.cClause;
+import static org.eventb.internal.pp.core.elements.terms.Util.cNotPred;
+import static org.eventb.internal.pp.core.elements.terms.Util.cNotProp;
+import static org.eventb.internal.pp.core.elements.terms.Util.cPred;
+import static org.eventb.internal.pp.core.elements.terms.Util.cProp;
+import static org.eventb.internal.pp.core.elements.terms.Util.d0A;
+import static org.eventb.internal.pp.core.elements.terms.Util.d1A;
+import static org.eventb.internal.pp.core.elements.terms.Util.d2A;
+import static org.eventb.internal.pp.core.elements.terms.Util.mList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eventb.internal.pp.CancellationChecker;
+import org.eventb.internal.pp.core.ClauseDispatcher;
+import org.eventb.internal.pp.core.elements.Clause;
+import org.eventb.internal.pp.core.elements.PredicateTable;
+import org.eventb.internal.pp.core.elements.terms.AbstractPPTest;
+import org.eventb.internal.pp.core.elements.terms.Util;
+import org.eventb.internal.pp.core.elements.terms.VariableContext;
+import org.eventb.internal.pp.core.provers.casesplit.CaseSplitter;
+import org.eventb.internal.pp.core.provers.equality.EqualityProver;
+import org.eventb.internal.pp.core.provers.extensionality.ExtensionalityProver;
+import org.eventb.internal.pp.core.provers.predicate.PredicateProver;
+import org.eventb.internal.pp.core.provers.seedsearch.SeedSearchProver;
+import org.eventb.internal.pp.core.simplifiers.EqualitySimplifier;
+import org.eventb.internal.pp.core.simplifiers.ExistentialSimplifier;
+import org.eventb.internal.pp.core.simplifiers.LiteralSimplifier;
+import org.eventb.internal.pp.core.simplifiers.OnePointRule;
+import org.eventb.pp.PPResult;
+import org.eventb.pp.PPResult.Result;
+import org.eventb.pp.PPStatistics;
+import org.junit.Test;
+
+/**
+ * Ensures that the clause dispatcher enforces its clause budget and reports
+ * the resources consumed by a proof.
+ */
+public class TestBudget extends AbstractPPTest {
+
+	private static List<Clause> makeClauses() {
+		return mList(
+				cClause(cPred(d0A, a), cPred(d1A, a), cPred(d2A, a)),
+				cClause(cProp(3), Util.cEqual(a, b)),
+				cClause(cNotPred(d0A, b)),
+				cClause(cNotPred(d1A, b)),
+				cClause(cNotPred(d2A, b)),
+				cClause(cNotProp(3))
+		);
+	}
+
+	private static PPResult prove(long nofSteps, int maxClauses) {
+		final ClauseDispatcher prover = initProver();
+		prover.setClauses(makeClauses());
+		prover.mainLoop(nofSteps, maxClauses);
+		return prover.getResult();
+	}
+
+	/**
+	 * Ensures that statistics are attached to a successful proof.
+	 */
+	@Test
+	public void testStatisticsValid() {
+		final PPResult result = prove(-1, -1);
+		assertEquals(Result.valid, result.getResult());
+		final PPStatistics stats = result.getStatistics();
+		assertNotNull(stats);
+		assertTrue(stats.getSteps() > 0);
+		assertTrue(stats.getGeneratedClauses() > 0);
+		assertTrue(stats.getPeakLiveClauses() >= 6);
+		assertTrue(stats.getMaxCaseSplitDepth() >= 0);
+	}
+
+	/**
+	 * Ensures that statistics are attached when the step limit is reached.
+	 */
+	@Test
+	public void testStatisticsTimeout() {
+		final PPResult result = prove(1, -1);
+		assertEquals(Result.timeout, result.getResult());
+		assertNull(result.getTracer());
+		final PPStatistics stats = result.getStatistics();
+		assertNotNull(stats);
+		assertEquals(1, stats.getSteps());
+	}
+
+	/**
+	 * Ensures that the prover stops as soon as its clause budget is exceeded.
+	 */
+	@Test
+	public void testClauseBudgetExhausted() {
+		final PPResult result = prove(-1, 3);
+		assertEquals(Result.exhausted, result.getResult());
+		assertNull(result.getTracer());
+		final PPStatistics stats = result.getStatistics();
+		assertNotNull(stats);
+		assertTrue(stats.getPeakLiveClauses() > 3);
+	}
+
+	/**
+	 * Ensures that a budget large enough does not prevent finding a proof.
+	 */
+	@Test
+	public void testClauseBudgetLargeEnough() {
+		final PPResult result = prove(-1, 1000);
+		assertEquals(Result.valid, result.getResult());
+		assertTrue(result.getStatistics().getPeakLiveClauses() <= 1000);
+	}
+
+	private static ClauseDispatcher initProver() {
+		final CancellationChecker cancellation = CancellationChecker.newChecker(null);
+		ClauseDispatcher proofStrategy = new ClauseDispatcher(cancellation);
+		VariableContext context = new VariableContext();
+		PredicateTable table = new PredicateTable();
+		
+		PredicateProver prover = new PredicateProver(context);
+		CaseSplitter casesplitter = new CaseSplitter(context, proofStrategy.getLevelController());
+		SeedSearchProver seedsearch = new SeedSearchProver(context, proofStrategy.getLevelController());
+		EqualityProver equalityprover = new EqualityProver(context);
+		ExtensionalityProver extensionalityProver = new ExtensionalityProver(table, context);
+		proofStrategy.addProverModule(prover);
+		proofStrategy.addProverModule(casesplitter);
+		proofStrategy.addProverModule(seedsearch);
+		proofStrategy.addProverModule(equalityprover);
+		proofStrategy.addProverModule(extensionalityProver);
+		
+		OnePointRule onepoint = new OnePointRule();
+		ExistentialSimplifier existential = new ExistentialSimplifier(context);
+		LiteralSimplifier literal = new LiteralSimplifier(context);
+		EqualitySimplifier equality = new EqualitySimplifier(context);
+		proofStrategy.addSimplifier(onepoint);
+		proofStrategy.addSimplifier(equality);
+		proofStrategy.addSimplifier(existential);
+		proofStrategy.addSimplifier(literal);
+		
+		return proofStrategy;
+	}
+}
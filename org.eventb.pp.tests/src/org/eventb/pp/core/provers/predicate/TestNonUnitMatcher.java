@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.pp.core.provers.predicate;
+
+import static org.eventb.internal.pp.core.elements.terms.Util.cClause;
+import static org.eventb.internal.pp.core.elements.terms.Util.cEqClause;
+import static org.eventb.internal.pp.core.elements.terms.Util.cNotProp;
+import static org.eventb.internal.pp.core.elements.terms.Util.cProp;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eventb.internal.pp.core.elements.Clause;
+import org.eventb.internal.pp.core.elements.PredicateLiteralDescriptor;
+import org.eventb.internal.pp.core.elements.terms.AbstractPPTest;
+import org.eventb.internal.pp.core.provers.predicate.iterators.NonUnitMatcher;
+import org.eventb.internal.pp.core.search.ResetIterator;
+import org.junit.Test;
+
+/**
+ * Unit tests for the index of non-unit clauses of the predicate prover.
+ */
+public class TestNonUnitMatcher extends AbstractPPTest {
+
+	private static final PredicateLiteralDescriptor P0 = cProp(0).getDescriptor();
+	private static final PredicateLiteralDescriptor P1 = cProp(1).getDescriptor();
+	private static final PredicateLiteralDescriptor P2 = cProp(2).getDescriptor();
+
+	private final NonUnitMatcher matcher = new NonUnitMatcher();
+
+	private void assertMatching(PredicateLiteralDescriptor desc,
+			boolean isPositive, Clause... expected) {
+		final List<Clause> actual = new ArrayList<Clause>();
+		final ResetIterator<Clause> iterator = matcher.getMatchingClauses(
+				desc, isPositive).iterator();
+		while (iterator.hasNext()) {
+			final Clause clause = iterator.next();
+			assertEquals(true, clause.matches(desc, isPositive));
+			actual.add(clause);
+		}
+		iterator.invalidate();
+		assertEquals(Arrays.asList(expected), actual);
+	}
+
+	/**
+	 * A disjunctive clause matches unit clauses of opposite sign.
+	 */
+	@Test
+	public void testDisjunctiveClause() {
+		final Clause clause = cClause(cProp(0), cNotProp(1));
+		matcher.newClause(clause);
+		assertMatching(P0, false, clause);
+		assertMatching(P0, true);
+		assertMatching(P1, true, clause);
+		assertMatching(P1, false);
+		assertMatching(P2, true);
+		assertMatching(P2, false);
+	}
+
+	/**
+	 * An equivalence clause matches unit clauses of both signs.
+	 */
+	@Test
+	public void testEquivalenceClause() {
+		final Clause clause = cEqClause(cProp(0), cProp(1));
+		matcher.newClause(clause);
+		assertMatching(P0, false, clause);
+		assertMatching(P0, true, clause);
+		assertMatching(P1, false, clause);
+		assertMatching(P1, true, clause);
+	}
+
+	/**
+	 * Clauses are returned in the order in which they were added, only once.
+	 */
+	@Test
+	public void testOrder() {
+		final Clause c1 = cClause(cProp(1), cProp(0));
+		final Clause c2 = cClause(cProp(0), cProp(0));
+		final Clause c3 = cClause(cProp(2), cProp(0));
+		matcher.newClause(c1);
+		matcher.newClause(c2);
+		matcher.newClause(c3);
+		assertMatching(P0, false, c1, c2, c3);
+		assertMatching(P1, false, c1);
+		assertMatching(P2, false, c3);
+	}
+
+	/**
+	 * Removed clauses do not match anymore.
+	 */
+	@Test
+	public void testRemove() {
+		final Clause c1 = cClause(cProp(0), cNotProp(1));
+		final Clause c2 = cClause(cProp(0), cProp(2));
+		matcher.newClause(c1);
+		matcher.newClause(c2);
+		matcher.removeClause(c1);
+		assertMatching(P0, false, c2);
+		assertMatching(P1, true);
+		assertMatching(P2, false, c2);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2012 ETH Zurich and others.
+ * Copyright (c) 2007, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     ETH Zurich - initial API and implementation
+ *     Systerel - added test of depth
  *******************************************************************************/
 package org.eventb.pp.core.search;
 
@@ -97,6 +98,22 @@ public class TestLevel extends AbstractPPTest {
 		assertTrue(SEVEN.getRightBranch().getHeight() == 4);
 	}
 	
+    @Test
+	public void testDepth() {
+		assertEquals(0, BASE.getDepth());
+		assertEquals(1, ONE.getDepth());
+		assertEquals(1, TWO.getDepth());
+		assertEquals(2, THREE.getDepth());
+		assertEquals(2, SIX.getDepth());
+		assertEquals(3, SEVEN.getDepth());
+
+		Level level = BASE;
+		for (int i = 0; i < 100; i++) {
+			level = level.getRightBranch();
+		}
+		assertEquals(100, level.getDepth());
+	}
+	
     @Test
 	public void testComparable() {
 		assertTrue(BASE.compareTo(ONE) <= 1);
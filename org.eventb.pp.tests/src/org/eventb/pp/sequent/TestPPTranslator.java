@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2013 Systerel and others.
+ * Copyright (c) 2010, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,12 +7,14 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - added test of the translation cache
  *******************************************************************************/
 package org.eventb.pp.sequent;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static org.eventb.pp.TestSequent.makeSequent;
+import static org.junit.Assert.assertEquals;
 
 import java.util.List;
 
@@ -24,6 +26,7 @@ import org.eventb.core.ast.datatype.IDatatype;
 import org.eventb.core.ast.datatype.IDatatypeBuilder;
 import org.eventb.core.seqprover.transformer.ISimpleSequent;
 import org.eventb.internal.pp.PPTranslator;
+import org.eventb.internal.pp.TranslationCache;
 import org.eventb.pp.AbstractRodinTest;
 import org.eventb.pp.TestSequent;
 import org.junit.Test;
@@ -168,4 +171,26 @@ public class TestPPTranslator extends AbstractRodinTest {
 		exp.assertTranslatedSequentOf(is);
 	}
 
+	/**
+	 * Ensures that the translation of hypotheses shared by two sequents is
+	 * reused, and that the cached translation is correct.
+	 */
+	@Test
+	public void cachedHypotheses() throws Exception {
+		final TranslationCache cache = TranslationCache.getDefault();
+		cache.clear();
+		final ITypeEnvironmentBuilder te = mTypeEnvironment("a=ℤ; b=ℤ", ff);
+		final List<String> hyps = asList("a = 0", "b = 1");
+
+		final ISimpleSequent is1 = makeInputSequent(NO_TE, hyps, "a = b");
+		makeTestSequent(te, hyps, "a = b").assertTranslatedSequentOf(is1);
+		assertEquals(0, cache.getHits());
+		assertEquals(3, cache.getMisses());
+
+		final ISimpleSequent is2 = makeInputSequent(NO_TE, hyps, "b = a");
+		makeTestSequent(te, hyps, "b = a").assertTranslatedSequentOf(is2);
+		assertEquals(2, cache.getHits());
+		assertEquals(4, cache.getMisses());
+	}
+
 }
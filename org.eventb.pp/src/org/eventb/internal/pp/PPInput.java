@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2017 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     ETH Zurich - initial API and implementation
+ *     Systerel - added clause budget
  *******************************************************************************/
 package org.eventb.internal.pp;
 
@@ -17,6 +18,10 @@ import org.eventb.core.seqprover.xprover.XProverInput;
 
 /**
  * Implementation of {@link XProverInput} for PP.
+ * <p>
+ * The clause budget is not serialized: it only bounds the proof search, and
+ * the proofs found within a budget are also found without it.
+ * </p>
  *
  * @author François Terrier
  *
@@ -25,6 +30,7 @@ public class PPInput extends XProverInput {
 
 	private static final String MAX_STEPS = "maxSteps";
 	private int maxSteps;
+	private int maxClauses = -1;
 
 	public PPInput(boolean restricted, long timeOutDelay, int maxSteps) {
 		super(restricted, timeOutDelay);
@@ -32,6 +38,13 @@ public class PPInput extends XProverInput {
 		this.maxSteps = maxSteps;
 	}
 	
+	public PPInput(boolean restricted, long timeOutDelay, int maxSteps,
+			int maxClauses) {
+		this(restricted, timeOutDelay, maxSteps);
+		
+		this.maxClauses = maxClauses;
+	}
+	
 
 	public PPInput(IReasonerInputReader reader) throws SerializeException {
 		super(reader);
@@ -60,4 +73,14 @@ public class PPInput extends XProverInput {
 		return maxSteps;
 	}
 
+	/**
+	 * Return the maximum number of live clauses PP will keep
+	 * before stopping, or <code>-1</code> if there is no limit.
+	 * 
+	 * @return the maximum number of live clauses of PP
+	 */
+	public int getMaxClauses() {
+		return maxClauses;
+	}
+
 }
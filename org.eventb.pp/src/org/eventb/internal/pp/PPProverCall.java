@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2017 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,7 @@
  *     Systerel - fixed assertions in isValid() and others
  *     Systerel - changed proof display to NewPP to avoid ambiguity
  *     Systerel - adapted to XProver v2 API
+ *     Systerel - added clause budget
  *******************************************************************************/
 package org.eventb.internal.pp;
 
@@ -36,12 +37,14 @@ import org.eventb.pp.PPResult.Result;
 public class PPProverCall extends XProverCall2 implements IPPMonitor {
 
 	private final int maxSteps;
+	private final int maxClauses;
 	private PPResult result;
 
 	public PPProverCall(PPInput input, ISimpleSequent sequent,
 			IProofMonitor pm) {
 		super(sequent, pm);
 		maxSteps = input.getMaxSteps();
+		maxClauses = input.getMaxClauses();
 	}
 
 	@Override
@@ -73,7 +76,7 @@ public class PPProverCall extends XProverCall2 implements IPPMonitor {
 			checkCancellation();
 			prover.load();
 			checkCancellation();
-			prover.prove(maxSteps);
+			prover.prove(maxSteps, maxClauses);
 			result = prover.getResult();
 		} catch (CancellationException e) {
 			result = new PPResult(PPResult.Result.cancel, null);
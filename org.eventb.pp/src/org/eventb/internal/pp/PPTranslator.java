@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2013 Systerel and others.
+ * Copyright (c) 2011, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,12 +7,11 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - cached translation of predicates
  *******************************************************************************/
 package org.eventb.internal.pp;
 
-import static org.eventb.core.seqprover.transformer.SimpleSequents.simplify;
 import static org.eventb.pptrans.Translator.decomposeIdentifiers;
-import static org.eventb.pptrans.Translator.reduceToPredicateCalculus;
 
 import org.eventb.core.seqprover.transformer.ISimpleSequent;
 import org.eventb.core.seqprover.transformer.SimpleSequents;
@@ -33,9 +32,8 @@ public class PPTranslator {
 		cancellation.check();
 		sequent = decomposeIdentifiers(sequent);
 		cancellation.check();
-		sequent = reduceToPredicateCalculus(sequent);
-		cancellation.check();
-		sequent = simplify(sequent);
+		sequent = TranslationCache.getDefault().translate(sequent,
+				cancellation);
 
 		return sequent;
 	}
@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.pp;
+
+import static org.eventb.core.seqprover.transformer.SimpleSequents.simplify;
+import static org.eventb.pptrans.Translator.reduceToPredicateCalculus;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eventb.core.ast.Predicate;
+import org.eventb.core.seqprover.transformer.ISequentTransformer;
+import org.eventb.core.seqprover.transformer.ISimpleSequent;
+import org.eventb.core.seqprover.transformer.ITrackedPredicate;
+import org.eventb.core.seqprover.transformer.SimpleSequents;
+
+/**
+ * Cache of the translation of predicates to predicate calculus. Sibling proof
+ * obligations share most of their hypotheses, so that translating each
+ * hypothesis once is enough when PP is run on many proof obligations in a row.
+ * <p>
+ * The translation of a predicate whose identifiers have been decomposed does
+ * not depend on the rest of its sequent. It only depends on the predicate
+ * itself, which carries the types of its free identifiers, and on whether it
+ * occurs as a hypothesis or as the goal. This is the key used by this cache.
+ * </p>
+ * <p>
+ * The number of hits and misses, and the time spent translating the
+ * predicates retrieved from the cache are recorded. This cache can be
+ * disabled by setting the system property
+ * <code>org.eventb.pp.translationCache</code> to <code>false</code>. This class
+ * is thread-safe.
+ * </p>
+ */
+public class TranslationCache {
+
+	public static final String CACHE_PROPERTY = "org.eventb.pp.translationCache"; //$NON-NLS-1$
+
+	/**
+	 * Debug flag for <code>TRANSLATION_TRACE</code>
+	 */
+	public static boolean DEBUG = false;
+
+	private static final boolean ENABLED = Boolean.parseBoolean(System
+			.getProperty(CACHE_PROPERTY, "true")); //$NON-NLS-1$
+
+	private static final int MAX_ENTRIES = 10000;
+
+	private static final TranslationCache INSTANCE = new TranslationCache();
+
+	private static class Key {
+
+		final Predicate predicate;
+		final boolean isHypothesis;
+
+		Key(Predicate predicate, boolean isHypothesis) {
+			this.predicate = predicate;
+			this.isHypothesis = isHypothesis;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * predicate.hashCode() + (isHypothesis ? 1231 : 1237);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			return isHypothesis == other.isHypothesis
+					&& predicate.getFactory() == other.predicate.getFactory()
+					&& predicate.equals(other.predicate);
+		}
+
+	}
+
+	private static class Translation {
+
+		// null if the predicate disappears from its sequent
+		final Predicate result;
+		final long duration;
+
+		Translation(Predicate result, long duration) {
+			this.result = result;
+			this.duration = duration;
+		}
+
+	}
+
+	// Least recently used entries come first. Accesses must be synchronized.
+	private final Map<Key, Translation> translations = new LinkedHashMap<Key, Translation>(
+			16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Translation> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+
+	};
+
+	private long hits;
+	private long misses;
+	private long savedTime;
+
+	/**
+	 * Returns the cache shared by all runs of PP.
+	 *
+	 * @return the translation cache
+	 */
+	public static TranslationCache getDefault() {
+		return INSTANCE;
+	}
+
+	private TranslationCache() {
+		// singleton
+	}
+
+	/**
+	 * Translates the given sequent to predicate calculus and simplifies it.
+	 * The given sequent must not contain any identifier of Cartesian product
+	 * type.
+	 *
+	 * @param sequent
+	 *            the sequent to translate
+	 * @param cancellation
+	 *            checker for cancellation
+	 * @return the translated sequent
+	 */
+	public ISimpleSequent translate(ISimpleSequent sequent,
+			final CancellationChecker cancellation) {
+		if (!ENABLED) {
+			sequent = reduceToPredicateCalculus(sequent);
+			cancellation.check();
+			return simplify(sequent);
+		}
+		final ISimpleSequent result = sequent
+				.apply(new ISequentTransformer() {
+					@Override
+					public Predicate transform(ITrackedPredicate tpred) {
+						cancellation.check();
+						return translate(tpred.getPredicate(),
+								tpred.isHypothesis());
+					}
+				});
+		if (DEBUG) {
+			System.out.println("Translation cache: " + getStatistics()); //$NON-NLS-1$
+		}
+		return result;
+	}
+
+	private Predicate translate(Predicate predicate, boolean isHypothesis) {
+		final Key key = new Key(predicate, isHypothesis);
+		Translation translation;
+		synchronized (translations) {
+			translation = translations.get(key);
+			if (translation != null) {
+				++hits;
+				savedTime += translation.duration;
+			}
+		}
+		if (translation == null) {
+			final long start = System.nanoTime();
+			final Predicate result = translateAlone(predicate, isHypothesis);
+			translation = new Translation(result, System.nanoTime() - start);
+			synchronized (translations) {
+				++misses;
+				translations.put(key, translation);
+			}
+		}
+		return translation.result;
+	}
+
+	/*
+	 * Translates a predicate in a sequent of its own. Hypotheses that become
+	 * true and goals that become false disappear from their sequent.
+	 */
+	private static Predicate translateAlone(Predicate predicate,
+			boolean isHypothesis) {
+		ISimpleSequent sequent;
+		if (isHypothesis) {
+			sequent = SimpleSequents.make(new Predicate[] { predicate }, null,
+					predicate.getFactory());
+		} else {
+			sequent = SimpleSequents.make((Predicate[]) null, predicate,
+					predicate.getFactory());
+		}
+		sequent = simplify(reduceToPredicateCalculus(sequent));
+		final ITrackedPredicate[] preds = sequent.getPredicates();
+		if (preds.length == 0) {
+			return null;
+		}
+		assert preds.length == 1;
+		return preds[0].getPredicate();
+	}
+
+	/**
+	 * Returns the number of predicates whose translation was found in this
+	 * cache.
+	 *
+	 * @return the number of cache hits
+	 */
+	public long getHits() {
+		synchronized (translations) {
+			return hits;
+		}
+	}
+
+	/**
+	 * Returns the number of predicates that were actually translated.
+	 *
+	 * @return the number of cache misses
+	 */
+	public long getMisses() {
+		synchronized (translations) {
+			return misses;
+		}
+	}
+
+	/**
+	 * Returns the time that would have been spent translating the predicates
+	 * found in this cache.
+	 *
+	 * @return the time saved by this cache, in nanoseconds
+	 */
+	public long getSavedTime() {
+		synchronized (translations) {
+			return savedTime;
+		}
+	}
+
+	/**
+	 * Returns a human-readable summary of the counters of this cache.
+	 *
+	 * @return the statistics of this cache
+	 */
+	public String getStatistics() {
+		synchronized (translations) {
+			return hits + " hits, " + misses + " misses, " + savedTime //$NON-NLS-1$ //$NON-NLS-2$
+					/ 1000000 + " ms saved"; //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Forgets all translations and resets counters.
+	 */
+	public void clear() {
+		synchronized (translations) {
+			translations.clear();
+			hits = 0;
+			misses = 0;
+			savedTime = 0;
+		}
+	}
+
+}
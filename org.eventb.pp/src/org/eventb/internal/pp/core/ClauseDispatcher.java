@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2012 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     ETH Zurich - initial API and implementation
  *     Systerel - refactored cancellation tests
+ *     Systerel - added clause and memory budget
  *******************************************************************************/
 package org.eventb.internal.pp.core;
 
@@ -27,6 +28,7 @@ import org.eventb.internal.pp.core.tracing.IOrigin;
 import org.eventb.pp.ITracer;
 import org.eventb.pp.PPResult;
 import org.eventb.pp.PPResult.Result;
+import org.eventb.pp.PPStatistics;
 
 /**
  * This class decides in which order prover modules are invoked and 
@@ -54,6 +56,10 @@ import org.eventb.pp.PPResult.Result;
  * prover module.
  * Before each steps, it checks whether the maximal number of steps has been 
  * reached or whether the user has canceled the proof, in which case it stops.
+ * It also stops when the number of live clauses exceeds the clause budget of
+ * the proof, or, if requested, when the heap of the virtual machine is almost
+ * full, see {@link #MAX_HEAP_USAGE_PROPERTY}. Statistics about the resources consumed
+ * are attached to the result of the proof.
  * <p>
  * The prover modules never have in their internal state clauses that are not
  * in the {@link #alreadyDispatchedClauses} list of the clause dispatcher.
@@ -79,6 +85,29 @@ public final class ClauseDispatcher  {
 		System.out.println(message);
 	}
 	
+	/**
+	 * System property giving the ratio of the maximal heap size above which
+	 * the prover stops, as the heap is considered exhausted. The heap is
+	 * shared by all the threads of the virtual machine and is read without
+	 * forcing a garbage collection, so that the check is only approximate. It
+	 * is thus disabled by default, and by any value of <code>1</code> or more.
+	 */
+	public static final String MAX_HEAP_USAGE_PROPERTY = "org.eventb.pp.maxHeapUsage";
+	
+	private static final double MAX_HEAP_USAGE = getMaxHeapUsage();
+	
+	// Number of steps between two checks of the heap usage
+	private static final int HEAP_CHECK_PERIOD = 64;
+	
+	private static double getMaxHeapUsage() {
+		try {
+			return Double.parseDouble(System.getProperty(
+					MAX_HEAP_USAGE_PROPERTY, "1"));
+		} catch (NumberFormatException e) {
+			return 1;
+		}
+	}
+	
 	private final RandomAccessList<Clause> alreadyDispatchedClauses;
 	private final ResetIterator<Clause> alreadyDispatchedBacktrackClausesIterator;
 
@@ -96,6 +125,13 @@ public final class ClauseDispatcher  {
 	private PPResult result;
 	private int counter = 0;
 	private boolean terminated = false;
+	
+	// Statistics of the proof
+	private long generatedClauses = 0;
+	private long subsumedClauses = 0;
+	private int maxDepth = 0;
+	private int peakLiveClauses = 0;
+	private Level lastLevel = Level.BASE;
 
 	
 	public ClauseDispatcher(CancellationChecker cancellation) {
@@ -189,6 +225,22 @@ public final class ClauseDispatcher  {
 	 * stops
 	 */
 	public void mainLoop(long nofSteps) {
+		mainLoop(nofSteps, -1);
+	}
+	
+	/**
+	 * Starts the clause dispatcher on the specified clauses.
+	 * <p>
+	 * If a result is not found after the specified number of steps, or if the
+	 * number of live clauses exceeds the specified number of clauses, the
+	 * clause dispatcher stops.
+	 * 
+	 * @param nofSteps the number of steps after which the clause dispatcher
+	 * stops
+	 * @param maxClauses the number of live clauses above which the clause
+	 * dispatcher stops, or <code>-1</code> for no limit
+	 */
+	public void mainLoop(long nofSteps, int maxClauses) {
 		if (DEBUG) debug("=== ClauseDispatcher. Starting ===");
 		addOriginalClauses();
 		if (DEBUG) dumpOriginalClauses();
@@ -196,9 +248,9 @@ public final class ClauseDispatcher  {
 		boolean force = false;
 		while (!terminated) {
 			cancellation.check();
-			if (!updateCounterAndCheckTermination(nofSteps)) {
+			if (!updateCounterAndCheckTermination(nofSteps, maxClauses)) {
 				// first phase, treat non dispatched clauses
-				if (!treatNondispatchedClausesAndCheckContradiction()) {
+				if (!treatNondispatchedClausesAndCheckContradiction(maxClauses)) {
 					// second phase, all clauses have been treated
 					force = getNextClauseFromProvers(force);
 				}
@@ -248,11 +300,13 @@ public final class ClauseDispatcher  {
 		}
 	}
 	
-	private boolean treatNondispatchedClausesAndCheckContradiction() {
+	private boolean treatNondispatchedClausesAndCheckContradiction(int maxClauses) {
 		if (DEBUG) debug("== Treating non dispatched clauses ==");
 		nonDispatchedClausesIterator.reset();
 		while (nonDispatchedClausesIterator.hasNext()) {
 			cancellation.check();
+			// a single step can generate many clauses
+			if (checkClauseBudget(maxClauses)) return true;
 			Clause clause = nonDispatchedClausesIterator.next();
 			if (DEBUG) debug("== Next clause: "+clause+" ==");
 			
@@ -276,20 +330,61 @@ public final class ClauseDispatcher  {
 		return false;
 	}
 	
-	private boolean updateCounterAndCheckTermination(long nofSteps) {
+	private boolean updateCounterAndCheckTermination(long nofSteps, int maxClauses) {
 		counter++;
+		updateDepth();
 		if (nofSteps > 0 && counter >= nofSteps) {
 			terminate(Result.timeout);
 			return true;
 		}
+		if (checkClauseBudget(maxClauses)) return true;
+		if (MAX_HEAP_USAGE < 1 && counter % HEAP_CHECK_PERIOD == 0
+				&& isHeapExhausted()) {
+			if (DEBUG) debug("=== ClauseDispatcher. Heap exhausted ===");
+			terminate(Result.exhausted);
+			return true;
+		}
 		if (DEBUG) debug("=== ClauseDispatcher. Step "+counter+". Level "+tracer.getCurrentLevel()+" ===");
 		dumper.dump();
 		return false;
 	}
 	
+	private void updateDepth() {
+		final Level level = tracer.getCurrentLevel();
+		if (level != lastLevel) {
+			lastLevel = level;
+			maxDepth = Math.max(maxDepth, level.getDepth());
+		}
+	}
+	
+	private boolean checkClauseBudget(int maxClauses) {
+		final int liveClauses = alreadyDispatchedClauses.size() + nonDispatchedClauses.size();
+		peakLiveClauses = Math.max(peakLiveClauses, liveClauses);
+		if (maxClauses >= 0 && liveClauses > maxClauses) {
+			if (DEBUG) debug("=== ClauseDispatcher. Clause budget exhausted: "+liveClauses+" clauses ===");
+			terminate(Result.exhausted);
+			return true;
+		}
+		return false;
+	}
+	
+	/*
+	 * The used memory may include garbage, which is not collected here, as
+	 * forcing a collection would stop the whole virtual machine.
+	 */
+	private static boolean isHeapExhausted() {
+		final Runtime runtime = Runtime.getRuntime();
+		final long maxMemory = runtime.maxMemory();
+		if (maxMemory == Long.MAX_VALUE) return false;
+		final long usedMemory = runtime.totalMemory() - runtime.freeMemory();
+		return usedMemory >= maxMemory * MAX_HEAP_USAGE;
+	}
+	
 	private void treatProverResultAndCheckContradiction(ProverResult result, Set<IOrigin> contradictions) {
+		subsumedClauses += result.getSubsumedClauses().size();
 		removeClauses(result.getSubsumedClauses());
 		Set<Clause> generatedClauses = result.getGeneratedClauses();
+		this.generatedClauses += generatedClauses.size();
 		simplifyClauses(generatedClauses);
 		checkGeneratedClauseLevel(generatedClauses);
 		splitResultAndGetContradiction(generatedClauses, contradictions);
@@ -448,8 +543,11 @@ public final class ClauseDispatcher  {
 	}
 	
 	private void terminate(Result result1) {
-		if (result1 != Result.valid) result = new PPResult(result1, null);
-		else result = new PPResult(result1, tracer);
+		updateDepth();
+		final PPStatistics statistics = new PPStatistics(counter,
+				generatedClauses, subsumedClauses, maxDepth, peakLiveClauses);
+		if (result1 != Result.valid) result = new PPResult(result1, null, statistics);
+		else result = new PPResult(result1, tracer, statistics);
 		terminated = true;
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2012 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     ETH Zurich - initial API and implementation
+ *     Systerel - added exact depth of levels
  *******************************************************************************/
 package org.eventb.internal.pp.core;
 
@@ -63,6 +64,17 @@ public final class Level implements Comparable<Level> {
 		}
 	}
 	
+	/**
+	 * Returns the number of case splits that lead to this level.
+	 * <p>
+	 * Contrary to {@link #getHeight()}, this method is exact for any level.
+	 * 
+	 * @return the depth of this level in the tree of levels
+	 */
+	public int getDepth() {
+		return level.add(ONE).bitLength() - 1;
+	}
+	
 	/**
 	 * Returns the left branch of this level
 	 * 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2012 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     ETH Zurich - initial API and implementation
+ *     Systerel - indexed non-unit clauses
  *******************************************************************************/
 package org.eventb.internal.pp.core.provers.predicate;
 
@@ -21,7 +22,8 @@ import org.eventb.internal.pp.core.ProverResult;
 import org.eventb.internal.pp.core.elements.Clause;
 import org.eventb.internal.pp.core.elements.terms.VariableContext;
 import org.eventb.internal.pp.core.inferrers.ResolutionInferrer;
-import org.eventb.internal.pp.core.provers.predicate.iterators.IteratorMatchIterable;
+import org.eventb.internal.pp.core.provers.predicate.iterators.NonUnitMatchIterable;
+import org.eventb.internal.pp.core.provers.predicate.iterators.NonUnitMatcher;
 import org.eventb.internal.pp.core.provers.predicate.iterators.UnitMatchIterable;
 import org.eventb.internal.pp.core.provers.predicate.iterators.UnitMatcher;
 import org.eventb.internal.pp.core.search.RandomAccessList;
@@ -36,6 +38,10 @@ import org.eventb.internal.pp.core.tracing.IOrigin;
  * a contradiction using all unit clauses.
  * Each call to {@link #next(boolean)} then returns one clause that is issued
  * from the match between a unit and a non-unit clause.
+ * <p>
+ * Unit clauses and non-unit clauses are both indexed by predicate descriptor
+ * and sign, so that only the clauses that can be resolved with a given unit
+ * clause are visited.
  *
  * @author François Terrier
  *
@@ -60,6 +66,7 @@ public class PredicateProver implements IProverModule {
 	private ReverseResolutionResolver conditionResolver;
 	
 	private UnitMatcher unitMatcher;
+	private NonUnitMatcher nonUnitMatcher;
 	
 	public PredicateProver(VariableContext context) {
 		this.inferrer = new ResolutionInferrer(context);
@@ -68,8 +75,9 @@ public class PredicateProver implements IProverModule {
 		nonUnitClauses = new RandomAccessList<Clause>();
 		
 		unitMatcher = new UnitMatcher();
+		nonUnitMatcher = new NonUnitMatcher();
 		
-		nonUnitResolver = new ResolutionResolver(inferrer, new IteratorMatchIterable(nonUnitClauses.iterator()));
+		nonUnitResolver = new ResolutionResolver(inferrer, new NonUnitMatchIterable(nonUnitMatcher));
 		unitResolver = new ResolutionResolver(inferrer, new UnitMatchIterable(unitMatcher));
 		conditionResolver = new ReverseResolutionResolver(inferrer, new UnitMatchIterable(unitMatcher));
 		
@@ -169,6 +177,7 @@ public class PredicateProver implements IProverModule {
 		}
 		else if (isAcceptedNonUnitClause(clause)) {
 			nonUnitClauses.add(clause);
+			nonUnitMatcher.newClause(clause);
 			if (hadConditions(clause)) return newClause(clause, conditionResolver);
 		}
 		return ProverResult.EMPTY_RESULT;
@@ -182,6 +191,7 @@ public class PredicateProver implements IProverModule {
 		}
 		else if (isAcceptedNonUnitClause(clause)) {
 			nonUnitClauses.remove(clause);
+			nonUnitMatcher.removeClause(clause);
 		}
 		nonUnitResolver.remove(clause);
 		unitResolver.remove(clause);
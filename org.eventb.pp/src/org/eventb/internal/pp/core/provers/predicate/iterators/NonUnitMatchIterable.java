@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.pp.core.provers.predicate.iterators;
+
+import java.util.HashMap;
+import java.util.Iterator;
+
+import org.eventb.internal.pp.core.elements.Clause;
+import org.eventb.internal.pp.core.elements.PredicateLiteralDescriptor;
+import org.eventb.internal.pp.core.search.RandomAccessList;
+import org.eventb.internal.pp.core.search.ResetIterator;
+
+/**
+ * Match iterable that returns all clauses matching the given predicate
+ * from a {@link NonUnitMatcher}.
+ */
+public class NonUnitMatchIterable implements IMatchIterable {
+
+	private final NonUnitMatcher nonUnitMatcher;
+	private final HashMap<RandomAccessList<Clause>, ResetIterator<Clause>> setIteratorMap = new HashMap<RandomAccessList<Clause>, ResetIterator<Clause>>();
+
+	public NonUnitMatchIterable(NonUnitMatcher nonUnitMatcher) {
+		this.nonUnitMatcher = nonUnitMatcher;
+	}
+
+	private ResetIterator<Clause> getIterator(RandomAccessList<Clause> set) {
+		ResetIterator<Clause> iterator = setIteratorMap.get(set);
+		if (iterator == null) {
+			iterator = set.iterator();
+			setIteratorMap.put(set, iterator);
+		}
+		return iterator;
+	}
+
+	/**
+	 * Returns an iterator over the non-unit clauses matching the predicate
+	 * passed as a parameter. Two subsequent calls of this method with the same
+	 * predicate return the same iterator.
+	 * 
+	 * @see IMatchIterable#iterator(PredicateLiteralDescriptor, boolean)
+	 */
+	@Override
+	public Iterator<Clause> iterator(PredicateLiteralDescriptor predicate, boolean isPositive) {
+		ResetIterator<Clause> iterator = getIterator(nonUnitMatcher.getMatchingClauses(predicate, isPositive));
+		iterator.reset();
+		return iterator;
+	}
+
+}
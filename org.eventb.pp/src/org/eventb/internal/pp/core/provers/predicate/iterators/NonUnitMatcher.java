@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.pp.core.provers.predicate.iterators;
+
+import java.util.HashMap;
+
+import org.eventb.internal.pp.core.elements.Clause;
+import org.eventb.internal.pp.core.elements.PredicateLiteralDescriptor;
+import org.eventb.internal.pp.core.search.RandomAccessList;
+
+/**
+ * This class implements an efficient way of retrieving non-unit clauses that
+ * can be resolved with a unit clause.
+ * <p>
+ * Non-unit clauses are indexed by the predicate descriptor and the sign of the
+ * unit clauses they match, as given by
+ * {@link Clause#matches(PredicateLiteralDescriptor, boolean)}. Retrieving the
+ * clauses that match a unit clause thus does not depend on the number of
+ * non-unit clauses that do not match it.
+ * <p>
+ * Non-unit clauses must first be added to this matcher using the provided
+ * methods. For a given descriptor and sign, clauses are returned in the order
+ * in which they were added.
+ */
+public class NonUnitMatcher {
+	// this class has a state
+	private final HashMap<PredicateLiteralDescriptor, RandomAccessList<Clause>> positiveMatchMap = new HashMap<PredicateLiteralDescriptor, RandomAccessList<Clause>>();
+	private final HashMap<PredicateLiteralDescriptor, RandomAccessList<Clause>> negativeMatchMap = new HashMap<PredicateLiteralDescriptor, RandomAccessList<Clause>>();
+
+	// only way to add a non-unit clause
+	public void newClause(Clause clause) {
+		assert !clause.isUnit();
+
+		final int size = clause.getPredicateLiteralsSize();
+		for (int i = 0; i < size; i++) {
+			final PredicateLiteralDescriptor desc = clause.getPredicateLiteral(i).getDescriptor();
+			if (clause.matches(desc, true)) getList(positiveMatchMap, desc).add(clause);
+			if (clause.matches(desc, false)) getList(negativeMatchMap, desc).add(clause);
+		}
+	}
+
+	// only way to remove a non-unit clause
+	public void removeClause(Clause clause) {
+		assert !clause.isUnit();
+
+		final int size = clause.getPredicateLiteralsSize();
+		for (int i = 0; i < size; i++) {
+			final PredicateLiteralDescriptor desc = clause.getPredicateLiteral(i).getDescriptor();
+			RandomAccessList<Clause> list = positiveMatchMap.get(desc);
+			if (list != null) list.remove(clause);
+			list = negativeMatchMap.get(desc);
+			if (list != null) list.remove(clause);
+		}
+	}
+
+	/**
+	 * Returns the non-unit clauses that match the given predicate with the
+	 * given sign. The returned list is updated when clauses are added to or
+	 * removed from this matcher.
+	 * 
+	 * @param predicate the predicate descriptor of the unit clause
+	 * @param isPositive the sign of the unit clause
+	 * @return the non-unit clauses that match the given predicate
+	 */
+	public RandomAccessList<Clause> getMatchingClauses(PredicateLiteralDescriptor predicate, boolean isPositive) {
+		return getList(isPositive?positiveMatchMap:negativeMatchMap, predicate);
+	}
+
+	private static RandomAccessList<Clause> getList(
+			HashMap<PredicateLiteralDescriptor, RandomAccessList<Clause>> map,
+			PredicateLiteralDescriptor desc) {
+		RandomAccessList<Clause> list = map.get(desc);
+		if (list == null) {
+			list = new RandomAccessList<Clause>();
+			map.put(desc, list);
+		}
+		return list;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2013s ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,8 @@
  * Contributors:
  *     ETH Zurich - initial API and implementation
  *     Systerel - published newPP tactic
+ *     Systerel - added translation cache trace
+ *     Systerel - added clause budget to newPP
  *******************************************************************************/
 package org.eventb.pp;
 
@@ -19,6 +21,7 @@ import org.eventb.core.seqprover.ITactic;
 import org.eventb.core.seqprover.tactics.BasicTactics;
 import org.eventb.internal.pp.PPInput;
 import org.eventb.internal.pp.PPReasoner;
+import org.eventb.internal.pp.TranslationCache;
 import org.eventb.internal.pp.core.ClauseDispatcher;
 import org.eventb.internal.pp.core.ClauseSimplifier;
 import org.eventb.internal.pp.core.Dumper;
@@ -43,6 +46,7 @@ public class PPCore extends Plugin {
 	 * debugging/tracing option names
 	 */
 	private static final String REASONER_TRACE = PLUGIN_ID + "/debug/reasoner"; //$NON-NLS-1$
+	private static final String TRANSLATION_TRACE = PLUGIN_ID + "/debug/translation"; //$NON-NLS-1$
 
 	private static final String LOADER_PHASE1_TRACE = PLUGIN_ID + "/debug/loader/phase1"; //$NON-NLS-1$
 	private static final String LOADER_PHASE2_TRACE = PLUGIN_ID + "/debug/loader/phase2"; //$NON-NLS-1$
@@ -86,6 +90,7 @@ public class PPCore extends Plugin {
 	 */
 	private void configureDebugOptions() {
 		PPReasoner.DEBUG = parseOption(REASONER_TRACE);
+		TranslationCache.DEBUG = parseOption(TRANSLATION_TRACE);
 		AbstractContext.setDebugFlag(parseOption(LOADER_PHASE1_TRACE));
 		ClauseBuilder.DEBUG = parseOption(LOADER_PHASE2_TRACE);
 		PPProof.DEBUG = parseOption(PROVER_TRACE);
@@ -149,5 +154,31 @@ public class PPCore extends Plugin {
 				new PPReasoner(),
 				new PPInput(restricted,timeout,maxSteps));
 	}
+
+	/**
+	 * Returns a tactic that calls newPP with the given parameters, including a
+	 * clause budget. PP stops as soon as it keeps more live clauses than
+	 * allowed by this budget, which bounds the memory used by the proof.
+	 * 
+	 * @param restricted
+	 *            <code>true</code> iff only selected hypotheses should be
+	 *            considered
+	 * @param timeout
+	 *            timeout in milliseconds
+	 * @param maxSteps
+	 *            maximum number of steps after which PP stops or -1 for no
+	 *            limit
+	 * @param maxClauses
+	 *            maximum number of live clauses above which PP stops or -1
+	 *            for no limit
+	 * @return a tactic that calls PP with the given parameters
+	 * @since 0.9
+	 */
+	public static ITactic newPP(boolean restricted, long timeout,
+			int maxSteps, int maxClauses) {
+		return BasicTactics.reasonerTac(
+				new PPReasoner(),
+				new PPInput(restricted, timeout, maxSteps, maxClauses));
+	}
 	
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2013 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  *     Systerel - added cancellation tests
  *     Systerel - added sequent normalization
  *     Systerel - adapted to XProver v2 API
+ *     Systerel - added clause budget
  *******************************************************************************/
 package org.eventb.pp;
 
@@ -167,6 +168,29 @@ public class PPProof {
 	 *            infinite number
 	 */
 	public void prove(long maxSteps) {
+		prove(maxSteps, -1);
+	}
+	
+	/**
+	 * Invokes the prover. Tries to prove the current sequent in maximum
+	 * maxSteps steps, with at most maxClauses live clauses. Also, the prover
+	 * will stop when the monitor indicates that it has been canceled, or when
+	 * the heap is almost full.
+	 * <p>
+	 * If the clause budget or the heap is exhausted, the result of the proof is
+	 * {@link Result#exhausted}. In any case, the result gives statistics about
+	 * the resources consumed by the prover.
+	 * </p>
+	 * 
+	 * @param maxSteps
+	 *            maximal number of steps, or <code>-1</code> to denote an
+	 *            infinite number
+	 * @param maxClauses
+	 *            maximal number of live clauses, or <code>-1</code> to denote
+	 *            an infinite number
+	 * @since 0.9
+	 */
+	public void prove(long maxSteps, int maxClauses) {
 		if (result != null) return;
 		if (context == null) throw new IllegalStateException("Loader must be preliminary invoked");
 		
@@ -179,7 +203,7 @@ public class PPProof {
 		}
 
 		proofStrategy.setClauses(clauses);
-		proofStrategy.mainLoop(maxSteps);
+		proofStrategy.mainLoop(maxSteps, maxClauses);
 		result = proofStrategy.getResult();
 		
 		debugResult();
@@ -198,6 +222,9 @@ public class PPProof {
 			} else {
 				debug("** no proof found **");
 			}
+			if (result.getStatistics() != null) {
+				debug("statistics: " + result.getStatistics());
+			}
 		}
 	}
 	
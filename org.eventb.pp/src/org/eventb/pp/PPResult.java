@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2012 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     ETH Zurich - initial API and implementation
+ *     Systerel - added resource budget and statistics
  *******************************************************************************/
 package org.eventb.pp;
 
@@ -25,16 +26,33 @@ public class PPResult {
 	 * @author François Terrier
 	 *
 	 */
-	public enum Result {valid, invalid, error, timeout, cancel}
+	public enum Result {
+		valid, invalid, error, timeout, cancel,
+		/**
+		 * The prover ran out of its clause or memory budget.
+		 * 
+		 * @since 0.9
+		 */
+		exhausted
+	}
 	
 	private Result result;
 	private ITracer tracer;
+	private PPStatistics statistics;
 	
 	public PPResult (Result result, ITracer tracer) {
+		this(result, tracer, null);
+	}
+	
+	/**
+	 * @since 0.9
+	 */
+	public PPResult(Result result, ITracer tracer, PPStatistics statistics) {
 		assert result == Result.valid || tracer == null; 
 		
 		this.result = result;
 		this.tracer = tracer;
+		this.statistics = statistics;
 	}
 	
 	/**
@@ -58,4 +76,16 @@ public class PPResult {
 		return tracer;
 	}
 	
+	/**
+	 * Returns the resources consumed by the prover during this proof run, or
+	 * <code>null</code> if the prover has not been run, e.g., because the
+	 * sequent was trivial or the run was canceled before.
+	 * 
+	 * @return the statistics of this proof run or <code>null</code>
+	 * @since 0.9
+	 */
+	public PPStatistics getStatistics() {
+		return statistics;
+	}
+	
 }
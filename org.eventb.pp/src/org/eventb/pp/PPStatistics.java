@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.eventb.pp;
+
+/**
+ * Resources consumed by the prover during a PP run.
+ * <p>
+ * These statistics are available whatever the result of the run, so that one
+ * can tell how far the prover went before it stopped.
+ * </p>
+ *
+ * @since 0.9
+ */
+public final class PPStatistics {
+
+	private final long steps;
+	private final long generatedClauses;
+	private final long subsumedClauses;
+	private final int maxCaseSplitDepth;
+	private final int peakLiveClauses;
+
+	public PPStatistics(long steps, long generatedClauses,
+			long subsumedClauses, int maxCaseSplitDepth, int peakLiveClauses) {
+		this.steps = steps;
+		this.generatedClauses = generatedClauses;
+		this.subsumedClauses = subsumedClauses;
+		this.maxCaseSplitDepth = maxCaseSplitDepth;
+		this.peakLiveClauses = peakLiveClauses;
+	}
+
+	/**
+	 * Returns the number of steps performed by the prover.
+	 *
+	 * @return the number of steps of this run
+	 */
+	public long getSteps() {
+		return steps;
+	}
+
+	/**
+	 * Returns the number of clauses derived by the prover modules, before
+	 * simplification.
+	 *
+	 * @return the number of generated clauses
+	 */
+	public long getGeneratedClauses() {
+		return generatedClauses;
+	}
+
+	/**
+	 * Returns the number of clauses that have been removed because they were
+	 * subsumed by another clause.
+	 *
+	 * @return the number of subsumed clauses
+	 */
+	public long getSubsumedClauses() {
+		return subsumedClauses;
+	}
+
+	/**
+	 * Returns the maximal number of nested case splits.
+	 *
+	 * @return the maximal case split depth
+	 */
+	public int getMaxCaseSplitDepth() {
+		return maxCaseSplitDepth;
+	}
+
+	/**
+	 * Returns the maximal number of clauses known to the prover at the same
+	 * time.
+	 *
+	 * @return the peak number of live clauses
+	 */
+	public int getPeakLiveClauses() {
+		return peakLiveClauses;
+	}
+
+	@Override
+	public String toString() {
+		return steps + " steps, " + generatedClauses + " generated clauses, " //$NON-NLS-1$ //$NON-NLS-2$
+				+ subsumedClauses + " subsumed clauses, case split depth " //$NON-NLS-1$
+				+ maxCaseSplitDepth + ", peak of " + peakLiveClauses //$NON-NLS-1$
+				+ " live clauses"; //$NON-NLS-1$
+	}
+
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+
+import org.eclipse.core.runtime.CoreException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.rodinp.core.IRodinFile;
+import org.rodinp.core.IRodinProject;
+import org.rodinp.core.tests.basis.NamedElement;
+import org.rodinp.internal.core.BinaryFormat;
+
+/**
+ * Tests about the binary format of Rodin files.
+ */
+public class BinaryFormatTests extends ModifyingResourceTests {
+
+	private IRodinProject rodinProject;
+
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		rodinProject = createRodinProject("P");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		BinaryFormat.setBinaryExtensions();
+		rodinProject.getProject().delete(true, true, null);
+		rodinProject.getRodinDB().close();
+		super.tearDown();
+	}
+
+	// Reads the file from the file system, bypassing the workspace
+	private static boolean isBinaryOnDisk(IRodinFile rf) throws Exception {
+		final File file = rf.getResource().getLocation().toFile();
+		final InputStream s = new BufferedInputStream(new FileInputStream(
+				file));
+		try {
+			return BinaryFormat.isBinary(s);
+		} finally {
+			s.close();
+		}
+	}
+
+	private IRodinFile createPopulatedFile(String name) throws CoreException {
+		final IRodinFile rf = createRodinFile("/P/" + name);
+		final NamedElement ne1 = createNEPositive(rf.getRoot(), "ne1", null);
+		createNEPositive(ne1, "ne11", null);
+		final NamedElement ne2 = createNEPositive(rf.getRoot(), "ne2", null);
+		ne2.setAttributeValue(fString, "x ∈ ℕ ∧ \"<&>\"", null);
+		ne2.setAttributeValue(fInt, -3, null);
+		rf.save(null, false);
+		return rf;
+	}
+
+	private static void assertContentsRoundTrip(IRodinFile rf)
+			throws CoreException {
+		rf.close();
+		final NamedElement ne1 = getNamedElement(rf.getRoot(), "ne1");
+		final NamedElement ne2 = getNamedElement(rf.getRoot(), "ne2");
+		assertEquals(2, rf.getRoot().getChildren().length);
+		assertExists("Child should exist", getNamedElement(ne1, "ne11"));
+		assertEquals("x ∈ ℕ ∧ \"<&>\"", ne2.getAttributeValue(fString));
+		assertEquals(-3, ne2.getAttributeValue(fInt));
+	}
+
+	/**
+	 * Ensures that files are saved as XML by default.
+	 */
+	@Test
+	public void testXMLByDefault() throws Exception {
+		final IRodinFile rf = createPopulatedFile("x.test");
+		assertFalse(isBinaryOnDisk(rf));
+		assertContentsRoundTrip(rf);
+	}
+
+	/**
+	 * Ensures that a file saved in binary format is read back identically.
+	 */
+	@Test
+	public void testBinaryRoundTrip() throws Exception {
+		BinaryFormat.setBinaryExtensions("test");
+		final IRodinFile rf = createPopulatedFile("x.test");
+		assertTrue(isBinaryOnDisk(rf));
+		assertContentsRoundTrip(rf);
+	}
+
+	/**
+	 * Ensures that the converter switches files between both formats and
+	 * that files in either format can be loaded whatever the configuration.
+	 */
+	@Test
+	public void testConvert() throws Exception {
+		final IRodinFile rf = createPopulatedFile("x.test");
+		BinaryFormat.setBinaryExtensions("test");
+		assertFalse(isBinaryOnDisk(rf));
+		BinaryFormat.convert(new IRodinFile[] { rf }, null);
+		assertTrue(isBinaryOnDisk(rf));
+
+		BinaryFormat.setBinaryExtensions();
+		assertContentsRoundTrip(rf);
+		BinaryFormat.convert(new IRodinFile[] { rf }, null);
+		assertFalse(isBinaryOnDisk(rf));
+		assertContentsRoundTrip(rf);
+	}
+
+}
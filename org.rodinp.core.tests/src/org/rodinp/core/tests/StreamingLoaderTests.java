@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.core.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.rodinp.core.IInternalElement;
+import org.rodinp.core.IRodinElement;
+import org.rodinp.core.IRodinFile;
+import org.rodinp.core.IRodinProject;
+import org.rodinp.core.RodinDBException;
+import org.rodinp.internal.core.RodinDBManager;
+import org.rodinp.internal.core.RodinFile;
+import org.w3c.dom.Element;
+
+/**
+ * Tests about streaming load of Rodin files. Snapshot files are always loaded
+ * by streaming, while mutable files are loaded through a DOM parser. Both
+ * shall give the same database contents.
+ */
+public class StreamingLoaderTests extends ModifyingResourceTests {
+
+	private static final String PROJECT_NAME = "P";
+
+	private IRodinProject rodinProject;
+
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		rodinProject = createRodinProject(PROJECT_NAME);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		deleteProject(PROJECT_NAME);
+		super.tearDown();
+	}
+
+	private IRodinFile createRawFile(String contents) throws Exception {
+		final IRodinFile rf = rodinProject.getRodinFile("toto.test");
+		createFile("/P/toto.test", contents);
+		assertExists("File should exist", rf);
+		return rf;
+	}
+
+	private static void assertSameContents(IInternalElement expected,
+			IInternalElement actual) throws RodinDBException {
+		assertEquals(expected.getElementName(), actual.getElementName());
+		assertEquals(expected.getElementType(), actual.getElementType());
+		assertArrayEquals(expected.getAttributeTypes(),
+				actual.getAttributeTypes());
+		if (expected.hasAttribute(fString)) {
+			assertEquals(expected.getAttributeValue(fString),
+					actual.getAttributeValue(fString));
+		}
+		final IRodinElement[] expChildren = expected.getChildren();
+		final IRodinElement[] actChildren = actual.getChildren();
+		assertEquals(expChildren.length, actChildren.length);
+		for (int i = 0; i < expChildren.length; i++) {
+			assertSameContents((IInternalElement) expChildren[i],
+					(IInternalElement) actChildren[i]);
+		}
+	}
+
+	// Returns the old-format contents of the first child of the root element
+	private static String getDOMContents(IRodinFile rf) throws RodinDBException {
+		rf.getRoot().getChildren(); // ensures the file is loaded
+		final Element root = RodinDBManager.getRodinDBManager()
+				.getBuffer((RodinFile) rf).getDocumentElement();
+		final Element child = (Element) root.getFirstChild();
+		assertTrue(child.hasAttributeNS(null, "contents"));
+		return child.getAttributeNS(null, "contents");
+	}
+
+	/**
+	 * Ensures that an indented file is loaded identically by streaming.
+	 */
+	@Test
+	public void testIndentedFile() throws Exception {
+		final IRodinFile rf = createRawFile(//
+		"<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+				+ "<org.rodinp.core.tests.test>\n"
+				+ "  <org.rodinp.core.tests.namedElement name=\"1\"\n"
+				+ "      org.rodinp.core.tests.fString=\"a &lt; b &amp; c\">\n"
+				+ "    <org.rodinp.core.tests.namedElement name=\"11\"/>\n"
+				+ "    <org.rodinp.core.tests.namedElement name=\"12\"/>\n"
+				+ "  </org.rodinp.core.tests.namedElement>\n"
+				+ "  <org.rodinp.core.tests.namedElement2 name=\"2\"/>\n"
+				+ "</org.rodinp.core.tests.test>\n");
+		final IInternalElement root = rf.getRoot();
+		final IInternalElement snapshot = root.getSnapshot();
+		assertFalse(root.equals(snapshot));
+		assertSameContents(root, snapshot);
+		final IInternalElement ne1 = (IInternalElement) snapshot.getChildren()[0];
+		assertEquals("a < b & c", ne1.getAttributeValue(fString));
+	}
+
+	/**
+	 * Ensures that an old-format file, where the contents pseudo-attribute is
+	 * stored in a text node, is loaded identically by streaming.
+	 */
+	@Test
+	public void testOldFormatFile() throws Exception {
+		final IRodinFile rf = createRawFile(//
+		"<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+				+ "<org.rodinp.core.tests.test>\n"
+				+ "  <org.rodinp.core.tests.namedElement name=\"1\">\n"
+				+ "    old contents\n"
+				+ "    <org.rodinp.core.tests.namedElement name=\"11\"/>\n"
+				+ "  </org.rodinp.core.tests.namedElement>\n"
+				+ "</org.rodinp.core.tests.test>\n");
+		final IInternalElement root = rf.getRoot();
+		assertSameContents(root, root.getSnapshot());
+	}
+
+	/**
+	 * Ensures that old-format contents containing a CDATA section is loaded
+	 * identically by streaming, the CDATA section being merged with the
+	 * surrounding characters.
+	 */
+	@Test
+	public void testOldFormatFileWithCDATA() throws Exception {
+		final IRodinFile rf = createRawFile(//
+		"<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+				+ "<org.rodinp.core.tests.test>\n"
+				+ "  <org.rodinp.core.tests.namedElement name=\"1\">\n"
+				+ "    <org.rodinp.core.tests.namedElement name=\"11\"/>\n"
+				+ "    old <![CDATA[a < b & c]]> contents\n"
+				+ "  </org.rodinp.core.tests.namedElement>\n"
+				+ "</org.rodinp.core.tests.test>\n");
+		final IInternalElement root = rf.getRoot();
+		assertSameContents(root, root.getSnapshot());
+		final String expected = "\n    old a < b & c contents\n  ";
+		assertEquals(expected, getDOMContents(rf));
+		assertEquals(expected, getDOMContents(rf.getSnapshot()));
+	}
+
+}
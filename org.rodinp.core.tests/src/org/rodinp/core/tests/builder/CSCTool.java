@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2009 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,13 +8,18 @@
  * Contributors:
  *     ETH Zurich - initial API and implementation
  *     Systerel - separation of file and root element
+ *     Systerel - added behaviours for concurrent builds
  *******************************************************************************/
 package org.rodinp.core.tests.builder;
 
 import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.rodinp.core.IRodinFile;
@@ -28,6 +33,17 @@ public class CSCTool extends SCTool {
 	
 	public static boolean FAULTY_AFTER_TARGET_CREATION = false;
 	
+	public static boolean ILLEGAL_ARGUMENT = false;
+	
+	// If set, each run needs the workspace rule
+	public static boolean NEEDS_WORKSPACE_RULE = false;
+	
+	// If set, each run waits for the latch, i.e., for other runs, and the
+	// runs which have not waited in vain are counted
+	public static volatile CountDownLatch RUNNING = null;
+	
+	public static final AtomicInteger OVERLAPPING = new AtomicInteger();
+	
 	private static final String CSC = "CSC";
 	
 	public void clean(IFile source, IFile file, IProgressMonitor monitor) throws CoreException {
@@ -73,6 +89,27 @@ public class CSCTool extends SCTool {
 		if (FAULTY_BEFORE_TARGET_CREATION)
 			throw new IllegalStateException("internal error before target creation");
 		
+		if (ILLEGAL_ARGUMENT)
+			throw new IllegalArgumentException("internal error of the tool");
+		
+		if (NEEDS_WORKSPACE_RULE)
+			file.getWorkspace().run(new IWorkspaceRunnable() {
+				public void run(IProgressMonitor pm) {
+					// nothing to do
+				}
+			}, file.getWorkspace().getRoot(), 0, monitor);
+		
+		final CountDownLatch running = RUNNING;
+		if (running != null) {
+			running.countDown();
+			try {
+				if (running.await(10, TimeUnit.SECONDS))
+					OVERLAPPING.incrementAndGet();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		
 		// First clean up target
 		targetFile.create(true, null);
 		
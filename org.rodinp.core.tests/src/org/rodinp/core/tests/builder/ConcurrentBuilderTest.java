@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.core.tests.builder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.rodinp.core.RodinMarkerUtil.BUILDPATH_PROBLEM_MARKER;
+import static org.rodinp.internal.core.builder.Graph.BUILDER_THREADS_PROPERTY;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.rodinp.core.IRodinFile;
+import org.rodinp.core.IRodinProject;
+
+/**
+ * Tests about running tools concurrently during a build.
+ */
+public class ConcurrentBuilderTest extends AbstractBuilderTest {
+
+	private IRodinProject project;
+
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		System.setProperty(BUILDER_THREADS_PROPERTY, "4");
+		project = createRodinProject("P");
+		ToolTrace.flush();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		System.clearProperty(BUILDER_THREADS_PROPERTY);
+		CSCTool.ILLEGAL_ARGUMENT = false;
+		CSCTool.NEEDS_WORKSPACE_RULE = false;
+		CSCTool.RUNNING = null;
+		for (IProject project : getWorkspaceRoot().getProjects()) {
+			project.delete(true, true, null);
+		}
+		super.tearDown();
+	}
+
+	private static void assertBefore(List<String> trace, String first,
+			String second) {
+		final int firstIndex = trace.indexOf(first);
+		final int secondIndex = trace.indexOf(second);
+		assertTrue(first + " should be in trace", firstIndex >= 0);
+		assertTrue(second + " should be in trace", secondIndex >= 0);
+		assertTrue(first + " should occur before " + second,
+				firstIndex < secondIndex);
+	}
+
+	private void createContexts(String... names) throws Exception {
+		for (String name : names) {
+			final IRodinFile ctx = createRodinFile("P/" + name + ".ctx");
+			createData(ctx, name);
+			ctx.save(null, true);
+		}
+		SCTool.RUN_SC = true;
+		SCTool.SHOW_CLEAN = false;
+		SCTool.SHOW_EXTRACT = false;
+		SCTool.SHOW_RUN = true;
+		POTool.RUN_PO = false;
+		POTool.SHOW_RUN = false;
+	}
+
+	private static int countToolErrors(String path) throws Exception {
+		return getFile(path).findMarkers(BUILDPATH_PROBLEM_MARKER, false,
+				IResource.DEPTH_ZERO).length;
+	}
+
+	/**
+	 * Ensures that all tools are run once and in dependency order, and that
+	 * the result is the same as with a sequential build.
+	 */
+	@Test
+	public void testGraphBuild() throws Exception {
+		IRodinFile ctx = createRodinFile("P/x.ctx");
+		createData(ctx, "cone");
+		ctx.save(null, true);
+
+		IRodinFile cty = createRodinFile("P/y.ctx");
+		createDependency(cty, "x");
+		createData(cty, "ctwo");
+		cty.save(null, true);
+
+		IRodinFile ctz = createRodinFile("P/z.ctx");
+		createData(ctz, "cthree");
+		ctz.save(null, true);
+
+		IRodinFile mca = createRodinFile("P/a.mch");
+		createDependency(mca, "x");
+		createData(mca, "mone");
+		mca.save(null, true);
+
+		IRodinFile mcb = createRodinFile("P/b.mch");
+		createDependency(mcb, "y");
+		createReference(mcb, "a");
+		createData(mcb, "mtwo");
+		mcb.save(null, true);
+
+		IRodinFile mcc = createRodinFile("P/c.mch");
+		createDependency(mcc, "y");
+		createReference(mcc, "b");
+		createData(mcc, "mthree");
+		mcc.save(null, true);
+
+		IRodinFile mcd = createRodinFile("P/d.mch");
+		createDependency(mcd, "y");
+		createDependency(mcd, "z");
+		createReference(mcd, "c");
+		createData(mcd, "mfour");
+		mcd.save(null, true);
+
+		SCTool.RUN_SC = true;
+		SCTool.SHOW_CLEAN = false;
+		SCTool.SHOW_EXTRACT = false;
+		SCTool.SHOW_RUN = true;
+
+		POTool.RUN_PO = true;
+		POTool.SHOW_CLEAN = false;
+		POTool.SHOW_EXTRACT = false;
+		POTool.SHOW_RUN = true;
+
+		runBuilder(project);
+
+		final List<String> trace = ToolTrace.getTraces();
+		final List<String> sortedTrace = new ArrayList<String>(trace);
+		Collections.sort(sortedTrace);
+		assertEquals(Arrays.asList(
+				"CPO run /P/x.po",
+				"CPO run /P/y.po",
+				"CPO run /P/z.po",
+				"CSC run /P/x.csc",
+				"CSC run /P/y.csc",
+				"CSC run /P/z.csc",
+				"MPO run /P/a.po",
+				"MPO run /P/b.po",
+				"MPO run /P/c.po",
+				"MPO run /P/d.po",
+				"MSC run /P/a.msc",
+				"MSC run /P/b.msc",
+				"MSC run /P/c.msc",
+				"MSC run /P/d.msc"), sortedTrace);
+		assertBefore(trace, "CSC run /P/x.csc", "CSC run /P/y.csc");
+		assertBefore(trace, "CSC run /P/x.csc", "MSC run /P/a.msc");
+		assertBefore(trace, "MSC run /P/a.msc", "MSC run /P/b.msc");
+		assertBefore(trace, "CSC run /P/y.csc", "MSC run /P/b.msc");
+		assertBefore(trace, "MSC run /P/b.msc", "MSC run /P/c.msc");
+		assertBefore(trace, "MSC run /P/c.msc", "MSC run /P/d.msc");
+		assertBefore(trace, "CSC run /P/z.csc", "MSC run /P/d.msc");
+		assertBefore(trace, "MSC run /P/d.msc", "MPO run /P/d.po");
+
+		IRodinFile scMch = getRodinFile("P/d.msc");
+		assertContents("Invalid contents of checked machine",
+				"d.msc\n" + 
+				"  data: mfour\n" + 
+				"  data: mthree\n" + 
+				"  data: mtwo\n" + 
+				"  data: mone\n" + 
+				"  data: cone\n" + 
+				"  data: ctwo\n" + 
+				"  data: cone\n" + 
+				"  data: ctwo\n" + 
+				"  data: cone\n" + 
+				"  data: ctwo\n" + 
+				"  data: cone\n" + 
+				"  data: cthree",
+				scMch);
+	}
+
+	/**
+	 * Ensures that tools on independent files actually run at the same time.
+	 */
+	@Test
+	public void testOverlappingRuns() throws Exception {
+		createContexts("x", "y", "z");
+		CSCTool.OVERLAPPING.set(0);
+		CSCTool.RUNNING = new CountDownLatch(3);
+
+		runBuilder(project);
+
+		assertEquals(3, CSCTool.OVERLAPPING.get());
+	}
+
+	/**
+	 * Ensures that a tool needing a rule larger than the one of its worker is
+	 * run again, once, by the builder thread.
+	 */
+	@Test
+	public void testToolOutOfRule() throws Exception {
+		createContexts("x");
+		CSCTool.NEEDS_WORKSPACE_RULE = true;
+
+		runBuilder(project, "CSC run /P/x.csc", "CSC run /P/x.csc");
+
+		assertEquals(0, countToolErrors("P/x.ctx"));
+		assertTrue(getFile("P/x.csc").exists());
+	}
+
+	/**
+	 * Ensures that an illegal argument exception thrown by a tool is reported
+	 * as a tool error, without running the tool again.
+	 */
+	@Test
+	public void testToolIllegalArgument() throws Exception {
+		createContexts("x");
+		CSCTool.ILLEGAL_ARGUMENT = true;
+
+		runBuilder(project, "CSC run /P/x.csc");
+
+		assertEquals(1, countToolErrors("P/x.ctx"));
+	}
+
+}
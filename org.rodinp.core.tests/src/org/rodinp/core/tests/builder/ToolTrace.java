@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2014 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     ETH Zurich - initial API and implementation
  *     Systerel - used list of string in Tool Trace
+ *     Systerel - made thread-safe for concurrent builds
  *******************************************************************************/
 package org.rodinp.core.tests.builder;
 
@@ -28,15 +29,15 @@ public abstract class ToolTrace {
 
 	private static ArrayList<String> traces = new ArrayList<String>();
 	
-	public static void flush() {
+	public static synchronized void flush() {
 		traces.clear();
 	}
 	
-	public static List<String> getTraces() {
+	public static synchronized List<String> getTraces() {
 		return new ArrayList<String>(traces);
 	}
 	
-	public static void addTrace(String tool, String method, IFile file) {
+	public static synchronized void addTrace(String tool, String method, IFile file) {
 		traces.add(tool + " " + method + " " + file.getFullPath());
 	}
 
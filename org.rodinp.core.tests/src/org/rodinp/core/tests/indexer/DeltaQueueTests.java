@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.core.tests.indexer;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.rodinp.core.IRodinFile;
+import org.rodinp.core.IRodinProject;
+import org.rodinp.core.RodinCore;
+import org.rodinp.internal.core.indexer.DeltaQueue;
+import org.rodinp.internal.core.indexer.IIndexDelta;
+import org.rodinp.internal.core.indexer.IIndexDelta.Kind;
+import org.rodinp.internal.core.indexer.IndexDelta;
+
+/**
+ * Unit tests for batches of deltas taken from the delta queue.
+ */
+public class DeltaQueueTests extends IndexTests {
+
+	private static final IRodinProject project = RodinCore.getRodinDB()
+			.getRodinProject("P");
+
+	private static IIndexDelta fileDelta(String name) {
+		final IRodinFile file = project.getRodinFile(name + ".test");
+		return new IndexDelta(file, Kind.FILE_CHANGED);
+	}
+
+	/**
+	 * Ensures that a batch contains all deltas put before the queue becomes
+	 * quiet.
+	 */
+	@Test
+	public void testTakeBatch() throws Exception {
+		final DeltaQueue queue = new DeltaQueue(0, 100);
+		final IIndexDelta d1 = fileDelta("f1");
+		final IIndexDelta d2 = fileDelta("f2");
+		final IIndexDelta d3 = new IndexDelta(project, Kind.PROJECT_CLEANED);
+		queue.put(d1, false);
+		queue.put(d2, false);
+		queue.put(d3, true);
+
+		final List<IIndexDelta> batch = new ArrayList<IIndexDelta>();
+		assertEquals(3, queue.takeBatch(batch));
+		assertEquals(asList(d1, d2, d3), batch);
+	}
+
+	/**
+	 * Ensures that a batch does not exceed the batch size.
+	 */
+	@Test
+	public void testBatchSize() throws Exception {
+		final DeltaQueue queue = new DeltaQueue(0, 2);
+		for (int i = 0; i < 5; i++) {
+			queue.put(fileDelta("f" + i), false);
+		}
+		final List<IIndexDelta> batch = new ArrayList<IIndexDelta>();
+		assertEquals(2, queue.takeBatch(batch));
+		assertEquals(asList(fileDelta("f0"), fileDelta("f1")), batch);
+		batch.clear();
+		assertEquals(2, queue.takeBatch(batch));
+		batch.clear();
+		assertEquals(1, queue.takeBatch(batch));
+	}
+
+	/**
+	 * Ensures that a delta put during the quiet period belongs to the current
+	 * batch.
+	 */
+	@Test
+	public void testQuietPeriod() throws Exception {
+		final DeltaQueue queue = new DeltaQueue(5000, 100);
+		final IIndexDelta d1 = fileDelta("f1");
+		final IIndexDelta d2 = fileDelta("f2");
+		queue.put(d1, false);
+		final Thread putter = new Thread() {
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(100);
+					queue.put(d2, false);
+				} catch (InterruptedException e) {
+					// test fails
+				}
+			}
+		};
+		putter.start();
+		final List<IIndexDelta> batch = new ArrayList<IIndexDelta>();
+		final Thread taker = new Thread() {
+			@Override
+			public void run() {
+				try {
+					queue.takeBatch(batch);
+				} catch (InterruptedException e) {
+					// test fails
+				}
+			}
+		};
+		taker.start();
+		putter.join();
+		// the batch is not complete until the queue has been quiet
+		taker.join(1000);
+		assertTrue(taker.isAlive());
+		taker.interrupt();
+		taker.join();
+		assertEquals(asList(d1, d2), batch);
+	}
+
+	/**
+	 * Ensures that duplicate file deltas are counted as received, but are
+	 * enqueued only once.
+	 */
+	@Test
+	public void testReceivedCount() throws Exception {
+		final DeltaQueue queue = new DeltaQueue(0, 100);
+		for (int i = 0; i < 10; i++) {
+			queue.put(fileDelta("f1"), false);
+		}
+		assertEquals(10, queue.getReceivedCount());
+
+		final List<IIndexDelta> batch = new ArrayList<IIndexDelta>();
+		assertEquals(1, queue.takeBatch(batch));
+		assertFalse(queue.isProcessed());
+		queue.deltaProcessed();
+		assertTrue(queue.isProcessed());
+	}
+
+}
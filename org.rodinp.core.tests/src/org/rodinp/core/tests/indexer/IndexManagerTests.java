@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2014 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,9 +7,13 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - added test of queries during indexing
+ *     Systerel - added test of snapshots published for a batch
  *******************************************************************************/
 package org.rodinp.core.tests.indexer;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.rodinp.core.tests.util.IndexTestsUtil.TEST_FILE_TYPE;
 import static org.rodinp.core.tests.util.IndexTestsUtil.assertDescriptor;
@@ -21,6 +25,11 @@ import static org.rodinp.core.tests.util.IndexTestsUtil.makeArray;
 import static org.rodinp.core.tests.util.IndexTestsUtil.makeDescAndDefaultOcc;
 
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.After;
 import org.junit.Before;
@@ -29,6 +38,7 @@ import org.rodinp.core.IRodinFile;
 import org.rodinp.core.IRodinProject;
 import org.rodinp.core.indexer.IDeclaration;
 import org.rodinp.core.indexer.IIndexer;
+import org.rodinp.core.indexer.IIndexingBridge;
 import org.rodinp.core.tests.basis.NamedElement;
 import org.rodinp.internal.core.indexer.Declaration;
 import org.rodinp.internal.core.indexer.IndexManager;
@@ -201,6 +211,26 @@ public class IndexManagerTests extends IndexTests {
 		}
 	}
 
+	/**
+	 * Ensures that indexing a batch of changed files of a project publishes a
+	 * single snapshot of the index of that project.
+	 */
+	@Test
+	public void testBatchPublishesOneSnapshot() throws Exception {
+		final IRodinFile[] files = new IRodinFile[10];
+		files[0] = file;
+		for (int i = 1; i < files.length; i++) {
+			files[i] = createRodinFile(project, "batch" + i + ".test");
+		}
+		final long before = manager.getPublishedSnapshotCount(project);
+
+		manager.scheduleIndexing(files);
+
+		assertEquals(before + 1, manager.getPublishedSnapshotCount(project));
+		assertDescriptor(manager, declElt1, 1);
+		assertDescriptor(manager, declElt2, 1);
+	}
+
 	@Test
 	public void testIndexerException() throws Exception {
 		final IIndexer exceptIndexer = new FakeExceptionIndexer();
@@ -230,4 +260,63 @@ public class IndexManagerTests extends IndexTests {
 		final Set<IDeclaration> declarations = manager.getDeclarations(file);
 		assertTrue("no element expected", declarations.isEmpty());
 	}
+
+	/**
+	 * Ensures that queries do not wait for a running indexing, and are
+	 * answered from the state of the index before that indexing.
+	 */
+	@Test
+	public void testQueriesDuringIndexing() throws Exception {
+		manager.scheduleIndexing(file);
+
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		manager.clearIndexers();
+		manager.addIndexer(new FakeIndexer(rodinIndex) {
+			@Override
+			public boolean index(IIndexingBridge bridge) {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					return false;
+				}
+				return super.index(bridge);
+			}
+		}, TEST_FILE_TYPE);
+		rodinIndex.removeDescriptor(elt2);
+
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final Future<?> indexing = executor.submit(new Runnable() {
+				@Override
+				public void run() {
+					manager.scheduleIndexing(file);
+				}
+			});
+			assertTrue("indexing should have started",
+					started.await(10, SECONDS));
+			final Future<Void> queries = executor.submit(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					for (int i = 0; i < 1000; i++) {
+						assertDescriptor(manager, declElt1, 1);
+						assertDescriptor(manager, declElt2, 1);
+						manager.getDeclarations(file);
+						manager.getVisibleDeclarations(file);
+					}
+					return null;
+				}
+			});
+			// fails with a timeout if queries are blocked by the indexer
+			queries.get(10, SECONDS);
+			release.countDown();
+			indexing.get(10, SECONDS);
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+		assertDescriptor(manager, declElt1, 1);
+		assertNotIndexed(manager, elt2);
+	}
 }
@@ -0,0 +1,258 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.core.tests.indexer.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.rodinp.core.tests.indexer.persistence.Resources.EMPTY_RESOURCE;
+import static org.rodinp.core.tests.indexer.persistence.Resources.getNewFile;
+import static org.rodinp.core.tests.indexer.persistence.Resources.make2PIMs;
+import static org.rodinp.core.tests.indexer.persistence.Resources.makeBasic;
+import static org.rodinp.core.tests.indexer.persistence.Resources.makeBasicFile;
+import static org.rodinp.core.tests.indexer.persistence.Resources.makeDelta;
+import static org.rodinp.core.tests.indexer.persistence.Resources.makeIterating;
+import static org.rodinp.core.tests.indexer.persistence.Resources.makeSortedFiles;
+import static org.rodinp.core.tests.indexer.persistence.XMLPersistorTests.assertExportTable;
+import static org.rodinp.core.tests.indexer.persistence.XMLPersistorTests.assertFileTable;
+import static org.rodinp.core.tests.indexer.persistence.XMLPersistorTests.assertNameTable;
+import static org.rodinp.core.tests.indexer.persistence.XMLPersistorTests.assertOrder;
+import static org.rodinp.core.tests.util.IndexTestsUtil.assertIndex;
+import static org.rodinp.core.tests.util.IndexTestsUtil.assertSameElements;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.rodinp.core.IRodinFile;
+import org.rodinp.core.IRodinProject;
+import org.rodinp.core.tests.indexer.IndexTests;
+import org.rodinp.core.tests.indexer.persistence.Resources.IPersistResource;
+import org.rodinp.internal.core.indexer.IIndexDelta;
+import org.rodinp.internal.core.indexer.IndexManager;
+import org.rodinp.internal.core.indexer.PerProjectPIM;
+import org.rodinp.internal.core.indexer.ProjectIndexManager;
+import org.rodinp.internal.core.indexer.Registry;
+import org.rodinp.internal.core.indexer.persistence.IPersistor;
+import org.rodinp.internal.core.indexer.persistence.PersistentIndexManager;
+import org.rodinp.internal.core.indexer.persistence.binary.BinaryPersistor;
+
+/**
+ * Tests of the binary persistence of the index.
+ */
+public class BinaryPersistorTests extends IndexTests {
+
+	private static IRodinProject project;
+
+	private final List<File> files = new ArrayList<File>();
+
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		project = createRodinProject("P");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		for (File file : files) {
+			file.delete();
+		}
+		deleteProject("P");
+		IndexManager.getDefault().clear();
+		super.tearDown();
+	}
+
+	private File newFile(String name) {
+		final File file = getNewFile(name);
+		files.add(file);
+		return file;
+	}
+
+	private static PersistentIndexManager newIMData() {
+		return new PersistentIndexManager(new PerProjectPIM(),
+				new ArrayList<IIndexDelta>(), new Registry<String, String>());
+	}
+
+	private File save(IPersistor ps, PersistentIndexManager data)
+			throws Exception {
+		final File file = newFile(getName());
+		assertTrue("error while saving", ps.save(data, file));
+		return file;
+	}
+
+	private void roundTrip(IPersistResource pr) throws Exception {
+		final IPersistor ps = new BinaryPersistor();
+		final File file = save(ps, pr.getIMData());
+		assertTrue(BinaryPersistor.isBinaryFile(file));
+
+		final PersistentIndexManager actual = newIMData();
+		assertTrue("error while restoring", ps.restore(file, actual));
+		assertIMData(pr, actual);
+	}
+
+	@Test
+	public void testBasic() throws Exception {
+		roundTrip(makeBasic(project));
+	}
+
+	@Test
+	public void test2PIMs() throws Exception {
+		final IRodinProject p1 = createRodinProject("P1");
+		final IRodinProject p2 = createRodinProject("P2");
+		try {
+			roundTrip(make2PIMs(p1, p2));
+		} finally {
+			deleteProject("P1");
+			deleteProject("P2");
+		}
+	}
+
+	@Test
+	public void testSortedFiles() throws Exception {
+		roundTrip(makeSortedFiles(project));
+	}
+
+	@Test
+	public void testIterating() throws Exception {
+		roundTrip(makeIterating(project));
+	}
+
+	@Test
+	public void testDelta() throws Exception {
+		roundTrip(makeDelta(project));
+	}
+
+	@Test
+	public void testIndexerRegistry() throws Exception {
+		final PersistentIndexManager data = newIMData();
+		data.getIndexerRegistry().add("rootType", "indexer1");
+		data.getIndexerRegistry().add("rootType", "indexer2");
+		final IPersistor ps = new BinaryPersistor();
+		final File file = save(ps, data);
+
+		final PersistentIndexManager actual = newIMData();
+		assertTrue(ps.restore(file, actual));
+		assertEquals(data.getIndexerRegistry(), actual.getIndexerRegistry());
+	}
+
+	@Test
+	public void testProject() throws Exception {
+		final IPersistResource pr = makeBasic(project);
+		final ProjectIndexManager pim = pr.getIMData().getPPPIM().get(project);
+		final File file = newFile(getName());
+		final IPersistor ps = new BinaryPersistor();
+		assertTrue(ps.saveProject(pim.getPersistentData(), file));
+
+		final PerProjectPIM pppim = new PerProjectPIM();
+		assertTrue(ps.restoreProject(file, pppim));
+		final ProjectIndexManager actual = pppim.get(project);
+		assertNotNull(actual);
+		assertIndex(pr.getPublicPIMs().get(project).index, actual);
+	}
+
+	/**
+	 * Ensures that an index saved in XML is restored by the binary persistor.
+	 */
+	@Test
+	public void testMigrateFromXML() throws Exception {
+		final IPersistResource pr = makeBasic(project);
+		final File file = makeBasicFile();
+		files.add(file);
+		assertFalse(BinaryPersistor.isBinaryFile(file));
+
+		final PersistentIndexManager actual = newIMData();
+		assertTrue(new BinaryPersistor().restore(file, actual));
+		assertIMData(pr, actual);
+	}
+
+	/**
+	 * Ensures that a truncated file is not restored, without any exception.
+	 */
+	@Test
+	public void testRestoreTruncated() throws Exception {
+		final IPersistor ps = new BinaryPersistor();
+		final File file = save(ps, makeBasic(project).getIMData());
+		final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try {
+			raf.setLength(raf.length() / 2);
+		} finally {
+			raf.close();
+		}
+
+		final PersistentIndexManager actual = newIMData();
+		assertFalse(ps.restore(file, actual));
+		assertIMData(EMPTY_RESOURCE, actual);
+	}
+
+	/**
+	 * Ensures that a file with an unknown format version is not restored.
+	 */
+	@Test
+	public void testRestoreBadVersion() throws Exception {
+		final IPersistor ps = new BinaryPersistor();
+		final File file = save(ps, makeBasic(project).getIMData());
+		final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try {
+			raf.seek(4);
+			raf.write(0x7F);
+		} finally {
+			raf.close();
+		}
+
+		final PersistentIndexManager actual = newIMData();
+		assertFalse(ps.restore(file, actual));
+		assertIMData(EMPTY_RESOURCE, actual);
+	}
+
+	@Test
+	public void testEmptyFile() throws Exception {
+		final File file = newFile(getName());
+		new FileOutputStream(file).close();
+
+		final PersistentIndexManager actual = newIMData();
+		assertFalse(new BinaryPersistor().restore(file, actual));
+	}
+
+	// Same checks as the XML persistor tests
+	private static void assertIMData(IPersistResource resource,
+			PersistentIndexManager actual) {
+		final Map<IRodinProject, PublicPIM> expectedPIMs = resource
+				.getPublicPIMs();
+		final List<IRodinFile> files = resource.getRodinFiles();
+		final List<String> names = resource.getNames();
+
+		final PerProjectPIM actPPPIM = actual.getPPPIM();
+		assertEquals("bad PerProjectPIM projects", expectedPIMs.keySet(),
+				actPPPIM.projects());
+		for (IRodinProject prj : expectedPIMs.keySet()) {
+			final PublicPIM expPIM = expectedPIMs.get(prj);
+			final ProjectIndexManager actPIM = actPPPIM.get(prj);
+
+			assertEquals("bad project", expPIM.project, actPIM.getProject());
+			assertIndex(expPIM.index, actPIM);
+			assertExportTable(expPIM.exportTable, actPIM, files);
+			assertFileTable(expPIM.fileTable, actPIM, files);
+			assertNameTable(expPIM.nameTable, actPIM, names);
+			// test order at the end (changes tables)
+			assertOrder(expPIM.order, actPIM, files);
+		}
+		assertSameElements(new ArrayList<IIndexDelta>(resource.getDeltas()),
+				new ArrayList<IIndexDelta>(actual.getDeltas()), "saved deltas");
+	}
+
+}
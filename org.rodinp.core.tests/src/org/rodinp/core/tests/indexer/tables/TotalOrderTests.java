@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2014 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - added tests for remaining labels
  *******************************************************************************/
 package org.rodinp.core.tests.indexer.tables;
 
@@ -556,6 +557,36 @@ public class TotalOrderTests extends IndexTests {
 		assertOrderedIteration(order, new1, new2, new3, new4);
 	}
 
+	@Test
+	public void testGetRemaining() throws Exception {
+		setPreds(order, 2, 1);
+		setPreds(order, false, 3, 2);
+		setPreds(order, false, 4, 3);
+		setToIter(order, 4);
+
+		assertEquals(asList(1, 2, 4), order.getRemaining());
+		assertNext(order, 1);
+		assertEquals(asList(2, 4), order.getRemaining());
+		assertNext(order, 2);
+		order.setToIterSuccessors();
+		assertEquals(asList(3, 4), order.getRemaining());
+		assertNext(order, 3);
+		assertNext(order, 4);
+		assertEquals(asList(), order.getRemaining());
+	}
+
+	@Test
+	public void testGetRemainingAfterRemove() throws Exception {
+		setPreds(order, 2, 1);
+		setPreds(order, 3, 2);
+
+		assertNext(order, 1);
+		assertNext(order, 2);
+		order.remove();
+		assertEquals(asList(3), order.getRemaining());
+		assertOrderedIteration(order, 3);
+	}
+
 	@Test
 	public void testIterSeveralModifs() throws Exception {
 		setPreds(order, 2, 1);
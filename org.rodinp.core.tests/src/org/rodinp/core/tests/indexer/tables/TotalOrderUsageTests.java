@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2014 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - added test for parallel indexing
  *******************************************************************************/
 package org.rodinp.core.tests.indexer.tables;
 
@@ -308,6 +309,27 @@ public class TotalOrderUsageTests extends IndexTests {
 				exportsStr);
 	}
 
+	/**
+	 * Ensures that independent files may be indexed in any order, but that
+	 * every file is indexed once, after the files it depends on.
+	 */
+	@Test
+	public void testIndependentFiles() throws Exception {
+		final FakeDependenceIndexer indexer = new FakeDependenceIndexer(
+				rodinIndex, f1DepsOnf2, f2ExportsElt2);
+		manager.addIndexer(indexer, TEST_FILE_TYPE);
+
+		manager.scheduleIndexing(file1, file2, file3);
+
+		final IRodinFile[] actualOrder = indexer.getIndexingOrder();
+		assertAnyOrder(makeArray(file1, file2, file3), actualOrder);
+		final List<IRodinFile> actualList = Arrays.asList(actualOrder);
+		assertTrue("file2 should be indexed before file1", actualList
+				.indexOf(file2) < actualList.indexOf(file1));
+		assertSameElements(f2ExportsElt2.get(file2), manager.getExports(file2),
+				"exports");
+	}
+
 	@Test
 	public void testSeveralIndexing() throws Exception {
 		final int indexingCount = 4;
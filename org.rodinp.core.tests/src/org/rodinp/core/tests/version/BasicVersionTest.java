@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2017 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,10 +11,12 @@
  *     Systerel - separation of file and root element
  *     Systerel - added attribute modification
  *     Systerel - added test for name changing
+ *     Systerel - added test of streaming conversion
  *******************************************************************************/
 package org.rodinp.core.tests.version;
 
 import static org.eclipse.core.runtime.IStatus.ERROR;
+import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -23,8 +25,17 @@ import static org.rodinp.core.IRodinDBStatusConstants.FUTURE_VERSION;
 import static org.rodinp.core.IRodinDBStatusConstants.INVALID_VERSION_NUMBER;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -49,6 +60,12 @@ import org.rodinp.core.tests.version.db.IVersionEC;
 import org.rodinp.core.tests.version.db.IVersionRootF;
 import org.rodinp.core.tests.version.db.Modifier;
 import org.rodinp.core.tests.version.db.VersionAttributes;
+import org.rodinp.internal.core.version.ConversionSheet;
+import org.rodinp.internal.core.version.StreamingConversion;
+import org.rodinp.internal.core.version.VersionManager;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
 
 /**
  * @author Stefan Hallerstede
@@ -450,5 +467,85 @@ public class BasicVersionTest extends ModifyingResourceTests {
 		assertName("newName", elementsEC[0]);
 	}
 
-}
+	private static Element parse(byte[] contents) throws Exception {
+		final DocumentBuilderFactory factory = DocumentBuilderFactory
+				.newInstance();
+		return factory.newDocumentBuilder()
+				.parse(new ByteArrayInputStream(contents))
+				.getDocumentElement();
+	}
+
+	// Compares elements and attributes, ignoring text and attribute order
+	private static void assertSameElement(Element expected, Element actual) {
+		assertEquals(expected.getTagName(), actual.getTagName());
+		assertEquals(getAttributes(expected), getAttributes(actual));
+		final List<Element> expChildren = getChildElements(expected);
+		final List<Element> actChildren = getChildElements(actual);
+		assertEquals(expChildren.size(), actChildren.size());
+		for (int i = 0; i < expChildren.size(); i++) {
+			assertSameElement(expChildren.get(i), actChildren.get(i));
+		}
+	}
+
+	private static Map<String, String> getAttributes(Element element) {
+		final Map<String, String> result = new HashMap<String, String>();
+		final NamedNodeMap attributes = element.getAttributes();
+		for (int i = 0; i < attributes.getLength(); i++) {
+			final Node attribute = attributes.item(i);
+			result.put(attribute.getNodeName(), attribute.getNodeValue());
+		}
+		return result;
+	}
+
+	private static List<Element> getChildElements(Element element) {
+		final List<Element> result = new ArrayList<Element>();
+		for (Node child = element.getFirstChild(); child != null; child = child
+				.getNextSibling()) {
+			if (child instanceof Element) {
+				result.add((Element) child);
+			}
+		}
+		return result;
+	}
+
+	private static void assertSameConversions(IRodinProject project)
+			throws Exception {
+		final VersionManager vManager = VersionManager.getInstance();
+		int nbConversions = 0;
+		for (IRodinFile file : project.getRodinFiles()) {
+			final byte[] contents = getContents(file);
+			final IInternalElementType<?> type = file.getRootElementType();
+			for (ConversionSheet sheet : vManager.getConverter(type)
+					.getConversionSheets()) {
+				final StreamingConversion conversion = sheet
+						.getStreamingConversion();
+				if (conversion == null) {
+					continue;
+				}
+				final ByteArrayOutputStream xsl = new ByteArrayOutputStream();
+				sheet.getTransformer().transform(
+						new StreamSource(new ByteArrayInputStream(contents)),
+						new StreamResult(xsl));
+				final ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+				StreamingConversion.convert(singletonList(conversion),
+						new ByteArrayInputStream(contents), streamed);
+				assertSameElement(parse(xsl.toByteArray()),
+						parse(streamed.toByteArray()));
+				nbConversions++;
+			}
+		}
+		assertTrue("no streaming conversion tested", nbConversions > 0);
+	}
 
+	/**
+	 * Ensures that streaming conversions give the same result as the XSL
+	 * transformations of the same conversion sheets.
+	 */
+	@Test
+	public void test_13_StreamingConversion() throws Exception {
+		for (String name : new String[] { "V01", "V02", "V03", "V05", "V08" }) {
+			assertSameConversions(fetchProject(name));
+		}
+	}
+
+}
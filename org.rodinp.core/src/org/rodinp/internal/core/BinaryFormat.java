@@ -0,0 +1,411 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.internal.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.rodinp.core.IRodinDBStatusConstants.IO_EXCEPTION;
+import static org.rodinp.core.IRodinDBStatusConstants.XML_SAVE_ERROR;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.rodinp.core.IRodinFile;
+import org.rodinp.core.RodinDBException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * Compact binary on-disk format for Rodin files.
+ * <p>
+ * A binary Rodin file starts with a magic number that can never start an XML
+ * document, followed by a format version. Then comes the root element, which
+ * is encoded recursively as its tag, its attributes and its children. Element
+ * tags and attribute names are interned in a symbol table that is built on
+ * the fly: a symbol is written as its index in the table, and its characters
+ * only follow its first occurrence. All strings are UTF-8 encoded and length
+ * prefixed.
+ * </p>
+ * <p>
+ * The in-memory representation of a Rodin file is still a DOM document: only
+ * the XML parser and serializer are bypassed. Loading always detects the
+ * format of the file, so that binary and XML files can be freely mixed. The
+ * format used for saving is chosen per file extension, from the
+ * comma-separated list given by the system property
+ * <code>org.rodinp.core.binaryFiles</code>, e.g.,
+ * <code>-Dorg.rodinp.core.binaryFiles=bcm,bcc,bpo,bps,bpr</code>. By default,
+ * all files are saved as XML.
+ * </p>
+ */
+public class BinaryFormat {
+
+	public static final String BINARY_FILES_PROPERTY = "org.rodinp.core.binaryFiles"; //$NON-NLS-1$
+
+	private static final byte[] MAGIC = { (byte) 0xB0, 'R', 'D', 'B' };
+
+	private static final int FORMAT_VERSION = 1;
+
+	// Extensions of files to save in binary format
+	private static volatile Set<String> binaryExtensions = parseExtensions(System
+			.getProperty(BINARY_FILES_PROPERTY, "")); //$NON-NLS-1$
+
+	private BinaryFormat() {
+		// static methods only
+	}
+
+	private static Set<String> parseExtensions(String list) {
+		final Set<String> result = new HashSet<String>();
+		for (String ext : list.split(",")) { //$NON-NLS-1$
+			ext = ext.trim();
+			if (ext.length() != 0) {
+				result.add(ext);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Sets the extensions of files to save in binary format, overriding the
+	 * system property. This is mainly intended for tests and benchmarks.
+	 *
+	 * @param extensions
+	 *            file extensions, without the leading dot
+	 */
+	public static void setBinaryExtensions(String... extensions) {
+		binaryExtensions = new HashSet<String>(Arrays.asList(extensions));
+	}
+
+	/**
+	 * Tells whether the given Rodin file shall be saved in binary format.
+	 *
+	 * @param file
+	 *            a Rodin file
+	 * @return <code>true</code> iff the file shall be saved in binary format
+	 */
+	public static boolean isBinaryEnabled(IRodinFile file) {
+		final String ext = file.getResource().getFileExtension();
+		return ext != null && binaryExtensions.contains(ext);
+	}
+
+	/**
+	 * Tells whether the given stream contains a binary Rodin file. The given
+	 * stream must support marks and is left at its initial position.
+	 *
+	 * @param stream
+	 *            a stream supporting marks
+	 * @return <code>true</code> iff the stream starts with the magic number of
+	 *         binary Rodin files
+	 * @throws IOException
+	 *             in case of I/O error
+	 */
+	public static boolean isBinary(InputStream stream) throws IOException {
+		assert stream.markSupported();
+		stream.mark(MAGIC.length);
+		try {
+			for (final byte b : MAGIC) {
+				if (stream.read() != (b & 0xFF)) {
+					return false;
+				}
+			}
+			return true;
+		} finally {
+			stream.reset();
+		}
+	}
+
+	/**
+	 * Returns a stream equivalent to the given one, which supports marks.
+	 */
+	public static InputStream markable(InputStream stream) {
+		if (stream.markSupported()) {
+			return stream;
+		}
+		return new BufferedInputStream(stream);
+	}
+
+	/**
+	 * Reads a binary Rodin file into a fresh DOM document.
+	 *
+	 * @param builder
+	 *            the builder to use for creating the document
+	 * @param stream
+	 *            a stream positioned on the magic number of a binary file
+	 * @return the document read
+	 * @throws IOException
+	 *             in case of I/O error or malformed contents
+	 */
+	public static Document read(DocumentBuilder builder, InputStream stream)
+			throws IOException {
+		final DataInputStream in = new DataInputStream(markable(stream));
+		final byte[] magic = new byte[MAGIC.length];
+		in.readFully(magic);
+		if (!Arrays.equals(MAGIC, magic)) {
+			throw new IOException("Not a binary Rodin file"); //$NON-NLS-1$
+		}
+		final int formatVersion = in.readUnsignedByte();
+		if (formatVersion != FORMAT_VERSION) {
+			throw new IOException("Unknown binary format version " //$NON-NLS-1$
+					+ formatVersion);
+		}
+		final Document document = builder.newDocument();
+		final Reader reader = new Reader(in, document);
+		document.appendChild(reader.readElement());
+		if (in.read() != -1) {
+			throw new IOException("Trailing bytes in binary Rodin file"); //$NON-NLS-1$
+		}
+		return document;
+	}
+
+	/**
+	 * Writes the given DOM document in binary format. Only element nodes and
+	 * their attributes are written. Other nodes do not carry information in
+	 * normalized Rodin files.
+	 *
+	 * @param document
+	 *            the document to write
+	 * @param stream
+	 *            the stream where to write
+	 * @throws IOException
+	 *             in case of I/O error
+	 */
+	public static void write(Document document, OutputStream stream)
+			throws IOException {
+		final DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(stream));
+		out.write(MAGIC);
+		out.writeByte(FORMAT_VERSION);
+		new Writer(out).writeElement(document.getDocumentElement());
+		out.flush();
+	}
+
+	/**
+	 * Returns the contents of the given stream in XML format, converting it if
+	 * it contains a binary Rodin file. This allows XML-based tools, such as the
+	 * file upgrader, to process files in any format.
+	 *
+	 * @param stream
+	 *            a stream on the contents of a Rodin file
+	 * @return a stream on the XML contents of the same file
+	 * @throws RodinDBException
+	 *             in case of conversion error
+	 */
+	public static InputStream toXML(InputStream stream)
+			throws RodinDBException {
+		final InputStream input = markable(stream);
+		try {
+			if (!isBinary(input)) {
+				return input;
+			}
+		} catch (IOException e) {
+			close(input);
+			throw new RodinDBException(e, IO_EXCEPTION);
+		}
+		try {
+			final RodinDBManager manager = RodinDBManager.getRodinDBManager();
+			final Document document = read(manager.getDocumentBuilder(), input);
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			final Transformer transformer = manager.getDOMTransformer();
+			transformer.transform(new DOMSource(document), new StreamResult(
+					out));
+			return new ByteArrayInputStream(out.toByteArray());
+		} catch (IOException e) {
+			throw new RodinDBException(e, IO_EXCEPTION);
+		} catch (TransformerException e) {
+			throw new RodinDBException(e, XML_SAVE_ERROR);
+		} finally {
+			close(input);
+		}
+	}
+
+	/**
+	 * Saves again the given Rodin files, so that they get stored in the format
+	 * currently configured for them. This is the one-time converter to use
+	 * after changing the binary file extensions. Files that do not exist are
+	 * ignored.
+	 *
+	 * @param files
+	 *            the Rodin files to convert
+	 * @param monitor
+	 *            a progress monitor, or <code>null</code>
+	 * @throws RodinDBException
+	 *             in case of error while saving a file
+	 */
+	public static void convert(IRodinFile[] files, IProgressMonitor monitor)
+			throws RodinDBException {
+		final SubMonitor sm = SubMonitor.convert(monitor, files.length);
+		for (final IRodinFile file : files) {
+			if (file.exists() && !file.hasUnsavedChanges()) {
+				// Saving the file would do nothing, as it has no changes
+				new SaveRodinFileOperation(file, true).runOperation(sm
+						.split(1));
+			} else {
+				sm.worked(1);
+			}
+		}
+	}
+
+	private static void close(InputStream stream) {
+		try {
+			stream.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	private static class Writer {
+
+		private final DataOutputStream out;
+		private final Map<String, Integer> symbols = new HashMap<String, Integer>();
+
+		public Writer(DataOutputStream out) {
+			this.out = out;
+		}
+
+		public void writeElement(Element element) throws IOException {
+			writeSymbol(element.getNodeName());
+			final NamedNodeMap attributes = element.getAttributes();
+			final int length = attributes.getLength();
+			writeCount(length);
+			for (int i = 0; i < length; i++) {
+				final Node attribute = attributes.item(i);
+				writeSymbol(attribute.getLocalName());
+				writeString(attribute.getNodeValue());
+			}
+			final List<Element> children = new ArrayList<Element>();
+			for (Node child = element.getFirstChild(); child != null; child = child
+					.getNextSibling()) {
+				if (child.getNodeType() == Node.ELEMENT_NODE) {
+					children.add((Element) child);
+				}
+			}
+			writeCount(children.size());
+			for (final Element child : children) {
+				writeElement(child);
+			}
+		}
+
+		private void writeSymbol(String symbol) throws IOException {
+			final Integer index = symbols.get(symbol);
+			if (index != null) {
+				writeCount(index);
+				return;
+			}
+			final int newIndex = symbols.size();
+			symbols.put(symbol, newIndex);
+			writeCount(newIndex);
+			writeString(symbol);
+		}
+
+		private void writeString(String value) throws IOException {
+			final byte[] bytes = value.getBytes(UTF_8);
+			writeCount(bytes.length);
+			out.write(bytes);
+		}
+
+		// Unsigned variable-length integer, seven bits per byte
+		private void writeCount(int value) throws IOException {
+			while ((value & ~0x7F) != 0) {
+				out.writeByte((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			out.writeByte(value);
+		}
+
+	}
+
+	private static class Reader {
+
+		private final DataInputStream in;
+		private final Document document;
+		private final List<String> symbols = new ArrayList<String>();
+
+		public Reader(DataInputStream in, Document document) {
+			this.in = in;
+			this.document = document;
+		}
+
+		public Element readElement() throws IOException {
+			final Element element = document.createElementNS(null,
+					readSymbol());
+			final int nbAttributes = readCount();
+			for (int i = 0; i < nbAttributes; i++) {
+				final String name = readSymbol();
+				element.setAttributeNS(null, name, readString());
+			}
+			final int nbChildren = readCount();
+			for (int i = 0; i < nbChildren; i++) {
+				element.appendChild(readElement());
+			}
+			return element;
+		}
+
+		private String readSymbol() throws IOException {
+			final int index = readCount();
+			final int size = symbols.size();
+			if (index < size) {
+				return symbols.get(index);
+			}
+			if (index != size) {
+				throw new IOException("Invalid symbol index " + index); //$NON-NLS-1$
+			}
+			final String symbol = readString();
+			symbols.add(symbol);
+			return symbol;
+		}
+
+		private String readString() throws IOException {
+			final byte[] bytes = new byte[readCount()];
+			in.readFully(bytes);
+			return new String(bytes, UTF_8);
+		}
+
+		private int readCount() throws IOException {
+			int result = 0;
+			for (int shift = 0; shift < 32; shift += 7) {
+				final int b = in.read();
+				if (b < 0) {
+					throw new EOFException();
+				}
+				result |= (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return result;
+				}
+			}
+			throw new IOException("Malformed count"); //$NON-NLS-1$
+		}
+
+	}
+
+}
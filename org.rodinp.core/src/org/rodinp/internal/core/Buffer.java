@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2021 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,6 +16,8 @@
  *     Systerel - fix file not closed on erroneous XML
  *     Systerel - fix upgrade deadlock
  *     CentraleSupelec - remove unnecessary @SuppressWarnings labels
+ *     Systerel - added binary file format
+ *     Systerel - added streaming load
  *******************************************************************************/
 package org.rodinp.internal.core;
 
@@ -38,6 +40,7 @@ import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.xml.parsers.DocumentBuilder;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.ErrorListener;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
@@ -74,7 +77,8 @@ import org.xml.sax.SAXParseException;
 /**
  * Implements a Rodin file loaded into memory. 
  * <p>
- * The file is stored as a DOM document.
+ * The file is stored as a DOM document. On disk, it is either an XML document
+ * or a binary file (see {@link BinaryFormat}).
  * </p>
  * 
  * @author Laurent Voisin
@@ -193,7 +197,7 @@ public class Buffer {
 		final DocumentBuilder builder = manager.getDocumentBuilder();
 		builder.setErrorHandler(errorHandler);
 
-		domDocument = parseXML(builder, input);
+		domDocument = parse(builder, BinaryFormat.markable(input));
 
 		// the version is always fetched from the file;
 		// if it cannot be verified, then the document is not fetched (although it was parsed successfully)
@@ -213,12 +217,22 @@ public class Buffer {
 		attemptLoad(input, pm);
 	}
 
-	private Document parseXML(DocumentBuilder builder, InputStream contents)
+	private Document parse(DocumentBuilder builder, InputStream contents)
 			throws RodinDBException {
 		try {
+			if (BinaryFormat.isBinary(contents)) {
+				if (DEBUG) printDebug("Reading binary contents");
+				return BinaryFormat.read(builder, contents);
+			}
+			if (StreamingLoader.isEnabled(owner)) {
+				if (DEBUG) printDebug("Streaming XML contents");
+				return StreamingLoader.load(builder, contents);
+			}
 			return builder.parse(contents);
 		} catch (SAXException e) {
 			throw new RodinDBException(e, XML_PARSE_ERROR);
+		} catch (XMLStreamException e) {
+			throw new RodinDBException(e, XML_PARSE_ERROR);
 		} catch (IOException e) {
 			throw new RodinDBException(e, IO_EXCEPTION);
 		} finally {
@@ -598,19 +612,15 @@ public class Buffer {
 			final boolean keepHistory, ISchedulingRule rule, IProgressMonitor pm)
 			throws RodinDBException {
 		
-		final RodinDBManager manager = RodinDBManager.getRodinDBManager();
-		final Transformer transformer = manager.getDOMTransformer();
-
 		// TODO use the progress monitor while transforming
 		try {
 			final ByteArrayOutputStream oStream = new ByteArrayOutputStream();
-			final StreamResult domResult = new StreamResult(oStream);
-
-			transformer.setErrorListener(errorListener);
-	        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-	        transformer.setOutputProperty(OutputKeys.METHOD, "xml");
-	        transformer.setOutputProperty(OutputKeys.MEDIA_TYPE, "text/xml");
-	        transformer.transform(new DOMSource(domDocument), domResult);
+			if (BinaryFormat.isBinaryEnabled(owner)) {
+				if (DEBUG) printDebug("Writing binary contents");
+				BinaryFormat.write(domDocument, oStream);
+			} else {
+				writeXML(oStream);
+			}
 			
 			byte[] bytes = oStream.toByteArray();
 			final ByteArrayInputStream stream = new ByteArrayInputStream(bytes);
@@ -626,6 +636,8 @@ public class Buffer {
 			file.getWorkspace().run(action, rule, 0, pm);
 		} catch (TransformerException e) {
 			throw new RodinDBException(e, XML_SAVE_ERROR);
+		} catch (IOException e) {
+			throw new RodinDBException(e, IO_EXCEPTION);
 		} catch (RodinDBException e) {
 			throw e;
 		} catch (CoreException e) {
@@ -636,6 +648,19 @@ public class Buffer {
 		this.changed = false;
 	}
 	
+	private void writeXML(ByteArrayOutputStream oStream)
+			throws RodinDBException, TransformerException {
+		final RodinDBManager manager = RodinDBManager.getRodinDBManager();
+		final Transformer transformer = manager.getDOMTransformer();
+		final StreamResult domResult = new StreamResult(oStream);
+
+		transformer.setErrorListener(errorListener);
+		transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+		transformer.setOutputProperty(OutputKeys.METHOD, "xml");
+		transformer.setOutputProperty(OutputKeys.MEDIA_TYPE, "text/xml");
+		transformer.transform(new DOMSource(domDocument), domResult);
+	}
+
 	public void setAttributeRawValue(Element domElement, String attrName,
 			String newRawValue) {
 		domElement.setAttributeNS(null, attrName, newRawValue);
@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.internal.core;
+
+import static javax.xml.XMLConstants.XMLNS_ATTRIBUTE;
+import static javax.xml.XMLConstants.XMLNS_ATTRIBUTE_NS_URI;
+
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.rodinp.internal.core.util.Util;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Loads an XML Rodin file into a DOM document directly from StAX events.
+ * <p>
+ * Contrary to a DOM document builder, this loader never creates text nodes.
+ * Old-format contents (stored in a text node rather than in the
+ * <code>contents</code> attribute) are converted on the fly, so that the
+ * resulting document is already normalized. This saves the memory of all
+ * indentation text nodes, and the normalization pass over the whole tree.
+ * </p>
+ * <p>
+ * As with the coalescing DOM parser, CDATA sections are merged with the
+ * adjacent characters. The old-format contents is thus the last non-blank
+ * text found between two child elements, whether it contains CDATA sections
+ * or not.
+ * </p>
+ * <p>
+ * This loader is used for read-only (snapshot) Rodin files, and for all Rodin
+ * files when the <code>org.rodinp.core.streamingLoad</code> system property is
+ * set to <code>true</code>.
+ * </p>
+ */
+public class StreamingLoader {
+
+	public static final String STREAMING_LOAD_PROPERTY = "org.rodinp.core.streamingLoad"; //$NON-NLS-1$
+
+	private static final boolean ENABLED_FOR_ALL = Boolean
+			.getBoolean(STREAMING_LOAD_PROPERTY);
+
+	private static final String CONTENTS_ATTRIBUTE = "contents"; //$NON-NLS-1$
+
+	// Accesses must be synchronized on the class
+	private static XMLInputFactory factory;
+
+	/**
+	 * Tells whether the given file shall be loaded with this loader.
+	 *
+	 * @param file
+	 *            a Rodin file
+	 * @return <code>true</code> iff the file shall be loaded by streaming
+	 */
+	public static boolean isEnabled(RodinFile file) {
+		return ENABLED_FOR_ALL || file.isSnapshot();
+	}
+
+	private static synchronized XMLStreamReader createReader(InputStream in)
+			throws XMLStreamException {
+		if (factory == null) {
+			factory = XMLInputFactory.newInstance();
+			factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+			factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+			factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		}
+		return factory.createXMLStreamReader(in);
+	}
+
+	private final Document document;
+
+	// Elements being built, innermost first
+	private final Deque<Element> elements = new ArrayDeque<Element>();
+
+	// Last non-blank text of each element being built (empty if none)
+	private final Deque<String> texts = new ArrayDeque<String>();
+
+	// Text read since the last element start or end
+	private final StringBuilder text = new StringBuilder();
+
+	private StreamingLoader(Document document) {
+		this.document = document;
+	}
+
+	/**
+	 * Loads the XML document read from the given stream.
+	 *
+	 * @param builder
+	 *            the builder to use for creating the document
+	 * @param in
+	 *            the stream to read
+	 * @return the normalized document read
+	 * @throws XMLStreamException
+	 *             if the stream does not contain well-formed XML
+	 */
+	public static Document load(DocumentBuilder builder, InputStream in)
+			throws XMLStreamException {
+		final StreamingLoader loader = new StreamingLoader(
+				builder.newDocument());
+		final XMLStreamReader reader = createReader(in);
+		try {
+			loader.run(reader);
+		} finally {
+			reader.close();
+		}
+		return loader.document;
+	}
+
+	private void run(XMLStreamReader reader) throws XMLStreamException {
+		while (reader.hasNext()) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				startElement(reader);
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+			case XMLStreamConstants.SPACE:
+				text.append(reader.getText());
+				break;
+			case XMLStreamConstants.PROCESSING_INSTRUCTION:
+				endText();
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				endText();
+				endElement();
+				break;
+			default:
+				// ignore
+			}
+		}
+	}
+
+	private void startElement(XMLStreamReader reader) {
+		endText();
+		final Element element = document.createElementNS(
+				emptyToNull(reader.getNamespaceURI()),
+				qualifiedName(reader.getPrefix(), reader.getLocalName()));
+		final int nbNamespaces = reader.getNamespaceCount();
+		for (int i = 0; i < nbNamespaces; i++) {
+			final String prefix = reader.getNamespacePrefix(i);
+			final String name = prefix == null || prefix.length() == 0 ? XMLNS_ATTRIBUTE
+					: XMLNS_ATTRIBUTE + ":" + prefix; //$NON-NLS-1$
+			element.setAttributeNS(XMLNS_ATTRIBUTE_NS_URI, name,
+					reader.getNamespaceURI(i));
+		}
+		final int nbAttributes = reader.getAttributeCount();
+		for (int i = 0; i < nbAttributes; i++) {
+			element.setAttributeNS(
+					emptyToNull(reader.getAttributeNamespace(i)),
+					qualifiedName(reader.getAttributePrefix(i),
+							reader.getAttributeLocalName(i)),
+					reader.getAttributeValue(i));
+		}
+		final Element parent = elements.peek();
+		if (parent == null) {
+			document.appendChild(element);
+		} else {
+			parent.appendChild(element);
+		}
+		elements.push(element);
+		texts.push(""); //$NON-NLS-1$
+	}
+
+	// Ends the current text, like a text node of the DOM parser would end
+	private void endText() {
+		if (text.length() == 0) {
+			return;
+		}
+		final String contents = text.toString();
+		text.setLength(0);
+		if (elements.isEmpty()) {
+			return;
+		}
+		if (Util.trimSpaceChars(contents).length() != 0) {
+			texts.pop();
+			texts.push(contents);
+		}
+	}
+
+	private void endElement() {
+		final Element element = elements.pop();
+		final String contents = texts.pop();
+		if (contents.length() != 0
+				&& element.getAttributeNodeNS(null, CONTENTS_ATTRIBUTE) == null) {
+			// Old format
+			element.setAttributeNS(null, CONTENTS_ATTRIBUTE, contents);
+		}
+	}
+
+	private static String qualifiedName(String prefix, String localName) {
+		if (prefix == null || prefix.length() == 0) {
+			return localName;
+		}
+		return prefix + ":" + localName; //$NON-NLS-1$
+	}
+
+	private static String emptyToNull(String string) {
+		if (string == null || string.length() == 0) {
+			return null;
+		}
+		return string;
+	}
+
+}
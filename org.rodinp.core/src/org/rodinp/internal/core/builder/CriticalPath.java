@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.internal.core.builder;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+/**
+ * Records the running time of the tools run during a build and computes the
+ * longest chain of dependent tool runs. This chain bounds the duration of the
+ * build, whatever the number of tools run concurrently.
+ * <p>
+ * Nodes must be recorded in topological order, that is after all their
+ * predecessors. This class is not thread-safe.
+ * </p>
+ */
+class CriticalPath {
+
+	// Running time of the tool that produced a node
+	private final Map<Node, Long> toolTimes = new HashMap<Node, Long>();
+
+	// Duration of the longest chain of tool runs ending with a node
+	private final Map<Node, Long> pathTimes = new HashMap<Node, Long>();
+
+	// Predecessor of a node on its longest chain of tool runs
+	private final Map<Node, Node> previous = new HashMap<Node, Node>();
+
+	private final long start = System.currentTimeMillis();
+
+	private long totalTime;
+
+	private Node last;
+
+	/**
+	 * Records that a tool has produced the given node.
+	 *
+	 * @param node
+	 *            the node produced by the tool
+	 * @param time
+	 *            the running time of the tool in milliseconds
+	 */
+	void toolRun(Node node, long time) {
+		long pathTime = 0;
+		Node pred = null;
+		for (Link link : node.getPredecessorLinks()) {
+			final Long predTime = pathTimes.get(link.source);
+			if (predTime != null && predTime > pathTime) {
+				pathTime = predTime;
+				pred = link.source;
+			}
+		}
+		pathTime += time;
+		toolTimes.put(node, time);
+		pathTimes.put(node, pathTime);
+		if (pred != null) {
+			previous.put(node, pred);
+		}
+		totalTime += time;
+		if (last == null || pathTime > pathTimes.get(last)) {
+			last = node;
+		}
+	}
+
+	/**
+	 * Returns a human-readable report of the build, listing the tool runs on
+	 * the critical path.
+	 *
+	 * @return a report of the build
+	 */
+	String report() {
+		final long wallTime = System.currentTimeMillis() - start;
+		final StringBuilder sb = new StringBuilder();
+		sb.append("Build took " + wallTime + " ms, tools ran for "
+				+ totalTime + " ms on " + toolTimes.size() + " files");
+		if (last == null) {
+			return sb.toString();
+		}
+		final LinkedList<Node> path = new LinkedList<Node>();
+		for (Node node = last; node != null; node = previous.get(node)) {
+			path.addFirst(node);
+		}
+		sb.append("\nCritical path (" + pathTimes.get(last) + " ms):");
+		for (final Node node : path) {
+			sb.append("\n\t" + node.getToolId() + " -> "
+					+ node.getTarget().getName() + " took "
+					+ toolTimes.get(node) + " ms");
+		}
+		return sb.toString();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2021 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,6 +12,7 @@
  *     Systerel - added builder performance trace
  *     Systerel - rework traces
  *     CentraleSupélec - projects dependencies
+ *     Systerel - run tools concurrently and report critical path
  *******************************************************************************/
 package org.rodinp.internal.core.builder;
 
@@ -26,15 +27,30 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceRuleFactory;
+import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.MultiRule;
 import org.rodinp.core.RodinCore;
 import org.rodinp.core.RodinDBException;
 import org.rodinp.core.builder.IAutomaticTool;
@@ -82,6 +98,14 @@ public class Graph implements Serializable, Iterable<Node> {
 	
 	transient private ToolManager toolManager; // = GraphManager.getGraphManager();
 	
+	transient private CriticalPath criticalPath; // non null when tracing performance
+	
+	/**
+	 * Name of the system property giving the number of threads used for
+	 * running tools concurrently.
+	 */
+	public static final String BUILDER_THREADS_PROPERTY = "org.rodinp.core.builderThreads"; //$NON-NLS-1$
+	
 	public Node getNode(String name) {
 		return nodes.get(name);
 	}
@@ -190,10 +214,15 @@ public class Graph implements Serializable, Iterable<Node> {
 			if(RodinBuilder.DEBUG_GRAPH) {
 				traceGraph("IN Graph:"); //$NON-NLS-1$
 			}
+			final boolean concurrent = canRunConcurrently();
+			criticalPath = RodinBuilder.DEBUG_PERF ? new CriticalPath() : null;
 			instable = true;
 			while(instable) {
 				topSortInit();
-				topSortNodes(nodePreList, true, manager);
+				if (concurrent)
+					topSortNodesConcurrently(nodePreList, manager);
+				else
+					topSortNodes(nodePreList, true, manager);
 				if(RodinBuilder.DEBUG_GRAPH) {
 					traceGraph("OUT Graph:"); //$NON-NLS-1$
 					tracePreList("Build Order:"); //$NON-NLS-1$
@@ -205,6 +234,10 @@ public class Graph implements Serializable, Iterable<Node> {
 				}
 				commit();
 			}
+			if (criticalPath != null) {
+				trace(criticalPath.report());
+				criticalPath = null;
+			}
 		}
 
 	public void builderExtractNode(Node node, ProgressManager manager) throws CoreException {
@@ -309,13 +342,8 @@ public class Graph implements Serializable, Iterable<Node> {
 	}
 		
 	private void runTool(Node node, ProgressManager manager) {
-		if(node.isPhantom())
+		if (!isRunnable(node))
 			return;
-		if (node.getTarget().getFile() == null) {// resource is not a file
-			Util.log(null, "Builder resource not a file" + 
-					node.getTarget().getName()); //$NON-NLS-1$
-			return;
-		}
 		
 		boolean changed = false;
 		
@@ -326,16 +354,10 @@ public class Graph implements Serializable, Iterable<Node> {
 			changed = true;
 			
 		} else {
-			if(RodinBuilder.DEBUG_RUN)
-				trace("Running tool: " + node.getToolId() + " on node: " + 
-					 node.getTarget().getName()); //$NON-NLS-1$ //$NON-NLS-2$
-			ToolDescription toolDescription = getManager().getToolDescription(node.getToolId());
-			IAutomaticTool tool = toolDescription.getTool();
-			if(tool == null) {
-				Util.log(null, "Unknown tool: " + node.getToolId() + " for node " + 
-						node.getTarget().getName()); //$NON-NLS-1$ //$NON-NLS-2$
+			ToolDescription toolDescription = getToolDescription(node);
+			if (toolDescription == null)
 				return;
-			}
+			final long start = System.currentTimeMillis();
 			try {
 				
 				FileRunnable runnable = 
@@ -351,9 +373,41 @@ public class Graph implements Serializable, Iterable<Node> {
 			} catch (Throwable e) {
 				issueToolError(node, toolDescription, e);
 				return;
+			} finally {
+				if (criticalPath != null)
+					criticalPath.toolRun(node, System.currentTimeMillis() - start);
 			}
 		}
 		
+		toolDone(node, changed, manager);
+	}
+
+	private boolean isRunnable(Node node) {
+		if(node.isPhantom())
+			return false;
+		if (node.getTarget().getFile() == null) {// resource is not a file
+			Util.log(null, "Builder resource not a file" + 
+					node.getTarget().getName()); //$NON-NLS-1$
+			return false;
+		}
+		return true;
+	}
+
+	private ToolDescription getToolDescription(Node node) {
+		if(RodinBuilder.DEBUG_RUN)
+			trace("Running tool: " + node.getToolId() + " on node: " + 
+				 node.getTarget().getName()); //$NON-NLS-1$ //$NON-NLS-2$
+		ToolDescription toolDescription = getManager().getToolDescription(node.getToolId());
+		IAutomaticTool tool = toolDescription.getTool();
+		if(tool == null) {
+			Util.log(null, "Unknown tool: " + node.getToolId() + " for node " + 
+					node.getTarget().getName()); //$NON-NLS-1$ //$NON-NLS-2$
+			return null;
+		}
+		return toolDescription;
+	}
+
+	private void toolDone(Node node, boolean changed, ProgressManager manager) {
 		// we can ignore the rest of this method on cancelation
 		// the updated file only becomes committed after node.dated is set to false
 		
@@ -365,6 +419,278 @@ public class Graph implements Serializable, Iterable<Node> {
 		}
 	}
 
+	/**
+	 * A tool run performed by a worker thread. Only the tool is run
+	 * concurrently: the graph is accessed by the builder thread only.
+	 */
+	private static class ToolRun implements Callable<ToolRun> {
+
+		final Node node;
+		final ToolDescription toolDescription;
+		private final FileRunnable runnable;
+		private final ISchedulingRule rule;
+		private final IProgressMonitor monitor;
+
+		long time;
+		boolean changed;
+		boolean outOfRule;
+		Throwable error;
+
+		ToolRun(Node node, ToolDescription toolDescription,
+				IProgressMonitor monitor) {
+			this.node = node;
+			this.toolDescription = toolDescription;
+			final IFile source = node.getCreator().getFile();
+			final IFile target = node.getTarget().getFile();
+			this.runnable = new FileRunnable(toolDescription, source, target);
+			this.rule = getToolRule(source, target);
+			this.monitor = monitor;
+		}
+
+		@Override
+		public ToolRun call() {
+			final long start = System.currentTimeMillis();
+			try {
+				RodinCore.run(runnable, rule, monitor);
+				changed = runnable.targetHasChanged();
+			} catch (OperationCanceledException e) {
+				throw e;
+			} catch (IllegalArgumentException e) {
+				if (isRuleConflict(e)) {
+					// the tool needs a rule that is not contained in ours
+					outOfRule = true;
+				} else {
+					error = e;
+				}
+			} catch (Throwable e) {
+				error = e;
+			}
+			time = System.currentTimeMillis() - start;
+			return this;
+		}
+
+	}
+
+	private static final String JOBS_PACKAGE = "org.eclipse.core.internal.jobs."; //$NON-NLS-1$
+
+	/*
+	 * Tells whether the given exception has been thrown by the job manager
+	 * when beginning a rule not contained in the rule held by the current
+	 * thread. Any other illegal argument exception is an error of the tool.
+	 */
+	private static boolean isRuleConflict(IllegalArgumentException e) {
+		final StackTraceElement[] frames = e.getStackTrace();
+		if (frames.length == 0
+				|| !frames[0].getClassName().startsWith(JOBS_PACKAGE))
+			return false;
+		for (StackTraceElement frame : frames) {
+			if (frame.getClassName().startsWith(JOBS_PACKAGE)
+					&& "beginRule".equals(frame.getMethodName())) //$NON-NLS-1$
+				return true;
+		}
+		return false;
+	}
+
+	/*
+	 * Returns the scheduling rule of a tool run by a worker thread. It locks
+	 * the source file, so that it is not modified while the tool reads it,
+	 * and the files of the target component, i.e., the files of the target
+	 * folder that have the same bare name as the target. Missing files can
+	 * only be created within the rule of their parent folder. Tools running
+	 * on independent files thus do not serialize on the workspace root, while
+	 * they still exclude other modifications of the files they work on.
+	 */
+	private static ISchedulingRule getToolRule(IFile source, IFile target) {
+		final IResourceRuleFactory factory = target.getWorkspace()
+				.getRuleFactory();
+		ISchedulingRule rule = getFileRule(factory, source);
+		rule = MultiRule.combine(rule, getFileRule(factory, target));
+		final IContainer folder = target.getParent();
+		if (!target.exists() || !folder.isAccessible())
+			return rule;
+		final String bareName = getBareName(target);
+		try {
+			for (IResource member : folder.members()) {
+				if (member.getType() == IResource.FILE
+						&& bareName.equals(getBareName(member)))
+					rule = MultiRule.combine(rule, getFileRule(factory,
+							(IFile) member));
+			}
+		} catch (CoreException e) {
+			// the files found so far are locked
+		}
+		return rule;
+	}
+
+	private static ISchedulingRule getFileRule(IResourceRuleFactory factory,
+			IFile file) {
+		if (!file.exists())
+			return factory.createRule(file);
+		return MultiRule.combine(factory.modifyRule(file), factory
+				.markerRule(file));
+	}
+
+	private static String getBareName(IResource resource) {
+		return resource.getFullPath().removeFileExtension().lastSegment();
+	}
+
+	/**
+	 * Returns the number of threads to use for running tools, as given by
+	 * the <code>org.rodinp.core.builderThreads</code> system property.
+	 * Defaults to one, which means that tools are run sequentially.
+	 * 
+	 * @return the number of threads to use for running tools
+	 */
+	static int getBuilderThreads() {
+		return Math.max(1, Integer.getInteger(BUILDER_THREADS_PROPERTY, 1));
+	}
+
+	/*
+	 * Tools can only be run by worker threads if the builder thread does not
+	 * hold any scheduling rule, as the workers would otherwise block on it.
+	 */
+	private static boolean canRunConcurrently() {
+		return getBuilderThreads() > 1
+				&& Job.getJobManager().currentRule() == null;
+	}
+
+	/*
+	 * Concurrent variant of topSortNodes(sorted, true, manager). Nodes are
+	 * sorted with Kahn's algorithm: a node becomes ready when all its
+	 * predecessors have been processed and the tools of ready nodes are
+	 * run concurrently. Running a tool and extracting its target is thus
+	 * done in the same order as in the sequential version with respect to
+	 * the dependencies, although independent nodes may be processed in a
+	 * different order.
+	 */
+	private void topSortNodesConcurrently(LinkedList<Node> sorted,
+			ProgressManager manager) throws CoreException {
+		final LinkedList<Node> ready = new LinkedList<Node>();
+		for (Node node : nodePostList)
+			if (node.count == 0)
+				ready.add(node);
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				getBuilderThreads(), new ThreadFactory() {
+					private int count = 0;
+
+					@Override
+					public Thread newThread(Runnable r) {
+						final Thread thread = new Thread(r,
+								"Rodin builder worker " + (++count)); //$NON-NLS-1$
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		final CompletionService<ToolRun> completion = new ExecutorCompletionService<ToolRun>(
+				executor);
+		int running = 0;
+		try {
+			while (true) {
+				if (manager.isCanceled())
+					throw new OperationCanceledException();
+				while (!instable && !ready.isEmpty()) {
+					final Node node = ready.removeFirst();
+					startNode(sorted, node);
+					if (node.isDated() && node.isDerived()) {
+						final ToolDescription toolDescription = isRunnable(node) ? getToolDescription(node)
+								: null;
+						if (toolDescription != null) {
+							completion.submit(new ToolRun(node,
+									toolDescription, manager
+											.getConcurrentProgressMonitor()));
+							++running;
+							continue;
+						}
+					} else if (node.isDated()) {
+						runTool(node, manager);
+					}
+					if (!instable)
+						releaseSuccessors(node, ready);
+				}
+				if (running == 0)
+					break;
+				// Wait for the next tool to finish, even if the graph is
+				// instable, so that no tool runs behind the builder's back
+				final ToolRun run = waitForToolRun(completion);
+				--running;
+				toolRunDone(run, manager);
+				if (!instable)
+					releaseSuccessors(run.node, ready);
+			}
+		} finally {
+			executor.shutdownNow();
+			awaitTermination(executor);
+		}
+	}
+
+	private void startNode(LinkedList<Node> sorted, Node node) {
+		nodePostList.remove(node);
+		sorted.add(node);
+		
+		MarkerHelper.deleteBuilderProblemMarkers(node.getTarget().getFile());
+		
+		node.done = true;
+	}
+
+	private void releaseSuccessors(Node node, LinkedList<Node> ready) {
+		// traverse successors as the sequential sort does, so that links
+		// added later by extractors are accounted for in the same way
+		while (true) {
+			final Node succNode = node.getCurrentSuccessorNode();
+			node.advanceSuccessorPos();
+			if (succNode == null)
+				break;
+			succNode.count--;
+			if (succNode.count == 0)
+				ready.add(succNode);
+		}
+	}
+
+	private void toolRunDone(ToolRun run, ProgressManager manager) {
+		if (run.outOfRule) {
+			// run again by the builder thread, with the workspace rule
+			runTool(run.node, manager);
+			return;
+		}
+		manager.getSliceProgressMonitor().done();
+		if (criticalPath != null)
+			criticalPath.toolRun(run.node, run.time);
+		if (run.error != null) {
+			issueToolError(run.node, run.toolDescription, run.error);
+			return;
+		}
+		toolDone(run.node, run.changed, manager);
+	}
+
+	private static ToolRun waitForToolRun(CompletionService<ToolRun> completion) {
+		try {
+			return completion.take().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	private static void awaitTermination(ExecutorService executor) {
+		boolean interrupted = false;
+		while (!executor.isTerminated()) {
+			try {
+				executor.awaitTermination(1, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+
 	private void issueToolError(
 			Node node,
 			ToolDescription toolDescription, 
@@ -403,7 +729,33 @@ public class Graph implements Serializable, Iterable<Node> {
 		node.setPhantom(true);
 	}
 	
-	private void extract(Node node, GraphModifier handler, ProgressManager manager) {
+	/*
+	 * During a concurrent build, the builder thread holds no rule. The
+	 * extracted file is then locked, so that it is not modified while
+	 * extractors read it.
+	 */
+	private void extract(final Node node, final GraphModifier handler,
+			final ProgressManager manager) {
+		if (Job.getJobManager().currentRule() != null) {
+			extractLocked(node, handler, manager);
+			return;
+		}
+		final IFile file = node.getTarget().getFile();
+		try {
+			RodinCore.run(new IWorkspaceRunnable() {
+				@Override
+				public void run(IProgressMonitor monitor) {
+					extractLocked(node, handler, manager);
+				}
+			}, getFileRule(file.getWorkspace().getRuleFactory(), file),
+					manager.getZeroProgressMonitor());
+		} catch (RodinDBException e) {
+			Util.log(e, " while extracting " + file.getFullPath()); //$NON-NLS-1$
+		}
+	}
+
+	private void extractLocked(Node node, GraphModifier handler,
+			ProgressManager manager) {
 		ExtractorDescription[] descriptions = 
 			getManager().getExtractorDescriptions(node.getRootElementType());
 		if(descriptions == null)
@@ -539,13 +891,9 @@ public class Graph implements Serializable, Iterable<Node> {
 
 	private void topSortStep(LinkedList<Node> sorted, Node node, ProgressManager manager) {
 		
-		nodePostList.remove(node);
+		startNode(sorted, node);
 		nodeStack.push(node);
-		sorted.add(node);
 		
-		MarkerHelper.deleteBuilderProblemMarkers(node.getTarget().getFile());
-		
-		node.done = true;
 		if(manager != null) {
 			if(node.isDated())
 				runTool(node, manager);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2017 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     ETH Zurich - initial API and implementation
+ *     Systerel - added monitor for concurrent tool runs
  *******************************************************************************/
 package org.rodinp.internal.core.builder;
 
@@ -15,6 +16,7 @@ import java.util.List;
 
 import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.SubMonitor;
 import org.rodinp.internal.core.util.Messages;
 
@@ -76,6 +78,20 @@ public class ProgressManager {
 			return getZeroProgressMonitor();
 	}
 	
+	/*
+	 * Returns a monitor for a tool run by a worker thread. Such a monitor
+	 * only reports cancellation, as the builder's monitor is not thread-safe:
+	 * the builder thread accounts for the work done when the tool has run.
+	 */
+	IProgressMonitor getConcurrentProgressMonitor() {
+		return new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return monitor.isCanceled();
+			}
+		};
+	}
+	
 	void subTask(String name) {
 		monitor.subTask(name);
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2021 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,6 +12,7 @@
  *     Systerel - build only direct children of project
  *     Systerel - rework traces
  *     CentraleSupélec - dependencies between projects
+ *     Systerel - relaxed scheduling rule for concurrent tool runs
  *******************************************************************************/
 package org.rodinp.internal.core.builder;
 
@@ -29,6 +30,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.rodinp.internal.core.ElementTypeManager;
 import org.rodinp.internal.core.FileAssociation;
 import org.rodinp.internal.core.util.Util;
@@ -233,6 +235,33 @@ public class RodinBuilder extends IncrementalProjectBuilder {
 		return state.graph.getProjectDependencies(project);
 	}
 
+	/**
+	 * When tools are run concurrently, the builder does not lock the whole
+	 * workspace, nor the project, otherwise worker threads could not acquire
+	 * any rule on the files of the project. The phases of the build are then
+	 * protected as follows:
+	 * <ul>
+	 * <li>each tool run locks its source file and the files of its target
+	 * component for the whole run (see <code>Graph.getToolRule()</code>), and
+	 * tools which need more are run again by the builder thread under the
+	 * workspace rule;</li>
+	 * <li>extractors run under the rule of the file they extract (see
+	 * <code>Graph.extract()</code>);</li>
+	 * <li>the builder thread creates and deletes markers through single
+	 * workspace operations, each of which acquires its own rule;</li>
+	 * <li>the graph and the build state are in-memory data that only the
+	 * builder thread accesses, and the workspace never runs two builds of the
+	 * same project at the same time. Hence, they need no rule.</li>
+	 * </ul>
+	 */
+	@Override
+	@SuppressWarnings("rawtypes")
+	public ISchedulingRule getRule(int kind, Map args) {
+		if (Graph.getBuilderThreads() > 1)
+			return null;
+		return super.getRule(kind, args);
+	}
+
 	/**
 	 * Hook allowing to reset some static state after a complete build iteration.
 	 * This hook is invoked during POST_AUTO_BUILD notification
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2012 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - one indexer instance per indexing thread
  *******************************************************************************/
 package org.rodinp.internal.core.indexer;
 
@@ -21,18 +22,21 @@ import org.rodinp.internal.core.util.Util;
 public class ContributedIndexer extends IndexerElement {
 
 	private final IConfigurationElement element;
-	private IIndexer indexer;
+
+	// Indexers are not required to be reentrant: files indexed concurrently
+	// are given distinct instances
+	private final ThreadLocal<IIndexer> indexer = new ThreadLocal<IIndexer>();
 
 	public ContributedIndexer(
 			IConfigurationElement element, String indexerId) {
 		super(indexerId);
 		this.element = element;
-		this.indexer = null;
 	}
 
 	@Override
 	public IIndexer getIndexer() {
-		if (indexer == null) {
+		IIndexer result = indexer.get();
+		if (result == null) {
 			try {
 				if (!element.isValid()) {
 					processError(null);
@@ -44,13 +48,14 @@ public class ContributedIndexer extends IndexerElement {
 					processError(null);
 					return null;
 				}
-				indexer = (IIndexer) instance;
+				result = (IIndexer) instance;
+				indexer.set(result);
 			} catch (Exception e) {
 				processError(e);
 				return null;
 			}
 		}
-		return indexer;
+		return result;
 	}
 
 	private void processError(Exception e) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2009 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,25 +7,73 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - added batches of deltas
  *******************************************************************************/
 package org.rodinp.internal.core.indexer;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
 import java.util.Collection;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Queue of the deltas that remain to be processed by the indexer.
+ * <p>
+ * Deltas are taken in batches, so that the deltas of a burst of changes (e.g.
+ * a builder run) are processed together. A batch ends when no delta has been
+ * put during a quiet period, or when it reaches a maximum size. The quiet
+ * period (in milliseconds) and the maximum size are given by the system
+ * properties <code>org.rodinp.core.indexer.quietPeriod</code> and
+ * <code>org.rodinp.core.indexer.batchSize</code>.
+ * </p>
+ * 
  * @author Nicolas Beauger
  * 
  */
 public class DeltaQueue {
 
+	public static final String QUIET_PERIOD_PROPERTY = "org.rodinp.core.indexer.quietPeriod"; //$NON-NLS-1$
+
+	public static final String BATCH_SIZE_PROPERTY = "org.rodinp.core.indexer.batchSize"; //$NON-NLS-1$
+
+	private static final int DEFAULT_QUIET_PERIOD = 50; // milliseconds
+
+	private static final int DEFAULT_BATCH_SIZE = 1000;
+
 	private final BlockingQueue<IIndexDelta> queue;
 
 	private final CountUpDownLatch latch = new CountUpDownLatch(0);
 
+	private final long quietPeriod;
+
+	private final int batchSize;
+
+	// Number of deltas put, including those ignored as duplicates
+	private final AtomicLong received = new AtomicLong();
+
 	public DeltaQueue() {
+		this(parse(System.getProperty(QUIET_PERIOD_PROPERTY), 0,
+				DEFAULT_QUIET_PERIOD), parse(System
+				.getProperty(BATCH_SIZE_PROPERTY), 1, DEFAULT_BATCH_SIZE));
+	}
+
+	public DeltaQueue(long quietPeriod, int batchSize) {
 		this.queue = new LinkedBlockingQueue<IIndexDelta>();
+		this.quietPeriod = quietPeriod;
+		this.batchSize = batchSize;
+	}
+
+	private static int parse(String value, int min, int defaultValue) {
+		if (value != null) {
+			try {
+				return Math.max(min, Integer.parseInt(value.trim()));
+			} catch (NumberFormatException e) {
+				// use default
+			}
+		}
+		return defaultValue;
 	}
 
 	// Concurrency: no synchronization is required in the {contains;put} block
@@ -39,6 +87,7 @@ public class DeltaQueue {
 	// but it cannot take the file to put since it is not yet present !
 	public void put(IIndexDelta delta, boolean allowDuplicate)
 			throws InterruptedException {
+		received.incrementAndGet();
 		if (allowDuplicate || !queue.contains(delta)) {
 			if (DeltaQueuer.DEBUG) {
 				System.out.println("Indexer: Enqueuing delta "
@@ -55,6 +104,31 @@ public class DeltaQueue {
 		return queue.take();
 	}
 
+	/**
+	 * Waits for a delta, then adds it to the given collection together with
+	 * the deltas put until the queue remains quiet or the batch is full.
+	 * 
+	 * @param c
+	 *            the collection to add the batch to
+	 * @return the number of deltas added
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 */
+	public int takeBatch(Collection<? super IIndexDelta> c)
+			throws InterruptedException {
+		c.add(queue.take());
+		int count = 1;
+		while (count < batchSize) {
+			final IIndexDelta delta = queue.poll(quietPeriod, MILLISECONDS);
+			if (delta == null) {
+				break;
+			}
+			c.add(delta);
+			count++;
+		}
+		return count;
+	}
+
 	public void drainTo(Collection<? super IIndexDelta> c) {
 		queue.drainTo(c);
 	}
@@ -71,6 +145,10 @@ public class DeltaQueue {
 		return latch.getCount() == 0;
 	}
 	
+	public long getReceivedCount() {
+		return received.get();
+	}
+
 	public void putAll(Collection<? extends IIndexDelta> c)
 			throws InterruptedException {
 		for (IIndexDelta delta : c) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2013 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - allowed files to be indexed concurrently
  *******************************************************************************/
 package org.rodinp.internal.core.indexer;
 
@@ -109,6 +110,7 @@ public class FileIndexingManager {
 		}
 	}
 
+	// May be called concurrently for distinct files
 	public IIndexingResult doIndexing(IRodinFile file,
 			Map<IInternalElement, IDeclaration> fileImports,
 			IProgressMonitor monitor) {
@@ -139,7 +141,11 @@ public class FileIndexingManager {
 			printVerbose(makeMessage("indexing", file, indexer));
 
 		try {
-			final boolean success = indexer.index(bridge);
+			final boolean success;
+			// instantiated indexers are shared between indexing threads
+			synchronized (indexer) {
+				success = indexer.index(bridge);
+			}
 			if (!success) {
 				return IndexingResult.failed(file);
 			}
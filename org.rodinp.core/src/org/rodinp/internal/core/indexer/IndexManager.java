@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2020 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,8 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - made queries lock-free
+ *     Systerel - coalesced file deltas
  *******************************************************************************/
 package org.rodinp.internal.core.indexer;
 
@@ -14,10 +16,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.ISavedState;
@@ -46,6 +51,9 @@ public final class IndexManager {
 
 	private static final int BLOCKING_DELAY = 200; // milliseconds
 
+	// Attempts to process a delta, in case indexing gets cancelled
+	private static final int MAX_ATTEMPTS = 3;
+
 	// For debugging and tracing purposes
 	public static boolean DEBUG;
 	public static boolean VERBOSE;
@@ -68,6 +76,9 @@ public final class IndexManager {
 
 	private volatile boolean indexingEnabled = true;
 
+	// Number of runs of the indexing job on changed files
+	private final AtomicLong indexingRuns = new AtomicLong();
+
 	private IndexManager() {
 		pppim = new PerProjectPIM();
 		indexerRegistry = IndexerRegistry.getDefault();
@@ -120,15 +131,16 @@ public final class IndexManager {
 	// for testing purposes only
 	public void scheduleIndexing(IRodinFile... files) {
 		assert !indexingEnabled;
-		for (IRodinFile file : files) {
-			final IRodinProject project = file.getRodinProject();
-			final ProjectIndexManager pim = fetchPIM(project);
-			pim.fileChanged(file, null);
-		}
+		filesChanged(Arrays.asList(files), null);
 
 		doIndexing(null);
 	}
 
+	// for testing purposes only
+	public long getPublishedSnapshotCount(IRodinProject project) {
+		return fetchPIM(project).getPublishedSnapshotCount();
+	}
+
 	/**
 	 * Performs the actual indexing of all files currently set to index, as soon
 	 * as the indexing lock is obtained. Files are indexed project per project.
@@ -154,23 +166,47 @@ public final class IndexManager {
 	ProjectIndexManager fetchPIM(IRodinProject project) {
 		return pppim.getOrCreate(project);
 	}
+
+	/*
+	 * Sets the given files to index, with one call per project, and returns
+	 * the managers of the projects concerned, in the order of the files.
+	 */
+	Set<ProjectIndexManager> filesChanged(List<IRodinFile> files,
+			IProgressMonitor monitor) {
+		final Map<ProjectIndexManager, List<IRodinFile>> filesPerPIM = new LinkedHashMap<ProjectIndexManager, List<IRodinFile>>();
+		for (IRodinFile file : files) {
+			final ProjectIndexManager pim = fetchPIM(file.getRodinProject());
+			List<IRodinFile> pimFiles = filesPerPIM.get(pim);
+			if (pimFiles == null) {
+				pimFiles = new ArrayList<IRodinFile>();
+				filesPerPIM.put(pim, pimFiles);
+			}
+			pimFiles.add(file);
+		}
+		for (Map.Entry<ProjectIndexManager, List<IRodinFile>> entry : filesPerPIM
+				.entrySet()) {
+			entry.getKey().filesChanged(entry.getValue(), monitor);
+			checkCancel(monitor);
+		}
+		return filesPerPIM.keySet();
+	}
 	
 	private final FileIndexing indexing = new FileIndexing("File Indexer");
 	
 	private class FileIndexing extends Job {
 		
-		private IRodinFile file = null;
+		private List<IRodinFile> files = Collections.emptyList();
 		
 		public FileIndexing(String name) {
 			super(name);
 		}
 
-		public IRodinFile getFile() {
-			return file;
+		public List<IRodinFile> getFiles() {
+			return files;
 		}
 		
-		public void setFile(IRodinFile file) {
-			this.file = file;
+		public void setFiles(List<IRodinFile> files) {
+			this.files = files;
 		}
 		
 		@Override
@@ -178,24 +214,19 @@ public final class IndexManager {
 			if (DEBUG) {
 				Thread.currentThread().setName(this.getName());
 			}
-			// avoid file modification during indexing
-			final IRodinFile fileToIndex = file;
+			// avoid files modification during indexing
+			final List<IRodinFile> filesToIndex = files;
 			try {
-				if (fileToIndex == null) {
+				if (filesToIndex.isEmpty()) {
 					doIndexing(monitor);
 				} else {
-					final IRodinProject project = fileToIndex.getRodinProject();
-					final ProjectIndexManager pim = fetchPIM(project);
-					pim.fileChanged(fileToIndex, monitor);
-					checkCancel(monitor);
-					pim.doIndexing(monitor);
-					checkCancel(monitor);
+					indexFiles(filesToIndex, monitor);
 				}
-				file = null;
+				files = Collections.emptyList();
 				return Status.OK_STATUS;
 			} catch (CancellationException e) {
 				if (IndexManager.VERBOSE)
-					printVerbose("indexing cancelled for file: " + fileToIndex);
+					printVerbose("indexing cancelled for files: " + filesToIndex);
 				return Status.CANCEL_STATUS;
 			} finally {
 				if (monitor != null) {
@@ -206,6 +237,19 @@ public final class IndexManager {
 				}
 			}
 		}
+
+		// All files are set to index before indexing, so that files depending
+		// on several changed files are indexed only once, and a snapshot is
+		// published once per project
+		private void indexFiles(List<IRodinFile> filesToIndex,
+				IProgressMonitor monitor) {
+			final Set<ProjectIndexManager> pims = filesChanged(filesToIndex,
+					monitor);
+			for (ProjectIndexManager pim : pims) {
+				pim.doIndexing(monitor);
+				checkCancel(monitor);
+			}
+		}
 	}
 
 	/**
@@ -229,9 +273,7 @@ public final class IndexManager {
 			try {
 				stop = daemonMonitor.isCanceled();
 
-				final IIndexDelta headDelta = queue.take();
-				currentDeltas.add(headDelta);
-				queue.drainTo(currentDeltas);
+				queue.takeBatch(currentDeltas);
 				if (indexingEnabled) {
 					processCurrentDeltas(daemonMonitor);
 					// TODO consider implementing a DeltaIndexingManager
@@ -250,37 +292,83 @@ public final class IndexManager {
 				| IResourceChangeEvent.PRE_DELETE);
 	}
 
+	/*
+	 * Consecutive file deltas are coalesced: each changed file is set to index
+	 * once, then dependent files are indexed once for all of them. Project
+	 * deltas are processed in their order with respect to file deltas.
+	 * Deltas are removed from the current ones once processed.
+	 */
 	private void processCurrentDeltas(IProgressMonitor monitor)
 			throws InterruptedException {
-		final int maxAttempts = 3;
-		final Iterator<IIndexDelta> iter = currentDeltas.iterator();
-		while (iter.hasNext()) {
-			final IIndexDelta delta = iter.next();
-
-			int attempts = 0;
-			boolean success = false;
-			do {
-				try {
-					processDelta(delta, monitor);
-					success = true;
-				} catch (CancellationException e) {
-					attempts++;
+		while (!currentDeltas.isEmpty()) {
+			final Set<IRodinFile> changedFiles = new LinkedHashSet<IRodinFile>();
+			int fileDeltas = 0;
+			while (fileDeltas < currentDeltas.size()) {
+				final IIndexDelta delta = currentDeltas.get(fileDeltas);
+				if (delta.getKind() != Kind.FILE_CHANGED) {
+					break;
 				}
-			} while (!success && attempts < maxAttempts);
+				changedFiles.add((IRodinFile) delta.getElement());
+				fileDeltas++;
+			}
+			if (fileDeltas == 0) {
+				processProjectDelta(currentDeltas.get(0), monitor);
+				currentDeltas.remove(0);
+			} else {
+				processFilesChanged(changedFiles, fileDeltas);
+				currentDeltas.subList(0, fileDeltas).clear();
+			}
+		}
+	}
+
+	private void processFilesChanged(Set<IRodinFile> files, int nbDeltas)
+			throws InterruptedException {
+		if (VERBOSE)
+			printVerbose("INDEXER: coalesced " + nbDeltas
+					+ " file deltas into " + files.size() + " files");
+		final List<IRodinFile> filesToIndex = Collections
+				.unmodifiableList(new ArrayList<IRodinFile>(files));
+		final boolean success = runIndexing(filesToIndex, MAX_ATTEMPTS);
+		if (!success && filesToIndex.size() > 1) {
+			// index files one by one, so as to give up only on those
+			// whose indexing keeps getting cancelled
+			for (IRodinFile file : filesToIndex) {
+				runIndexing(Collections.singletonList(file), MAX_ATTEMPTS);
+			}
+		}
+		for (int i = 0; i < nbDeltas; i++) {
 			queue.deltaProcessed();
-			iter.remove();
 		}
 	}
 
-	private void processDelta(IIndexDelta delta, IProgressMonitor monitor)
+	// Returns whether indexing succeeded within the given number of attempts
+	private boolean runIndexing(List<IRodinFile> files, int maxAttempts)
 			throws InterruptedException {
-		if (delta.getKind() == Kind.FILE_CHANGED) {
-			final IRodinFile file = (IRodinFile) delta.getElement();
+		int attempts = 0;
+		do {
+			try {
+				runIndexing(files);
+				return true;
+			} catch (CancellationException e) {
+				attempts++;
+			}
+		} while (attempts < maxAttempts);
+		return false;
+	}
 
-			processFileChanged(file, monitor);
-		} else {
-			processProjectChanged(delta, monitor);
-		}
+	private void processProjectDelta(IIndexDelta delta,
+			IProgressMonitor monitor) {
+		int attempts = 0;
+		boolean success = false;
+		do {
+			try {
+				processProjectChanged(delta, monitor);
+				success = true;
+			} catch (CancellationException e) {
+				attempts++;
+			}
+		} while (!success && attempts < MAX_ATTEMPTS);
+		queue.deltaProcessed();
 	}
 
 	private void processProjectChanged(IIndexDelta delta,
@@ -316,9 +404,10 @@ public final class IndexManager {
 		}
 	}
 
-	private void processFileChanged(final IRodinFile file, IProgressMonitor monitor)
+	private void runIndexing(List<IRodinFile> files)
 			throws InterruptedException {
-		indexing.setFile(file);
+		indexingRuns.incrementAndGet();
+		indexing.setFiles(files);
 		indexing.schedule();
 		indexing.join();
 		if (Status.CANCEL_STATUS.equals(indexing.getResult())) {
@@ -503,21 +592,38 @@ public final class IndexManager {
 			return;
 		}
 		pim.setProjectVanishing();
-		final IRodinFile file = indexing.getFile();
-		if (file == null) {
-			return;
-		}
-		if (project.isAncestorOf(file)) {
-			indexing.cancel();
+		for (IRodinFile file : indexing.getFiles()) {
+			if (project.isAncestorOf(file)) {
+				indexing.cancel();
+				return;
+			}
 		}
 	}
 	
+	/**
+	 * Returns the number of deltas received by the indexer, including those
+	 * that have been coalesced with others.
+	 */
+	public long getReceivedDeltaCount() {
+		return queue.getReceivedCount();
+	}
+
+	/**
+	 * Returns the number of indexing runs performed on changed files. Each
+	 * run indexes a batch of files, together with their dependents.
+	 */
+	public long getIndexingRunCount() {
+		return indexingRuns.get();
+	}
+
 	// needed when a project is open with unprocessed files
 	public void enqueueUnprocessedFile(IRodinFile file) {
 		listener.enqueueDelta(new IndexDelta(file, Kind.FILE_CHANGED), false);
 	}
 	
-	public synchronized IDeclaration getDeclaration(IInternalElement element) {
+	// Queries are answered from snapshots published by PIMs, without locking
+
+	public IDeclaration getDeclaration(IInternalElement element) {
 		final ProjectIndexManager pim = pppim.get(element.getRodinProject());
 		if (pim == null) {
 			return null;
@@ -525,7 +631,7 @@ public final class IndexManager {
 		return pim.getDeclaration(element);
 	}
 
-	public synchronized Set<IDeclaration> getDeclarations(IRodinFile file) {
+	public Set<IDeclaration> getDeclarations(IRodinFile file) {
 		final ProjectIndexManager pim = pppim.get(file.getRodinProject());
 		if (pim == null) {
 			return Collections.emptySet();
@@ -533,7 +639,7 @@ public final class IndexManager {
 		return pim.getDeclarations(file);
 	}
 
-	public synchronized Set<IDeclaration> getVisibleDeclarations(IRodinFile file) {
+	public Set<IDeclaration> getVisibleDeclarations(IRodinFile file) {
 		final ProjectIndexManager pim = pppim.get(file.getRodinProject());
 		if (pim == null) {
 			return Collections.emptySet();
@@ -541,7 +647,7 @@ public final class IndexManager {
 		return pim.getVisibleDeclarations(file);
 	}
 
-	public synchronized Set<IDeclaration> getDeclarations(
+	public Set<IDeclaration> getDeclarations(
 			IRodinProject project, String name) {
 		final ProjectIndexManager pim = pppim.get(project);
 		if (pim == null) {
@@ -550,7 +656,7 @@ public final class IndexManager {
 		return pim.getDeclarations(name);
 	}
 
-	public synchronized Set<IOccurrence> getOccurrences(IDeclaration declaration) {
+	public Set<IOccurrence> getOccurrences(IDeclaration declaration) {
 		final ProjectIndexManager pim = pppim.get(declaration.getElement()
 				.getRodinProject());
 		if (pim == null) {
@@ -559,7 +665,7 @@ public final class IndexManager {
 		return pim.getOccurrences(declaration);
 	}
 
-	public synchronized Set<IDeclaration> getExports(IRodinFile file) {
+	public Set<IDeclaration> getExports(IRodinFile file) {
 		final ProjectIndexManager pim = pppim.get(file.getRodinProject());
 		if (pim == null) {
 			return Collections.emptySet();
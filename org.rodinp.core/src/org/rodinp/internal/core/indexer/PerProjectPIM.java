@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2010 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,10 +7,12 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - made copy-on-write for lock-free queries
  *******************************************************************************/
 package org.rodinp.internal.core.indexer;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
@@ -18,15 +20,20 @@ import java.util.Set;
 import org.rodinp.core.IRodinProject;
 
 /**
- * @author Nicolas Beauger
+ * Maps projects to their PIM.
+ * <p>
+ * The map is copied on each modification, so that it can be read without
+ * locking while projects are added or removed. Modifications are synchronized.
+ * </p>
  * 
+ * @author Nicolas Beauger
  */
 public class PerProjectPIM {
 
-	private final Map<IRodinProject, ProjectIndexManager> pims;
+	private volatile Map<IRodinProject, ProjectIndexManager> pims;
 
 	public PerProjectPIM() {
-		this.pims = new LinkedHashMap<IRodinProject, ProjectIndexManager>();
+		this.pims = Collections.emptyMap();
 	}
 
 	public Set<IRodinProject> projects() {
@@ -41,24 +48,41 @@ public class PerProjectPIM {
 		return pims.get(project);
 	}
 
-	public ProjectIndexManager getOrCreate(IRodinProject project) {
+	public synchronized ProjectIndexManager getOrCreate(IRodinProject project) {
 		ProjectIndexManager pim = pims.get(project);
 		if (pim == null) {
 			pim = new ProjectIndexManager(project);
-			pims.put(project, pim);
+			final Map<IRodinProject, ProjectIndexManager> copy = copy();
+			copy.put(project, pim);
+			publish(copy);
 		}
 		return pim;
 	}
 
-	public void put(ProjectIndexManager pim) {
-		pims.put(pim.getProject(), pim);
+	public synchronized void put(ProjectIndexManager pim) {
+		final Map<IRodinProject, ProjectIndexManager> copy = copy();
+		copy.put(pim.getProject(), pim);
+		publish(copy);
+	}
+
+	public synchronized void remove(IRodinProject project) {
+		if (!pims.containsKey(project)) {
+			return;
+		}
+		final Map<IRodinProject, ProjectIndexManager> copy = copy();
+		copy.remove(project);
+		publish(copy);
+	}
+
+	public synchronized void clear() {
+		pims = Collections.emptyMap();
 	}
 
-	public void remove(IRodinProject project) {
-		pims.remove(project);
+	private Map<IRodinProject, ProjectIndexManager> copy() {
+		return new LinkedHashMap<IRodinProject, ProjectIndexManager>(pims);
 	}
 
-	public void clear() {
-		pims.clear();
+	private void publish(Map<IRodinProject, ProjectIndexManager> newPims) {
+		pims = Collections.unmodifiableMap(newPims);
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,9 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - answered queries from immutable snapshots
+ *     Systerel - indexed independent files in parallel
+ *     Systerel - set changed files to index in batches
  *******************************************************************************/
 package org.rodinp.internal.core.indexer;
 
@@ -15,14 +18,22 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.rodinp.core.IInternalElement;
 import org.rodinp.core.IRodinDBStatus;
 import org.rodinp.core.IRodinDBStatusConstants;
@@ -38,22 +49,55 @@ import org.rodinp.internal.core.indexer.persistence.PersistentTotalOrder;
 import org.rodinp.internal.core.indexer.sort.TotalOrder;
 import org.rodinp.internal.core.indexer.tables.ExportTable;
 import org.rodinp.internal.core.indexer.tables.FileTable;
+import org.rodinp.internal.core.indexer.tables.IndexSnapshot;
 import org.rodinp.internal.core.indexer.tables.NameTable;
 import org.rodinp.internal.core.indexer.tables.RodinIndex;
 
 /**
  * The ProjectIndexManager (PIM) stores and maintains index tables for a single
  * project.
- * 
- * TODO instead of synchronizing everything, take a snapshot of the tables
- * before any change, then manage exclusive access to writers, meanwhile read of
- * the snapshot shall be non exclusive. Would prevents blocking while building.
+ * <p>
+ * Writers have exclusive access to the tables. After each indexing run, an
+ * immutable snapshot of the tables is published, from which queries are
+ * answered without locking. Thus, queries never block while a
+ * project is being indexed; they see the tables as they were at the end of the
+ * last indexing run.
+ * </p>
+ * <p>
+ * Files are indexed in the total order of their dependencies. Files whose
+ * predecessors are all indexed are indexed ahead by a pool of worker threads,
+ * but results are merged into the tables one file at a time, in order. When
+ * the iteration reaches a file indexed ahead, its result is used only if its
+ * imports have not changed since; otherwise, the file is indexed again. The
+ * number of worker threads is given by the system property
+ * <code>org.rodinp.core.indexer.threads</code>, which defaults to the number
+ * of available processors; a value of 1 makes indexing sequential.
+ * </p>
  * 
  * @author Nicolas Beauger
  * 
  */
 public class ProjectIndexManager {
 
+	public static final String THREADS_PROPERTY = "org.rodinp.core.indexer.threads"; //$NON-NLS-1$
+
+	private static final int NB_THREADS = parseThreads(System
+			.getProperty(THREADS_PROPERTY));
+
+	private static final ThreadFactory WORKER_FACTORY = new ThreadFactory() {
+
+		private int count = 0;
+
+		@Override
+		public synchronized Thread newThread(Runnable r) {
+			final Thread thread = new Thread(r, "Indexer worker " //$NON-NLS-1$
+					+ (++count));
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	};
+
 	private final IRodinProject project;
 
 	private final RodinIndex index;
@@ -67,6 +111,18 @@ public class ProjectIndexManager {
 	private final TotalOrder<IRodinFile> order;
 
 	private volatile boolean isProjectVanishing = false;
+
+	// Must be published only by synchronized methods
+	private volatile IndexSnapshot snapshot;
+
+	// Changes of the tables since the last published snapshot
+	private final Set<IInternalElement> changedElements = new HashSet<IInternalElement>();
+	private final Set<String> changedNames = new HashSet<String>();
+	private final Set<IRodinFile> changedFiles = new HashSet<IRodinFile>();
+	private boolean orderChanged = false;
+
+	// Number of snapshots published, for testing purposes
+	private volatile long publishedSnapshots = 0;
 	
 	// FIXME protect from concurrent access
 	private final Set<IRodinFile> unprocessedFiles = Collections
@@ -79,6 +135,7 @@ public class ProjectIndexManager {
 		this.nameTable = new NameTable();
 		this.exportTable = new ExportTable();
 		this.order = new TotalOrder<IRodinFile>();
+		this.snapshot = IndexSnapshot.EMPTY;
 	}
 	
 	// for persistence purposes
@@ -93,6 +150,7 @@ public class ProjectIndexManager {
 		this.order = order;
 		this.unprocessedFiles.addAll(unprocessedFiles);
 		restoreNonPersistentData();
+		this.snapshot = makeSnapshot();
 		fireUnprocessedFiles();
 	}
 	
@@ -106,6 +164,7 @@ public class ProjectIndexManager {
 		this.nameTable = nameTable;
 		this.exportTable = exportTable;
 		this.order = order;
+		this.snapshot = makeSnapshot();
 	}
 	
 	public void fireUnprocessedFiles() {
@@ -119,15 +178,134 @@ public class ProjectIndexManager {
 			monitor.beginTask("indexing project " + project,
 					IProgressMonitor.UNKNOWN);
 		}
-		while (order.hasNext()) {
-			final IRodinFile file = order.next();
-			
-			doIndexing(file, monitor);
+		try {
+			if (NB_THREADS > 1) {
+				doParallelIndexing(monitor);
+			} else {
+				while (order.hasNext()) {
+					final IRodinFile file = order.next();
+
+					doIndexing(file, null, monitor);
+				}
+			}
+			order.end();
+		} finally {
+			// published once per run, as each publication copies the tables
+			publishSnapshot();
+		}
+	}
+
+	private static int parseThreads(String value) {
+		if (value != null) {
+			try {
+				return Math.max(1, Integer.parseInt(value.trim()));
+			} catch (NumberFormatException e) {
+				// use default
+			}
+		}
+		return Runtime.getRuntime().availableProcessors();
+	}
+
+	private void doParallelIndexing(IProgressMonitor monitor) {
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				NB_THREADS, WORKER_FACTORY);
+		final WorkerMonitor workerMonitor = new WorkerMonitor(monitor);
+		final Map<IRodinFile, Lookahead> lookaheads = new HashMap<IRodinFile, Lookahead>();
+		try {
+			while (order.hasNext()) {
+				final IRodinFile file = order.next();
+
+				indexAhead(file, lookaheads, executor, workerMonitor);
+				doIndexing(file, lookaheads.remove(file), monitor);
+			}
+		} finally {
+			// results of files indexed ahead and not iterated are dropped
+			workerMonitor.setCanceled(true);
+			executor.shutdownNow();
+		}
+	}
+
+	// Submits the remaining files that do not depend on a file still to be
+	// indexed, including the current one, in the limit of a window
+	private void indexAhead(IRodinFile current,
+			Map<IRodinFile, Lookahead> lookaheads, ExecutorService executor,
+			IProgressMonitor workerMonitor) {
+		if (isProjectVanishing) {
+			return;
+		}
+		final int window = 2 * NB_THREADS;
+		final List<IRodinFile> remaining = order.getRemaining();
+		final Set<IRodinFile> pending = new HashSet<IRodinFile>(remaining);
+		pending.add(current);
+		// files that will not be iterated any more
+		lookaheads.keySet().retainAll(pending);
+		final Map<IRodinFile, Boolean> dependencies = new HashMap<IRodinFile, Boolean>();
+		final FileIndexingManager fim = FileIndexingManager.getDefault();
+		for (IRodinFile file : remaining) {
+			if (lookaheads.size() >= window) {
+				return;
+			}
+			if (lookaheads.containsKey(file)
+					|| dependsOn(file, pending, dependencies)) {
+				continue;
+			}
+			final Lookahead lookahead = new Lookahead(file,
+					computeImports(file));
+			lookahead.submit(executor, fim, workerMonitor);
+			lookaheads.put(file, lookahead);
+		}
+	}
+
+	private IndexSnapshot makeSnapshot() {
+		return IndexSnapshot.make(index, nameTable, fileTable, exportTable,
+				order);
+	}
+
+	// Makes the changes of the tables visible to queries
+	private void publishSnapshot() {
+		if (changedElements.isEmpty() && changedNames.isEmpty()
+				&& changedFiles.isEmpty() && !orderChanged) {
+			return;
+		}
+		snapshot = snapshot.update(index, nameTable, fileTable, exportTable,
+				order, changedElements, changedNames, changedFiles,
+				orderChanged);
+		changedElements.clear();
+		changedNames.clear();
+		changedFiles.clear();
+		orderChanged = false;
+		publishedSnapshots++;
+	}
+
+	// for testing purposes
+	public long getPublishedSnapshotCount() {
+		return publishedSnapshots;
+	}
+
+	// Tells whether the given file transitively depends on one of the given
+	// pending files, remembering the answer for every file visited
+	private boolean dependsOn(IRodinFile file, Set<IRodinFile> pending,
+			Map<IRodinFile, Boolean> dependencies) {
+		final Boolean known = dependencies.get(file);
+		if (known != null) {
+			return known;
 		}
-		order.end();
+		// breaks dependency cycles
+		dependencies.put(file, false);
+		boolean result = false;
+		for (IRodinFile pred : order.getPredecessors(file)) {
+			if (pending.contains(pred) || dependsOn(pred, pending, dependencies)) {
+				result = true;
+				break;
+			}
+		}
+		dependencies.put(file, result);
+		return result;
 	}
 
-	private void doIndexing(final IRodinFile file, IProgressMonitor monitor) {
+	// the lookahead, if not null, is the file indexed ahead
+	private void doIndexing(final IRodinFile file, Lookahead lookahead,
+			IProgressMonitor monitor) {
 		unprocessedFiles.add(file);
 		if (isProjectVanishing) {
 			printDebugVanish(file);
@@ -137,8 +315,14 @@ public class ProjectIndexManager {
 		final Map<IInternalElement, IDeclaration> fileImports =
 			computeImports(file);
 
-		final FileIndexingManager fim = FileIndexingManager.getDefault();
-		final IIndexingResult result = fim.doIndexing(file, fileImports, monitor);
+		IIndexingResult result = null;
+		if (lookahead != null && lookahead.imports.equals(fileImports)) {
+			result = lookahead.getResult();
+		}
+		if (result == null) {
+			final FileIndexingManager fim = FileIndexingManager.getDefault();
+			result = fim.doIndexing(file, fileImports, monitor);
+		}
 
 		checkCancel(monitor);
 		if (result.isSuccess()) {
@@ -150,6 +334,7 @@ public class ProjectIndexManager {
 		} else {
 			order.setToIterSuccessors();
 			order.remove();
+			orderChanged = true;
 			clean(file);
 		}
 		unprocessedFiles.remove(file);
@@ -166,6 +351,7 @@ public class ProjectIndexManager {
 	private void updateTables(IIndexingResult result) {
 
 		clean(result.getFile());
+		changedFiles.add(result.getFile());
 
 		updateDeclarations(result);
 
@@ -193,6 +379,7 @@ public class ProjectIndexManager {
 			final Descriptor descriptor = index.getDescriptor(elementEntry.getKey());
 			// not null expected from bridge checks
 			assert descriptor != null;
+			changedElements.add(elementEntry.getKey());
 
 			for (IOccurrence occurrence : occurrences) {
 				descriptor.addOccurrence(occurrence);
@@ -205,6 +392,8 @@ public class ProjectIndexManager {
 		for (IDeclaration declaration : result.getDeclarations()) {
 			final IInternalElement element = declaration.getElement();
 			final String name = declaration.getName();
+			changedElements.add(element);
+			changedNames.add(name);
 
 			Descriptor descriptor = index.getDescriptor(element);
 			// there may be import occurrences
@@ -217,6 +406,7 @@ public class ProjectIndexManager {
 					index.removeDescriptor(element);
 					descriptor = index.makeDescriptor(declaration);
 					nameTable.remove(previousDecl);
+					changedNames.add(previousName);
 					// there are import occurrences of the element;
 					// in those files, it is referred to with previousName
 					// => rodinIndex tables are coherent but those files may not
@@ -234,6 +424,8 @@ public class ProjectIndexManager {
 		for (IDeclaration declaration : fileTable.get(file)) {
 			final IInternalElement element = declaration.getElement();
 			final Descriptor descriptor = index.getDescriptor(element);
+			changedElements.add(element);
+			changedNames.add(declaration.getName());
 
 			if (descriptor == null) {
 				IRodinDBStatus status = new RodinDBStatus(
@@ -255,11 +447,16 @@ public class ProjectIndexManager {
 		}
 		exportTable.remove(file);
 		fileTable.remove(file);
+		changedFiles.add(file);
 	}
 
 	/**
 	 * Indicates that the given file has to be (re)-indexed. Also, update the
 	 * dependents of the given file in the dependency graph.
+	 * <p>
+	 * The new dependencies become visible to queries once the next indexing
+	 * run has ended, together with the indexing results.
+	 * </p>
 	 * 
 	 * @param file
 	 *            the changed file
@@ -267,6 +464,28 @@ public class ProjectIndexManager {
 	 *            the monitor to manage cancellation with
 	 */
 	public synchronized void fileChanged(IRodinFile file, IProgressMonitor monitor) {
+		setToIndex(file, monitor);
+	}
+
+	/**
+	 * Indicates that the given files have to be (re)-indexed, as
+	 * {@link #fileChanged(IRodinFile, IProgressMonitor)} does for each of
+	 * them.
+	 * 
+	 * @param files
+	 *            the changed files, all of them in the managed project
+	 * @param monitor
+	 *            the monitor to manage cancellation with
+	 */
+	public synchronized void filesChanged(Collection<IRodinFile> files,
+			IProgressMonitor monitor) {
+		for (IRodinFile file : files) {
+			setToIndex(file, monitor);
+			checkCancel(monitor);
+		}
+	}
+
+	private void setToIndex(IRodinFile file, IProgressMonitor monitor) {
 		if (!file.getRodinProject().equals(project)) {
 			throw new IllegalArgumentException(file
 					+ " should be indexed in project "
@@ -287,6 +506,7 @@ public class ProjectIndexManager {
 			final Set<IRodinFile> dependFiles = fim.getDependencies(file, monitor);
 			order.setPredecessors(file, dependFiles);
 			order.setToIter(file);
+			orderChanged = true;
 		} catch (IndexingException e) {
 			// forget this file
 		}
@@ -315,6 +535,20 @@ public class ProjectIndexManager {
 		return result;
 	}
 
+	// same as computeImports(), from the given snapshot
+	private static Map<IInternalElement, IDeclaration> computeImports(
+			IndexSnapshot tables, List<IRodinFile> fileDeps) {
+		final Map<IInternalElement, IDeclaration> result =
+				new HashMap<IInternalElement, IDeclaration>();
+		for (IRodinFile f : fileDeps) {
+			final Set<IDeclaration> exports = tables.getExports(f);
+			for (IDeclaration declaration : exports) {
+				result.put(declaration.getElement(), declaration);
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * @return the managed project
 	 */
@@ -343,7 +577,7 @@ public class ProjectIndexManager {
 			final IRodinFile[] files = project.getRodinFiles();
 			unprocessedFiles.addAll(Arrays.asList(files));
 			for (IRodinFile file : files) {
-				fileChanged(file, monitor);
+				setToIndex(file, monitor);
 				checkCancel(monitor);
 			}
 			doIndexing(monitor);
@@ -368,61 +602,112 @@ public class ProjectIndexManager {
 		this.isProjectVanishing = true;
 	}
 	
-	public synchronized IDeclaration getDeclaration(IInternalElement element) {
-		final Descriptor descriptor = index.getDescriptor(element);
-		if (descriptor == null) {
-			return null;
-		} else {
-			return descriptor.getDeclaration();
-		}
+	// Queries below read the last published snapshot, without locking
+
+	public IDeclaration getDeclaration(IInternalElement element) {
+		return snapshot.getDeclaration(element);
 	}
 
-	public synchronized Set<IDeclaration> getDeclarations(IRodinFile file) {
-		final Set<IDeclaration> decls = fileTable.get(file);
+	public Set<IDeclaration> getDeclarations(IRodinFile file) {
+		final Set<IDeclaration> decls = snapshot.getDeclarations(file);
 		return new LinkedHashSet<IDeclaration>(decls);
 	}
 
-	public synchronized Set<IDeclaration> getVisibleDeclarations(IRodinFile file) {
-		if (!order.contains(file)) {
+	public Set<IDeclaration> getVisibleDeclarations(IRodinFile file) {
+		final IndexSnapshot tables = snapshot;
+		final List<IRodinFile> fileDeps = tables.getPredecessors(file);
+		if (fileDeps == null) {
 			// unknown file
 			return Collections.emptySet();
 		}
 		final Set<IDeclaration> decls = new LinkedHashSet<IDeclaration>(
-				fileTable.get(file));
-		final Collection<IDeclaration> imports = computeImports(file).values();
+				tables.getDeclarations(file));
+		final Collection<IDeclaration> imports = computeImports(tables,
+				fileDeps).values();
 		decls.addAll(imports);
 		return decls;
 	}
 
-	public synchronized Set<IDeclaration> getDeclarations(String name) {
-		final Set<IDeclaration> decls = nameTable.getDeclarations(name);
+	public Set<IDeclaration> getDeclarations(String name) {
+		final Set<IDeclaration> decls = snapshot.getDeclarations(name);
 		return new LinkedHashSet<IDeclaration>(decls);
 	}
 
-	private synchronized Set<IOccurrence> getOccurrences(
-			IInternalElement element) {
-		final Descriptor descriptor = index.getDescriptor(element);
-		if (descriptor == null) {
-			return Collections.emptySet();
-		}
-		final Set<IOccurrence> occs = descriptor.getOccurrences();
+	public Set<IOccurrence> getOccurrences(IDeclaration declaration) {
+		final Set<IOccurrence> occs = snapshot.getOccurrences(declaration
+				.getElement());
 		return new LinkedHashSet<IOccurrence>(occs);
 	}
 
-	public synchronized Set<IOccurrence> getOccurrences(IDeclaration declaration) {
-		return getOccurrences(declaration.getElement());
-	}
-
-	public synchronized Set<IRodinFile> exportFiles() {
-		final Set<IRodinFile> files = exportTable.files();
+	public Set<IRodinFile> exportFiles() {
+		final Set<IRodinFile> files = snapshot.exportFiles();
 		return new LinkedHashSet<IRodinFile>(files);
 	}
 
-	public synchronized Set<IDeclaration> getExports(IRodinFile file) {
-		final Set<IDeclaration> exports = exportTable.get(file);
+	public Set<IDeclaration> getExports(IRodinFile file) {
+		final Set<IDeclaration> exports = snapshot.getExports(file);
 		return new LinkedHashSet<IDeclaration>(exports);
 	}
 
+	// A file indexed by a worker thread, with the imports it was indexed with
+	private static class Lookahead {
+
+		final IRodinFile file;
+		final Map<IInternalElement, IDeclaration> imports;
+		private Future<IIndexingResult> future;
+
+		public Lookahead(IRodinFile file,
+				Map<IInternalElement, IDeclaration> imports) {
+			this.file = file;
+			this.imports = imports;
+		}
+
+		public void submit(ExecutorService executor,
+				final FileIndexingManager fim, final IProgressMonitor monitor) {
+			future = executor.submit(new Callable<IIndexingResult>() {
+				@Override
+				public IIndexingResult call() throws Exception {
+					return fim.doIndexing(file, imports, monitor);
+				}
+			});
+		}
+
+		// Returns null if the file could not be indexed ahead
+		public IIndexingResult getResult() {
+			try {
+				return future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CancellationException();
+			} catch (ExecutionException e) {
+				return null;
+			}
+		}
+
+	}
+
+	// Progress monitor of worker threads, canceled when the iteration ends
+	private static class WorkerMonitor extends NullProgressMonitor {
+
+		private final IProgressMonitor parent;
+		private volatile boolean canceled = false;
+
+		public WorkerMonitor(IProgressMonitor parent) {
+			this.parent = parent;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return canceled || (parent != null && parent.isCanceled());
+		}
+
+		@Override
+		public void setCanceled(boolean value) {
+			canceled = value;
+		}
+
+	}
+
 	public PersistentPIM getPersistentData() {
 		final Collection<Descriptor> descColl = index.getDescriptors();
 		final Descriptor[] descriptors = descColl
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2010 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - added binary persistence
  *******************************************************************************/
 package org.rodinp.internal.core.indexer.persistence;
 
@@ -25,9 +26,18 @@ import org.rodinp.core.RodinCore;
 import org.rodinp.internal.core.indexer.DeltaQueuer;
 import org.rodinp.internal.core.indexer.IndexManager;
 import org.rodinp.internal.core.indexer.PerProjectPIM;
+import org.rodinp.internal.core.indexer.persistence.binary.BinaryPersistor;
 import org.rodinp.internal.core.indexer.persistence.xml.XMLPersistor;
 
 /**
+ * Saves and restores the index when the workspace is saved and restored.
+ * <p>
+ * The index is saved in binary format, unless the system property
+ * <code>org.rodinp.core.indexer.persistence</code> is set to <code>xml</code>.
+ * The binary persistor also restores indexes saved in XML, which are thus
+ * migrated on the next save.
+ * </p>
+ * 
  * @author Nicolas Beauger
  * 
  */
@@ -35,6 +45,11 @@ public class PersistenceManager implements ISaveParticipant {
 
 	public static final IPath INDEX_SAVE_PATH = new Path("index-save");
 
+	public static final String FORMAT_PROPERTY = "org.rodinp.core.indexer.persistence"; //$NON-NLS-1$
+
+	private static final boolean XML_FORMAT = "xml".equals(System //$NON-NLS-1$
+			.getProperty(FORMAT_PROPERTY));
+
 	private static final Plugin plugin = RodinCore.getPlugin();
 	private static PersistenceManager instance;
 
@@ -197,7 +212,10 @@ public class PersistenceManager implements ISaveParticipant {
 	}
 
 	private IPersistor chooseStrategy() {
-		return new XMLPersistor();
+		if (XML_FORMAT) {
+			return new XMLPersistor();
+		}
+		return new BinaryPersistor();
 	}
 
 	public void deleteProject(IRodinProject project) {
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.internal.core.indexer.persistence.binary;
+
+import static org.rodinp.internal.core.indexer.persistence.binary.BinaryPersistor.EXISTING;
+import static org.rodinp.internal.core.indexer.persistence.binary.BinaryPersistor.NEW_CHILD;
+import static org.rodinp.internal.core.indexer.persistence.binary.BinaryPersistor.NEW_ROOT;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rodinp.core.IInternalElement;
+import org.rodinp.core.IRodinElement;
+import org.rodinp.core.IRodinFile;
+import org.rodinp.core.RodinCore;
+import org.rodinp.internal.core.indexer.persistence.PersistenceException;
+
+/**
+ * Low-level reader of the binary index format.
+ *
+ * @see BinaryIndexWriter
+ */
+class BinaryIndexReader {
+
+	private final DataInputStream in;
+
+	private final List<String> strings = new ArrayList<String>();
+
+	// handles and elements have the same rank
+	private final List<String> handles = new ArrayList<String>();
+	private final List<IRodinElement> elements = new ArrayList<IRodinElement>();
+
+	public BinaryIndexReader(InputStream stream) {
+		this.in = new DataInputStream(stream);
+	}
+
+	public int readByte() throws IOException {
+		return in.readByte();
+	}
+
+	public boolean readBoolean() throws IOException {
+		return in.readBoolean();
+	}
+
+	public int readInt() throws IOException, PersistenceException {
+		int result = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			final int b = in.readByte();
+			result |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return result;
+			}
+		}
+		throw new PersistenceException();
+	}
+
+	public int readSignedInt() throws IOException, PersistenceException {
+		final int value = readInt();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	// Reads a count, the items of which are not smaller than one byte
+	public int readCount() throws IOException, PersistenceException {
+		final int count = readInt();
+		if (count < 0 || count > in.available()) {
+			throw new PersistenceException();
+		}
+		return count;
+	}
+
+	public String readString() throws IOException, PersistenceException {
+		final int code = readInt();
+		if (code == 0) {
+			final String result = in.readUTF();
+			strings.add(result);
+			return result;
+		}
+		final int rank = code - 1;
+		if (rank < 0 || rank >= strings.size()) {
+			throw new PersistenceException();
+		}
+		return strings.get(rank);
+	}
+
+	public IRodinElement readElement() throws IOException,
+			PersistenceException {
+		return elements.get(readElementRank());
+	}
+
+	private int readElementRank() throws IOException, PersistenceException {
+		final int code = readInt();
+		final String handle;
+		switch (code) {
+		case NEW_ROOT:
+			handle = in.readUTF();
+			break;
+		case NEW_CHILD:
+			final int parentRank = readElementRank();
+			handle = handles.get(parentRank) + in.readUTF();
+			break;
+		default:
+			final int rank = code - EXISTING;
+			if (rank < 0 || rank >= elements.size()) {
+				throw new PersistenceException();
+			}
+			return rank;
+		}
+		final IRodinElement element = RodinCore.valueOf(handle);
+		if (element == null) {
+			throw new PersistenceException();
+		}
+		handles.add(handle);
+		elements.add(element);
+		return elements.size() - 1;
+	}
+
+	public IInternalElement readInternalElement() throws IOException,
+			PersistenceException {
+		final IRodinElement element = readElement();
+		if (element instanceof IInternalElement) {
+			return (IInternalElement) element;
+		}
+		throw new PersistenceException();
+	}
+
+	public IRodinFile readFile() throws IOException, PersistenceException {
+		final IRodinElement element = readElement();
+		if (element instanceof IRodinFile) {
+			return (IRodinFile) element;
+		}
+		throw new PersistenceException();
+	}
+
+}
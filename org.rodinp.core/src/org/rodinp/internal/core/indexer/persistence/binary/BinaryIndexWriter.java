@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.internal.core.indexer.persistence.binary;
+
+import static org.rodinp.internal.core.indexer.persistence.binary.BinaryPersistor.EXISTING;
+import static org.rodinp.internal.core.indexer.persistence.binary.BinaryPersistor.NEW_CHILD;
+import static org.rodinp.internal.core.indexer.persistence.binary.BinaryPersistor.NEW_ROOT;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.rodinp.core.IRodinElement;
+
+/**
+ * Low-level writer of the binary index format.
+ * <p>
+ * Integers are written as variable-length quantities. Strings and element
+ * handles are written in full the first time they occur, then referred to by
+ * their rank in a table. Element handles are written as a suffix of the
+ * handle of their parent, which is itself written in the same way.
+ * </p>
+ *
+ * @see BinaryIndexReader
+ */
+class BinaryIndexWriter {
+
+	private final DataOutputStream out;
+
+	private final Map<String, Integer> strings = new HashMap<String, Integer>();
+
+	private final Map<IRodinElement, Integer> elements = new HashMap<IRodinElement, Integer>();
+
+	public BinaryIndexWriter(OutputStream stream) {
+		this.out = new DataOutputStream(stream);
+	}
+
+	public void writeByte(int value) throws IOException {
+		out.writeByte(value);
+	}
+
+	public void writeBoolean(boolean value) throws IOException {
+		out.writeBoolean(value);
+	}
+
+	// Writes a non-negative integer, seven bits at a time
+	public void writeInt(int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	// Writes an integer of any sign, small absolute values being shortest
+	public void writeSignedInt(int value) throws IOException {
+		writeInt((value << 1) ^ (value >> 31));
+	}
+
+	public void writeString(String value) throws IOException {
+		final Integer rank = strings.get(value);
+		if (rank != null) {
+			writeInt(rank + 1);
+			return;
+		}
+		writeInt(0);
+		out.writeUTF(value);
+		strings.put(value, strings.size());
+	}
+
+	public void writeElement(IRodinElement element) throws IOException {
+		final Integer rank = elements.get(element);
+		if (rank != null) {
+			writeInt(EXISTING + rank);
+			return;
+		}
+		final String handle = element.getHandleIdentifier();
+		final IRodinElement parent = element.getParent();
+		final String parentHandle = parent == null ? null : parent
+				.getHandleIdentifier();
+		if (parentHandle == null || parentHandle.length() == 0
+				|| !handle.startsWith(parentHandle)) {
+			writeInt(NEW_ROOT);
+			out.writeUTF(handle);
+		} else {
+			writeInt(NEW_CHILD);
+			writeElement(parent);
+			out.writeUTF(handle.substring(parentHandle.length()));
+		}
+		elements.put(element, elements.size());
+	}
+
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+}
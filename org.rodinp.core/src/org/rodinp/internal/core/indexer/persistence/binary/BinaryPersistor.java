@@ -0,0 +1,513 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.internal.core.indexer.persistence.binary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.rodinp.core.IAttributeType;
+import org.rodinp.core.IInternalElement;
+import org.rodinp.core.IRodinElement;
+import org.rodinp.core.IRodinFile;
+import org.rodinp.core.IRodinProject;
+import org.rodinp.core.RodinCore;
+import org.rodinp.core.indexer.IDeclaration;
+import org.rodinp.core.indexer.IOccurrence;
+import org.rodinp.core.indexer.IOccurrenceKind;
+import org.rodinp.core.location.IAttributeLocation;
+import org.rodinp.core.location.IAttributeSubstringLocation;
+import org.rodinp.core.location.IInternalLocation;
+import org.rodinp.internal.core.indexer.Declaration;
+import org.rodinp.internal.core.indexer.Descriptor;
+import org.rodinp.internal.core.indexer.IIndexDelta;
+import org.rodinp.internal.core.indexer.IIndexDelta.Kind;
+import org.rodinp.internal.core.indexer.IndexDelta;
+import org.rodinp.internal.core.indexer.IndexManager;
+import org.rodinp.internal.core.indexer.Occurrence;
+import org.rodinp.internal.core.indexer.PerProjectPIM;
+import org.rodinp.internal.core.indexer.ProjectIndexManager;
+import org.rodinp.internal.core.indexer.Registry;
+import org.rodinp.internal.core.indexer.persistence.IPersistor;
+import org.rodinp.internal.core.indexer.persistence.PersistenceException;
+import org.rodinp.internal.core.indexer.persistence.PersistentIndexManager;
+import org.rodinp.internal.core.indexer.persistence.PersistentPIM;
+import org.rodinp.internal.core.indexer.persistence.PersistentTotalOrder;
+import org.rodinp.internal.core.indexer.persistence.xml.XMLPersistor;
+import org.rodinp.internal.core.indexer.sort.Node;
+import org.rodinp.internal.core.indexer.sort.TotalOrder;
+import org.rodinp.internal.core.indexer.tables.ExportTable;
+import org.rodinp.internal.core.indexer.tables.IExportTable;
+import org.rodinp.internal.core.indexer.tables.RodinIndex;
+import org.rodinp.internal.core.location.AttributeLocation;
+import org.rodinp.internal.core.location.AttributeSubstringLocation;
+import org.rodinp.internal.core.location.InternalLocation;
+
+/**
+ * Persistor that saves the index in a compact binary format.
+ * <p>
+ * The same data as in the XML format is saved, in the same order, after a
+ * header made of a magic number, a format version and the kind of contents
+ * (whole index or single project). Element handles and strings (names,
+ * occurrence kinds, attribute types) are saved once and then referred to by
+ * their rank; the end of a substring location is saved as the length of the
+ * substring.
+ * </p>
+ * <p>
+ * Files that do not start with the magic number are restored with the
+ * {@link XMLPersistor}, so that indexes saved in XML are migrated to the
+ * binary format when next saved.
+ * </p>
+ *
+ * @see BinaryIndexWriter
+ * @see BinaryIndexReader
+ */
+public class BinaryPersistor implements IPersistor {
+
+	// Codes of element handles
+	static final int NEW_ROOT = 0;
+	static final int NEW_CHILD = 1;
+	static final int EXISTING = 2;
+
+	private static final byte[] MAGIC = { (byte) 0xB0, 'R', 'I', 'X' };
+
+	private static final int FORMAT_VERSION = 1;
+
+	// Kinds of contents
+	private static final byte WHOLE_INDEX = 'I';
+	private static final byte SINGLE_PROJECT = 'P';
+
+	// Kinds of locations
+	private static final byte INTERNAL = 0;
+	private static final byte ATTRIBUTE = 1;
+	private static final byte ATTRIBUTE_SUBSTRING = 2;
+
+	/**
+	 * Tells whether the given file is in binary index format.
+	 *
+	 * @param file
+	 *            a file
+	 * @return <code>true</code> iff the file starts with the magic number of
+	 *         the binary index format
+	 */
+	public static boolean isBinaryFile(File file) {
+		try {
+			final InputStream stream = new FileInputStream(file);
+			try {
+				final byte[] header = new byte[MAGIC.length];
+				int read = 0;
+				while (read < header.length) {
+					final int count = stream.read(header, read, header.length
+							- read);
+					if (count < 0) {
+						return false;
+					}
+					read += count;
+				}
+				return Arrays.equals(MAGIC, header);
+			} finally {
+				stream.close();
+			}
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	@Override
+	public boolean save(PersistentIndexManager data, File file) {
+		try {
+			final OutputStream stream = new BufferedOutputStream(
+					new FileOutputStream(file));
+			try {
+				final BinaryIndexWriter writer = startWriting(stream,
+						WHOLE_INDEX);
+				final Collection<ProjectIndexManager> pims = data.getPPPIM()
+						.pims();
+				writer.writeInt(pims.size());
+				for (ProjectIndexManager pim : pims) {
+					savePIM(pim.getPersistentData(), writer);
+				}
+				saveDeltas(data.getDeltas(), writer);
+				saveIndexerRegistry(data.getIndexerRegistry(), writer);
+				writer.flush();
+			} finally {
+				stream.close();
+			}
+			return true;
+		} catch (Exception e) {
+			if (IndexManager.DEBUG) {
+				e.printStackTrace();
+			}
+			return false;
+		}
+	}
+
+	@Override
+	public boolean saveProject(PersistentPIM pim, File file) {
+		try {
+			final OutputStream stream = new BufferedOutputStream(
+					new FileOutputStream(file));
+			try {
+				final BinaryIndexWriter writer = startWriting(stream,
+						SINGLE_PROJECT);
+				savePIM(pim, writer);
+				writer.flush();
+			} finally {
+				stream.close();
+			}
+			return true;
+		} catch (Exception e) {
+			if (IndexManager.DEBUG) {
+				e.printStackTrace();
+			}
+			return false;
+		}
+	}
+
+	@Override
+	public boolean restore(File file, PersistentIndexManager data) {
+		if (!isBinaryFile(file)) {
+			return new XMLPersistor().restore(file, data);
+		}
+		if (IndexManager.VERBOSE) {
+			System.out
+					.println("restoring from file: " + file.getAbsolutePath());
+		}
+		try {
+			final InputStream stream = new BufferedInputStream(
+					new FileInputStream(file));
+			try {
+				final BinaryIndexReader reader = startReading(stream,
+						WHOLE_INDEX);
+				final PerProjectPIM pppim = data.getPPPIM();
+				final int nbPIMs = reader.readCount();
+				for (int i = 0; i < nbPIMs; i++) {
+					pppim.put(restorePIM(reader));
+				}
+				restoreDeltas(reader, data.getDeltas());
+				restoreIndexerRegistry(reader, data.getIndexerRegistry());
+			} finally {
+				stream.close();
+			}
+			return true;
+		} catch (Exception e) {
+			data.clear();
+
+			if (IndexManager.DEBUG) {
+				e.printStackTrace();
+			}
+			return false;
+		}
+	}
+
+	@Override
+	public boolean restoreProject(File file, PerProjectPIM pppim) {
+		if (!isBinaryFile(file)) {
+			return new XMLPersistor().restoreProject(file, pppim);
+		}
+		try {
+			final InputStream stream = new BufferedInputStream(
+					new FileInputStream(file));
+			final ProjectIndexManager pim;
+			try {
+				final BinaryIndexReader reader = startReading(stream,
+						SINGLE_PROJECT);
+				pim = restorePIM(reader);
+			} finally {
+				stream.close();
+			}
+			pppim.put(pim);
+			pim.fireUnprocessedFiles();
+			return true;
+		} catch (Exception e) {
+			if (IndexManager.DEBUG) {
+				e.printStackTrace();
+			}
+			return false;
+		}
+	}
+
+	private static BinaryIndexWriter startWriting(OutputStream stream,
+			byte contents) throws IOException {
+		stream.write(MAGIC);
+		final BinaryIndexWriter writer = new BinaryIndexWriter(stream);
+		writer.writeInt(FORMAT_VERSION);
+		writer.writeByte(contents);
+		return writer;
+	}
+
+	private static BinaryIndexReader startReading(InputStream stream,
+			byte contents) throws IOException, PersistenceException {
+		final byte[] magic = new byte[MAGIC.length];
+		new DataInputStream(stream).readFully(magic);
+		if (!Arrays.equals(MAGIC, magic)) {
+			throw new PersistenceException();
+		}
+		final BinaryIndexReader reader = new BinaryIndexReader(stream);
+		if (reader.readInt() != FORMAT_VERSION
+				|| reader.readByte() != contents) {
+			throw new PersistenceException();
+		}
+		return reader;
+	}
+
+	private static void savePIM(PersistentPIM pim, BinaryIndexWriter writer)
+			throws IOException {
+		writer.writeElement(pim.getProject());
+
+		final Descriptor[] descriptors = pim.getDescriptors();
+		writer.writeInt(descriptors.length);
+		for (Descriptor descriptor : descriptors) {
+			final IDeclaration declaration = descriptor.getDeclaration();
+			saveDeclaration(declaration, writer);
+			final Set<IOccurrence> occurrences = descriptor.getOccurrences();
+			writer.writeInt(occurrences.size());
+			for (IOccurrence occurrence : occurrences) {
+				saveOccurrence(occurrence, writer);
+			}
+		}
+
+		final IExportTable exportTable = pim.getExportTable();
+		final Set<IRodinFile> exportFiles = exportTable.files();
+		writer.writeInt(exportFiles.size());
+		for (IRodinFile file : exportFiles) {
+			writer.writeElement(file);
+			final Set<IDeclaration> exported = exportTable.get(file);
+			writer.writeInt(exported.size());
+			for (IDeclaration declaration : exported) {
+				saveDeclaration(declaration, writer);
+			}
+		}
+
+		final PersistentTotalOrder<IRodinFile> order = pim.getOrder();
+		writer.writeBoolean(order.isSorted());
+		final Collection<Node<IRodinFile>> nodes = order.getNodes();
+		writer.writeInt(nodes.size());
+		for (Node<IRodinFile> node : nodes) {
+			writer.writeElement(node.getLabel());
+			writer.writeBoolean(node.isMarked());
+			writer.writeSignedInt(node.getOrderPos());
+			final List<Node<IRodinFile>> preds = node.getPredecessors();
+			writer.writeInt(preds.size());
+			for (Node<IRodinFile> pred : preds) {
+				writer.writeElement(pred.getLabel());
+			}
+		}
+		saveFiles(order.getIterated(), writer);
+
+		saveFiles(pim.getUnprocessedFiles(), writer);
+	}
+
+	private static ProjectIndexManager restorePIM(BinaryIndexReader reader)
+			throws IOException, PersistenceException {
+		final IRodinElement projectElement = reader.readElement();
+		if (!(projectElement instanceof IRodinProject)) {
+			throw new PersistenceException();
+		}
+		final IRodinProject project = (IRodinProject) projectElement;
+
+		final RodinIndex index = new RodinIndex();
+		final int nbDescriptors = reader.readCount();
+		for (int i = 0; i < nbDescriptors; i++) {
+			final IDeclaration declaration = restoreDeclaration(reader);
+			final Descriptor descriptor = index.makeDescriptor(declaration);
+			final int nbOccurrences = reader.readCount();
+			for (int j = 0; j < nbOccurrences; j++) {
+				descriptor.addOccurrence(restoreOccurrence(reader,
+						declaration));
+			}
+		}
+
+		final ExportTable exportTable = new ExportTable();
+		final int nbExportFiles = reader.readCount();
+		for (int i = 0; i < nbExportFiles; i++) {
+			final IRodinFile file = reader.readFile();
+			final int nbExported = reader.readCount();
+			for (int j = 0; j < nbExported; j++) {
+				exportTable.add(file, restoreDeclaration(reader));
+			}
+		}
+
+		final boolean isSorted = reader.readBoolean();
+		final int nbNodes = reader.readCount();
+		final List<Node<IRodinFile>> fileNodes = new ArrayList<Node<IRodinFile>>();
+		final Map<IRodinFile, List<IRodinFile>> predMap = new HashMap<IRodinFile, List<IRodinFile>>();
+		for (int i = 0; i < nbNodes; i++) {
+			final IRodinFile label = reader.readFile();
+			final Node<IRodinFile> node = new Node<IRodinFile>(label);
+			node.setMark(reader.readBoolean());
+			node.setOrderPos(reader.readSignedInt());
+			predMap.put(label, restoreFiles(reader));
+			fileNodes.add(node);
+		}
+		final List<IRodinFile> iterated = restoreFiles(reader);
+		final TotalOrder<IRodinFile> order = new TotalOrder<IRodinFile>();
+		order.setPersistentData(new PersistentTotalOrder<IRodinFile>(
+				isSorted, fileNodes, iterated), predMap);
+
+		final List<IRodinFile> unprocessedFiles = restoreFiles(reader);
+
+		return new ProjectIndexManager(project, index, exportTable, order,
+				unprocessedFiles);
+	}
+
+	private static void saveDeclaration(IDeclaration declaration,
+			BinaryIndexWriter writer) throws IOException {
+		writer.writeElement(declaration.getElement());
+		writer.writeString(declaration.getName());
+	}
+
+	private static IDeclaration restoreDeclaration(BinaryIndexReader reader)
+			throws IOException, PersistenceException {
+		final IInternalElement element = reader.readInternalElement();
+		final String name = reader.readString();
+		return new Declaration(element, name);
+	}
+
+	private static void saveOccurrence(IOccurrence occurrence,
+			BinaryIndexWriter writer) throws IOException {
+		writer.writeString(occurrence.getKind().getId());
+		final IInternalLocation location = occurrence.getLocation();
+		writer.writeElement(location.getElement());
+		if (location instanceof IAttributeSubstringLocation) {
+			final IAttributeSubstringLocation subLoc = (IAttributeSubstringLocation) location;
+			writer.writeByte(ATTRIBUTE_SUBSTRING);
+			writer.writeString(subLoc.getAttributeType().getId());
+			writer.writeSignedInt(subLoc.getCharStart());
+			writer.writeSignedInt(subLoc.getCharEnd() - subLoc.getCharStart());
+		} else if (location instanceof IAttributeLocation) {
+			final IAttributeLocation attLoc = (IAttributeLocation) location;
+			writer.writeByte(ATTRIBUTE);
+			writer.writeString(attLoc.getAttributeType().getId());
+		} else {
+			writer.writeByte(INTERNAL);
+		}
+	}
+
+	private static IOccurrence restoreOccurrence(BinaryIndexReader reader,
+			IDeclaration declaration) throws IOException,
+			PersistenceException {
+		final IOccurrenceKind kind = RodinCore.getOccurrenceKind(reader
+				.readString());
+		if (kind == null) {
+			throw new PersistenceException();
+		}
+		final IInternalElement element = reader.readInternalElement();
+		final IInternalLocation location;
+		final int locationKind = reader.readByte();
+		switch (locationKind) {
+		case INTERNAL:
+			location = new InternalLocation(element);
+			break;
+		case ATTRIBUTE:
+			location = new AttributeLocation(element,
+					readAttributeType(reader));
+			break;
+		case ATTRIBUTE_SUBSTRING:
+			final IAttributeType.String attType = readAttributeType(reader);
+			final int charStart = reader.readSignedInt();
+			final int charEnd = charStart + reader.readSignedInt();
+			location = new AttributeSubstringLocation(element, attType,
+					charStart, charEnd);
+			break;
+		default:
+			throw new PersistenceException();
+		}
+		return new Occurrence(kind, location, declaration);
+	}
+
+	private static IAttributeType.String readAttributeType(
+			BinaryIndexReader reader) throws IOException, PersistenceException {
+		return RodinCore.getStringAttrType(reader.readString());
+	}
+
+	private static void saveFiles(Collection<IRodinFile> files,
+			BinaryIndexWriter writer) throws IOException {
+		writer.writeInt(files.size());
+		for (IRodinFile file : files) {
+			writer.writeElement(file);
+		}
+	}
+
+	private static List<IRodinFile> restoreFiles(BinaryIndexReader reader)
+			throws IOException, PersistenceException {
+		final int nbFiles = reader.readCount();
+		final List<IRodinFile> files = new ArrayList<IRodinFile>(nbFiles);
+		for (int i = 0; i < nbFiles; i++) {
+			files.add(reader.readFile());
+		}
+		return files;
+	}
+
+	private static void saveDeltas(Collection<IIndexDelta> deltas,
+			BinaryIndexWriter writer) throws IOException {
+		writer.writeInt(deltas.size());
+		for (IIndexDelta delta : deltas) {
+			writer.writeString(delta.getKind().toString());
+			writer.writeElement(delta.getElement());
+		}
+	}
+
+	private static void restoreDeltas(BinaryIndexReader reader,
+			Collection<IIndexDelta> deltas) throws IOException,
+			PersistenceException {
+		final int nbDeltas = reader.readCount();
+		for (int i = 0; i < nbDeltas; i++) {
+			final Kind kind = Kind.valueOf(reader.readString());
+			final IRodinElement element = reader.readElement();
+			deltas.add(new IndexDelta(element, kind));
+		}
+	}
+
+	private static void saveIndexerRegistry(
+			Registry<String, String> indexerRegistry, BinaryIndexWriter writer)
+			throws IOException {
+		final Set<Entry<String, List<String>>> entries = indexerRegistry
+				.entrySet();
+		writer.writeInt(entries.size());
+		for (Entry<String, List<String>> entry : entries) {
+			writer.writeString(entry.getKey());
+			final List<String> indexerIds = entry.getValue();
+			writer.writeInt(indexerIds.size());
+			for (String indexerId : indexerIds) {
+				writer.writeString(indexerId);
+			}
+		}
+	}
+
+	private static void restoreIndexerRegistry(BinaryIndexReader reader,
+			Registry<String, String> indexerRegistry) throws IOException,
+			PersistenceException {
+		final int nbEntries = reader.readCount();
+		for (int i = 0; i < nbEntries; i++) {
+			final String rootTypeId = reader.readString();
+			final int nbIndexers = reader.readCount();
+			for (int j = 0; j < nbIndexers; j++) {
+				indexerRegistry.add(rootTypeId, reader.readString());
+			}
+		}
+	}
+
+}
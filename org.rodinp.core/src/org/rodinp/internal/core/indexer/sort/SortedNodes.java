@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2011 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - added remaining nodes for parallel indexing
  *******************************************************************************/
 package org.rodinp.internal.core.indexer.sort;
 
@@ -14,6 +15,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.NoSuchElementException;
 
 import org.rodinp.internal.core.indexer.persistence.PersistentSortedNodes;
@@ -27,7 +29,7 @@ public class SortedNodes<T> implements Iterator<T> {
 
 	private final List<Node<T>> order;
 	private final List<T> iterated;
-	private Iterator<Node<T>> iter;
+	private ListIterator<Node<T>> iter;
 	private boolean startIter;
 	private int restartPos;
 	private Node<T> currentNode;
@@ -154,6 +156,21 @@ public class SortedNodes<T> implements Iterator<T> {
 		}
 	}
 
+	// Returns the labels that remain to iter, in iteration order, provided
+	// that no modification occurs in the meantime.
+	public List<T> getRemaining() {
+		updateIter();
+
+		final List<T> result = new ArrayList<T>();
+		final Iterator<Node<T>> iterOrder = order.listIterator(iter.nextIndex());
+		Node<T> node = nextMarked(iterOrder);
+		while (node != null) {
+			result.add(node.getLabel());
+			node = nextMarked(iterOrder);
+		}
+		return result;
+	}
+
 	public Node<T> getCurrentNode() {
 		return currentNode;
 	}
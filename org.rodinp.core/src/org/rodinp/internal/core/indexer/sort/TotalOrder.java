@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2010 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,12 +7,15 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - added predecessor map for index snapshots
+ *     Systerel - added remaining labels for parallel indexing
  *******************************************************************************/
 package org.rodinp.internal.core.indexer.sort;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -106,6 +109,14 @@ public class TotalOrder<T> implements Iterator<T> {
 		sortedNodes.remove();
 	}
 
+	// Returns the labels that remain to be iterated, in iteration order.
+	// Modifications of the order may change the labels to iterate.
+	public List<T> getRemaining() {
+		updateSort();
+
+		return sortedNodes.getRemaining();
+	}
+
 	// Sets successors of the current node to be iterated.
 	// The result is unspecified if this method is called just after remove().
 	public void setToIterSuccessors() {
@@ -162,4 +173,13 @@ public class TotalOrder<T> implements Iterator<T> {
 	public boolean contains(T label) {
 		return graph.contains(label);
 	}
+
+	// Returns the predecessors of every label of this order.
+	public Map<T, List<T>> getPredecessorMap() {
+		final Map<T, List<T>> result = new HashMap<T, List<T>>();
+		for (Node<T> node : graph.getNodes()) {
+			result.put(node.getLabel(), node.getPredecessorLabels());
+		}
+		return result;
+	}
 }
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.internal.core.indexer.tables;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.rodinp.core.IInternalElement;
+import org.rodinp.core.IRodinFile;
+import org.rodinp.core.indexer.IDeclaration;
+import org.rodinp.core.indexer.IOccurrence;
+import org.rodinp.internal.core.indexer.Descriptor;
+import org.rodinp.internal.core.indexer.sort.TotalOrder;
+
+/**
+ * Immutable copy of the index tables of a project.
+ * <p>
+ * Snapshots are published by the project index manager after its tables have
+ * changed, so that queries never wait for the indexer: they read the last
+ * published snapshot without any locking. A new snapshot is derived from the
+ * previous one by recomputing only the entries of the elements, names and
+ * files that have changed. The other entries are shared between both
+ * snapshots, but the maps themselves are copied, which costs time linear in
+ * the size of the index. Snapshots are thus published once per indexing run
+ * rather than once per indexed file.
+ * </p>
+ */
+public final class IndexSnapshot {
+
+	public static final IndexSnapshot EMPTY = new IndexSnapshot(
+			new HashMap<IInternalElement, ElementEntry>(),
+			new HashMap<String, Set<IDeclaration>>(),
+			new HashMap<IRodinFile, Set<IDeclaration>>(),
+			new HashMap<IRodinFile, Set<IDeclaration>>(),
+			new HashMap<IRodinFile, List<IRodinFile>>());
+
+	private static final class ElementEntry {
+
+		final IDeclaration declaration;
+		final Set<IOccurrence> occurrences;
+
+		ElementEntry(Descriptor descriptor) {
+			this.declaration = descriptor.getDeclaration();
+			this.occurrences = copy(descriptor.getOccurrences());
+		}
+
+	}
+
+	// None of these maps is modified once the snapshot is published
+	private final Map<IInternalElement, ElementEntry> elements;
+	private final Map<String, Set<IDeclaration>> names;
+	private final Map<IRodinFile, Set<IDeclaration>> fileDeclarations;
+	private final Map<IRodinFile, Set<IDeclaration>> exports;
+	private final Map<IRodinFile, List<IRodinFile>> predecessors;
+
+	private IndexSnapshot(Map<IInternalElement, ElementEntry> elements,
+			Map<String, Set<IDeclaration>> names,
+			Map<IRodinFile, Set<IDeclaration>> fileDeclarations,
+			Map<IRodinFile, Set<IDeclaration>> exports,
+			Map<IRodinFile, List<IRodinFile>> predecessors) {
+		this.elements = elements;
+		this.names = names;
+		this.fileDeclarations = fileDeclarations;
+		this.exports = exports;
+		this.predecessors = predecessors;
+	}
+
+	/**
+	 * Returns a snapshot of the given tables.
+	 */
+	public static IndexSnapshot make(RodinIndex index, NameTable nameTable,
+			FileTable fileTable, ExportTable exportTable,
+			TotalOrder<IRodinFile> order) {
+		final Set<IInternalElement> allElements = new HashSet<IInternalElement>();
+		for (Descriptor descriptor : index.getDescriptors()) {
+			allElements.add(descriptor.getDeclaration().getElement());
+		}
+		final Set<IRodinFile> allFiles = new HashSet<IRodinFile>(
+				fileTable.files());
+		allFiles.addAll(exportTable.files());
+		return EMPTY.update(index, nameTable, fileTable, exportTable, order,
+				allElements, nameTable.names(), allFiles, true);
+	}
+
+	/**
+	 * Returns a snapshot of the given tables, given that they only differ from
+	 * this snapshot by the given elements, names and files, and by file
+	 * dependencies if the order has changed.
+	 */
+	public IndexSnapshot update(RodinIndex index, NameTable nameTable,
+			FileTable fileTable, ExportTable exportTable,
+			TotalOrder<IRodinFile> order,
+			Collection<IInternalElement> changedElements,
+			Collection<String> changedNames,
+			Collection<IRodinFile> changedFiles, boolean orderChanged) {
+		final Map<IInternalElement, ElementEntry> newElements = new HashMap<IInternalElement, ElementEntry>(
+				elements);
+		for (IInternalElement element : changedElements) {
+			final Descriptor descriptor = index.getDescriptor(element);
+			if (descriptor == null) {
+				newElements.remove(element);
+			} else {
+				newElements.put(element, new ElementEntry(descriptor));
+			}
+		}
+		final Map<String, Set<IDeclaration>> newNames = new HashMap<String, Set<IDeclaration>>(
+				names);
+		for (String name : changedNames) {
+			putOrRemove(newNames, name, nameTable.getDeclarations(name));
+		}
+		final Map<IRodinFile, Set<IDeclaration>> newFileDeclarations = new HashMap<IRodinFile, Set<IDeclaration>>(
+				fileDeclarations);
+		final Map<IRodinFile, Set<IDeclaration>> newExports = new HashMap<IRodinFile, Set<IDeclaration>>(
+				exports);
+		for (IRodinFile file : changedFiles) {
+			putOrRemove(newFileDeclarations, file, fileTable.get(file));
+			putOrRemove(newExports, file, exportTable.get(file));
+		}
+		final Map<IRodinFile, List<IRodinFile>> newPredecessors;
+		if (orderChanged) {
+			newPredecessors = order.getPredecessorMap();
+			for (Map.Entry<IRodinFile, List<IRodinFile>> entry : newPredecessors
+					.entrySet()) {
+				entry.setValue(unmodifiableList(entry.getValue()));
+			}
+		} else {
+			newPredecessors = predecessors;
+		}
+		return new IndexSnapshot(newElements, newNames, newFileDeclarations,
+				newExports, newPredecessors);
+	}
+
+	private static <K> void putOrRemove(Map<K, Set<IDeclaration>> map, K key,
+			Set<IDeclaration> declarations) {
+		if (declarations.isEmpty()) {
+			map.remove(key);
+		} else {
+			map.put(key, copy(declarations));
+		}
+	}
+
+	private static <T> Set<T> copy(Set<T> set) {
+		return unmodifiableSet(new HashSet<T>(set));
+	}
+
+	private static <K, T> Set<T> get(Map<K, Set<T>> map, K key) {
+		final Set<T> result = map.get(key);
+		if (result == null) {
+			return Collections.emptySet();
+		}
+		return result;
+	}
+
+	public IDeclaration getDeclaration(IInternalElement element) {
+		final ElementEntry entry = elements.get(element);
+		if (entry == null) {
+			return null;
+		}
+		return entry.declaration;
+	}
+
+	public Set<IOccurrence> getOccurrences(IInternalElement element) {
+		final ElementEntry entry = elements.get(element);
+		if (entry == null) {
+			return Collections.emptySet();
+		}
+		return entry.occurrences;
+	}
+
+	public Set<IDeclaration> getDeclarations(String name) {
+		return get(names, name);
+	}
+
+	public Set<IDeclaration> getDeclarations(IRodinFile file) {
+		return get(fileDeclarations, file);
+	}
+
+	public Set<IDeclaration> getExports(IRodinFile file) {
+		return get(exports, file);
+	}
+
+	public Set<IRodinFile> exportFiles() {
+		return unmodifiableSet(exports.keySet());
+	}
+
+	// Returns null if the file is unknown to the order
+	public List<IRodinFile> getPredecessors(IRodinFile file) {
+		return predecessors.get(file);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2012 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - added names()
  *******************************************************************************/
 package org.rodinp.internal.core.indexer.tables;
 
@@ -61,6 +62,10 @@ public class NameTable {
 		return Collections.unmodifiableSet(declarations);
 	}
 
+	public Set<String> names() {
+		return Collections.unmodifiableSet(table.keySet());
+	}
+
 	public void clear() {
 		table.clear();
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2012 Systerel and others.
+ * Copyright (c) 2009, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     Systerel - added streaming conversion
  *******************************************************************************/
 package org.rodinp.internal.core.version;
 
@@ -20,12 +21,13 @@ import org.eclipse.core.runtime.IConfigurationElement;
  */
 public class ChangeName extends SimpleOperation {
 
+	private final String userValue;
 	private final String newValue;
 	
 	public ChangeName(IConfigurationElement configElement,
 			SimpleConversionSheet sheet) {
 		super(configElement, sheet);
-		final String userValue = configElement.getAttribute("newValue");
+		userValue = configElement.getAttribute("newValue");
 		newValue = computeNewValue(userValue);
 	}
 
@@ -46,4 +48,10 @@ public class ChangeName extends SimpleOperation {
 	public String getNewValue() {
 		return newValue;
 	}
+
+	// Returns the new name of an element, as computed by the XSL template
+	public String getNewName(String currentName) {
+		return userValue.replace("@", currentName);
+	}
+
 }
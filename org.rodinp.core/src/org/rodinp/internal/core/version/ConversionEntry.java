@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2013 ETH Zurich and others.
+ * Copyright (c) 2007, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,6 +9,8 @@
  *     ETH Zurich - initial API and implementation
  *     Systerel - refactoring and various improvements
  *     Systerel - separation of file and root element
+ *     Systerel - added binary file format
+ *     Systerel - reported conversion throughput
  *******************************************************************************/
 package org.rodinp.internal.core.version;
 
@@ -37,6 +39,7 @@ import org.rodinp.core.IConversionResult.IEntry;
 import org.rodinp.core.IInternalElementType;
 import org.rodinp.core.IRodinFile;
 import org.rodinp.core.RodinDBException;
+import org.rodinp.internal.core.BinaryFormat;
 import org.rodinp.internal.core.Buffer;
 import org.rodinp.internal.core.RodinDBStatus;
 import org.rodinp.internal.core.RodinFile;
@@ -118,6 +121,11 @@ public class ConversionEntry implements IEntry {
 		return new String(buffer);
 	}
 
+	// Returns the size of the converted contents, or -1 if none
+	int getConvertedSize() {
+		return buffer == null ? -1 : buffer.length;
+	}
+
 	public InputStream toInputStream() {
 		return new ByteArrayInputStream(buffer);
 	}
@@ -141,7 +149,8 @@ public class ConversionEntry implements IEntry {
 				return;
 			}
 			final Converter converter = vManager.getConverter(type);
-			final InputStream contents = file.getResource().getContents(force);
+			final InputStream contents = BinaryFormat.toXML(file.getResource()
+					.getContents(force));
 			buffer = converter.convert(contents, version, reqVersion);
 			message = converter_successfulConversion;
 			sm.worked(90);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2012 ETH Zurich and others.
+ * Copyright (c) 2007, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,23 +9,44 @@
  *     ETH Zurich - initial API and implementation
  *     Systerel - refactoring and various improvements
  *     Systerel - separation of file and root element
+ *     Systerel - upgraded files concurrently
  *******************************************************************************/
 package org.rodinp.internal.core.version;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 import org.rodinp.core.IConversionResult;
 import org.rodinp.core.IRodinFile;
 import org.rodinp.core.IRodinProject;
 import org.rodinp.core.RodinDBException;
 import org.rodinp.internal.core.util.Messages;
+import org.rodinp.internal.core.util.Util;
 
 /**
+ * Result of the conversion of the files of a project.
+ * <p>
+ * Files are upgraded concurrently by a pool of worker threads, the size of
+ * which is given by the system property
+ * <code>org.rodinp.core.conversionThreads</code>. It defaults to the number
+ * of available processors; a value of 1 makes conversion sequential.
+ * </p>
+ * 
  * @author Stefan Hallerstede
  * 
  */
 public class ConversionResult implements IConversionResult {
 
+	public static final String CONVERSION_THREADS_PROPERTY = "org.rodinp.core.conversionThreads"; //$NON-NLS-1$
+
 	private final IRodinProject project;
 	private final ConversionEntry[] entries;
 
@@ -41,17 +62,97 @@ public class ConversionResult implements IConversionResult {
 
 	public void convert(boolean force, IProgressMonitor monitor) {
 		final VersionManager vManager = VersionManager.getInstance();
+		final long start = System.currentTimeMillis();
 		try {
 			final SubMonitor spm = SubMonitor.convert(monitor,
 					Messages.converter_convertingFiles, entries.length);
-			for (ConversionEntry entry : entries) {
-				entry.upgrade(vManager, force, spm.newChild(1));
+			final int nbThreads = Math.min(getConversionThreads(),
+					entries.length);
+			if (nbThreads <= 1) {
+				for (ConversionEntry entry : entries) {
+					entry.upgrade(vManager, force, spm.newChild(1));
+				}
+			} else {
+				upgradeConcurrently(vManager, force, nbThreads, spm);
 			}
 		} finally {
 			if (monitor != null) {
 				monitor.done();
 			}
+			if (VersionManager.VERBOSE) {
+				printThroughput(System.currentTimeMillis() - start);
+			}
+		}
+	}
+
+	private static int getConversionThreads() {
+		return Math.max(1, Integer.getInteger(CONVERSION_THREADS_PROPERTY,
+				Runtime.getRuntime().availableProcessors()));
+	}
+
+	/*
+	 * Workers do not report progress, as progress monitors are not
+	 * thread-safe: progress is reported as upgrades complete, in order. The
+	 * failure of an upgrade does not prevent waiting for the other ones.
+	 */
+	private void upgradeConcurrently(final VersionManager vManager,
+			final boolean force, int nbThreads, SubMonitor spm) {
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				nbThreads, new ThreadFactory() {
+					private int count = 0;
+
+					@Override
+					public synchronized Thread newThread(Runnable r) {
+						final Thread thread = new Thread(r,
+								"Rodin conversion worker " + (++count));
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		try {
+			final List<Future<?>> futures = new ArrayList<Future<?>>(
+					entries.length);
+			for (final ConversionEntry entry : entries) {
+				futures.add(executor.submit(new Runnable() {
+					@Override
+					public void run() {
+						entry.upgrade(vManager, force, null);
+					}
+				}));
+			}
+			for (int i = 0; i < entries.length; i++) {
+				try {
+					futures.get(i).get();
+				} catch (ExecutionException e) {
+					Util.log(e.getCause(), "When upgrading file "
+							+ entries[i].getFile());
+				}
+				spm.worked(1);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void printThroughput(long duration) {
+		int converted = 0;
+		long size = 0;
+		for (ConversionEntry entry : entries) {
+			final int entrySize = entry.getConvertedSize();
+			if (entrySize >= 0) {
+				converted++;
+				size += entrySize;
+			}
 		}
+		final long filesPerSecond = duration == 0 ? converted : converted
+				* 1000L / duration;
+		System.out.println("Converted " + converted + " of " + entries.length
+				+ " files of " + project.getElementName() + " (" + size
+				+ " bytes) in " + duration + " ms: " + filesPerSecond
+				+ " files/s");
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2009 ETH Zurich and others.
+ * Copyright (c) 2007, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     ETH Zurich - initial API and implementation
  *     Systerel - separation of file and root element
+ *     Systerel - added streaming conversion
  *******************************************************************************/
 package org.rodinp.internal.core.version;
 
@@ -68,6 +69,14 @@ public abstract class ConversionSheet extends ExtensionDesc {
 	
 	public abstract Transformer getTransformer() throws RodinDBException;
 
+	/**
+	 * Returns a streaming implementation of this sheet, or <code>null</code>
+	 * if this sheet can only be applied by its XSL transformer.
+	 */
+	public StreamingConversion getStreamingConversion() {
+		return null;
+	}
+
 	public long getVersion() {
 		return version;
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2012 University of Southampton and others.
+ * Copyright (c) 2008, 2026 University of Southampton and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,6 +9,7 @@
  *     University of Southampton - initial API and implementation
  *     Systerel - separation of file and root element
  *     Systerel - pulled up computeSheet() addPrefix() addPostfix() toString()
+ *     Systerel - made transformer creation thread-safe
  *******************************************************************************/
 package org.rodinp.internal.core.version;
 
@@ -77,7 +78,7 @@ public abstract class ConversionSheetWithTransformer extends ConversionSheet {
 	protected abstract void addTemplates(XSLWriter writer);
 	
 	@Override
-	public Transformer getTransformer() throws RodinDBException {
+	public synchronized Transformer getTransformer() throws RodinDBException {
 		if (transformer == null) {
 			
 			if (TransformerFactory.newInstance().getFeature(DOMSource.FEATURE)) {
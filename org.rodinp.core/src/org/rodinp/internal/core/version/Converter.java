@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2012 ETH Zurich and others.
+ * Copyright (c) 2007, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,6 +9,7 @@
  *     ETH Zurich - initial API and implementation
  *     Systerel - changed input parameter of convert() to InputStream
  *     Systerel - separation of file and root element
+ *     Systerel - added streaming conversion
  *******************************************************************************/
 package org.rodinp.internal.core.version;
 
@@ -16,6 +17,8 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
@@ -28,11 +31,26 @@ import org.rodinp.core.IRodinDBStatusConstants;
 import org.rodinp.core.RodinDBException;
 
 /**
+ * Converts the contents of files of a given root element type to the current
+ * version of that type.
+ * <p>
+ * Consecutive conversion sheets that have a streaming implementation are
+ * applied together in a single streaming pass. Other sheets are applied by
+ * their XSL transformer. Setting the system property
+ * <code>org.rodinp.core.xslConversion</code> to <code>true</code> makes all
+ * sheets be applied by their XSL transformer.
+ * </p>
+ * 
  * @author Stefan Hallerstede
  * 
  */
 public class Converter {
 
+	public static final String XSL_CONVERSION_PROPERTY = "org.rodinp.core.xslConversion";
+
+	private static final boolean XSL_ONLY = Boolean
+			.getBoolean(XSL_CONVERSION_PROPERTY);
+
 	private static final ConversionSheet[] NO_SHEETS = new ConversionSheet[0];
 
 	private static final int MIN_BUFFER_SIZE = 4096;
@@ -44,16 +62,41 @@ public class Converter {
 		final int start = find(currentVersion);
 		final int end = find(targetVersion);
 		byte[] bytes = null;
-		if (start < end) {
-			bytes = computeConversion(inputStream, start);
-			for (int i = start + 1; i < end; i++) {
-				final InputStream is = new ByteArrayInputStream(bytes);
+		InputStream is = inputStream;
+		int i = start;
+		while (i < end) {
+			final List<StreamingConversion> conversions = getStreamingConversions(
+					i, end);
+			if (conversions.isEmpty()) {
 				bytes = computeConversion(is, i);
+				i++;
+			} else {
+				bytes = computeConversion(is, conversions);
+				i += conversions.size();
 			}
+			is = new ByteArrayInputStream(bytes);
 		}
 		return bytes;
 	}
 
+	// Returns the streaming conversions of the sheets from the given index
+	private List<StreamingConversion> getStreamingConversions(int start,
+			int end) {
+		final List<StreamingConversion> result = new ArrayList<StreamingConversion>();
+		if (XSL_ONLY) {
+			return result;
+		}
+		for (int i = start; i < end; i++) {
+			final StreamingConversion conversion = sheets[i]
+					.getStreamingConversion();
+			if (conversion == null) {
+				break;
+			}
+			result.add(conversion);
+		}
+		return result;
+	}
+
 	private int find(long currentVersion) {
 		for (int i = 0; i < sheets.length; i++) {
 			if (sheets[i].getVersion() > currentVersion)
@@ -68,9 +111,13 @@ public class Converter {
 		final int sz = getOutputBufferSize(inputStream);
 		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(sz);
 		final StreamResult r = new StreamResult(outputStream);
-		final Transformer transformer = sheets[index].getTransformer();
+		final ConversionSheet sheet = sheets[index];
+		final Transformer transformer = sheet.getTransformer();
 		try {
-			transformer.transform(s, r);
+			// transformers must not be used concurrently
+			synchronized (sheet) {
+				transformer.transform(s, r);
+			}
 		} catch (TransformerException e) {
 			throw new RodinDBException(e,
 					IRodinDBStatusConstants.CONVERSION_ERROR);
@@ -78,6 +125,14 @@ public class Converter {
 		return outputStream.toByteArray();
 	}
 
+	private byte[] computeConversion(InputStream inputStream,
+			List<StreamingConversion> conversions) throws RodinDBException {
+		final int sz = getOutputBufferSize(inputStream);
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(sz);
+		StreamingConversion.convert(conversions, inputStream, outputStream);
+		return outputStream.toByteArray();
+	}
+
 	private int getOutputBufferSize(InputStream inputStream) {
 		try {
 			final int result = inputStream.available();
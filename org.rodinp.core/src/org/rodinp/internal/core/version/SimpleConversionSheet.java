@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2009 ETH Zurich and others.
+ * Copyright (c) 2007, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,6 +9,7 @@
  *     ETH Zurich - initial API and implementation
  *     Systerel - separation of file and root element
  *     Systerel - used XSLWriter
+ *     Systerel - added streaming conversion
  *******************************************************************************/
 package org.rodinp.internal.core.version;
 
@@ -25,6 +26,8 @@ import org.rodinp.core.IInternalElementType;
 public class SimpleConversionSheet extends ConversionSheetWithTransformer {
 
 	private final Conversion[] conversions;
+
+	private final StreamingConversion streamingConversion;
 		
 	public SimpleConversionSheet(IConfigurationElement configElement, IInternalElementType<?> type) {
 		super(configElement, type);
@@ -50,6 +53,16 @@ public class SimpleConversionSheet extends ConversionSheetWithTransformer {
 			System.arraycopy(convs, 0, conversions, 0, convs.length);
 			conversions[convs.length] = new FakeRootConversion(type, this);
 		}
+		streamingConversion = new StreamingConversion(this, conversions);
+	}
+
+	// Sorting children needs the whole document, which is left to XSL
+	@Override
+	public StreamingConversion getStreamingConversion() {
+		if (hasSorter()) {
+			return null;
+		}
+		return streamingConversion;
 	}
 
 	public boolean hasSorter() {
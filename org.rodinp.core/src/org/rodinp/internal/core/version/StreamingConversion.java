@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Systerel and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Systerel - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.internal.core.version;
+
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+import static org.rodinp.core.IRodinDBStatusConstants.CONVERSION_ERROR;
+import static org.rodinp.internal.core.Buffer.NAME_ATTRIBUTE;
+import static org.rodinp.internal.core.Buffer.VERSION_ATTRIBUTE;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.rodinp.core.RodinDBException;
+
+/**
+ * Streaming implementation of a simple conversion sheet.
+ * <p>
+ * Applies the operations of the sheet (element and attribute renaming,
+ * attribute addition, name change) to each element as it is read, without
+ * generating nor running an XSL transformation. The result is the same as
+ * the one of the XSL transformation of the sheet: in particular, only elements
+ * and attributes are copied. Several conversions can be applied in the same
+ * pass, each one to the output of the previous one.
+ * </p>
+ * <p>
+ * Instances are immutable and may be used concurrently.
+ * </p>
+ *
+ * @see SimpleConversionSheet#getStreamingConversion()
+ */
+public class StreamingConversion {
+
+	// The operations applying to the elements of a given path
+	private static class ElementOperations {
+
+		final String newName;
+		final AddAttribute[] addAttributes;
+		final Map<String, String> renamedAttributes;
+		final ChangeName changeName;
+
+		ElementOperations(Conversion conversion) {
+			final RenameElement renameElement = conversion.getRenameElement();
+			if (renameElement == null) {
+				newName = null;
+				addAttributes = new AddAttribute[0];
+			} else {
+				newName = renameElement.getNewId();
+				addAttributes = conversion.getAddAttributes();
+			}
+			renamedAttributes = new HashMap<String, String>();
+			for (RenameAttribute ra : conversion.getRenameAttributes()) {
+				renamedAttributes.put(ra.getId(), ra.getNewId());
+			}
+			changeName = conversion.getChangeName();
+		}
+
+	}
+
+	// Accesses must be synchronized on the class
+	private static XMLInputFactory inputFactory;
+	private static XMLOutputFactory outputFactory;
+
+	private final String rootPath;
+
+	private final Map<String, ElementOperations> operations;
+
+	public StreamingConversion(SimpleConversionSheet sheet,
+			Conversion[] conversions) {
+		this.rootPath = "/" + sheet.getType().getId();
+		final Map<String, ElementOperations> ops = new HashMap<String, ElementOperations>();
+		for (Conversion conversion : conversions) {
+			ops.put(conversion.getPath(), new ElementOperations(conversion));
+		}
+		this.operations = Collections.unmodifiableMap(ops);
+	}
+
+	/**
+	 * Converts the given element and returns its new name. The converted
+	 * attributes are put in the given map, in order.
+	 *
+	 * @param path
+	 *            the path of the element in the document to convert
+	 * @param name
+	 *            the name of the element
+	 * @param attributes
+	 *            the attributes of the element
+	 * @param result
+	 *            the map where to put the converted attributes
+	 * @return the new name of the element
+	 */
+	String convertElement(String path, String name,
+			Map<String, String> attributes, Map<String, String> result) {
+		final ElementOperations ops = operations.get(path);
+		final boolean isRoot = path.equals(rootPath);
+		String newName = name;
+		if (ops != null && ops.newName != null) {
+			newName = ops.newName;
+			for (AddAttribute aa : ops.addAttributes) {
+				result.put(aa.getNewId(), aa.getNewValue());
+			}
+		}
+		for (Entry<String, String> attribute : attributes.entrySet()) {
+			String attrName = attribute.getKey();
+			String value = attribute.getValue();
+			if (isRoot && attrName.equals(VERSION_ATTRIBUTE)) {
+				// replaced by the version added to the root
+				continue;
+			}
+			if (ops != null) {
+				final String newId = ops.renamedAttributes.get(attrName);
+				if (newId != null) {
+					attrName = newId;
+				} else if (ops.changeName != null
+						&& attrName.equals(NAME_ATTRIBUTE)) {
+					value = ops.changeName.getNewName(value);
+				}
+			}
+			// like in XSL, an attribute added later replaces an earlier one
+			result.put(attrName, value);
+		}
+		return newName;
+	}
+
+	private static synchronized XMLStreamReader createReader(InputStream in)
+			throws XMLStreamException {
+		if (inputFactory == null) {
+			inputFactory = XMLInputFactory.newInstance();
+			inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+			inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		}
+		return inputFactory.createXMLStreamReader(in);
+	}
+
+	private static synchronized XMLStreamWriter createWriter(OutputStream out)
+			throws XMLStreamException {
+		if (outputFactory == null) {
+			outputFactory = XMLOutputFactory.newInstance();
+		}
+		return outputFactory.createXMLStreamWriter(out, "UTF-8");
+	}
+
+	/**
+	 * Applies the given conversions in sequence to the given XML contents, in
+	 * a single streaming pass.
+	 *
+	 * @param conversions
+	 *            the conversions to apply, in order
+	 * @param in
+	 *            the contents to convert
+	 * @param out
+	 *            the stream where to write the converted contents
+	 * @throws RodinDBException
+	 *             if the contents cannot be converted
+	 */
+	public static void convert(List<StreamingConversion> conversions,
+			InputStream in, OutputStream out) throws RodinDBException {
+		final int nbConversions = conversions.size();
+		try {
+			final XMLStreamReader reader = createReader(in);
+			final XMLStreamWriter writer = createWriter(out);
+			// paths of the current element in the input of each conversion
+			final Deque<String[]> paths = new ArrayDeque<String[]>();
+			writer.writeStartDocument("UTF-8", "1.0");
+			while (reader.hasNext()) {
+				switch (reader.next()) {
+				case START_ELEMENT:
+					final String[] parentPaths = paths.peek();
+					final String[] elementPaths = new String[nbConversions];
+					String name = reader.getLocalName();
+					Map<String, String> attributes = readAttributes(reader);
+					for (int i = 0; i < nbConversions; i++) {
+						final String parentPath = parentPaths == null ? ""
+								: parentPaths[i];
+						elementPaths[i] = parentPath + "/" + name;
+						final Map<String, String> result = new LinkedHashMap<String, String>();
+						name = conversions.get(i).convertElement(
+								elementPaths[i], name, attributes, result);
+						attributes = result;
+					}
+					paths.push(elementPaths);
+					writer.writeStartElement(name);
+					for (Entry<String, String> attribute : attributes
+							.entrySet()) {
+						writer.writeAttribute(attribute.getKey(),
+								attribute.getValue());
+					}
+					break;
+				case END_ELEMENT:
+					paths.pop();
+					writer.writeEndElement();
+					break;
+				default:
+					// other nodes are not copied by conversion sheets
+					break;
+				}
+			}
+			writer.writeEndDocument();
+			writer.close();
+			reader.close();
+		} catch (XMLStreamException e) {
+			throw new RodinDBException(e, CONVERSION_ERROR);
+		}
+	}
+
+	private static Map<String, String> readAttributes(XMLStreamReader reader) {
+		final int count = reader.getAttributeCount();
+		final Map<String, String> result = new LinkedHashMap<String, String>(
+				count * 2);
+		for (int i = 0; i < count; i++) {
+			result.put(reader.getAttributeLocalName(i),
+					reader.getAttributeValue(i));
+		}
+		return result;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2009 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,6 +9,7 @@
  *     ETH Zurich - initial API and implementation
  *     Systerel - separation of file and root element
  *     Systerel - added support for testing failing converters
+ *     Systerel - made lazy initialization thread-safe
  *******************************************************************************/
 package org.rodinp.internal.core.version;
 
@@ -77,6 +78,7 @@ public class VersionManager {
 		}
 	}
 	
+	// Lazily initialized, accesses must be synchronized
 	private List<VersionDesc> versionDescs;
 	
 	private static String CONVERSIONS_ID = "conversions";
@@ -85,7 +87,8 @@ public class VersionManager {
 	
 	private static VersionManager MANAGER = new VersionManager();
 	
-	Map<IInternalElementType<?>, Converter> converters;
+	// Lazily initialized, accesses must be synchronized
+	private Map<IInternalElementType<?>, Converter> converters;
 	
 	private final List<IConfigurationElement> invalidConverters = new ArrayList<IConfigurationElement>();
 	
@@ -99,14 +102,26 @@ public class VersionManager {
 		return MANAGER;
 	}
 	
+	// Files may be converted concurrently
 	public Converter getConverter(IInternalElementType<?> type) {
+		return getConverters().get(type);
+	}
+	
+	private synchronized Map<IInternalElementType<?>, Converter> getConverters() {
 		if (converters == null) {
 			computeConverters();
 		}
-		return converters.get(type);
+		return converters;
 	}
-	
-	public Map<IInternalElementType<?>, Converter> computeConverters(
+
+	private synchronized List<VersionDesc> getVersionDescs() {
+		if (versionDescs == null) {
+			computeVersionDescs();
+		}
+		return versionDescs;
+	}
+
+	public synchronized Map<IInternalElementType<?>, Converter> computeConverters(
 			List<VersionDesc> descs, IConfigurationElement[] elements) {
 		HashMap<IInternalElementType<?>, Converter> fc = 
 			new HashMap<IInternalElementType<?>, Converter>(17);
@@ -188,9 +203,6 @@ public class VersionManager {
 	}
 
 	private boolean canConvert(List<VersionDesc> descs, String name, IInternalElementType<?> type) {
-		if (versionDescs == null) {
-			computeVersionDescs();
-		}
 		VersionDesc desc = findVersionDesc(descs, type);
 		if (desc == null)
 			return false;
@@ -255,10 +267,7 @@ public class VersionManager {
 	}
 	
 	public long getVersion(IElementType<?> type) {
-		if (versionDescs == null) {
-			computeVersionDescs();
-		}
-		VersionDesc desc = findVersionDesc(versionDescs, type);
+		VersionDesc desc = findVersionDesc(getVersionDescs(), type);
 		if (desc == null) {
 			return 0;
 		} else {
@@ -276,12 +285,12 @@ public class VersionManager {
 	}
 
 	// For testing purposes only
-	public List<IConfigurationElement> getInvalidConverters() {
+	public synchronized List<IConfigurationElement> getInvalidConverters() {
 		return invalidConverters;
 	}
 
 	// For testing purposes only
-	public void clearInvalidConverters() {
+	public synchronized void clearInvalidConverters() {
 		invalidConverters.clear();
 	}
 }